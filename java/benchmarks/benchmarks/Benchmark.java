@@ -0,0 +1,17 @@
+package benchmarks;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method to be timed by {@link BenchmarkRunner}.
+ * <p>
+ * Each call is one operation.  The method must be public and take no arguments; whatever it returns
+ * is consumed by the runner so that the work cannot be optimized away.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Benchmark {
+}
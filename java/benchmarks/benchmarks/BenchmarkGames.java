@@ -0,0 +1,62 @@
+package benchmarks;
+
+import server.models.GameModel;
+import shared.definitions.PlayerIndex;
+import shared.definitions.TurnStatus;
+import shared.facades.FacadeManager;
+import shared.models.GameAction;
+import shared.models.game.ClientModel;
+import shared.models.game.Player;
+import shared.models.games.GameInfo;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Games in a known state for benchmarks to work on.
+ */
+public final class BenchmarkGames {
+    private static final long SEED = 340;
+
+    private BenchmarkGames() {
+    }
+
+    /**
+     * @return a new game with four AI players, at the start of setup
+     */
+    public static ClientModel newGame() {
+        GameModel game = new GameModel(1, new GameInfo(), new ClientModel(false, false, false));
+        for (int i = 0; i < PlayerIndex.MAX_PLAYERS; i++) {
+            game.addAIPlayer();
+        }
+        return game.getClientModel();
+    }
+
+    /**
+     * Play the same random legal moves each time, so every run benchmarks the same board.
+     *
+     * @param moves the number of moves to play
+     * @return a new game after the moves
+     */
+    public static ClientModel playedGame(int moves) {
+        ClientModel model = newGame();
+        FacadeManager facades = new FacadeManager(model);
+        Random random = new Random(SEED);
+        for (int i = 0; i < moves && model.getTurnTracker().getStatus() != TurnStatus.GAME_OVER; i++) {
+            GameAction move = null;
+            for (Player player : model.getPlayers()) {
+                List<GameAction> legal = facades.getMoves().getLegalMoves(player);
+                if (!legal.isEmpty()) {
+                    move = legal.get(random.nextInt(legal.size()));
+                    break;
+                }
+            }
+            if (move == null) {
+                break;
+            }
+            move.setFacades(facades);
+            move.execute();
+        }
+        return model;
+    }
+}
@@ -0,0 +1,339 @@
+package benchmarks;
+
+import com.google.gson.stream.JsonWriter;
+import shared.facades.ResourcesFacadeBenchmark;
+import shared.models.game.CardSetBenchmark;
+import shared.models.game.GameMapBenchmark;
+import shared.serialization.ModelSerializerBenchmark;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the {@link Benchmark} methods of the benchmark classes and writes their average time per
+ * operation, and the bytes each operation allocates, to a JSON file.
+ * <p>
+ * The results are in the same layout as JMH's JSON output, in average time mode, so they can be
+ * compared between commits with the same tools.  Each benchmark runs in this JVM: warmup iterations
+ * let the JIT compile it, then the measured iterations each time as many operations as fit in the
+ * iteration time.  The error is the 99.9% confidence interval over the measured iterations.
+ * Allocation is counted by the JVM for this thread, and reported as JMH's {@code -prof gc} reports
+ * it, as the secondary metric {@value #ALLOCATION_METRIC} in bytes per operation.
+ * <p>
+ * Usage: {@code BenchmarkRunner [regex ...]}, running only benchmarks whose full name matches one of
+ * the patterns if any are given.  The system properties {@code benchmark.warmup},
+ * {@code benchmark.iterations}, {@code benchmark.time} (in milliseconds) and {@code benchmark.out}
+ * (the results file) change how it runs.
+ */
+public class BenchmarkRunner {
+    private static final List<Class<?>> BENCHMARKS = Arrays.asList(
+            CardSetBenchmark.class,
+            GameMapBenchmark.class,
+            ModelSerializerBenchmark.class,
+            ResourcesFacadeBenchmark.class
+    );
+    // Operations are timed in batches at least this long, so reading the clock doesn't skew the result
+    private static final long MIN_BATCH_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final int MAX_TABLED_DEGREES = 15;
+    // Student's t quantiles for a two-sided 99.9% interval, by degrees of freedom
+    private static final double[] T_999 = {Double.NaN,
+            636.619, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408, 5.041, 4.781, 4.587,
+            4.437, 4.318, 4.221, 4.140, 4.073};
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+    private static final String[] PERCENTILES = {"0.0", "50.0", "90.0", "95.0", "99.0", "99.9", "99.99", "99.9999", "100.0"};
+
+    private static Object sink;
+
+    private final int warmupIterations = Integer.getInteger("benchmark.warmup", 3);
+    private final int measurementIterations = Integer.getInteger("benchmark.iterations", 5);
+    private final long iterationMillis = Long.getLong("benchmark.time", 1000);
+    private final String out = System.getProperty("benchmark.out", "benchmark-results.json");
+
+    public static void main(String[] args) throws Throwable {
+        List<Pattern> filters = new ArrayList<>();
+        for (String arg : args) {
+            filters.add(Pattern.compile(arg));
+        }
+        new BenchmarkRunner().run(filters);
+    }
+
+    private void run(List<Pattern> filters) throws Throwable {
+        List<Result> results = new ArrayList<>();
+        for (Class<?> type : BENCHMARKS) {
+            List<Method> methods = new ArrayList<>();
+            for (Method method : type.getMethods()) {
+                String name = type.getName() + "." + method.getName();
+                if (method.isAnnotationPresent(Benchmark.class)
+                        && (filters.isEmpty() || filters.stream().anyMatch(f -> f.matcher(name).find()))) {
+                    methods.add(method);
+                }
+            }
+            if (methods.isEmpty()) {
+                continue;
+            }
+            methods.sort(Comparator.comparing(Method::getName));
+
+            Object state = type.newInstance();
+            for (Method method : type.getMethods()) {
+                if (method.isAnnotationPresent(Setup.class)) {
+                    method.invoke(state);
+                }
+            }
+            for (Method method : methods) {
+                results.add(measure(state, method));
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-70s %6s %14s %12s  %s%n", "Benchmark", "Cnt", "Score", "Error", "Units");
+        for (Result result : results) {
+            print(result.name, result.time, "ns/op");
+            if (result.allocation != null) {
+                print(result.name + ":" + ALLOCATION_METRIC, result.allocation, "B/op");
+            }
+        }
+        write(results);
+        System.out.println();
+        System.out.println("Results written to " + out);
+    }
+
+    private static void print(String name, Metric metric, String unit) {
+        System.out.printf("%-70s %6d %14.3f +- %10.3f  %s%n", name, metric.scores.length,
+                metric.getScore(), metric.getError(), unit);
+    }
+
+    /**
+     * @return the JVM's count of the bytes each thread allocates, or null if it can't count them
+     */
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threads;
+        if (!counter.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        counter.setThreadAllocatedMemoryEnabled(true);
+        return counter;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private Result measure(Object state, Method method) throws Throwable {
+        String name = method.getDeclaringClass().getName() + "." + method.getName();
+        System.out.println("# Benchmark: " + name);
+        Supplier<Object> operation = bind(state, method);
+        int batch = calibrate(name, operation);
+        long iterationNanos = TimeUnit.MILLISECONDS.toNanos(iterationMillis);
+        for (int i = 1; i <= warmupIterations; i++) {
+            Iteration warmup = iterate(name, operation, batch, iterationNanos);
+            System.out.printf("# Warmup Iteration %3d: %.3f ns/op, %.1f B/op%n", i, warmup.nanosPerOp, warmup.bytesPerOp);
+        }
+        double[] times = new double[measurementIterations];
+        double[] allocations = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            Iteration iteration = iterate(name, operation, batch, iterationNanos);
+            times[i] = iteration.nanosPerOp;
+            allocations[i] = iteration.bytesPerOp;
+            System.out.printf("Iteration %3d: %.3f ns/op, %.1f B/op%n", i + 1, times[i], allocations[i]);
+        }
+        return new Result(name, new Metric(times), THREADS == null ? null : new Metric(allocations));
+    }
+
+    /**
+     * Binds a benchmark method to its state as a lambda would be.  Unlike a reflective call, which
+     * would cost more than the shortest benchmarks, the JIT can inline it.
+     */
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> bind(Object state, Method method) throws Throwable {
+        if (method.getReturnType() == Void.TYPE) {
+            throw new IllegalArgumentException(method.getName() + " must return its result");
+        }
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                MethodType.methodType(Supplier.class, method.getDeclaringClass()),
+                MethodType.methodType(Object.class),
+                lookup.unreflect(method),
+                MethodType.methodType(method.getReturnType()).wrap());
+        return (Supplier<Object>) site.getTarget().invoke(state);
+    }
+
+    /**
+     * @return how many operations to run between reading the clock
+     */
+    private static int calibrate(String name, Supplier<Object> operation) {
+        int batch = 1;
+        while (batch < Integer.MAX_VALUE / 2) {
+            long start = System.nanoTime();
+            invoke(name, operation, batch);
+            if (System.nanoTime() - start >= MIN_BATCH_NANOS) {
+                break;
+            }
+            batch *= 2;
+        }
+        return batch;
+    }
+
+    /**
+     * @return the average time and allocation of one operation
+     */
+    private static Iteration iterate(String name, Supplier<Object> operation, int batch, long iterationNanos) {
+        long operations = 0;
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            invoke(name, operation, batch);
+            operations += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        long allocated = allocatedBytes() - allocatedBefore;
+        return new Iteration((double) elapsed / operations, (double) allocated / operations);
+    }
+
+    private static void invoke(String name, Supplier<Object> operation, int times) {
+        try {
+            for (int i = 0; i < times; i++) {
+                sink = operation.get();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(name + " failed", e);
+        }
+    }
+
+    private void write(List<Result> results) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(out), StandardCharsets.UTF_8)) {
+            JsonWriter json = new JsonWriter(writer);
+            json.setIndent("    ");
+            // A single iteration has no error, written as NaN
+            json.setLenient(true);
+            json.beginArray();
+            for (Result result : results) {
+                json.beginObject();
+                json.name("benchmark").value(result.name);
+                json.name("mode").value("avgt");
+                json.name("threads").value(1);
+                json.name("forks").value(0);
+                json.name("jvm").value(System.getProperty("java.home"));
+                json.name("jdkVersion").value(System.getProperty("java.version"));
+                json.name("vmName").value(System.getProperty("java.vm.name"));
+                json.name("warmupIterations").value(warmupIterations);
+                json.name("warmupTime").value(iterationMillis + " ms");
+                json.name("measurementIterations").value(measurementIterations);
+                json.name("measurementTime").value(iterationMillis + " ms");
+                json.name("primaryMetric");
+                writeMetric(json, result.time, "ns/op");
+                json.name("secondaryMetrics");
+                json.beginObject();
+                if (result.allocation != null) {
+                    json.name(ALLOCATION_METRIC);
+                    writeMetric(json, result.allocation, "B/op");
+                }
+                json.endObject();
+                json.endObject();
+            }
+            json.endArray();
+            json.flush();
+        }
+    }
+
+    private static void writeMetric(JsonWriter json, Metric metric, String unit) throws IOException {
+        json.beginObject();
+        json.name("score").value(metric.getScore());
+        json.name("scoreError").value(metric.getError());
+        json.name("scoreConfidence");
+        json.beginArray().value(metric.getScore() - metric.getError())
+                .value(metric.getScore() + metric.getError()).endArray();
+        json.name("scorePercentiles");
+        json.beginObject();
+        for (String percentile : PERCENTILES) {
+            json.name(percentile).value(metric.getPercentile(Double.parseDouble(percentile)));
+        }
+        json.endObject();
+        json.name("scoreUnit").value(unit);
+        json.name("rawData");
+        json.beginArray();
+        json.beginArray();
+        for (double score : metric.scores) {
+            json.value(score);
+        }
+        json.endArray();
+        json.endArray();
+        json.endObject();
+    }
+
+    private static class Iteration {
+        final double nanosPerOp;
+        final double bytesPerOp;
+
+        Iteration(double nanosPerOp, double bytesPerOp) {
+            this.nanosPerOp = nanosPerOp;
+            this.bytesPerOp = bytesPerOp;
+        }
+    }
+
+    private static class Result {
+        final String name;
+        final Metric time;
+        // Null if the JVM can't count allocation
+        final Metric allocation;
+
+        Result(String name, Metric time, Metric allocation) {
+            this.name = name;
+            this.time = time;
+            this.allocation = allocation;
+        }
+    }
+
+    /**
+     * One measurement of each measured iteration, such as its time per operation.
+     */
+    private static class Metric {
+        final double[] scores;
+
+        Metric(double[] scores) {
+            this.scores = scores;
+        }
+
+        double getScore() {
+            return Arrays.stream(scores).average().orElse(Double.NaN);
+        }
+
+        double getError() {
+            int n = scores.length;
+            if (n < 2) {
+                return Double.NaN;
+            }
+            double mean = getScore();
+            double variance = Arrays.stream(scores).map(s -> (s - mean) * (s - mean)).sum() / (n - 1);
+            return T_999[Math.min(n - 1, MAX_TABLED_DEGREES)] * Math.sqrt(variance / n);
+        }
+
+        double getPercentile(double percentile) {
+            double[] sorted = scores.clone();
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package benchmarks;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method that prepares the state of a benchmark class.  It is called once, before the
+ * benchmarks in the class are warmed up.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Setup {
+}
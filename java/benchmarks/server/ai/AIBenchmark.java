@@ -0,0 +1,59 @@
+package server.ai;
+
+import benchmarks.BenchmarkGames;
+import shared.definitions.AIType;
+import shared.definitions.TurnStatus;
+import shared.facades.FacadeManager;
+import shared.models.GameAction;
+import shared.models.game.ClientModel;
+import shared.models.game.Player;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many playouts {@link MonteCarloSearch} runs per second by having four AI seats play
+ * a game against each other from the start.
+ * <p>
+ * Searches run until their budget is spent, so timing them per operation would only measure the
+ * budget; this counts playouts instead, and is run on its own rather than by the BenchmarkRunner.
+ * <p>
+ * Usage: {@code AIBenchmark [moves] [budget in ms per move]}
+ */
+public class AIBenchmark {
+
+    public static void main(String[] args) {
+        int maxMoves = args.length >= 1 ? Integer.parseInt(args[0]) : 200;
+        long budgetMillis = args.length >= 2 ? Long.parseLong(args[1]) : 100;
+
+        ClientModel model = BenchmarkGames.newGame();
+        FacadeManager facades = new FacadeManager(model);
+        MonteCarloSearch search = new MonteCarloSearch(AIType.LARGEST_ARMY, new Random(340));
+
+        long simulations = 0;
+        long searchNanos = 0;
+        int moves = 0;
+        while (moves < maxMoves && model.getTurnTracker().getStatus() != TurnStatus.GAME_OVER) {
+            GameAction move = null;
+            long start = System.nanoTime();
+            for (Player player : model.getPlayers()) {
+                move = search.chooseMove(model, player.getPlayerIndex(), TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+                if (move != null) {
+                    break;
+                }
+            }
+            searchNanos += System.nanoTime() - start;
+            simulations += search.getSimulations();
+            if (move == null) {
+                break;
+            }
+            move.setFacades(facades);
+            move.execute();
+            moves++;
+        }
+
+        double seconds = searchNanos / 1e9;
+        System.out.printf("%d moves, %d simulations in %.2f s: %.0f simulations/s%n",
+                moves, simulations, seconds, simulations / seconds);
+    }
+}
@@ -0,0 +1,36 @@
+package shared.facades;
+
+import benchmarks.Benchmark;
+import benchmarks.BenchmarkGames;
+import benchmarks.Setup;
+import shared.definitions.PlayerIndex;
+import shared.models.game.ResourceSet;
+
+import java.util.Map;
+
+/**
+ * Working out what each roll awards, on a board part way through a game.
+ * <p>
+ * An operation works out the awards of every roll but the robber's.
+ */
+public class ResourcesFacadeBenchmark {
+    private static final int MOVES = 300;
+    private static final int[] ROLLS = {2, 3, 4, 5, 6, 8, 9, 10, 11, 12};
+
+    private ResourcesFacade resources;
+
+    @Setup
+    public void setup() {
+        resources = new FacadeManager(BenchmarkGames.playedGame(MOVES)).getResources();
+    }
+
+    @Benchmark
+    public int getAwardsFromHexes() {
+        int awarded = 0;
+        for (int roll : ROLLS) {
+            Map<PlayerIndex, ResourceSet> awards = resources.getAwardsFromHexes(roll);
+            awarded += awards.size();
+        }
+        return awarded;
+    }
+}
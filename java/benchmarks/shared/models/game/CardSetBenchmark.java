@@ -0,0 +1,31 @@
+package shared.models.game;
+
+import benchmarks.Benchmark;
+
+/**
+ * Arithmetic on {@link ResourceSet}s, as done for every trade, purchase and roll.
+ */
+public class CardSetBenchmark {
+    private final ResourceSet hand = new ResourceSet(3, 1, 4, 1, 5);
+    private final ResourceSet cost = new ResourceSet(0, 1, 1, 1, 1);
+
+    @Benchmark
+    public ResourceSet combined() {
+        return ResourceSet.combined(hand, cost);
+    }
+
+    @Benchmark
+    public ResourceSet subtracted() {
+        return ResourceSet.subtracted(hand, cost);
+    }
+
+    @Benchmark
+    public boolean isSubset() {
+        return cost.isSubset(hand);
+    }
+
+    @Benchmark
+    public int getTotal() {
+        return hand.getTotal();
+    }
+}
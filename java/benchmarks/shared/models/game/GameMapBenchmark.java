@@ -0,0 +1,78 @@
+package shared.models.game;
+
+import benchmarks.Benchmark;
+import benchmarks.BenchmarkGames;
+import benchmarks.Setup;
+import shared.definitions.PlayerIndex;
+import shared.locations.EdgeDirection;
+import shared.locations.EdgeLocation;
+import shared.locations.HexLocation;
+import shared.locations.VertexDirection;
+import shared.locations.VertexLocation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Placement checks and longest road on a board part way through a game.
+ * <p>
+ * An operation checks every edge or vertex of the board, as highlighting the places a player can
+ * build does, or finds the longest road of every player.
+ */
+public class GameMapBenchmark {
+    private static final int MOVES = 300;
+
+    private GameMap map;
+    private List<EdgeLocation> edges;
+    private List<VertexLocation> vertices;
+
+    @Setup
+    public void setup() {
+        map = BenchmarkGames.playedGame(MOVES).getMap();
+        Set<EdgeLocation> edgeSet = new LinkedHashSet<>();
+        Set<VertexLocation> vertexSet = new LinkedHashSet<>();
+        for (HexLocation hex : map.getHexes().keySet()) {
+            for (EdgeDirection direction : EdgeDirection.values()) {
+                edgeSet.add(EdgeLocation.of(hex, direction).getNormalizedLocation());
+            }
+            for (VertexDirection direction : VertexDirection.values()) {
+                vertexSet.add(VertexLocation.of(hex, direction).getNormalizedLocation());
+            }
+        }
+        edges = new ArrayList<>(edgeSet);
+        vertices = new ArrayList<>(vertexSet);
+    }
+
+    @Benchmark
+    public int canAddRoad() {
+        int count = 0;
+        for (EdgeLocation edge : edges) {
+            if (map.canAddRoad(edge, PlayerIndex.FIRST, false)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int canAddSettlement() {
+        int count = 0;
+        for (VertexLocation vertex : vertices) {
+            if (map.canAddSettlement(vertex, PlayerIndex.FIRST, false)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getPlayerLongestRoad() {
+        int total = 0;
+        for (PlayerIndex player : PlayerIndex.values()) {
+            total += map.getPlayerLongestRoad(player);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,61 @@
+package shared.serialization;
+
+import benchmarks.Benchmark;
+import benchmarks.BenchmarkGames;
+import benchmarks.Setup;
+import shared.models.game.ClientModel;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Converting a model to and from JSON, as done for every poll of the server.
+ * <p>
+ * The model is a game part way through, or the model JSON file named by the {@code benchmark.model}
+ * system property.
+ */
+public class ModelSerializerBenchmark {
+    private static final int MOVES = 300;
+
+    private final ModelSerializer serializer = ModelSerializer.getInstance();
+    private ClientModel model;
+    private String json;
+
+    @Setup
+    public void setup() throws IOException {
+        String file = System.getProperty("benchmark.model");
+        if (file != null) {
+            model = serializer.fromJson(new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8),
+                    ClientModel.class);
+        } else {
+            model = BenchmarkGames.playedGame(MOVES);
+        }
+        json = serializer.toJson(model, ClientModel.class);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return serializer.toJson(model, ClientModel.class);
+    }
+
+    @Benchmark
+    public ByteBuffer toJsonBytes() {
+        return serializer.toJsonBytes(model, ClientModel.class);
+    }
+
+    @Benchmark
+    public ClientModel fromJson() {
+        return serializer.fromJson(json, ClientModel.class);
+    }
+
+    @Benchmark
+    public ClientModel roundTrip() {
+        ByteBuffer bytes = serializer.toJsonBytes(model, ClientModel.class);
+        return serializer.fromJson(new ByteArrayInputStream(bytes.array(), bytes.arrayOffset(), bytes.remaining()),
+                ClientModel.class);
+    }
+}
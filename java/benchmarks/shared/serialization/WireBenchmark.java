@@ -0,0 +1,81 @@
+package shared.serialization;
+
+import benchmarks.BenchmarkGames;
+import shared.models.game.ClientModel;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares the size of models and how long they take to encode and decode in JSON and in the binary
+ * wire format.
+ * <p>
+ * Models are a new game and the same game after random legal moves, plus any model JSON files given.
+ * <p>
+ * Sizes are reported as well as times, so this is run on its own rather than by the BenchmarkRunner.
+ * <p>
+ * Usage: {@code WireBenchmark [model.json ...]}
+ */
+public class WireBenchmark {
+    private static final long MEASURE_NANOS = 1_000_000_000L;
+    private static Object sink;
+
+    public static void main(String[] args) throws IOException {
+        ModelSerializer json = ModelSerializer.getInstance();
+        BinarySerializer binary = BinarySerializer.getInstance();
+
+        List<String> names = new ArrayList<>();
+        List<ClientModel> models = new ArrayList<>();
+        names.add("new game");
+        models.add(BenchmarkGames.newGame());
+        names.add("after 300 moves");
+        models.add(BenchmarkGames.playedGame(300));
+        for (String file : args) {
+            names.add(file);
+            models.add(json.fromJson(new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8),
+                    ClientModel.class));
+        }
+
+        System.out.printf("%-20s %10s %10s %14s %14s %14s %14s%n", "model", "json B", "binary B",
+                "json enc us", "binary enc us", "json dec us", "binary dec us");
+        for (int i = 0; i < models.size(); i++) {
+            ClientModel model = models.get(i);
+            String jsonText = json.toJson(model, ClientModel.class);
+            byte[] jsonBytes = jsonText.getBytes(StandardCharsets.UTF_8);
+            byte[] binaryBytes = binary.toBinary(model, ClientModel.class);
+            // Warm up before measuring
+            for (int round = 0; round < 2; round++) {
+                measure(() -> json.toJson(model, ClientModel.class).getBytes(StandardCharsets.UTF_8));
+                measure(() -> binary.toBinary(model, ClientModel.class));
+                measure(() -> json.fromJson(new String(jsonBytes, StandardCharsets.UTF_8), ClientModel.class));
+                measure(() -> binary.fromBinary(binaryBytes, ClientModel.class));
+            }
+            System.out.printf("%-20s %10d %10d %14.1f %14.1f %14.1f %14.1f%n", names.get(i),
+                    jsonBytes.length, binaryBytes.length,
+                    measure(() -> json.toJson(model, ClientModel.class).getBytes(StandardCharsets.UTF_8)),
+                    measure(() -> binary.toBinary(model, ClientModel.class)),
+                    measure(() -> json.fromJson(new String(jsonBytes, StandardCharsets.UTF_8), ClientModel.class)),
+                    measure(() -> binary.fromBinary(binaryBytes, ClientModel.class)));
+        }
+    }
+
+    /**
+     * @return the mean time taken by the task in microseconds
+     */
+    private static double measure(Supplier<Object> task) {
+        long start = System.nanoTime();
+        long runs = 0;
+        long elapsed;
+        do {
+            sink = task.get();
+            runs++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < MEASURE_NANOS);
+        return elapsed / 1000.0 / runs;
+    }
+}
@@ -2,14 +2,18 @@ package client.base;
 
 import client.game.GameManager;
 import client.game.IGameManager;
+import client.game.ModelChanges;
+import client.game.ModelPart;
 import client.utils.ServerAsyncHelper;
 import shared.IServer;
 import shared.facades.FacadeManager;
 import shared.models.game.ClientModel;
 import shared.models.game.Player;
 
+import java.util.EnumSet;
 import java.util.Observable;
 import java.util.Observer;
+import java.util.Set;
 
 /**
  * Base class for controllers
@@ -20,6 +24,7 @@ public abstract class Controller implements IController, Observer {
 
     private IView view;
     private IGameManager game;
+    private Set<ModelPart> observedParts = EnumSet.allOf(ModelPart.class);
 
     protected Controller(IView view) {
         setView(view);
@@ -67,15 +72,48 @@ public abstract class Controller implements IController, Observer {
         getGameManager().addObserver(this);
     }
 
+    /**
+     * Observe only some parts of the model; the controller isn't updated when only other parts change.
+     *
+     * @param first the first part to observe
+     * @param rest  any other parts to observe
+     */
+    public void observeClientModel(ModelPart first, ModelPart... rest) {
+        observedParts = EnumSet.of(first, rest);
+        observeClientModel();
+    }
+
 
     @Override
     public synchronized void update(Observable o, Object arg) {
-        if (o instanceof IGameManager && arg instanceof ClientModel) {
+        if (!(o instanceof IGameManager)) {
+            return;
+        }
+        ModelChanges changes;
+        if (arg instanceof ModelChanges) {
+            changes = (ModelChanges) arg;
+        } else if (arg instanceof ClientModel) {
+            changes = ModelChanges.all((ClientModel) arg);
+        } else {
+            return;
+        }
+        if (changes.hasChangedAny(observedParts)) {
             setServer(((IGameManager) o).getServer());
-            updateFromModel((ClientModel) arg);
+            updateFromModel(changes.getModel(), changes);
         }
     }
 
+    /**
+     * Update from the parts of the model that changed.  Calls {@link #updateFromModel(ClientModel)}
+     * by default, for controllers that redraw everything they observe.
+     *
+     * @param model   the new model
+     * @param changes what changed since the last model
+     */
+    protected void updateFromModel(ClientModel model, ModelChanges changes) {
+        updateFromModel(model);
+    }
+
     protected void updateFromModel(ClientModel model) {
         // Do nothing by default, overridden by classes that need it
     }
@@ -0,0 +1,195 @@
+package client.bot;
+
+import client.game.GameManager;
+import client.poller.Poller;
+import client.server.ServerProxy;
+import client.utils.ServerAsyncHelper;
+import shared.definitions.CatanColor;
+import shared.definitions.TurnStatus;
+import shared.facades.FacadeManager;
+import shared.models.GameAction;
+import shared.models.game.ClientModel;
+import shared.models.game.Player;
+import shared.models.games.CreateGameRequest;
+import shared.models.games.JoinGameRequest;
+import shared.models.user.Credentials;
+import shared.utils.ServerUtils;
+
+import java.util.List;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One simulated player, made of the same pieces as the client but with no UI: a {@link ServerProxy}
+ * with cookies of its own, a {@link GameManager} and a {@link Poller}.  Whenever the game is waiting
+ * on it, it makes random legal moves, from the {@link FacadeManager}'s move generator, until there are
+ * none left.
+ * <p>
+ * Bots start no threads of their own.  Their polls run on a scheduler and their moves on an executor,
+ * both of which can be shared by every bot in the process, and models are handed over on the
+ * executor too.  Bots don't use the model cache, so they always start from the server's model and
+ * never write to the user's files.
+ */
+public class BotClient implements Observer {
+    private static final Logger LOGGER = Logger.getLogger("BotClient");
+    /**
+     * How many moves in a row the server may reject before the bot waits for the game to change
+     */
+    private static final int MAX_REJECTED = 3;
+
+    private final GameManager game = new GameManager();
+    private final ServerProxy server;
+    private final Poller poller;
+    private final Executor workers;
+    private final Random random;
+    private final AtomicBoolean playing = new AtomicBoolean();
+    // Set whenever the model changes, so a change while playing isn't missed
+    private final AtomicBoolean changed = new AtomicBoolean();
+    private final AtomicInteger moves = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private final CountDownLatch over = new CountDownLatch(1);
+
+    /**
+     * @param scheduler runs the bot's polls
+     * @param workers   runs the bot's moves
+     * @param random    chooses the bot's moves
+     */
+    public BotClient(String host, String port, ScheduledExecutorService scheduler, Executor workers, Random random) {
+        this.workers = workers;
+        this.random = random;
+        server = ServerProxy.connect(host, port, id -> game.getPlayerInfo().setId(id));
+        game.setHostPort(host, port);
+        game.setServer(server);
+        game.setAsync(new ServerAsyncHelper(game, workers));
+        game.disableModelCache();
+        poller = new Poller(game, scheduler, workers);
+        game.setPoller(poller);
+        game.addObserver(this);
+    }
+
+    public void register(String username, String password) throws Exception {
+        server.register(new Credentials(password, username));
+        game.getPlayerInfo().setName(username);
+    }
+
+    /**
+     * Creates a game with the standard board.
+     *
+     * @return the new game's id
+     */
+    public int createGame(String title) throws Exception {
+        return ServerUtils.createGame(server, new CreateGameRequest(false, false, false, title));
+    }
+
+    public void joinGame(int gameId, CatanColor color) throws Exception {
+        server.joinGame(new JoinGameRequest(color, gameId));
+        game.setGameId(gameId);
+        game.getPlayerInfo().setColor(color);
+    }
+
+    /**
+     * Starts polling the game, and playing whenever it's waiting on this bot.
+     */
+    public void start() {
+        game.startPoller();
+    }
+
+    public void stop() {
+        poller.stopPoller();
+    }
+
+    /**
+     * Waits for the game to be won.
+     *
+     * @return whether it was won before the time was up
+     */
+    public boolean awaitGameOver(long timeout, TimeUnit unit) throws InterruptedException {
+        return over.await(timeout, unit);
+    }
+
+    /**
+     * @return the number of moves the server accepted
+     */
+    public int getMoves() {
+        return moves.get();
+    }
+
+    /**
+     * @return the number of moves the server rejected
+     */
+    public int getRejected() {
+        return rejected.get();
+    }
+
+    @Override
+    public void update(Observable o, Object arg) {
+        ClientModel model = game.getClientModel();
+        if (model == null || model.getTurnTracker() == null) {
+            return;
+        }
+        if (game.getThisPlayerIndex() == null) {
+            model.getPlayers().stream()
+                    .filter(p -> p != null && p.getPlayerID() == game.getPlayerInfo().getId())
+                    .findFirst()
+                    .ifPresent(p -> game.setThisPlayerIndex(p.getPlayerIndex()));
+        }
+        if (model.getTurnTracker().getStatus() == TurnStatus.GAME_OVER) {
+            over.countDown();
+        } else if (game.getThisPlayerIndex() != null) {
+            changed.set(true);
+            workers.execute(this::play);
+        }
+    }
+
+    /**
+     * Makes moves until there are none left to make, then again if the model changed meanwhile.  Only
+     * one thread plays for a bot at a time.
+     */
+    private void play() {
+        while (changed.get() && playing.compareAndSet(false, true)) {
+            try {
+                changed.set(false);
+                makeMoves();
+            } finally {
+                playing.set(false);
+            }
+        }
+    }
+
+    /**
+     * Makes moves until there are none left to make.  The moves' models notify this bot again, but it
+     * is already playing, so it carries on here instead.
+     */
+    private void makeMoves() {
+        int rejectedInARow = 0;
+        ClientModel model;
+        while (rejectedInARow < MAX_REJECTED && (model = game.getClientModel()) != null
+                && model.getTurnTracker().getStatus() != TurnStatus.GAME_OVER) {
+            Player me = model.getPlayer(game.getThisPlayerIndex());
+            List<GameAction> legal = new FacadeManager(model).getMoves().getLegalMoves(me);
+            if (legal.isEmpty()) {
+                return;
+            }
+            GameAction move = legal.get(random.nextInt(legal.size()));
+            try {
+                ClientModel result = ServerUtils.sendMove(server, move);
+                moves.incrementAndGet();
+                rejectedInARow = 0;
+                game.updateGameManager(result);
+            } catch (Exception e) {
+                LOGGER.log(Level.FINE, e, () -> "Server rejected " + move);
+                rejected.incrementAndGet();
+                rejectedInARow++;
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package client.bot;
+
+import shared.definitions.CatanColor;
+import shared.definitions.PlayerIndex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Soak tests a running server with many {@link BotClient}s in one process, four to a game.
+ * <p>
+ * Every bot shares one pool of threads for polling and another for moves, and every request goes
+ * through the process's pool of kept-alive connections, so a thousand bots need only a few dozen
+ * threads.  Reports the moves made and rejected once every game is won or the time is up.
+ * <p>
+ * Usage: {@code BotDriver [host] [port] [bots] [minutes] [threads]}
+ */
+public class BotDriver {
+    private static final CatanColor[] COLORS = {CatanColor.RED, CatanColor.BLUE, CatanColor.GREEN, CatanColor.YELLOW};
+    private static final String PASSWORD = "soaktest";
+
+    public static void main(String[] args) throws Exception {
+        String host = args.length >= 1 ? args[0] : "localhost";
+        String port = args.length >= 2 ? args[1] : "8081";
+        int bots = args.length >= 3 ? Integer.parseInt(args[2]) : 100;
+        double minutes = args.length >= 4 ? Double.parseDouble(args[3]) : 5;
+        int threads = args.length >= 5 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors() * 4;
+        System.setProperty("java.awt.headless", "true");
+        // Idle connections kept alive per server; read once, before the first connection is made
+        if (System.getProperty("http.maxConnections") == null) {
+            System.setProperty("http.maxConnections", String.valueOf(threads * 2));
+        }
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(threads, daemons("BotPoller"));
+        ExecutorService workers = Executors.newFixedThreadPool(threads, daemons("BotWorker"));
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<BotClient> clients = new ArrayList<>();
+        int games = (bots + PlayerIndex.MAX_PLAYERS - 1) / PlayerIndex.MAX_PLAYERS;
+        for (int g = 0; g < games; g++) {
+            int gameId = -1;
+            for (int seat = 0; seat < PlayerIndex.MAX_PLAYERS && clients.size() < bots; seat++) {
+                BotClient bot = new BotClient(host, port, scheduler, workers, new Random(g * PlayerIndex.MAX_PLAYERS + seat));
+                bot.register("bot" + run + "_" + g + "_" + seat, PASSWORD);
+                if (seat == 0) {
+                    gameId = bot.createGame("soak" + run + "_" + g);
+                }
+                bot.joinGame(gameId, COLORS[seat]);
+                clients.add(bot);
+            }
+        }
+        System.out.printf("%d bots joined %d games%n", clients.size(), games);
+
+        long start = System.nanoTime();
+        clients.forEach(BotClient::start);
+        long deadline = start + (long) (minutes * 60e9);
+        int won = 0;
+        for (int i = 0; i < clients.size(); i += PlayerIndex.MAX_PLAYERS) {
+            if (clients.get(i).awaitGameOver(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                won++;
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        clients.forEach(BotClient::stop);
+
+        long moves = clients.stream().mapToLong(BotClient::getMoves).sum();
+        long rejected = clients.stream().mapToLong(BotClient::getRejected).sum();
+        System.out.printf("%d of %d games won, %d moves (%d rejected) in %.1f s: %.0f moves/s%n",
+                won, games, moves, rejected, seconds, moves / seconds);
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private static ThreadFactory daemons(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
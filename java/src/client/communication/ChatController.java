@@ -2,18 +2,14 @@ package client.communication;
 
 import client.base.Controller;
 import client.base.IView;
+import client.game.ModelChanges;
+import client.game.ModelPart;
 import org.jetbrains.annotations.NotNull;
-import shared.definitions.CatanColor;
 import shared.facades.ChatFacade;
 import shared.models.game.ClientModel;
-import shared.models.game.MessageList;
-import shared.models.game.Player;
 import shared.models.moves.SendChatAction;
 
-import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * Controls all the interaction between the fascade, server, and UI for chatting
@@ -30,7 +26,7 @@ public class ChatController extends Controller implements IChatController {
      */
     public ChatController(IView view) {
         super(view);
-        observeClientModel();
+        observeClientModel(ModelPart.CHAT, ModelPart.PLAYERS);
     }
 
     @Override
@@ -60,19 +56,19 @@ public class ChatController extends Controller implements IChatController {
     }
 
     @Override
-    public void updateFromModel(ClientModel model) {
-        MessageList chats = model.getChat();
-
-        Map<String, CatanColor> colors = model.getPlayers().stream()
-                .collect(Collectors.toMap(Player::getName, Player::getColor));
-
-        List<LogEntry> entries = chats.getLines().stream()
-                .map(e -> new LogEntry(
-                        colors.get(e.getSource()),
-                        e.getMessage()))
-                .collect(Collectors.toList());
+    protected void updateFromModel(ClientModel model, ModelChanges changes) {
+        if (changes.hasChanged(ModelPart.PLAYERS)) {
+            // Colors may have changed
+            updateFromModel(model);
+        } else {
+            int first = changes.getFirstChangedChat();
+            getView().updateEntries(first, LogEntry.fromLines(model.getChat(), model.getPlayers(), first));
+        }
+    }
 
+    @Override
+    public void updateFromModel(ClientModel model) {
         // Update the view with the new chats
-        getView().setEntries(entries);
+        getView().setEntries(LogEntry.fromLines(model.getChat(), model.getPlayers(), 0));
     }
 }
@@ -78,7 +78,12 @@ public class ChatView extends PanelView implements IChatView {
 
     @Override
     public void setEntries(final List<LogEntry> entries) {
-        chatPanel.setEntries(entries);
+        updateEntries(0, entries);
+    }
+
+    @Override
+    public void updateEntries(int first, List<LogEntry> entries) {
+        SwingUtilities.invokeLater(() -> chatPanel.updateEntries(first, entries));
     }
 
     /**
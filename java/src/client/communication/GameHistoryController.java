@@ -1,16 +1,12 @@
 package client.communication;
 
 import client.base.Controller;
-import shared.definitions.CatanColor;
+import client.game.ModelChanges;
+import client.game.ModelPart;
 import shared.models.game.ClientModel;
-import shared.models.game.MessageList;
-import shared.models.game.Player;
 
 import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 
 /**
@@ -21,7 +17,7 @@ public class GameHistoryController extends Controller implements IGameHistoryCon
 
     public GameHistoryController(IGameHistoryView view) {
         super(view);
-        observeClientModel();
+        observeClientModel(ModelPart.LOG, ModelPart.PLAYERS);
     }
 
     @Override
@@ -35,22 +31,21 @@ public class GameHistoryController extends Controller implements IGameHistoryCon
     }
 
     @Override
-    public void updateFromModel(ClientModel model) {
-        MessageList log = model.getLog();
+    protected void updateFromModel(ClientModel model, ModelChanges changes) {
+        if (changes.hasChanged(ModelPart.PLAYERS)) {
+            // Colors may have changed
+            updateFromModel(model);
+        } else {
+            LOGGER.fine(() -> "Updating game history from line " + changes.getFirstChangedLog());
+            int first = changes.getFirstChangedLog();
+            getView().updateEntries(first, LogEntry.fromLines(model.getLog(), model.getPlayers(), first));
+        }
+    }
 
+    @Override
+    public void updateFromModel(ClientModel model) {
         LOGGER.fine("Updating game history");
-
-        Map<String, CatanColor> colors = model.getPlayers().stream()
-                .collect(Collectors.toMap(Player::getName, Player::getColor));
-
-        List<LogEntry> entries = log.getLines().stream()
-                .map(e -> new LogEntry(
-                        colors.get(e.getSource()),
-                        e.getMessage()))
-                .collect(Collectors.toList());
-
-        getView().setEntries(entries);
+        getView().setEntries(LogEntry.fromLines(model.getLog(), model.getPlayers(), 0));
     }
 
 }
-
@@ -34,6 +34,11 @@ public class GameHistoryView extends PanelView implements IGameHistoryView {
 
     @Override
     public void setEntries(final List<LogEntry> entries) {
+        updateEntries(0, entries);
+    }
+
+    @Override
+    public void updateEntries(int first, List<LogEntry> entries) {
 
         // Can't set entries immediately, because logPanel doesn't
         // have a width or height yet, which messes up the word wrap
@@ -41,7 +46,7 @@ public class GameHistoryView extends PanelView implements IGameHistoryView {
         // invokeLater.
 
         javax.swing.SwingUtilities.invokeLater(() -> {
-            logPanel.setEntries(entries);
+            logPanel.updateEntries(first, entries);
             JScrollBar vertical = logScroll.getVerticalScrollBar();
             vertical.setValue(vertical.getMaximum());
         });
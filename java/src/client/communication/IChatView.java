@@ -15,5 +15,13 @@ public interface IChatView extends IView {
      * @param entries The chat messages to display
      */
     void setEntries(List<LogEntry> entries);
+
+    /**
+     * Replaces the chat messages from {@code first} on, keeping the ones before it.
+     *
+     * @param first   The index of the first message to replace
+     * @param entries The messages to display from there on
+     */
+    void updateEntries(int first, List<LogEntry> entries);
 }
 
@@ -15,5 +15,13 @@ public interface IGameHistoryView extends IView {
      * @param entries The history messages to display
      */
     void setEntries(List<LogEntry> entries);
+
+    /**
+     * Replaces the history messages from {@code first} on, keeping the ones before it.
+     *
+     * @param first   The index of the first message to replace
+     * @param entries The messages to display from there on
+     */
+    void updateEntries(int first, List<LogEntry> entries);
 }
 
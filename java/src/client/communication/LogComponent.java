@@ -1,6 +1,5 @@
 package client.communication;
 
-import client.utils.ImageUtils;
 import shared.definitions.CatanColor;
 
 import javax.swing.*;
@@ -8,23 +7,34 @@ import java.awt.*;
 import java.awt.font.FontRenderContext;
 import java.awt.geom.Rectangle2D;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
 
 /**
  * Custom component that displays a log of messages. Used in both the chat and
  * game history views.
+ * <p>
+ * Each entry is word wrapped once for the component's width, and wrapped again only if it changes
+ * or the width does.  Only the entries in view are painted.
  */
 @SuppressWarnings("serial")
 public class LogComponent extends JComponent {
+    private static final List<LogEntry> NO_MESSAGES = Collections.singletonList(
+            new LogEntry(CatanColor.WHITE, "No messages"));
+
     private int LEFT_MARGIN = 5;
     private int RIGHT_MARGIN = 5;
     private int TOP_MARGIN = 3;
     private int BOTTOM_MARGIN = 3;
 
     private Font font;
+    private FontMetrics fontMetrics;
 
-    private List<LogEntry> entries;
+    private List<LogEntry> entries = new ArrayList<>();
+    // The wrapped entries, in order; may be fewer than the entries until they're laid out
+    private List<EntryLayout> layouts = new ArrayList<>();
+    private int layoutWidth = -1;
 
     public LogComponent() {
         this.setBackground(Color.white);
@@ -32,21 +42,50 @@ public class LogComponent extends JComponent {
 
         Font tmpFont = new JLabel("").getFont();
         font = tmpFont.deriveFont(tmpFont.getStyle(), 24);
+        fontMetrics = this.getFontMetrics(font);
 
         setEntries(null);
     }
 
     public void setEntries(List<LogEntry> entries) {
-        if (entries == null || entries.size() == 0) {
-            this.entries = new ArrayList<LogEntry>();
-            this.entries.add(new LogEntry(CatanColor.WHITE, "No messages"));
-        } else {
-            this.entries = entries;
+        updateEntries(0, entries);
+    }
+
+    /**
+     * Replaces the entries from {@code first} on, keeping the ones before it and how they're wrapped.
+     *
+     * @param first      the index of the first entry to replace
+     * @param newEntries the entries to put from there on
+     */
+    public void updateEntries(int first, List<LogEntry> newEntries) {
+        List<LogEntry> shown = getShownEntries();
+        first = Math.min(first, entries.size());
+        // Entries that didn't actually change keep their layout
+        int unchanged = first;
+        while (unchanged < entries.size() && newEntries != null && unchanged - first < newEntries.size()
+                && entries.get(unchanged).equals(newEntries.get(unchanged - first))) {
+            unchanged++;
+        }
+        entries.subList(first, entries.size()).clear();
+        if (newEntries != null) {
+            entries.addAll(newEntries);
+        }
+        if (shown != getShownEntries()) {
+            // Switching to or from the placeholder
+            unchanged = 0;
+        }
+        if (unchanged < layouts.size()) {
+            layouts.subList(unchanged, layouts.size()).clear();
         }
 
         if (this.getWidth() > 0) {
             updateSize(this.getWidth());
         }
+        repaint();
+    }
+
+    private List<LogEntry> getShownEntries() {
+        return entries.isEmpty() ? NO_MESSAGES : entries;
     }
 
     private void updateSize(int width) {
@@ -58,12 +97,30 @@ public class LogComponent extends JComponent {
     }
 
     private int getPreferredHeight(int width) {
+        layOut(width);
+        return layouts.isEmpty() ? 0 : layouts.get(layouts.size() - 1).getBottom();
+    }
 
-        Graphics2D g2 = ImageUtils.DEFAULT_IMAGE.createGraphics();
-
-        int prefHeight = draw(g2, width);
-
-        return prefHeight;
+    /**
+     * Wraps any entries that aren't wrapped yet for the width.
+     */
+    private void layOut(int width) {
+        if (width != layoutWidth) {
+            layouts.clear();
+            layoutWidth = width;
+        }
+        List<LogEntry> shown = getShownEntries();
+        FontRenderContext fontContext = fontMetrics.getFontRenderContext();
+        int y = layouts.isEmpty() ? 0 : layouts.get(layouts.size() - 1).getBottom();
+        for (int i = layouts.size(); i < shown.size(); i++) {
+            LogEntry entry = shown.get(i);
+            List<String> lines = wrapText(fontContext, entry.getMessage(), width);
+            EntryLayout layout = new EntryLayout(entry, lines, y, TOP_MARGIN + BOTTOM_MARGIN
+                    + fontMetrics.getAscent() + fontMetrics.getDescent()
+                    + (lines.size() - 1) * fontMetrics.getHeight());
+            layouts.add(layout);
+            y = layout.getBottom();
+        }
     }
 
     @Override
@@ -71,46 +128,62 @@ public class LogComponent extends JComponent {
         super.paintComponent(g);
 
         Graphics2D g2 = (Graphics2D) g;
+        layOut(this.getWidth());
 
-        draw(g2, this.getWidth());
-    }
-
-    private int draw(Graphics2D g2, int width) {
-        int y = 0;
-
-        FontMetrics fontMetrics = this.getFontMetrics(font);
-        FontRenderContext fontContext = fontMetrics.getFontRenderContext();
-
+        Rectangle clip = g2.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
         g2.setFont(font);
+        for (int i = firstLayoutBelow(clip.y); i < layouts.size(); i++) {
+            EntryLayout layout = layouts.get(i);
+            if (layout.top >= clip.y + clip.height) {
+                break;
+            }
+            draw(g2, layout);
+        }
+    }
 
-        for (LogEntry entry : entries) {
-            List<String> lines = wrapText(fontContext, entry.getMessage(), width);
-            int rectHeight = TOP_MARGIN + BOTTOM_MARGIN + lines.size()
-                    * fontMetrics.getHeight();
+    /**
+     * @return the index of the first entry that ends below {@code y}
+     */
+    private int firstLayoutBelow(int y) {
+        int low = 0;
+        int high = layouts.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (layouts.get(middle).getBottom() <= y) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
 
-            g2.setColor(entry.getColor().getJavaColor());
-            g2.fillRect(0, y, this.getWidth(), rectHeight);
+    private void draw(Graphics2D g2, EntryLayout layout) {
+        int y = layout.top;
+        int rectHeight = TOP_MARGIN + BOTTOM_MARGIN + layout.lines.size()
+                * fontMetrics.getHeight();
 
-            g2.setColor(Color.white);
-            g2.drawRect(0, y, this.getWidth(), rectHeight);
+        g2.setColor(layout.entry.getColor().getJavaColor());
+        g2.fillRect(0, y, this.getWidth(), rectHeight);
 
-            g2.setColor(Color.black);
+        g2.setColor(Color.white);
+        g2.drawRect(0, y, this.getWidth(), rectHeight);
 
-            y += TOP_MARGIN + fontMetrics.getAscent();
+        g2.setColor(Color.black);
 
-            for (int i = 0; i < lines.size(); ++i) {
+        y += TOP_MARGIN + fontMetrics.getAscent();
 
-                if (i > 0) {
-                    y += fontMetrics.getHeight();
-                }
+        for (int i = 0; i < layout.lines.size(); ++i) {
 
-                g2.drawString(lines.get(i), LEFT_MARGIN, y);
+            if (i > 0) {
+                y += fontMetrics.getHeight();
             }
 
-            y += fontMetrics.getDescent() + BOTTOM_MARGIN;
+            g2.drawString(layout.lines.get(i), LEFT_MARGIN, y);
         }
-
-        return y;
     }
 
     private List<String> wrapText(FontRenderContext context, String text, int width) {
@@ -152,5 +225,25 @@ public class LogComponent extends JComponent {
         return result;
     }
 
-}
+    /**
+     * An entry wrapped into lines, and where it is in the log.
+     */
+    private static class EntryLayout {
+        final LogEntry entry;
+        final List<String> lines;
+        final int top;
+        final int height;
+
+        EntryLayout(LogEntry entry, List<String> lines, int top, int height) {
+            this.entry = entry;
+            this.lines = lines;
+            this.top = top;
+            this.height = height;
+        }
 
+        int getBottom() {
+            return top + height;
+        }
+    }
+
+}
@@ -1,8 +1,14 @@
 package client.communication;
 
 import shared.definitions.CatanColor;
+import shared.models.game.MessageEntry;
+import shared.models.game.MessageList;
+import shared.models.game.Player;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Message (or entry) displayed in the LogComponent
@@ -24,6 +30,20 @@ public class LogEntry {
         this.message = message;
     }
 
+    /**
+     * Makes entries for the lines from {@code first} on, colored by who sent them.
+     *
+     * @return the entries for those lines
+     */
+    public static List<LogEntry> fromLines(MessageList lines, List<Player> players, int first) {
+        Map<String, CatanColor> colors = players.stream()
+                .collect(Collectors.toMap(Player::getName, Player::getColor));
+        List<MessageEntry> all = lines.getLines();
+        return all.subList(Math.min(first, all.size()), all.size()).stream()
+                .map(e -> new LogEntry(colors.get(e.getSource()), e.getMessage()))
+                .collect(Collectors.toList());
+    }
+
     public CatanColor getColor() {
         return color;
     }
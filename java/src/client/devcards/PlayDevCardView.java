@@ -2,7 +2,7 @@ package client.devcards;
 
 import client.base.OverlayView;
 import client.utils.FontUtils;
-import client.utils.ImageUtils;
+import client.utils.ImageAtlas;
 import shared.definitions.DevCardType;
 import shared.definitions.ResourceType;
 
@@ -459,8 +459,7 @@ class DevelopmentCardChooser extends ButtonGroupPanel {
     }
 
     private BufferedImage loadDevCardImage(String file) {
-        BufferedImage image = ImageUtils.loadImage(file);
-        return ImageUtils.resizeImage(image, 100, 100);
+        return ImageAtlas.getInstance().getSized(file, 100, 100);
     }
 
     void add(DevCardType type, JToggleButton button) {
@@ -1,6 +1,7 @@
 package client.discard;
 
 import client.base.Controller;
+import client.game.ModelPart;
 import client.misc.IWaitView;
 import shared.definitions.ResourceType;
 import shared.definitions.TurnStatus;
@@ -27,7 +28,7 @@ public class DiscardController extends Controller implements IDiscardController
      */
     public DiscardController(IDiscardView view, IWaitView waitView) {
         super(view);
-        observeClientModel();
+        observeClientModel(ModelPart.PLAYERS, ModelPart.TURN_TRACKER);
         this.waitView = waitView;
         discardAmount = new ResourceSet();
     }
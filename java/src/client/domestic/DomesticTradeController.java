@@ -1,6 +1,7 @@
 package client.domestic;
 
 import client.base.Controller;
+import client.game.ModelPart;
 import client.misc.IWaitView;
 import shared.definitions.PlayerIndex;
 import shared.definitions.ResourceType;
@@ -45,7 +46,7 @@ public class DomesticTradeController extends Controller implements IDomesticTrad
         setTradeOverlay(tradeOverlay);
         setWaitOverlay(waitOverlay);
         setAcceptOverlay(acceptOverlay);
-        observeClientModel();
+        observeClientModel(ModelPart.TRADE_OFFER, ModelPart.PLAYERS, ModelPart.TURN_TRACKER);
         tradeOffer = null;
     }
 
@@ -6,16 +6,33 @@ import client.utils.ServerAsyncHelper;
 import shared.IServer;
 import shared.definitions.PlayerIndex;
 import shared.facades.FacadeManager;
+import shared.models.GameAction;
 import shared.models.game.ClientModel;
 import shared.models.game.Player;
 import shared.models.games.PlayerInfo;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.Observable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Manages a single game
+ * <p>
+ * Moves are shown as soon as they're made: each is {@linkplain #predict predicted} by running it on a
+ * copy of the server's model, and the server's model replaces the prediction once it answers.
+ * Predicting can be turned off with {@code -Dcatan.predictMoves=false}.
+ * <p>
+ * The server's models are saved in a {@link ModelCache}, so rejoining a game shows the last model
+ * seen of it right away, and the poller only downloads the model again if it has changed since.
+ * Only models from the server process still running are used, so nothing is cached unless the
+ * server is a {@link ServerProxy} that has said which process it is.
  */
 public class GameManager extends Observable implements IGameManager {
+    private static final Logger LOGGER = Logger.getLogger("GameManager");
+    private static final boolean PREDICT_MOVES = !"false".equals(System.getProperty("catan.predictMoves"));
     /**
      * Setting up the singleton for all to use
      */
@@ -28,6 +45,14 @@ public class GameManager extends Observable implements IGameManager {
      * Game model on clients side for version
      */
     private ClientModel clientModel;
+    /**
+     * The newest model from the server, which {@link #clientModel} is when no moves are predicted
+     */
+    private ClientModel serverModel;
+    /**
+     * Predicted moves the server hasn't answered yet, oldest first
+     */
+    private final Deque<GameAction> predicted = new ArrayDeque<>();
     /**
      * The server that may be a fake one or a real one
      */
@@ -40,8 +65,18 @@ public class GameManager extends Observable implements IGameManager {
      * Info on the games players
      */
     private PlayerInfo playerInfo;
+    /**
+     * The game being played, or -1 before one is joined
+     */
+    private int gameId = -1;
 
     private ServerAsyncHelper async;
+    private ModelCache modelCache = ModelCache.getDefault();
+    /**
+     * Whether {@link #serverModel} was loaded from the cache, so the server's next model replaces it
+     * whatever its version
+     */
+    private boolean fromCache;
 
     /**
      * Port that was passed in from the command line
@@ -53,11 +88,12 @@ public class GameManager extends Observable implements IGameManager {
     private String host = "localhost";
 
     /**
-     * Init stuff for the game manager as needed
+     * Init stuff for the game manager as needed.  Most of the client uses the one from {@link #getGame()};
+     * others are for playing as more than one user from one process.
      *
      * @post This provides valid operations on GameManager
      */
-    GameManager() {
+    public GameManager() {
         clientModel = new ClientModel();
         setAsync(new ServerAsyncHelper(this));
         playerInfo = new PlayerInfo();
@@ -98,13 +134,51 @@ public class GameManager extends Observable implements IGameManager {
     }
 
     /**
-     * Starts the Poller, creates one if needed
+     * Starts the Poller, creates one if needed.  A new poller starts from the cached model of the game,
+     * if there is one.
      */
     public void startPoller() {
-        if (poller == null) poller = new Poller(this);
+        if (poller == null) {
+            loadCachedModel();
+            poller = new Poller(this);
+        }
         poller.startPoller();
     }
 
+    private synchronized void loadCachedModel() {
+        String epoch = getServerEpoch();
+        if (gameId < 0 || serverModel != null || modelCache == null || epoch == null) {
+            return;
+        }
+        ClientModel cached = modelCache.load(getCacheKey(), epoch);
+        if (cached != null) {
+            LOGGER.info(() -> "Starting game " + gameId + " from its cached model, version " + cached.getVersion());
+            updateGameManager(cached);
+            fromCache = true;
+        }
+    }
+
+    private String getCacheKey() {
+        return host + "-" + port + "-" + gameId;
+    }
+
+    /**
+     * @return the name of the server process, or null if it isn't known
+     */
+    private String getServerEpoch() {
+        return server instanceof ServerProxy ? ((ServerProxy) server).getServerEpoch() : null;
+    }
+
+    private void saveToCache(ClientModel cm) {
+        if (gameId < 0 || modelCache == null || cm == null) {
+            return;
+        }
+        String epoch = getServerEpoch();
+        if (epoch != null) {
+            modelCache.save(getCacheKey(), epoch, cm);
+        }
+    }
+
     /**
      * Stops the Poller
      */
@@ -115,18 +189,133 @@ public class GameManager extends Observable implements IGameManager {
 
     /**
      * When the poller finds out the server has a new version it will call this
-     * function to update the client game
+     * function to update the client game.  A model older than the current one is ignored, since
+     * the poller and the response to a move can arrive in either order.
+     * <p>
+     * While moves are predicted the new model is kept but not shown, since it may or may not include
+     * the move being sent; it's shown once the server answers the moves.
+     * <p>
+     * Observers are given the {@link ModelChanges} from the current model, and aren't notified at
+     * all if nothing changed.
      *
      * @param cm the new clientModel
      */
-    public void updateGameManager(ClientModel cm) {
+    public synchronized void updateGameManager(ClientModel cm) {
+        if (cm != null && serverModel != null && !fromCache && cm.getVersion() < serverModel.getVersion()) {
+            return;
+        }
+        serverModel = cm;
+        fromCache = false;
+        saveToCache(cm);
+        if (cm == null) {
+            predicted.clear();
+        } else if (!predicted.isEmpty()) {
+            return;
+        }
+        show(cm);
+    }
+
+    /**
+     * Shows a move as if the server had already accepted it.  Does nothing if the move's outcome is
+     * random or it isn't legal in the current model.
+     *
+     * @param move the move about to be sent
+     * @return whether the move is now predicted, and must be {@linkplain #confirm confirmed} or
+     * {@linkplain #reject rejected}
+     */
+    public synchronized boolean predict(GameAction move) {
+        if (!PREDICT_MOVES || !move.isPredictable() || clientModel == null) {
+            return false;
+        }
+        if (predicted.isEmpty()) {
+            serverModel = clientModel;
+        }
+        ClientModel next = apply(clientModel, move);
+        if (next == null) {
+            return false;
+        }
+        predicted.add(move);
+        show(next);
+        return true;
+    }
+
+    /**
+     * Replaces a predicted move with the model the server made from it.
+     *
+     * @param move the predicted move
+     * @param cm   the server's model after the move, or null if it didn't send one
+     */
+    public synchronized void confirm(GameAction move, ClientModel cm) {
+        predicted.removeIf(m -> m == move);
+        if (cm != null && (serverModel == null || fromCache || cm.getVersion() >= serverModel.getVersion())) {
+            serverModel = cm;
+            fromCache = false;
+            saveToCache(cm);
+        }
+        showPredicted();
+    }
+
+    /**
+     * Takes back a predicted move the server didn't accept.
+     *
+     * @param move the predicted move
+     */
+    public synchronized void reject(GameAction move) {
+        if (predicted.removeIf(m -> m == move)) {
+            LOGGER.info(() -> "Server rejected " + move);
+            showPredicted();
+        }
+    }
+
+    /**
+     * Shows the server's model with the moves still waiting on it run on top.  Moves that are no
+     * longer legal are left out until the server answers them.
+     */
+    private void showPredicted() {
+        ClientModel model = serverModel;
+        for (Iterator<GameAction> it = predicted.iterator(); model != null && it.hasNext(); ) {
+            ClientModel next = apply(model, it.next());
+            if (next != null) {
+                model = next;
+            }
+        }
+        show(model);
+    }
+
+    /**
+     * @return a copy of the model with the move made, keeping the model's version, or null if the
+     * move isn't legal
+     */
+    private static ClientModel apply(ClientModel model, GameAction move) {
+        ClientModel copy = model.copy();
+        FacadeManager facades = move.getFacades();
+        move.setFacades(new FacadeManager(copy));
+        try {
+            move.execute();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, e, () -> "Can't predict " + move);
+            return null;
+        } finally {
+            move.setFacades(facades);
+        }
+        // Still the server's version, so the poller asks for anything newer than the server's model
+        copy.setVersion(model.getVersion());
+        return copy;
+    }
+
+    private void show(ClientModel cm) {
+        ClientModel previous = clientModel;
         clientModel = cm;
         facadeManager.update(cm);
         if (cm == null) {
             return;
         }
+        ModelChanges changes = ModelChanges.between(cm, previous);
+        if (changes.isEmpty()) {
+            return;
+        }
         setChanged();
-        notifyObservers(cm);
+        notifyObservers(changes);
     }
 
     /**
@@ -172,6 +361,28 @@ public class GameManager extends Observable implements IGameManager {
         this.playerInfo = playerInfo;
     }
 
+    @Override
+    public int getGameId() {
+        return gameId;
+    }
+
+    @Override
+    public void setGameId(int gameId) {
+        this.gameId = gameId;
+    }
+
+    void setModelCache(ModelCache modelCache) {
+        this.modelCache = modelCache;
+    }
+
+    /**
+     * Neither save the game's models nor start from a saved one, for clients that aren't people
+     * rejoining a game, such as bots.
+     */
+    public void disableModelCache() {
+        setModelCache(null);
+    }
+
     public ServerAsyncHelper getAsync() {
         return async;
     }
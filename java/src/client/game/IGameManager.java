@@ -5,6 +5,7 @@ import client.utils.ServerAsyncHelper;
 import shared.IServer;
 import shared.definitions.PlayerIndex;
 import shared.facades.FacadeManager;
+import shared.models.GameAction;
 import shared.models.game.ClientModel;
 import shared.models.game.Player;
 import shared.models.games.PlayerInfo;
@@ -45,6 +46,29 @@ public interface IGameManager {
      */
     void updateGameManager(ClientModel cm);
 
+    /**
+     * Shows a move before the server has answered it
+     *
+     * @param move the move about to be sent
+     * @return whether the move is shown, and must be confirmed or rejected once the server answers
+     */
+    boolean predict(GameAction move);
+
+    /**
+     * Replaces a predicted move with the server's model
+     *
+     * @param move the predicted move
+     * @param cm   the model the server sent back
+     */
+    void confirm(GameAction move, ClientModel cm);
+
+    /**
+     * Takes back a predicted move the server didn't accept
+     *
+     * @param move the predicted move
+     */
+    void reject(GameAction move);
+
     /**
      * Grabs a "server" for us so we can talk with the real server
      *
@@ -64,6 +88,13 @@ public interface IGameManager {
 
     PlayerInfo getPlayerInfo();
 
+    /**
+     * @return the id of the game being played, or -1 before one is joined
+     */
+    int getGameId();
+
+    void setGameId(int gameId);
+
     void setPlayerInfo(PlayerInfo playerInfo);
 
     Player getPlayer();
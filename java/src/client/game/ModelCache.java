@@ -0,0 +1,165 @@
+package client.game;
+
+import shared.models.game.ClientModel;
+import shared.serialization.BinarySerializer;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the last model of each game in a file, so a client that rejoins a game can show it right
+ * away and only ask the server for anything newer.
+ * <p>
+ * Each file holds the {@link BinarySerializer} schema, the epoch of the server process the model came
+ * from, the model's version, and the model in the binary format.  A file written with a different
+ * schema is ignored, and so is one from another server process, since a restarted server may give a
+ * different game the same id.  Files are written on a background thread; if models of a game come in
+ * faster than they're written, only the newest is.
+ */
+class ModelCache {
+    private static final Logger LOGGER = Logger.getLogger("ModelCache");
+    private static final String EXTENSION = ".model";
+
+    private final File directory;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ModelCache");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // The newest model of each game not yet written
+    private final ConcurrentMap<String, Entry> unwritten = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory where to keep the files; created when the first one is written
+     */
+    ModelCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the cache every game manager in this process shares, in {@code -Dcatan.modelCache}, or
+     * in {@code .catan/models} in the user's home
+     */
+    static ModelCache getDefault() {
+        return Holder.INSTANCE;
+    }
+
+    private static ModelCache inDefaultDirectory() {
+        String path = System.getProperty("catan.modelCache");
+        return new ModelCache(path != null ? new File(path)
+                : new File(System.getProperty("user.home"), ".catan" + File.separator + "models"));
+    }
+
+    /**
+     * Saves the model as the last one seen of the game.  The model is encoded before returning, so
+     * it may be changed afterwards.
+     *
+     * @param game  names the server and game, such as {@code localhost-8081-3}
+     * @param epoch names the server process the model came from
+     */
+    void save(String game, String epoch, ClientModel model) {
+        byte[] data = BinarySerializer.getInstance().toBinary(model, ClientModel.class);
+        if (unwritten.put(game, new Entry(game, epoch, model.getVersion(), data)) == null) {
+            writer.execute(() -> write(unwritten.remove(game)));
+        }
+    }
+
+    /**
+     * @param epoch the server process the model must have come from
+     * @return the last model saved of the game, or null if there isn't one that can be read
+     */
+    ClientModel load(String game, String epoch) {
+        File file = fileFor(game);
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (!in.readUTF().equals(BinarySerializer.getInstance().getSchema())) {
+                LOGGER.info(() -> "Ignoring " + file + ", which was saved by another version");
+                return null;
+            }
+            if (!in.readUTF().equals(epoch)) {
+                LOGGER.info(() -> "Ignoring " + file + ", which came from a server that has since restarted");
+                return null;
+            }
+            int version = in.readInt();
+            byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+            ClientModel model = BinarySerializer.getInstance().fromBinary(data, ClientModel.class);
+            return model.getVersion() == version ? model : null;
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, e, () -> "Couldn't read " + file);
+            return null;
+        }
+    }
+
+    /**
+     * Waits for any model being saved to be written.
+     */
+    void flush() throws InterruptedException {
+        try {
+            writer.submit(() -> {
+            }).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void write(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        File file = fileFor(entry.game);
+        try {
+            Files.createDirectories(directory.toPath());
+            // Written beside the file and moved over it, so a reader never sees half a model.  The name
+            // is unique, since other clients in this process or another may be saving the same game.
+            File temp = File.createTempFile(file.getName(), ".tmp", directory);
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                    out.writeUTF(BinarySerializer.getInstance().getSchema());
+                    out.writeUTF(entry.epoch);
+                    out.writeInt(entry.version);
+                    out.writeInt(entry.data.length);
+                    out.write(entry.data);
+                }
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, e, () -> "Couldn't save the model to " + file);
+        }
+    }
+
+    private File fileFor(String game) {
+        return new File(directory, game.replaceAll("[^A-Za-z0-9.-]", "_") + EXTENSION);
+    }
+
+    private static class Holder {
+        private static final ModelCache INSTANCE = inDefaultDirectory();
+    }
+
+    private static class Entry {
+        final String game;
+        final String epoch;
+        final int version;
+        final byte[] data;
+
+        Entry(String game, String epoch, int version, byte[] data) {
+            this.game = game;
+            this.epoch = epoch;
+            this.version = version;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package client.game;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import shared.definitions.PlayerIndex;
+import shared.models.game.ClientModel;
+import shared.models.game.MessageEntry;
+import shared.models.game.MessageList;
+import shared.models.game.Player;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * What changed between two versions of the model.  Worked out once by the {@link GameManager} for
+ * every new model, and given to each controller that observes a part that changed.
+ */
+public class ModelChanges {
+    private final ClientModel model;
+    private final Set<ModelPart> parts = EnumSet.noneOf(ModelPart.class);
+    private final Set<PlayerIndex> players = EnumSet.noneOf(PlayerIndex.class);
+    private final int firstChangedChat;
+    private final int firstChangedLog;
+
+    private ModelChanges(@NotNull ClientModel model, @Nullable ClientModel previous) {
+        this.model = model;
+        if (previous == null) {
+            parts.addAll(EnumSet.allOf(ModelPart.class));
+            players.addAll(EnumSet.allOf(PlayerIndex.class));
+            firstChangedChat = 0;
+            firstChangedLog = 0;
+            return;
+        }
+        comparePlayers(model.getPlayers(), previous.getPlayers());
+        if (!Objects.equals(model.getBank(), previous.getBank())) {
+            parts.add(ModelPart.BANK);
+        }
+        if (!Objects.equals(model.getMap(), previous.getMap())) {
+            parts.add(ModelPart.MAP);
+        }
+        if (!Objects.equals(model.getTurnTracker(), previous.getTurnTracker())) {
+            parts.add(ModelPart.TURN_TRACKER);
+        }
+        if (!Objects.equals(model.getTradeOffer(), previous.getTradeOffer())) {
+            parts.add(ModelPart.TRADE_OFFER);
+        }
+        if (model.getWinner() != previous.getWinner()) {
+            parts.add(ModelPart.WINNER);
+        }
+        firstChangedChat = firstChangedLine(model.getChat(), previous.getChat());
+        if (firstChangedChat >= 0) {
+            parts.add(ModelPart.CHAT);
+        }
+        firstChangedLog = firstChangedLine(model.getLog(), previous.getLog());
+        if (firstChangedLog >= 0) {
+            parts.add(ModelPart.LOG);
+        }
+    }
+
+    /**
+     * @param model    the new model
+     * @param previous the model it replaces, or null if there wasn't one
+     * @return what changed from {@code previous} to {@code model}
+     */
+    public static ModelChanges between(@NotNull ClientModel model, @Nullable ClientModel previous) {
+        return new ModelChanges(model, previous);
+    }
+
+    /**
+     * @return changes treating every part of the model as new
+     */
+    public static ModelChanges all(@NotNull ClientModel model) {
+        return new ModelChanges(model, null);
+    }
+
+    private void comparePlayers(List<Player> current, List<Player> previous) {
+        for (int i = 0; i < Math.max(current.size(), previous.size()); i++) {
+            Player now = i < current.size() ? current.get(i) : null;
+            Player before = i < previous.size() ? previous.get(i) : null;
+            if (!Objects.equals(now, before)) {
+                parts.add(ModelPart.PLAYERS);
+                if (i < PlayerIndex.MAX_PLAYERS) {
+                    players.add(PlayerIndex.fromInt(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the index in {@code current} of the first line that isn't in {@code previous}, or -1
+     * if they have the same lines
+     */
+    private static int firstChangedLine(@Nullable MessageList current, @Nullable MessageList previous) {
+        List<MessageEntry> now = current == null ? null : current.getLines();
+        List<MessageEntry> before = previous == null ? null : previous.getLines();
+        if (Objects.equals(now, before)) {
+            return -1;
+        }
+        if (now == null || before == null) {
+            return 0;
+        }
+        int i = 0;
+        while (i < now.size() && i < before.size() && Objects.equals(now.get(i), before.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return the new model
+     */
+    public ClientModel getModel() {
+        return model;
+    }
+
+    public boolean isEmpty() {
+        return parts.isEmpty();
+    }
+
+    public boolean hasChanged(ModelPart part) {
+        return parts.contains(part);
+    }
+
+    /**
+     * @return whether any of the parts changed
+     */
+    public boolean hasChangedAny(Set<ModelPart> observed) {
+        for (ModelPart part : observed) {
+            if (parts.contains(part)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether that player changed, or joined or left the game
+     */
+    public boolean hasPlayerChanged(@Nullable PlayerIndex player) {
+        return player == null ? hasChanged(ModelPart.PLAYERS) : players.contains(player);
+    }
+
+    /**
+     * @return the index of the first chat line that is new or different, or -1 if the chat is the same
+     */
+    public int getFirstChangedChat() {
+        return firstChangedChat;
+    }
+
+    /**
+     * @return the index of the first log line that is new or different, or -1 if the log is the same
+     */
+    public int getFirstChangedLog() {
+        return firstChangedLog;
+    }
+
+    @Override
+    public String toString() {
+        return "ModelChanges [version=" + model.getVersion() + ", parts=" + parts + ", players=" + players + "]";
+    }
+}
@@ -0,0 +1,15 @@
+package client.game;
+
+/**
+ * The parts of a {@link shared.models.game.ClientModel} that a controller can observe separately.
+ */
+public enum ModelPart {
+    PLAYERS,
+    BANK,
+    MAP,
+    TURN_TRACKER,
+    TRADE_OFFER,
+    CHAT,
+    LOG,
+    WINNER
+}
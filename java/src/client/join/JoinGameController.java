@@ -3,6 +3,7 @@ package client.join;
 import client.base.Controller;
 import client.base.IAction;
 import client.misc.IMessageView;
+import client.poller.PollTask;
 import org.jetbrains.annotations.Nullable;
 import shared.definitions.CatanColor;
 import shared.definitions.PlayerIndex;
@@ -12,7 +13,6 @@ import shared.models.games.JoinGameRequest;
 
 import javax.naming.CommunicationException;
 import javax.swing.*;
-import java.awt.event.ActionListener;
 import java.util.Arrays;
 
 
@@ -27,7 +27,7 @@ public class JoinGameController extends Controller implements IJoinGameControlle
     private ISelectColorView selectColorView;
     private IMessageView messageView;
     private IAction joinAction;
-    private javax.swing.Timer mTimer;
+    private final PollTask poller = PollTask.every(SERVER_CONTACT_INTERVAL, this::pollGamesList);
 
     /**
      * JoinGameController constructor
@@ -106,40 +106,56 @@ public class JoinGameController extends Controller implements IJoinGameControlle
     public void start() {
         getJoinGameView().showModal();
         setServer(getGameManager().getServer());
-        ActionListener pollGames = e -> reloadGamesList();
-        mTimer = new javax.swing.Timer(SERVER_CONTACT_INTERVAL, pollGames);
-        reloadGamesList();
-        mTimer.start();
+        // Lists the games right away, and then every SERVER_CONTACT_INTERVAL
+        poller.start();
     }
 
     public void reloadGamesList() {
         getAsync().runMethod(server::listOfGames)
-                .onSuccess(games -> SwingUtilities.invokeLater(() -> {
-                    getJoinGameView().setGames(games, getGameManager().getPlayerInfo());
-                    if (!getNewGameView().isModalShowing() && !getSelectColorView().isModalShowing()) {
-                        getJoinGameView().closeModal();
-                        getJoinGameView().showModal();
-                    } else if (getSelectColorView().isModalShowing() && selectedGame != null) {
-                        for (GameInfo g : games) {
-                            if (g.getId() == selectedGame.getId()) {
-                                selectedGame = g;
-                                for (CatanColor c : CatanColor.values()) {
-                                    getSelectColorView().setColorEnabled(c, true);
-                                }
-                                selectedGame.getPlayers().stream()
-                                        .filter(p -> p.getId() != getGameManager().getPlayerInfo().getId())
-                                        .forEach(p -> getSelectColorView().setColorEnabled(p.getColor(), false));
-                                getSelectColorView().closeOneModal();
-                                getSelectColorView().showModal();
-                                break;
-                            }
-                        }
-                    }
-                }))
+                .onSuccess(this::showGames)
                 .onError(e -> displayError("Error Communicating with Server", "Cannot retrieve list of games.\nError message: " + e.getMessage()))
                 .start();
     }
 
+    /**
+     * Lists the games once, on the poller's thread.
+     */
+    private void pollGamesList() {
+        GameInfo[] games;
+        try {
+            games = server.listOfGames();
+        } catch (Exception e) {
+            SwingUtilities.invokeLater(() -> displayError("Error Communicating with Server", "Cannot retrieve list of games.\nError message: " + e.getMessage()));
+            return;
+        }
+        showGames(games);
+    }
+
+    private void showGames(GameInfo[] games) {
+        SwingUtilities.invokeLater(() -> {
+            getJoinGameView().setGames(games, getGameManager().getPlayerInfo());
+            if (!getNewGameView().isModalShowing() && !getSelectColorView().isModalShowing()) {
+                getJoinGameView().closeModal();
+                getJoinGameView().showModal();
+            } else if (getSelectColorView().isModalShowing() && selectedGame != null) {
+                for (GameInfo g : games) {
+                    if (g.getId() == selectedGame.getId()) {
+                        selectedGame = g;
+                        for (CatanColor c : CatanColor.values()) {
+                            getSelectColorView().setColorEnabled(c, true);
+                        }
+                        selectedGame.getPlayers().stream()
+                                .filter(p -> p.getId() != getGameManager().getPlayerInfo().getId())
+                                .forEach(p -> getSelectColorView().setColorEnabled(p.getColor(), false));
+                        getSelectColorView().closeOneModal();
+                        getSelectColorView().showModal();
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
     @Override
     public void startCreateNewGame() {
 
@@ -208,6 +224,7 @@ public class JoinGameController extends Controller implements IJoinGameControlle
         getAsync().runMethod(server::joinGame, joinGameRequest)
                 .onSuccess(r -> SwingUtilities.invokeLater(() -> {
                     selectedGame = getGameWithId(selectedGame.getId());
+                    getGameManager().setGameId(joinGameRequest.getId());
                     getGameManager().getPlayerInfo().setColor(color);
                     if (selectedGame.getPlayers().size() != 0) {
                         for (int i = 0; i < selectedGame.getPlayers().size(); i++) {
@@ -221,7 +238,7 @@ public class JoinGameController extends Controller implements IJoinGameControlle
                     } else {
                         getGameManager().getPlayerInfo().setPlayerIndex(PlayerIndex.FIRST);
                     }
-                    mTimer.stop();
+                    poller.stop();
                     if (getSelectColorView().isModalShowing()) {
                         getSelectColorView().closeModal();
                     }
@@ -1,13 +1,13 @@
 package client.join;
 
 import client.base.Controller;
+import client.poller.PollTask;
 import shared.definitions.AIType;
 import shared.models.game.AddAIRequest;
 import shared.models.games.GameInfo;
 import shared.models.games.PlayerInfo;
 
 import javax.swing.*;
-import java.awt.event.ActionListener;
 import java.util.Arrays;
 import java.util.List;
 
@@ -17,7 +17,7 @@ import java.util.List;
  */
 public class PlayerWaitingController extends Controller implements IPlayerWaitingController {
     private final int SERVER_CONTACT_INTERVAL = 1000;
-    private Timer mTimer;
+    private final PollTask poller = PollTask.every(SERVER_CONTACT_INTERVAL, this::pollPlayers);
 
     public PlayerWaitingController(IPlayerWaitingView view) {
         super(view);
@@ -33,45 +33,62 @@ public class PlayerWaitingController extends Controller implements IPlayerWaitin
     public void start() {
         getView().showModal();
         setServer(getGameManager().getServer());
-        ActionListener pollGames = e -> updatePlayers();
-        mTimer = new Timer(SERVER_CONTACT_INTERVAL, pollGames);
         getAsync().runMethod(server::listAI)
-                .onSuccess(AI -> SwingUtilities.invokeLater(() -> {
-                    getView().setAIChoices(Arrays.stream(AI).map(AIType::toString).toArray(String[]::new));
-                    updatePlayers();
-                }))
+                .onSuccess(AI -> SwingUtilities.invokeLater(() ->
+                        getView().setAIChoices(Arrays.stream(AI).map(AIType::toString).toArray(String[]::new))))
                 .onError(e -> displayError("Error Communicating with Server", "Cannot retrieve list of AI Types.\rError message: " + e.getMessage()))
                 .start();
-        mTimer.start();
+        // Lists the players right away, and then every SERVER_CONTACT_INTERVAL
+        poller.start();
     }
 
     private void updatePlayers() {
         getAsync().runMethod(server::listOfGames)
-                .onSuccess(games -> SwingUtilities.invokeLater(() -> {
-                    GameInfo game = Arrays.stream(games)
-                            .filter(g -> g.getId() == JoinGameController.selectedGame.getId())
-                            .findFirst().orElse(null);
-                    if (game == null) {
-                        return;
-                    }
-                    JoinGameController.selectedGame = game;
-                    List<PlayerInfo> players = game.getPlayers();
-                    getView().setPlayers(players.toArray(new PlayerInfo[players.size()]));
-                    if (players.size() >= 4) {
-                        //Let's start this thing!
-                        mTimer.stop();
-                        getView().closeModal();
-                        getGameManager().startPoller();
-                        return;
-                    }
-                    //TODO fix this whack redrawing process.
-                    getView().closeModal();
-                    getView().showModal();
-                }))
+                .onSuccess(this::showPlayers)
                 .onError(e -> displayError("Error Communicating with Server", "Cannot retrieve list of games.\rError message: " + e.getMessage()))
                 .start();
     }
 
+    /**
+     * Lists the players once, on the poller's thread.
+     */
+    private void pollPlayers() {
+        GameInfo[] games;
+        try {
+            games = server.listOfGames();
+        } catch (Exception e) {
+            displayError("Error Communicating with Server", "Cannot retrieve list of games.\rError message: " + e.getMessage());
+            return;
+        }
+        showPlayers(games);
+    }
+
+    private void showPlayers(GameInfo[] games) {
+        SwingUtilities.invokeLater(() -> {
+            GameInfo game = Arrays.stream(games)
+                    .filter(g -> g.getId() == JoinGameController.selectedGame.getId())
+                    .findFirst().orElse(null);
+            if (game == null) {
+                return;
+            }
+            JoinGameController.selectedGame = game;
+            List<PlayerInfo> players = game.getPlayers();
+            getView().setPlayers(players.toArray(new PlayerInfo[players.size()]));
+            if (players.size() >= 4) {
+                //Let's start this thing!
+                if (poller.isRunning()) {
+                    poller.stop();
+                    getView().closeModal();
+                    getGameManager().startPoller();
+                }
+                return;
+            }
+            //TODO fix this whack redrawing process.
+            getView().closeModal();
+            getView().showModal();
+        });
+    }
+
     @Override
     public void addAI() {
         AddAIRequest ai = new AddAIRequest(AIType.LARGEST_ARMY);
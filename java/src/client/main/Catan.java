@@ -6,6 +6,7 @@ import client.join.*;
 import client.login.LoginController;
 import client.login.LoginView;
 import client.misc.MessageView;
+import client.utils.ImageAtlas;
 
 import javax.swing.*;
 
@@ -31,6 +32,8 @@ public class Catan extends JFrame {
     }
 
     public static void main(final String[] args) {
+        // Loads in the background while the UI is set up
+        ImageAtlas.getInstance().preload("images");
         if (args.length == 2) {
             GameManager.getGame().setHostPort(args[0], args[1]);
         }
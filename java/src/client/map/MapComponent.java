@@ -1,7 +1,7 @@
 package client.map;
 
 import client.base.IController;
-import client.utils.ImageUtils;
+import client.utils.ImageAtlas;
 import shared.definitions.CatanColor;
 import shared.definitions.HexType;
 import shared.definitions.PieceType;
@@ -17,17 +17,23 @@ import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.NoninvertibleTransformException;
 import java.awt.geom.Point2D;
-import java.awt.image.AffineTransformOp;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 // Wood, Brick, Sheep, Wheat, Ore, Desert, Water
 
 /*
  * Custom component for displaying and interacting with Catan maps
+ *
+ * The board (hexes, ports and numbers) and the pieces on it are each drawn once into an image the
+ * size of the component, and drawn again only when they change or the component is resized.  Moving
+ * the mouse while placing a piece only repaints where the piece being placed was and now is.
  */
 @SuppressWarnings("serial")
 public class MapComponent extends JComponent {
@@ -50,11 +56,9 @@ public class MapComponent extends JComponent {
     private static final int CITY_WALL_HEIGHT = (int) (CITY_WIDTH * 0.7);
     private static final int CITY_ROOF_HEIGHT = (int) (CITY_WIDTH * 1.0);
 
-    private static Map<HexType, BufferedImage> HEX_IMAGES;
-    private static Map<PortType, BufferedImage> PORT_IMAGES;
-    private static Map<Integer, BufferedImage> NUMBER_IMAGES;
-    private static BufferedImage ROBBER_IMAGE;
-    private static BufferedImage DISALLOW_IMAGE;
+    // Bigger than anything drawn around a single location, so repainting this far around it covers it
+    private static final int DROP_SHAPE_RADIUS = HEX_IMAGE_WIDTH / 2;
+
     private static Map<EdgeDirection, List<Point2D>> ROADS;
     private static List<Point2D> SETTLEMENT;
     private static List<Point2D> CITY;
@@ -63,29 +67,6 @@ public class MapComponent extends JComponent {
     private static Map<EdgeDirection, java.lang.Double> PORT_ROTATIONS;
 
     static {
-        HEX_IMAGES = new HashMap<>();
-
-        for (HexType hexType : HexType.values()) {
-            HEX_IMAGES.put(hexType, loadHexImage(hexType));
-        }
-
-        PORT_IMAGES = new HashMap<>();
-
-        for (PortType portType : PortType.values()) {
-            PORT_IMAGES.put(portType, loadPortImage(portType));
-        }
-
-        NUMBER_IMAGES = new HashMap<>();
-
-        for (int i = 2; i <= 12; ++i) {
-            if (i != 7) {
-                NUMBER_IMAGES.put(i, loadNumberImage(i));
-            }
-        }
-
-        ROBBER_IMAGE = loadRobberImage();
-        DISALLOW_IMAGE = loadDisallowImage();
-
         List<Point2D> ROAD_0 = new ArrayList<>();
         ROAD_0.add(new Point2D.Double(-ROAD_WIDTH / 2, -ROAD_HEIGHT / 2));
         ROAD_0.add(new Point2D.Double(ROAD_WIDTH / 2, -ROAD_HEIGHT / 2));
@@ -194,9 +175,16 @@ public class MapComponent extends JComponent {
     private Map<EdgeLocation, PortType> ports;
     private Map<HexLocation, Integer> numbers;
     private HexLocation robber;
-    private Map<HexLocation, Point2D> allHexPoints;
-    private Map<VertexLocation, Point2D> allVertexPoints;
-    private Map<EdgeLocation, Point2D> allEdgePoints;
+    private PointIndex<HexLocation> allHexPoints;
+    private PointIndex<VertexLocation> allVertexPoints;
+    private PointIndex<EdgeLocation> allEdgePoints;
+    // Counts changes to the board and the pieces; shared with copies, like the maps they count changes to
+    private AtomicInteger boardRevision;
+    private AtomicInteger piecesRevision;
+    private BufferedImage boardLayer;
+    private int boardLayerRevision;
+    private BufferedImage piecesLayer;
+    private int piecesLayerRevision;
     private PieceType dropType;
     private CatanColor dropColor;
     private boolean dropAllowed;
@@ -205,6 +193,7 @@ public class MapComponent extends JComponent {
     private VertexLocation dropVertLoc;
     private double scale;
     private AffineTransform transform;
+    private AffineTransform inverseTransform;
     private ComponentAdapter componentAdapter = new ComponentAdapter() {
 
         @Override
@@ -242,46 +231,15 @@ public class MapComponent extends JComponent {
                 return;
             }
 
-            if (dropType == PieceType.ROAD) {
-
-                EdgeLocation closestEdgeLoc = null;
-                double closestDistance = 0;
-
-                for (Map.Entry<EdgeLocation, Point2D> entry : allEdgePoints.entrySet()) {
-
-                    EdgeLocation edgeLoc = entry.getKey();
-                    Point2D edgePoint = entry.getValue();
-
-                    double distance = mousePoint.distance(edgePoint);
-
-                    if (closestEdgeLoc == null || (distance < closestDistance)) {
-                        closestEdgeLoc = edgeLoc;
-                        closestDistance = distance;
-                    }
-                }
+            Point2D oldDropPoint = getDropPoint();
+            boolean wasAllowed = dropAllowed;
 
-                dropEdgeLoc = closestEdgeLoc;
+            if (dropType == PieceType.ROAD) {
+                dropEdgeLoc = allEdgePoints.nearest(mousePoint);
                 dropAllowed = getController().canPlaceRoad(dropEdgeLoc);
             } else if (dropType == PieceType.CITY
                     || dropType == PieceType.SETTLEMENT) {
-
-                VertexLocation closestVertLoc = null;
-                double closestDistance = 0;
-
-                for (Map.Entry<VertexLocation, Point2D> entry : allVertexPoints.entrySet()) {
-
-                    VertexLocation vertLoc = entry.getKey();
-                    Point2D vertPoint = entry.getValue();
-
-                    double distance = mousePoint.distance(vertPoint);
-
-                    if (closestVertLoc == null || (distance < closestDistance)) {
-                        closestVertLoc = vertLoc;
-                        closestDistance = distance;
-                    }
-                }
-
-                dropVertLoc = closestVertLoc;
+                dropVertLoc = allVertexPoints.nearest(mousePoint);
 
                 if (dropType == PieceType.CITY) {
                     dropAllowed = getController().canPlaceCity(dropVertLoc);
@@ -291,30 +249,17 @@ public class MapComponent extends JComponent {
                     assert false;
                 }
             } else if (dropType == PieceType.ROBBER) {
-
-                HexLocation closestHexLoc = null;
-                double closestDistance = 0;
-
-                for (Map.Entry<HexLocation, Point2D> entry : allHexPoints.entrySet()) {
-
-                    HexLocation hexLoc = entry.getKey();
-                    Point2D hexPoint = entry.getValue();
-
-                    double distance = mousePoint.distance(hexPoint);
-
-                    if (closestHexLoc == null || (distance < closestDistance)) {
-                        closestHexLoc = hexLoc;
-                        closestDistance = distance;
-                    }
-                }
-
-                dropHexLoc = closestHexLoc;
+                dropHexLoc = allHexPoints.nearest(mousePoint);
                 dropAllowed = getController().canPlaceRobber(dropHexLoc);
             } else {
                 assert false;
             }
 
-            repaint();
+            Point2D newDropPoint = getDropPoint();
+            if (!Objects.equals(oldDropPoint, newDropPoint) || wasAllowed != dropAllowed) {
+                repaintAround(oldDropPoint);
+                repaintAround(newDropPoint);
+            }
         }
 
         @Override
@@ -366,9 +311,13 @@ public class MapComponent extends JComponent {
         ports = new HashMap<>();
         numbers = new HashMap<>();
         robber = null;
-        allHexPoints = new HashMap<>();
-        allVertexPoints = new HashMap<>();
-        allEdgePoints = new HashMap<>();
+        allHexPoints = new PointIndex<>(HEX_IMAGE_WIDTH);
+        allVertexPoints = new PointIndex<>(HEX_IMAGE_WIDTH / 2);
+        allEdgePoints = new PointIndex<>(HEX_IMAGE_WIDTH / 2);
+        boardRevision = new AtomicInteger();
+        piecesRevision = new AtomicInteger();
+        boardLayerRevision = -1;
+        piecesLayerRevision = -1;
 
         initDrop();
 
@@ -444,51 +393,6 @@ public class MapComponent extends JComponent {
         return result;
     }
 
-    private static BufferedImage getHexImage(HexType hexType) {
-        return HEX_IMAGES.get(hexType);
-    }
-
-    private static BufferedImage loadHexImage(HexType hexType) {
-        String imageFile = getHexImageFile(hexType);
-        return ImageUtils.loadImage(imageFile);
-    }
-
-    private static BufferedImage getPortImage(PortType portType) {
-        return PORT_IMAGES.get(portType);
-    }
-
-    private static BufferedImage loadPortImage(PortType portType) {
-        String imageFile = getPortImageFile(portType);
-        return ImageUtils.loadImage(imageFile);
-    }
-
-    private static BufferedImage getNumberImage(int num) {
-        return NUMBER_IMAGES.get(num);
-    }
-
-    private static BufferedImage loadNumberImage(int num) {
-        String imageFile = getNumberImageFile(num);
-        return ImageUtils.loadImage(imageFile);
-    }
-
-    private static BufferedImage getRobberImage() {
-        return ROBBER_IMAGE;
-    }
-
-    private static BufferedImage loadRobberImage() {
-        String imageFile = getRobberImageFile();
-        return ImageUtils.loadImage(imageFile);
-    }
-
-    private static BufferedImage getDisallowImage() {
-        return DISALLOW_IMAGE;
-    }
-
-    private static BufferedImage loadDisallowImage() {
-        String imageFile = getDisallowImageFile();
-        return ImageUtils.loadImage(imageFile);
-    }
-
     private static String getHexImageFile(HexType hexType) {
         switch (hexType) {
             case WOOD:
@@ -582,6 +486,8 @@ public class MapComponent extends JComponent {
         copy.allHexPoints = this.allHexPoints;
         copy.allVertexPoints = this.allVertexPoints;
         copy.allEdgePoints = this.allEdgePoints;
+        copy.boardRevision = this.boardRevision;
+        copy.piecesRevision = this.piecesRevision;
         copy.dropType = this.dropType;
         copy.dropColor = this.dropColor;
         copy.dropAllowed = this.dropAllowed;
@@ -595,6 +501,7 @@ public class MapComponent extends JComponent {
     }
 
     private void updateScale() {
+        double oldScale = this.scale;
         this.scale = 1.0;
 
         if (this.getWidth() != 0 && this.getHeight() != 0) {
@@ -613,6 +520,18 @@ public class MapComponent extends JComponent {
         this.transform.translate(this.getWidth() / 2, this.getHeight() / 2);
         this.transform.scale(scale, scale);
         this.transform.translate(-WORLD_WIDTH / 2, -WORLD_HEIGHT / 2);
+        try {
+            this.inverseTransform = transform.createInverse();
+        } catch (NoninvertibleTransformException e) {
+            throw new IllegalStateException(e);
+        }
+
+        // Drawn again at the new scale
+        boardLayer = null;
+        piecesLayer = null;
+        if (oldScale != scale && !Double.isNaN(oldScale)) {
+            ImageAtlas.getInstance().evictScale(oldScale);
+        }
     }
 
     public IMapController getController() {
@@ -636,29 +555,32 @@ public class MapComponent extends JComponent {
 
         // Compute edge points for the new hex
         for (EdgeDirection edgeDir : EdgeDirection.values()) {
-            EdgeLocation edgeLoc = new EdgeLocation(hexLoc, edgeDir).getNormalizedLocation();
+            EdgeLocation edgeLoc = EdgeLocation.of(hexLoc, edgeDir).getNormalizedLocation();
             allEdgePoints.put(edgeLoc, getEdgePoint(edgeLoc));
         }
 
         // Compute vertex points for the new hex
         for (VertexDirection vertDir : VertexDirection.values()) {
-            VertexLocation vertLoc = new VertexLocation(hexLoc, vertDir).getNormalizedLocation();
+            VertexLocation vertLoc = VertexLocation.of(hexLoc, vertDir).getNormalizedLocation();
             allVertexPoints.put(vertLoc, getVertexPoint(vertLoc));
         }
 
         // Repaint
+        boardRevision.incrementAndGet();
         this.repaint();
     }
 
     public void addNumber(HexLocation hexLoc, int num) {
         numbers.put(hexLoc, num);
 
+        boardRevision.incrementAndGet();
         this.repaint();
     }
 
     public void placeRoad(EdgeLocation edgeLoc, CatanColor color) {
         roads.put(edgeLoc.getNormalizedLocation(), color);
 
+        piecesRevision.incrementAndGet();
         this.repaint();
     }
 
@@ -670,6 +592,7 @@ public class MapComponent extends JComponent {
         }
 
         settlements.put(normVertLoc, color);
+        piecesRevision.incrementAndGet();
     }
 
     public void placeCity(VertexLocation vertLoc, CatanColor color) {
@@ -680,14 +603,17 @@ public class MapComponent extends JComponent {
         }
 
         cities.put(normVertLoc, color);
+        piecesRevision.incrementAndGet();
     }
 
     public void placePort(EdgeLocation edgeLoc, PortType portType) {
         ports.put(edgeLoc, portType);
+        boardRevision.incrementAndGet();
     }
 
     public void placeRobber(HexLocation hexLoc) {
         robber = hexLoc;
+        piecesRevision.incrementAndGet();
     }
 
     public void startDrop(PieceType pieceType, CatanColor pieceColor) {
@@ -713,39 +639,118 @@ public class MapComponent extends JComponent {
 
         Graphics2D g2 = (Graphics2D) g;
 
-        g2.setColor(this.getBackground());
-        g2.fillRect(0, 0, this.getWidth(), this.getHeight());
+        g2.drawImage(getBoardLayer(), 0, 0, null);
+        g2.drawImage(getPiecesLayer(), 0, 0, null);
+
+        g2.transform(transform);
+        setRenderingHints(g2);
+        drawDropShape(g2);
+    }
+
+    private BufferedImage getBoardLayer() {
+        int revision = boardRevision.get();
+        if (boardLayer == null || boardLayerRevision != revision) {
+            if (boardLayer == null) {
+                boardLayer = createLayer(Transparency.OPAQUE);
+            }
+            Graphics2D g2 = boardLayer.createGraphics();
+            g2.setColor(this.getBackground());
+            g2.fillRect(0, 0, boardLayer.getWidth(), boardLayer.getHeight());
+            g2.transform(transform);
+            setRenderingHints(g2);
+            drawHexes(g2);
+            drawPorts(g2);
+            drawNumbers(g2);
+            g2.dispose();
+            boardLayerRevision = revision;
+        }
+        return boardLayer;
+    }
+
+    private BufferedImage getPiecesLayer() {
+        int revision = piecesRevision.get();
+        if (piecesLayer == null || piecesLayerRevision != revision) {
+            if (piecesLayer == null) {
+                piecesLayer = createLayer(Transparency.TRANSLUCENT);
+            }
+            Graphics2D g2 = piecesLayer.createGraphics();
+            g2.setComposite(AlphaComposite.Clear);
+            g2.fillRect(0, 0, piecesLayer.getWidth(), piecesLayer.getHeight());
+            g2.setComposite(AlphaComposite.SrcOver);
+            g2.transform(transform);
+            setRenderingHints(g2);
+            drawRobber(g2);
+            drawRoads(g2);
+            drawSettlements(g2);
+            drawCities(g2);
+            g2.dispose();
+            piecesLayerRevision = revision;
+        }
+        return piecesLayer;
+    }
+
+    /**
+     * @return an image the size of the component, in the screen's format where possible so drawing it is fast
+     */
+    private BufferedImage createLayer(int transparency) {
+        int width = Math.max(1, getWidth());
+        int height = Math.max(1, getHeight());
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        if (config != null) {
+            return config.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height,
+                transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
 
-        g2.translate(this.getWidth() / 2, this.getHeight() / 2);
-        g2.scale(scale, scale);
-        g2.translate(-WORLD_WIDTH / 2, -WORLD_HEIGHT / 2);
+    private static void setRenderingHints(Graphics2D g2) {
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+    }
 
-        drawHexes(g2);
-        drawPorts(g2);
-        drawNumbers(g2);
-        drawRobber(g2);
-        drawRoads(g2);
-        drawSettlements(g2);
-        drawCities(g2);
-        drawDropShape(g2);
+    /**
+     * @return where the piece being placed is drawn, or null if it isn't
+     */
+    private Point2D getDropPoint() {
+        if (dropType == null) {
+            return null;
+        }
+        switch (dropType) {
+            case ROAD:
+                return dropEdgeLoc == null ? null : getEdgePoint(dropEdgeLoc);
+            case CITY:
+            case SETTLEMENT:
+                return dropVertLoc == null ? null : getVertexPoint(dropVertLoc);
+            case ROBBER:
+                return dropHexLoc == null ? null : getHexPoint(dropHexLoc);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Repaints anything drawn around the point on the map.
+     */
+    private void repaintAround(Point2D point) {
+        if (point == null || transform == null) {
+            return;
+        }
+        Rectangle2D world = new Rectangle2D.Double(point.getX() - DROP_SHAPE_RADIUS, point.getY() - DROP_SHAPE_RADIUS,
+                2 * DROP_SHAPE_RADIUS, 2 * DROP_SHAPE_RADIUS);
+        repaint(transform.createTransformedShape(world).getBounds());
     }
 
     private void drawHexes(Graphics2D g2) {
         for (Map.Entry<HexLocation, HexType> entry : hexes.entrySet()) {
-            BufferedImage hexImage = getHexImage(entry.getValue());
+            BufferedImage hexImage = ImageAtlas.getInstance().getScaled(getHexImageFile(entry.getValue()), scale, 0);
 
             Point2D hexCenter = getHexPoint(entry.getKey());
             Point2D hexCorner = new Point2D.Double(
                     (int) (hexCenter.getX() - HEX_IMAGE_WIDTH / 2),
                     (int) (hexCenter.getY() - HEX_IMAGE_HEIGHT / 2));
 
-            g2.drawImage(hexImage, (int) hexCorner.getX(),
-                    (int) hexCorner.getY(),
-                    (int) (hexCorner.getX() + HEX_IMAGE_WIDTH),
-                    (int) (hexCorner.getY() + HEX_IMAGE_HEIGHT), 0, 0,
-                    HEX_IMAGE_WIDTH, HEX_IMAGE_HEIGHT, null);
+            Point2D corner = transform.transform(hexCorner, null);
+            drawDeviceImage(g2, hexImage, corner.getX(), corner.getY());
         }
     }
 
@@ -761,9 +766,8 @@ public class MapComponent extends JComponent {
 
     private void drawNumbers(Graphics2D g2) {
         for (Map.Entry<HexLocation, Integer> entry : numbers.entrySet()) {
-            BufferedImage numImage = getNumberImage(entry.getValue());
             Point2D hexCenter = getHexPoint(entry.getKey());
-            drawImage(g2, numImage, hexCenter);
+            drawImage(g2, getNumberImageFile(entry.getValue()), hexCenter, 0);
 //            drawPosition(g2, entry.getKey());
         }
     }
@@ -776,8 +780,7 @@ public class MapComponent extends JComponent {
 
     private void drawRobber(Graphics2D g2, HexLocation hexLoc) {
         Point2D hexPoint = getHexPoint(hexLoc);
-        BufferedImage robberImage = getRobberImage();
-        drawImage(g2, robberImage, hexPoint);
+        drawImage(g2, getRobberImageFile(), hexPoint, 0);
     }
 
     private void drawRoads(Graphics2D g2) {
@@ -876,12 +879,12 @@ public class MapComponent extends JComponent {
     private void
     drawPort(Graphics2D g2, EdgeLocation edgeLoc, PortType portType) {
         Point2D imageLoc = getHexPoint(edgeLoc.getHexLoc());
-        drawRotatedImage(g2, getPortImage(portType), imageLoc,
+        drawImage(g2, getPortImageFile(portType), imageLoc,
                 getPortRotation(edgeLoc));
     }
 
     private void drawDisallowImage(Graphics2D g2, Point2D location) {
-        drawImage(g2, getDisallowImage(), location);
+        drawImage(g2, getDisallowImageFile(), location, 0);
     }
 
     private void drawDropShape(Graphics2D g2) {
@@ -937,27 +940,24 @@ public class MapComponent extends JComponent {
         }
     }
 
-    private void drawRotatedImage(Graphics2D g2, BufferedImage image,
-                                  Point2D location, double radians) {
-        int centerX = image.getWidth() / 2;
-        int centerY = image.getHeight() / 2;
-
-        AffineTransform tx = AffineTransform.getRotateInstance(radians,
-                centerX, centerY);
-        AffineTransformOp op = new AffineTransformOp(
-                tx,
-                AffineTransformOp.TYPE_BILINEAR);
-
-        drawImage(g2, op.filter(image, null), location);
-    }
-
-    private void
-    drawImage(Graphics2D g2, BufferedImage image, Point2D location) {
-        int centerX = image.getWidth() / 2;
-        int centerY = image.getHeight() / 2;
-
-        g2.drawImage(image, (int) location.getX() - centerX,
-                (int) location.getY() - centerY, null);
+    /**
+     * Draws the image, scaled to the map and then rotated, centered on the location.
+     */
+    private void drawImage(Graphics2D g2, String file, Point2D location, double radians) {
+        BufferedImage image = ImageAtlas.getInstance().getScaled(file, scale, radians);
+        Point2D center = transform.transform(location, null);
+        drawDeviceImage(g2, image, center.getX() - image.getWidth() / 2.0,
+                center.getY() - image.getHeight() / 2.0);
+    }
+
+    /**
+     * Draws an image that's already scaled to the map, with its top left corner at a point on the component
+     */
+    private void drawDeviceImage(Graphics2D g2, BufferedImage image, double x, double y) {
+        AffineTransform world = g2.getTransform();
+        g2.transform(inverseTransform);
+        g2.drawImage(image, (int) Math.round(x), (int) Math.round(y), null);
+        g2.setTransform(world);
     }
 
     private double getPortRotation(EdgeLocation edgeLoc) {
@@ -3,6 +3,7 @@ package client.map;
 import client.base.Controller;
 import client.data.RobPlayerInfo;
 import client.devcards.DevCardController;
+import client.game.ModelPart;
 import client.resources.ResourceBarController;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Nullable;
@@ -42,7 +43,7 @@ public class MapController extends Controller implements IMapController {
     public MapController(IMapView view, IRobView robView) {
         super(view);
         setRobView(robView);
-        observeClientModel();
+        observeClientModel(ModelPart.MAP, ModelPart.PLAYERS, ModelPart.TURN_TRACKER);
     }
 
     @Override
@@ -104,7 +105,7 @@ public class MapController extends Controller implements IMapController {
         MapUtils.difference(curMap.getPorts(), prevMap.getPorts())
                 .forEach((loc, port) -> {
                     LOGGER.finer(() -> "New port: " + port);
-                    view.addPort(new EdgeLocation(port.getLocation(), port.getDirection()),
+                    view.addPort(EdgeLocation.of(port.getLocation(), port.getDirection()),
                             port.getPortType());
                 });
 
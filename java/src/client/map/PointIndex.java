@@ -0,0 +1,118 @@
+package client.map;
+
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds which of a set of locations on the map is closest to a point, without checking every one.
+ * <p>
+ * Locations are kept in a grid of square cells.  A search looks at the cell the point is in, then at
+ * rings of cells further and further out, and stops as soon as no cell left could hold anything
+ * closer than what it has found.
+ *
+ * @param <K> the type of location
+ */
+class PointIndex<K> {
+    private final double cellSize;
+    private final Map<Long, List<Entry<K>>> cells = new HashMap<>();
+    private final Map<K, Point2D> points = new HashMap<>();
+    private int minCellX = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+
+    /**
+     * @param cellSize the width and height of each cell, about the distance between locations
+     */
+    PointIndex(double cellSize) {
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Adds a location, or moves it if it's already here.
+     */
+    void put(K key, Point2D point) {
+        Point2D old = points.put(key, point);
+        if (old != null) {
+            cells.get(cellKey(cellOf(old.getX()), cellOf(old.getY()))).removeIf(e -> e.key.equals(key));
+        }
+        int x = cellOf(point.getX());
+        int y = cellOf(point.getY());
+        cells.computeIfAbsent(cellKey(x, y), k -> new ArrayList<>()).add(new Entry<>(key, point));
+        minCellX = Math.min(minCellX, x);
+        maxCellX = Math.max(maxCellX, x);
+        minCellY = Math.min(minCellY, y);
+        maxCellY = Math.max(maxCellY, y);
+    }
+
+    Point2D get(K key) {
+        return points.get(key);
+    }
+
+    int size() {
+        return points.size();
+    }
+
+    /**
+     * @return the location closest to the point, or null if there are none
+     */
+    K nearest(Point2D point) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        int x = cellOf(point.getX());
+        int y = cellOf(point.getY());
+        // No ring further out than this holds any locations
+        int maxRing = Math.max(Math.max(Math.abs(x - minCellX), Math.abs(x - maxCellX)),
+                Math.max(Math.abs(y - minCellY), Math.abs(y - maxCellY)));
+        K closest = null;
+        double closestDistance = Double.MAX_VALUE;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int cx = x - ring; cx <= x + ring; cx++) {
+                for (int cy = y - ring; cy <= y + ring; cy++) {
+                    // Only the border of the ring; the inside has been searched already
+                    if (Math.abs(cx - x) != ring && Math.abs(cy - y) != ring) {
+                        continue;
+                    }
+                    List<Entry<K>> cell = cells.get(cellKey(cx, cy));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Entry<K> entry : cell) {
+                        double distance = point.distance(entry.point);
+                        if (distance < closestDistance) {
+                            closest = entry.key;
+                            closestDistance = distance;
+                        }
+                    }
+                }
+            }
+            // Everything in the next ring out is at least this far away
+            if (closestDistance <= ring * cellSize) {
+                break;
+            }
+        }
+        return closest;
+    }
+
+    private int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long cellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    private static class Entry<K> {
+        final K key;
+        final Point2D point;
+
+        Entry(K key, Point2D point) {
+            this.key = key;
+            this.point = point;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package client.maritime;
 
 import client.base.Controller;
+import client.game.ModelPart;
 import client.map.MapController;
 import shared.definitions.ResourceType;
 import shared.facades.TradingFacade;
@@ -24,7 +25,7 @@ public class MaritimeTradeController extends Controller implements IMaritimeTrad
     public MaritimeTradeController(IMaritimeTradeView tradeView, IMaritimeTradeOverlay tradeOverlay) {
         super(tradeView);
         setTradeOverlay(tradeOverlay);
-        observeClientModel();
+        observeClientModel(ModelPart.PLAYERS, ModelPart.TURN_TRACKER, ModelPart.BANK, ModelPart.MAP);
     }
 
     public IMaritimeTradeView getTradeView() {
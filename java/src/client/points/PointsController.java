@@ -1,6 +1,8 @@
 package client.points;
 
 import client.base.Controller;
+import client.game.ModelChanges;
+import client.game.ModelPart;
 import shared.models.game.ClientModel;
 import shared.models.game.Player;
 
@@ -20,7 +22,7 @@ public class PointsController extends Controller implements IPointsController {
     public PointsController(IPointsView view, IGameFinishedView finishedView) {
         super(view);
         setFinishedView(finishedView);
-        observeClientModel();
+        observeClientModel(ModelPart.PLAYERS, ModelPart.WINNER);
     }
 
     @Override
@@ -29,6 +31,14 @@ public class PointsController extends Controller implements IPointsController {
         System.exit(0);
     }
 
+    @Override
+    protected void updateFromModel(ClientModel model, ModelChanges changes) {
+        // Other players' points are shown by the turn tracker
+        if (changes.hasChanged(ModelPart.WINNER) || changes.hasPlayerChanged(getPlayer().getPlayerIndex())) {
+            updateFromModel(model);
+        }
+    }
+
     @Override
     protected void updateFromModel(ClientModel model) {
         getPointsView().setPoints(getPlayer().getVictoryPoints());
@@ -0,0 +1,132 @@
+package client.poller;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Polls the server over and over on a background thread, so waiting for the server never freezes
+ * the UI.  Anything a poll changes in the UI must be handed to the event dispatch thread with
+ * {@link javax.swing.SwingUtilities#invokeLater}.
+ * <p>
+ * Every task shares one thread unless given a scheduler of its own, and a task waits after each
+ * poll for as long as that poll asks, so polls never pile up behind a slow server.  Each wait is
+ * varied by up to {@value #JITTER} of itself, so many clients don't all poll at the same moment.
+ * A poll that fails is retried after twice the last wait, but no sooner than
+ * {@value #MIN_RETRY_DELAY} ms and no later than {@value #MAX_RETRY_DELAY} ms.
+ */
+public class PollTask {
+    private static final Logger LOGGER = Logger.getLogger("PollTask");
+    static final double JITTER = 0.2;
+    static final long MIN_RETRY_DELAY = 1000;
+    static final long MAX_RETRY_DELAY = 15 * 1000;
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier poll;
+    private long lastDelay;
+    // Changed every time the task is started or stopped, so a poll from before knows not to continue
+    private int generation;
+    private boolean running;
+    private ScheduledFuture<?> next;
+
+    /**
+     * @param poll polls once, and returns how long to wait before polling again, in milliseconds
+     */
+    public PollTask(LongSupplier poll) {
+        this(SCHEDULER, poll);
+    }
+
+    /**
+     * @param scheduler runs the polls, such as a pool shared by many clients in one process
+     * @param poll      polls once, and returns how long to wait before polling again, in milliseconds
+     */
+    public PollTask(ScheduledExecutorService scheduler, LongSupplier poll) {
+        this.scheduler = scheduler;
+        this.poll = poll;
+    }
+
+    /**
+     * @param intervalMillis how long to wait between polls, in milliseconds
+     * @param poll           polls once
+     * @return a task polling at a fixed interval
+     */
+    public static PollTask every(long intervalMillis, Runnable poll) {
+        return new PollTask(() -> {
+            poll.run();
+            return intervalMillis;
+        });
+    }
+
+    /**
+     * Poll now, and keep polling until stopped.  Starting a running task has no effect.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        int current = ++generation;
+        next = scheduler.schedule(() -> run(current), 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop polling.  A poll already running is finished, but its result still reaches the UI.
+     */
+    public synchronized void stop() {
+        running = false;
+        generation++;
+        if (next != null) {
+            next.cancel(false);
+            next = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    private void run(int current) {
+        synchronized (this) {
+            if (current != generation) {
+                return;
+            }
+        }
+        long delay;
+        try {
+            delay = poll.getAsLong();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Poll failed", e);
+            delay = retryDelay(lastDelay);
+        }
+        synchronized (this) {
+            lastDelay = delay;
+            if (current == generation) {
+                next = scheduler.schedule(() -> run(current), withJitter(delay), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * @return how long to wait after a failed poll, given the wait before it
+     */
+    static long retryDelay(long lastDelay) {
+        return Math.min(MAX_RETRY_DELAY, Math.max(MIN_RETRY_DELAY, lastDelay * 2));
+    }
+
+    /**
+     * @return the delay, made longer or shorter by a random amount up to {@link #JITTER} of it
+     */
+    static long withJitter(long millis) {
+        return Math.round(millis * (1 + JITTER * (2 * ThreadLocalRandom.current().nextDouble() - 1)));
+    }
+}
@@ -1,87 +1,141 @@
 package client.poller;
 
 import client.game.IGameManager;
+import shared.definitions.PlayerIndex;
+import shared.definitions.TurnStatus;
 import shared.models.game.ClientModel;
 
 import javax.naming.CommunicationException;
 import javax.swing.*;
-import java.awt.event.ActionListener;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Will take care of contacting the server on regular intervals to check for game updates.
+ * <p>
+ * Polls run on a {@link PollTask}, off the event dispatch thread; only a new model is handed to the
+ * event dispatch thread, unless the poller is given somewhere else to hand it to.  Polls are
+ * fastest while the game is waiting on this player, and slow down while the game isn't changing
+ * or the server can't be reached.
  */
 public class Poller {
+    private static final Logger LOGGER = Logger.getLogger("Poller");
     /**
-     * How often we want to call the server in seconds
+     * How often to call the server while the game is waiting on this player, in milliseconds
      */
-    private final int SERVER_CONTACT_INTERVAL = 3 * 1000;
+    static final long MY_TURN_INTERVAL = 1000;
     /**
-     * Timer to run poller
+     * How often to call the server just after the game changed, in milliseconds
      */
-    private Timer mTimer;
+    static final long SERVER_CONTACT_INTERVAL = 3 * 1000;
+    /**
+     * The longest to wait between calls while nothing changes, in milliseconds
+     */
+    static final long MAX_INTERVAL = 15 * 1000;
+    /**
+     * Runs the poller
+     */
+    private final PollTask task;
+    /**
+     * Where new models are given to the game manager
+     */
+    private final Executor updates;
+    /**
+     * How long to wait before the next call if the game isn't waiting on this player
+     */
+    private long idleInterval = SERVER_CONTACT_INTERVAL;
 
     private IGameManager gameManager;
 
 
     /**
-     * A timer that will start contacting the server every
-     * {@code SERVER_CONTACT_INTERVAL} secs to check for version updates of the game.
-     * Also sets up a ActionListener called poll that is the actual item
-     * that will be run every SERVER_CONTACT_INTERVAL secs.
+     * Sets up a poller that will check for version updates of the game once started.
      *
-     * @post This provides a timer that will poll the server
+     * @post This provides a poller that will poll the server
      */
     public Poller(IGameManager gameManager) {
-        // To init the poller go ahead and check for an update to start
         this.gameManager = gameManager;
-        checkForUpdate();
+        this.task = new PollTask(this::checkForUpdate);
+        this.updates = SwingUtilities::invokeLater;
+    }
 
-        ActionListener poll = e -> checkForUpdate();
-        mTimer = new Timer(SERVER_CONTACT_INTERVAL, poll);
+    /**
+     * Sets up a poller for a client with no UI.
+     *
+     * @param scheduler runs the polls
+     * @param updates   where to give new models to the game manager
+     */
+    public Poller(IGameManager gameManager, ScheduledExecutorService scheduler, Executor updates) {
+        this.gameManager = gameManager;
+        this.task = new PollTask(scheduler, this::checkForUpdate);
+        this.updates = updates;
     }
 
-    private void checkForUpdate() {
+    /**
+     * Calls the server once, on the poller's thread.
+     *
+     * @return how long to wait before calling again, in milliseconds
+     */
+    long checkForUpdate() {
         // Grab a game manager
         IGameManager gm = getGameManager();
         // Get our version number
-        int version;
-        try {
-            version = gm.getClientModel().getVersion();
-        } catch (Exception e) {
-            version = 0;
-        }
+        ClientModel model = gm.getClientModel();
+        int version = model == null ? 0 : model.getVersion();
         // Call the server with the number
-        ClientModel response = null;
+        ClientModel response;
         try {
             response = gm.getServer().gameState(version);
-        } catch (CommunicationException e) {
-            e.printStackTrace();
+        } catch (CommunicationException | IllegalArgumentException e) {
+            // Whether the server can't be reached or rejects the poll, asking again soon won't help
+            LOGGER.log(Level.WARNING, "Poll failed", e);
+            idleInterval = Math.min(MAX_INTERVAL, idleInterval * 2);
+            return idleInterval;
         }
         // If new model
         if (response != null) {
-            // Update ours
-            gm.updateGameManager(response);
+            // Update ours where every other change to the UI is made
+            updates.execute(() -> gm.updateGameManager(response));
+            model = response;
+            idleInterval = SERVER_CONTACT_INTERVAL;
+        } else {
+            idleInterval = Math.min(MAX_INTERVAL, idleInterval * 3 / 2);
+        }
+        return isWaitingOnMe(model, gm.getThisPlayerIndex()) ? Math.min(MY_TURN_INTERVAL, idleInterval) : idleInterval;
+    }
+
+    /**
+     * @return whether the game can't go on until this player does something
+     */
+    private static boolean isWaitingOnMe(ClientModel model, PlayerIndex me) {
+        if (model == null || model.getTurnTracker() == null || me == null) {
+            return false;
         }
+        return model.getTurnTracker().getCurrentTurn() == me
+                || model.getTurnTracker().getStatus() == TurnStatus.DISCARDING
+                || (model.getTradeOffer() != null && model.getTradeOffer().getReceiver() == me);
     }
 
 
     /**
-     * Starts the mTimer, which starts up the polling
+     * Starts polling, checking for an update right away
      *
-     * @post the timer will be started
+     * @post the poller will be started
      */
     public void startPoller() {
-        mTimer.start();
+        task.start();
     }
 
 
     /**
-     * Stops the mTimer, which stops the polling
+     * Stops polling
      *
-     * @post the timer will have stoped
+     * @post the poller will have stopped
      */
     public void stopPoller() {
-        mTimer.stop();
+        task.stop();
     }
 
 
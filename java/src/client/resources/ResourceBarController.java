@@ -2,6 +2,7 @@ package client.resources;
 
 import client.base.Controller;
 import client.base.IAction;
+import client.game.ModelPart;
 import shared.definitions.PurchaseType;
 import shared.definitions.ResourceType;
 import shared.facades.ResourcesFacade;
@@ -23,7 +24,7 @@ public class ResourceBarController extends Controller implements IResourceBarCon
     public ResourceBarController(IResourceBarView view) {
         super(view);
         elementActions = new HashMap<>();
-        observeClientModel();
+        observeClientModel(ModelPart.PLAYERS, ModelPart.TURN_TRACKER);
     }
 
     @Override
@@ -2,7 +2,7 @@ package client.resources;
 
 import client.base.PanelView;
 import client.utils.FontUtils;
-import client.utils.ImageUtils;
+import client.utils.ImageAtlas;
 
 import javax.swing.*;
 import java.awt.*;
@@ -187,18 +187,25 @@ public class ResourceBarView extends PanelView implements IResourceBarView {
 //	}
 
     private void loadImages() {
-        resourcesImage = ImageUtils.loadImage(RESOURCE_IMAGE_PATH + "resources.png");
-        brickImage = ImageUtils.loadImage(RESOURCE_IMAGE_PATH + "brick.png");
-        oreImage = ImageUtils.loadImage(RESOURCE_IMAGE_PATH + "ore.png");
-        sheepImage = ImageUtils.loadImage(RESOURCE_IMAGE_PATH + "sheep.png");
-        wheatImage = ImageUtils.loadImage(RESOURCE_IMAGE_PATH + "wheat.png");
-        woodImage = ImageUtils.loadImage(RESOURCE_IMAGE_PATH + "wood.png");
-        roadImage = ImageUtils.loadImage(BUILDING_IMAGE_PATH + "road.png");
-        settlementImage = ImageUtils.loadImage(BUILDING_IMAGE_PATH + "settlement.png");
-        cityImage = ImageUtils.loadImage(BUILDING_IMAGE_PATH + "city.png");
-        buyDevCardImage = ImageUtils.loadImage(BUILDING_IMAGE_PATH + "card.jpg");
-        playDevCardImage = ImageUtils.loadImage(BUILDING_IMAGE_PATH + "development_card.jpg");
-        soldierImage = ImageUtils.loadImage(BUILDING_IMAGE_PATH + "soldier.jpg");
+        resourcesImage = loadImage(RESOURCE_IMAGE_PATH + "resources.png");
+        brickImage = loadImage(RESOURCE_IMAGE_PATH + "brick.png");
+        oreImage = loadImage(RESOURCE_IMAGE_PATH + "ore.png");
+        sheepImage = loadImage(RESOURCE_IMAGE_PATH + "sheep.png");
+        wheatImage = loadImage(RESOURCE_IMAGE_PATH + "wheat.png");
+        woodImage = loadImage(RESOURCE_IMAGE_PATH + "wood.png");
+        roadImage = loadImage(BUILDING_IMAGE_PATH + "road.png");
+        settlementImage = loadImage(BUILDING_IMAGE_PATH + "settlement.png");
+        cityImage = loadImage(BUILDING_IMAGE_PATH + "city.png");
+        buyDevCardImage = loadImage(BUILDING_IMAGE_PATH + "card.jpg");
+        playDevCardImage = loadImage(BUILDING_IMAGE_PATH + "development_card.jpg");
+        soldierImage = loadImage(BUILDING_IMAGE_PATH + "soldier.jpg");
+    }
+
+    /**
+     * @return the image already at the size it's shown at
+     */
+    private static BufferedImage loadImage(String file) {
+        return ImageAtlas.getInstance().getSized(file, ResourceElement.IMAGE_SIZE, ResourceElement.IMAGE_SIZE);
     }
 
     private void initializeResources() {
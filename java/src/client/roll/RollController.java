@@ -1,6 +1,7 @@
 package client.roll;
 
 import client.base.Controller;
+import client.game.ModelPart;
 import shared.definitions.TurnStatus;
 import shared.models.game.ClientModel;
 import shared.models.moves.RollNumberAction;
@@ -27,7 +28,7 @@ public class RollController extends Controller implements IRollController {
     public RollController(IRollView view, IRollResultView resultView) {
         super(view);
         setResultView(resultView);
-        observeClientModel();
+        observeClientModel(ModelPart.TURN_TRACKER);
     }
 
     @Override
@@ -0,0 +1,27 @@
+package client.server;
+
+/**
+ * The body of a successful response to a binary request.
+ * <p>
+ * The server answers in JSON instead if it can't match the client's binary schema.
+ */
+public class BinaryResponse {
+    private final byte[] body;
+    private final boolean binary;
+
+    BinaryResponse(byte[] body, boolean binary) {
+        this.body = body;
+        this.binary = binary;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * @return true if the body is in the binary format, false if it is JSON
+     */
+    public boolean isBinary() {
+        return binary;
+    }
+}
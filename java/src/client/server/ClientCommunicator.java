@@ -5,13 +5,18 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import org.jetbrains.annotations.NotNull;
+import shared.serialization.BinarySerializer;
 import shared.utils.CookieUtils;
 
 import javax.naming.CommunicationException;
 import javax.security.auth.login.CredentialNotFoundException;
 import java.io.*;
 import java.net.*;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntConsumer;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -21,19 +26,34 @@ import static shared.utils.ClassUtils.getStackTrace;
  * Created by elijahgk on 9/12/2016.
  * ClientCommunicator receives calls from ServerProxy and submits those calls as HTTP requests to the Catan Server.
  * Package Private
+ * <p>
+ * Each communicator keeps its own cookies, so several users can play from one process.  Connections
+ * are left open after a response is read, so the next request to the server, from this communicator
+ * or any other, can reuse one.
+ * <p>
+ * When the server tags a response to a GET, the response is kept, and the next GET of the same URL
+ * asks the server with If-None-Match whether it's still current.  If it is, the server sends back
+ * {@code 304 Not Modified} and no body, and the kept response is used again.  Only the last URL of
+ * each path is kept, so polling {@code /game/model?version=...} doesn't keep every version.
  */
 class ClientCommunicator implements IClientCommunicator {
 
     private static final Logger LOGGER = Logger.getLogger("ClientCommunicator");
     private static ClientCommunicator SINGLETON = null;
-    private static CookieManager cookieManager = new CookieManager();
+    private final CookieManager cookieManager = new CookieManager(null, CookiePolicy.ACCEPT_ALL);
+    private final IntConsumer playerIdListener;
+    // The last tagged response to a GET of each path
+    private final Map<String, Validated> validated = new ConcurrentHashMap<>();
+    private volatile String serverEpoch;
     private String URLPrefix;
 
 
-    private ClientCommunicator(String host, String port) {
+    /**
+     * @param playerIdListener given the user's player id whenever a response comes with the user cookie
+     */
+    ClientCommunicator(String host, String port, IntConsumer playerIdListener) {
         URLPrefix = "http://" + host + ":" + port;
-        CookieHandler.setDefault(cookieManager);
-        cookieManager.setCookiePolicy(CookiePolicy.ACCEPT_ALL);
+        this.playerIdListener = playerIdListener;
     }
 
 
@@ -44,12 +64,56 @@ class ClientCommunicator implements IClientCommunicator {
      */
     static ClientCommunicator getSingleton(String host, String port) {
         if (SINGLETON == null) {
-            SINGLETON = new ClientCommunicator(host, port);
+            SINGLETON = new ClientCommunicator(host, port, id -> GameManager.getGame().getPlayerInfo().setId(id));
             return SINGLETON;
         }
         return SINGLETON;
     }
 
+    /**
+     * Opens a connection carrying this communicator's cookies, and the tag of the response kept for
+     * the URL, if there is one.
+     *
+     * @param cached the response kept for the URL, or null
+     */
+    private HttpURLConnection open(URL url, String requestMethod, Validated cached) throws IOException, URISyntaxException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestMethod(requestMethod);
+        Map<String, List<String>> cookies = cookieManager.get(url.toURI(), Collections.emptyMap());
+        cookies.forEach((header, values) -> {
+            if (!values.isEmpty()) {
+                connection.setRequestProperty(header, String.join("; ", values));
+            }
+        });
+        if (cached != null) {
+            connection.setRequestProperty("If-None-Match", cached.tag);
+        }
+        return connection;
+    }
+
+    /**
+     * @return the response kept for the URL, if it is a GET and the response is of that type
+     */
+    private Validated getValidated(String URLSuffix, URL url, String requestMethod, Class<?> type) {
+        Validated cached = requestMethod.equalsIgnoreCase("GET") ? validated.get(URLSuffix) : null;
+        return cached != null && cached.url.equals(url.toString()) && type.isInstance(cached.body) ? cached : null;
+    }
+
+    /**
+     * Keeps a response to a GET if the server tagged it.
+     */
+    private void validate(String URLSuffix, URL url, String requestMethod, HttpURLConnection connection, Object body) {
+        if (!requestMethod.equalsIgnoreCase("GET")) {
+            return;
+        }
+        String tag = connection.getHeaderField("ETag");
+        if (tag != null) {
+            validated.put(URLSuffix, new Validated(url.toString(), tag, body));
+        } else {
+            validated.remove(URLSuffix);
+        }
+    }
+
     @NotNull
     private static URL withParams(@NotNull URL url, @NotNull Map<String, String> parameters) throws URISyntaxException, MalformedURLException {
         URI u = url.toURI();
@@ -90,8 +154,8 @@ class ClientCommunicator implements IClientCommunicator {
             if (parameters != null) {
                 url = withParams(url, parameters);
             }
-            connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod(requestMethod);
+            Validated cached = getValidated(URLSuffix, url, requestMethod, String.class);
+            connection = open(url, requestMethod, cached);
             if (requestMethod.equalsIgnoreCase("POST")) {
                 connection.setDoOutput(true);
                 DataOutputStream output = new DataOutputStream(connection.getOutputStream());
@@ -99,6 +163,8 @@ class ClientCommunicator implements IClientCommunicator {
                 output.close();
             }
             int responseCode = connection.getResponseCode();
+            cookieManager.put(url.toURI(), connection.getHeaderFields());
+            updateServerEpoch(connection);
             StringBuilder response = new StringBuilder();
 
             switch (responseCode) {
@@ -106,40 +172,27 @@ class ClientCommunicator implements IClientCommunicator {
                     InputStream input = connection.getInputStream();
                     BufferedReader rd = new BufferedReader(new InputStreamReader(input));
                     String line;
-                    String authCookie = CookieUtils.getCookieMap(cookieManager.getCookieStore().getCookies()).get("catan.user");
-                    if (authCookie != null) {
-                        JsonObject obj = (JsonObject) new JsonParser().parse(authCookie);
-                        JsonElement playerID = obj.get("playerID");
-                        if (playerID != null) {
-                            GameManager.getGame().getPlayerInfo().setId(playerID.getAsInt());
-                        }
-                    }
+                    updatePlayerId();
                     while ((line = rd.readLine()) != null) {
                         response.append(line);
                         response.append('\r');
                     }
                     rd.close();
-                    connection.disconnect();
+                    validate(URLSuffix, url, requestMethod, connection, response.toString());
+                    // Read to the end, so the connection is free to reuse
+                    connection = null;
                     return response.toString();
+                case 304:
+                    if (cached == null) {
+                        throw new CommunicationException("Not modified, but there is no response kept for " + url);
+                    }
+                    connection = null;
+                    return (String) cached.body;
                 case 400:
                 case 404:
                 case 405:
-                    InputStream error = connection.getErrorStream();
-                    rd = new BufferedReader(new InputStreamReader(error));
-                    while ((line = rd.readLine()) != null) {
-                        response.append(line);
-                        response.append('\r');
-                    }
-                    if (response.toString().contains("Failed to login") ||
-                            response.toString().contains("Failed to register")) {
-                        throw new CredentialNotFoundException(response.toString());
-                    }
-                    throw new IllegalArgumentException(response.toString());
                 case 500:
-                    String errorMessage = new BufferedReader(new InputStreamReader(connection.getErrorStream()))
-                            .lines().collect(Collectors.joining("\n"));
-                    LOGGER.info("Received server error: " + errorMessage);
-                    throw new CommunicationException(errorMessage);
+                    throw failure(connection, responseCode);
                 default:
                     response.append("{\"error\":\"SendHTTPRequest responded with an unhandled error resulting from response code: ").append(responseCode).append("\"");
                     break;
@@ -151,12 +204,153 @@ class ClientCommunicator implements IClientCommunicator {
         } catch (IOException e) {
             throw new CommunicationException(e.getMessage());
         } finally {
-            assert connection != null;
-            connection.disconnect();
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+
+    @Override
+    public BinaryResponse sendBinaryRequest(String URLSuffix, byte[] requestBody, String requestMethod, Map<String, String> parameters) throws IllegalArgumentException, CommunicationException, CredentialNotFoundException {
+        HttpURLConnection connection = null;
+        try {
+            URL url = new URL(URLPrefix + URLSuffix);
+            if (parameters != null) {
+                url = withParams(url, parameters);
+            }
+            Validated cached = getValidated(URLSuffix, url, requestMethod, BinaryResponse.class);
+            connection = open(url, requestMethod, cached);
+            connection.setRequestProperty("Accept", BinarySerializer.getInstance().getContentType());
+            if (requestMethod.equalsIgnoreCase("POST")) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", BinarySerializer.getInstance().getContentType());
+                OutputStream output = connection.getOutputStream();
+                output.write(requestBody);
+                output.close();
+            }
+            int responseCode = connection.getResponseCode();
+            cookieManager.put(url.toURI(), connection.getHeaderFields());
+            updateServerEpoch(connection);
+            switch (responseCode) {
+                case 200:
+                    updatePlayerId();
+                    ByteArrayOutputStream body = new ByteArrayOutputStream();
+                    try (InputStream input = connection.getInputStream()) {
+                        byte[] buffer = new byte[4096];
+                        int read;
+                        while ((read = input.read(buffer)) != -1) {
+                            body.write(buffer, 0, read);
+                        }
+                    }
+                    BinaryResponse response = new BinaryResponse(body.toByteArray(),
+                            BinarySerializer.getInstance().accepts(connection.getContentType()));
+                    validate(URLSuffix, url, requestMethod, connection, response);
+                    connection = null;
+                    return response;
+                case 304:
+                    if (cached == null) {
+                        throw new CommunicationException("Not modified, but there is no response kept for " + url);
+                    }
+                    connection = null;
+                    return (BinaryResponse) cached.body;
+                case 415:
+                    // The server was built with different model classes
+                    LOGGER.info("Server does not accept binary schema " + BinarySerializer.getInstance().getSchema());
+                    return null;
+                case 400:
+                case 404:
+                case 405:
+                case 500:
+                    throw failure(connection, responseCode);
+                default:
+                    throw new CommunicationException("Unhandled response code " + responseCode);
+            }
+        } catch (MalformedURLException | IllegalStateException | URISyntaxException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        } catch (IOException e) {
+            throw new CommunicationException(e.getMessage());
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
         }
     }
 
+    /**
+     * Keep the local player's ID in sync with the one in the user cookie.
+     */
+    private void updatePlayerId() {
+        String authCookie = CookieUtils.getCookieMap(cookieManager.getCookieStore().getCookies()).get("catan.user");
+        if (authCookie != null) {
+            JsonObject obj = (JsonObject) new JsonParser().parse(authCookie);
+            JsonElement playerID = obj.get("playerID");
+            if (playerID != null) {
+                playerIdListener.accept(playerID.getAsInt());
+            }
+        }
+    }
+
+    private void updateServerEpoch(HttpURLConnection connection) {
+        String epoch = connection.getHeaderField("X-Server-Epoch");
+        if (epoch != null) {
+            serverEpoch = epoch;
+        }
+    }
+
+    @Override
+    public String getServerEpoch() {
+        return serverEpoch;
+    }
+
+    /**
+     * Handle an error response.
+     *
+     * @param connection   the connection the error was received on
+     * @param responseCode the error's response code
+     * @return the exception to throw for a rejected request
+     * @throws CredentialNotFoundException if logging in or registering failed
+     * @throws CommunicationException      if the server had an internal error
+     */
+    private static IllegalArgumentException failure(HttpURLConnection connection, int responseCode)
+            throws IOException, CredentialNotFoundException, CommunicationException {
+        if (responseCode == 500) {
+            String errorMessage = new BufferedReader(new InputStreamReader(connection.getErrorStream()))
+                    .lines().collect(Collectors.joining("\n"));
+            LOGGER.info("Received server error: " + errorMessage);
+            throw new CommunicationException(errorMessage);
+        }
+        StringBuilder response = new StringBuilder();
+        BufferedReader rd = new BufferedReader(new InputStreamReader(connection.getErrorStream()));
+        String line;
+        while ((line = rd.readLine()) != null) {
+            response.append(line);
+            response.append('\r');
+        }
+        if (response.toString().contains("Failed to login") ||
+                response.toString().contains("Failed to register")) {
+            throw new CredentialNotFoundException(response.toString());
+        }
+        return new IllegalArgumentException(response.toString());
+    }
+
     public void setURLPrefix(String URLPrefix) {
         this.URLPrefix = URLPrefix;
+        validated.clear();
+        serverEpoch = null;
+    }
+
+    /**
+     * A response to a GET and the tag the server gave it.
+     */
+    private static class Validated {
+        final String url;
+        final String tag;
+        final Object body;
+
+        Validated(String url, String tag, Object body) {
+            this.url = url;
+            this.tag = tag;
+            this.body = body;
+        }
     }
 }
@@ -10,4 +10,20 @@ import java.util.Map;
 public interface IClientCommunicator {
 
     String sendHTTPRequest(String URLSuffix, String requestBody, String requestMethod, Map<String, String> parameters) throws IllegalArgumentException, CommunicationException, CredentialNotFoundException;
+
+    /**
+     * Sends a request in the binary wire format, asking for a binary response.
+     *
+     * @return the response, or null if the request has to be sent as JSON instead
+     */
+    default BinaryResponse sendBinaryRequest(String URLSuffix, byte[] requestBody, String requestMethod, Map<String, String> parameters) throws IllegalArgumentException, CommunicationException, CredentialNotFoundException {
+        return null;
+    }
+
+    /**
+     * @return the name the server process gave itself in its last response, or null if it didn't
+     */
+    default String getServerEpoch() {
+        return null;
+    }
 }
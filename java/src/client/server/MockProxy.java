@@ -6,6 +6,8 @@ import shared.IServer;
 import shared.definitions.AIType;
 import shared.models.game.AddAIRequest;
 import shared.models.game.ClientModel;
+import shared.models.game.MessagePage;
+import shared.models.game.MessagesRequest;
 import shared.models.games.*;
 import shared.models.moves.*;
 import shared.models.user.Credentials;
@@ -87,6 +89,14 @@ public class MockProxy implements IServer {
         return MockCM.fullJsonModel();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public MessagePage getMessages(@NotNull MessagesRequest messagesObject) throws IllegalArgumentException, CommunicationException {
+        return new MessagePage();
+    }
+
     /**
      * {@inheritDoc}
      */
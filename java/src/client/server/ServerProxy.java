@@ -5,13 +5,17 @@ import shared.IServer;
 import shared.annotations.ServerEndpoint;
 import shared.definitions.functions.ThrowingFunction;
 import shared.models.game.ClientModel;
+import shared.serialization.BinarySerializer;
 import shared.serialization.ModelSerializer;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.IntConsumer;
 
 import static shared.utils.ClassUtils.defaultWrapper;
 
@@ -26,23 +30,48 @@ public interface ServerProxy extends IServer {
         return ServerProxyState.getProxyInstance(host, port);
     }
 
+    /**
+     * Connects a user other than the one the client is playing as, with cookies of their own.
+     *
+     * @param playerIdListener given the user's player id once they log in or register
+     * @return a new proxy, not shared with anyone
+     */
+    @NotNull
+    static ServerProxy connect(String host, String port, IntConsumer playerIdListener) {
+        return new ServerProxyState(new ClientCommunicator(host, port, playerIdListener)).createProxy();
+    }
+
     void setMockCC(ClientModel cm);
 
+    /**
+     * @return the name the server process gave itself in its last response, or null if it hasn't
+     * answered yet; it changes whenever the server restarts
+     */
+    String getServerEpoch();
+
     class ServerProxyState {
-        private static IClientCommunicator comm;
-        private static ServerProxy proxy;
-        private static Map<String, ThrowingFunction<Object, Object>> commandMap = new HashMap<>();
+        private static ServerProxyState shared;
+        private IClientCommunicator comm;
+        private ServerProxy proxy;
+        private Map<String, ThrowingFunction<Object, Object>> commandMap = new HashMap<>();
+        // Set the catan.wire system property to "binary" to use the compact wire format
+        private boolean binary = "binary".equals(System.getProperty("catan.wire"));
 
-        private ServerProxyState() {
+        private ServerProxyState(IClientCommunicator comm) {
+            this.comm = comm;
         }
 
-        private static ServerProxy getProxyInstance(String host, String port) {
-            if (comm == null) {
-                comm = ClientCommunicator.getSingleton(host, port);
+        private static synchronized ServerProxy getProxyInstance(String host, String port) {
+            if (shared == null) {
+                shared = new ServerProxyState(ClientCommunicator.getSingleton(host, port));
             }
-            if (proxy != null) {
-                return proxy;
+            if (shared.proxy == null) {
+                shared.proxy = shared.createProxy();
             }
+            return shared.proxy;
+        }
+
+        private ServerProxy createProxy() {
 
             // This is also known as "magic"
             for (Method method : ServerProxy.class.getMethods()) {
@@ -60,6 +89,28 @@ public interface ServerProxy extends IServer {
                 String URLSuffix = endpoint.value();
                 String verb = endpoint.isPost() ? "POST" : "GET";
                 commandMap.put(method.getName(), arg -> {
+                    if (binary) {
+                        BinaryResponse response = comm.sendBinaryRequest(URLSuffix,
+                                verb.equals("POST") && paramType != null ?
+                                        BinarySerializer.getInstance().toBinary(arg, paramType) :
+                                        null,
+                                verb,
+                                verb.equals("GET") && paramType != null ?
+                                        Collections.singletonMap(paramName, URLEncoder.encode(
+                                                ModelSerializer.getInstance().toJson(arg, paramType), "UTF-8")) :
+                                        null);
+                        if (response != null) {
+                            if (deserializeType == null) {
+                                return defaultWrapper(resultType);
+                            } else if (response.isBinary()) {
+                                return BinarySerializer.getInstance().fromBinary(response.getBody(), deserializeType);
+                            }
+                            return ModelSerializer.getInstance().fromJson(
+                                    new String(response.getBody(), StandardCharsets.UTF_8), deserializeType);
+                        }
+                        // The server can't read this client's binary schema
+                        binary = false;
+                    }
                     Object result = null;
                     String requestBody = "";
                     Map<String, String> parameters = null;
@@ -80,9 +131,10 @@ public interface ServerProxy extends IServer {
                     return result;
                 });
             }
-            commandMap.put("setMockCC", cm -> ServerProxyState.comm = MockCC.initialize((ClientModel) cm));
+            commandMap.put("setMockCC", cm -> comm = MockCC.initialize((ClientModel) cm));
+            commandMap.put("getServerEpoch", arg -> comm.getServerEpoch());
 
-            proxy = (ServerProxy) Proxy.newProxyInstance(
+            return (ServerProxy) Proxy.newProxyInstance(
                     ServerProxy.class.getClassLoader(),
                     new Class<?>[]{ServerProxy.class},
                     (proxy, method, args) -> {
@@ -91,7 +143,6 @@ public interface ServerProxy extends IServer {
                         }
                         return commandMap.get(method.getName()).apply(args == null ? null : args[0]);
                     });
-            return proxy;
         }
     }
 }
@@ -1,6 +1,7 @@
 package client.turntracker;
 
 import client.base.Controller;
+import client.game.ModelPart;
 import shared.IServer;
 import shared.definitions.CatanColor;
 import shared.definitions.PlayerIndex;
@@ -28,7 +29,7 @@ public class TurnTrackerController extends Controller implements ITurnTrackerCon
 
     public TurnTrackerController(ITurnTrackerView view) {
         super(view);
-        observeClientModel();
+        observeClientModel(ModelPart.PLAYERS, ModelPart.TURN_TRACKER);
     }
 
     /**
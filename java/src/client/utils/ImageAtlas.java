@@ -0,0 +1,193 @@
+package client.utils;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.AffineTransformOp;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Loads each image once and keeps copies of it ready to draw at the sizes it is shown at.
+ * <p>
+ * Images can be loaded in parallel ahead of time with {@link #preload}.  Copies at a size are made
+ * in the screen's format, so drawing them is a plain copy, and are scaled down in steps so they stay
+ * smooth.  Copies made for a scale factor can be evicted with {@link #evictScale} once nothing is
+ * drawn at that scale anymore, such as when the window is resized.
+ */
+public class ImageAtlas {
+    private static final Logger LOGGER = Logger.getLogger("ImageAtlas");
+    private static final String[] IMAGE_EXTENSIONS = {".png", ".gif", ".jpg"};
+
+    private final ExecutorService loader = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), r -> {
+                Thread thread = new Thread(r, "ImageAtlas");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private final Map<String, CompletableFuture<BufferedImage>> originals = new ConcurrentHashMap<>();
+    private final Map<Key, BufferedImage> copies = new ConcurrentHashMap<>();
+
+    ImageAtlas() {
+    }
+
+    private static class InstanceHolder {
+        private static final ImageAtlas INSTANCE = new ImageAtlas();
+    }
+
+    public static ImageAtlas getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * Starts loading every image in the directory and its subdirectories in the background.
+     *
+     * @param directory the directory to load from, such as {@code images}
+     */
+    public void preload(String directory) {
+        File[] files = new File(directory).listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String path = directory + File.separator + file.getName();
+            if (file.isDirectory()) {
+                preload(path);
+            } else if (Arrays.stream(IMAGE_EXTENSIONS).anyMatch(e -> file.getName().toLowerCase().endsWith(e))) {
+                originals.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> read(p), loader));
+            }
+        }
+    }
+
+    /**
+     * @param file the image's path
+     * @return the image as it is in the file, which must not be changed, or
+     * {@link ImageUtils#DEFAULT_IMAGE} if it can't be read
+     */
+    public BufferedImage get(String file) {
+        return originals.computeIfAbsent(file, p -> CompletableFuture.completedFuture(read(p))).join();
+    }
+
+    /**
+     * @return the image stretched to exactly that size
+     */
+    public BufferedImage getSized(String file, int width, int height) {
+        return copies.computeIfAbsent(new Key(file, width, height, 0, 0),
+                k -> resize(get(file), width, height));
+    }
+
+    /**
+     * @param scale   how much to scale the image by
+     * @param radians how much to rotate the image by, about its center, before scaling it
+     * @return the image rotated and then scaled
+     */
+    public BufferedImage getScaled(String file, double scale, double radians) {
+        return copies.computeIfAbsent(new Key(file, 0, 0, scale, radians), k -> {
+            BufferedImage image = get(file);
+            if (radians != 0) {
+                AffineTransform rotation = AffineTransform.getRotateInstance(radians,
+                        image.getWidth() / 2, image.getHeight() / 2);
+                image = new AffineTransformOp(rotation, AffineTransformOp.TYPE_BILINEAR).filter(image, null);
+            }
+            return resize(image, Math.max(1, (int) Math.round(image.getWidth() * scale)),
+                    Math.max(1, (int) Math.round(image.getHeight() * scale)));
+        });
+    }
+
+    /**
+     * Forgets the copies made for a scale factor by {@link #getScaled}.
+     */
+    public void evictScale(double scale) {
+        copies.keySet().removeIf(k -> k.scale == scale && k.width == 0);
+    }
+
+    int size() {
+        return copies.size();
+    }
+
+    /**
+     * Scales the image, halving its size in steps while it's more than twice as big as asked for, so
+     * every pixel of the original counts toward the result.
+     *
+     * @return a copy of the image at that size, in the screen's format if there is a screen
+     */
+    static BufferedImage resize(BufferedImage original, int width, int height) {
+        BufferedImage current = original;
+        int currentWidth = original.getWidth();
+        int currentHeight = original.getHeight();
+        do {
+            currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+            currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+            BufferedImage next = createImage(currentWidth, currentHeight);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g.dispose();
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private static BufferedImage createImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+    }
+
+    private static BufferedImage read(String file) {
+        try {
+            BufferedImage image = ImageIO.read(new File(file));
+            if (image != null) {
+                return image;
+            }
+            LOGGER.warning(() -> "Not an image: " + file);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, e, () -> "Couldn't load " + file);
+        }
+        return ImageUtils.DEFAULT_IMAGE;
+    }
+
+    private static class Key {
+        final String file;
+        final int width;
+        final int height;
+        final double scale;
+        final double radians;
+
+        Key(String file, int width, int height, double scale, double radians) {
+            this.file = file;
+            this.width = width;
+            this.height = height;
+            this.scale = scale;
+            this.radians = radians;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return file.equals(other.file) && width == other.width && height == other.height
+                    && scale == other.scale && radians == other.radians;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(file, width, height, scale, radians);
+        }
+    }
+}
@@ -1,10 +1,6 @@
 package client.utils;
 
-import javax.imageio.ImageIO;
-import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 
 public class ImageUtils {
 
@@ -12,24 +8,19 @@ public class ImageUtils {
             1,
             BufferedImage.TYPE_INT_ARGB);
 
+    /**
+     * @return the image, loaded once and shared, so it must not be changed
+     * @see ImageAtlas#get(String)
+     */
     public static BufferedImage loadImage(String file) {
-        try {
-            return ImageIO.read(new File(file));
-        } catch (IOException e) {
-            assert false;
-        }
-
-        return DEFAULT_IMAGE;
+        return ImageAtlas.getInstance().get(file);
     }
 
+    /**
+     * @return a copy of the image at the new size
+     */
     public static BufferedImage resizeImage(BufferedImage original, int newWidth, int newHeight) {
-
-        BufferedImage resized = new BufferedImage(newWidth, newHeight, original.getType());
-        Graphics2D g = resized.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g.drawImage(original, 0, 0, newWidth, newHeight, 0, 0, original.getWidth(), original.getHeight(), null);
-        g.dispose();
-        return resized;
+        return ImageAtlas.resize(original, newWidth, newHeight);
     }
 
 }
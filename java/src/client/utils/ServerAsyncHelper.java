@@ -7,15 +7,69 @@ import org.jetbrains.annotations.Nullable;
 import shared.definitions.functions.ThrowingConsumer;
 import shared.definitions.functions.ThrowingFunction;
 import shared.definitions.functions.ThrowingSupplier;
+import shared.models.GameAction;
 import shared.models.game.ClientModel;
 
+import javax.swing.*;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
+/**
+ * Calls the server off the event dispatch thread.
+ * <p>
+ * Calls run on a small pool of threads shared by the whole client, and no more than
+ * {@value #MAX_PENDING} may be waiting or running at once; any more fail right away with a
+ * {@link RejectedExecutionException} instead of piling up.  Calls that change the game
+ * ({@link #runModelMethod}) run one at a time in the order they were started, so the server sees moves
+ * in the order they were made, and the models they return are handed to the game manager on the event
+ * dispatch thread, unless the helper is given somewhere else to hand them to.
+ */
 public class ServerAsyncHelper {
+    static final int THREADS = 4;
+    static final int MAX_PENDING = 32;
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ThreadPoolExecutor POOL = new ThreadPoolExecutor(THREADS, THREADS, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), r -> {
+        Thread thread = new Thread(r, "ServerAsync-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Bounds the pool's queue, so a call queued behind another in a game's lane still has its place
+    private static final Semaphore PENDING = new Semaphore(MAX_PENDING);
+
+    static {
+        POOL.allowCoreThreadTimeOut(true);
+    }
+
     private IGameManager gameManager;
+    private final Executor gameLane = new SerialExecutor();
+    /**
+     * Where models are given to the game manager
+     */
+    private final Executor updates;
 
     public ServerAsyncHelper(IGameManager gameManager) {
+        this(gameManager, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Sets up a helper for a client with no UI.
+     *
+     * @param updates where to give models, and moves confirmed or rejected, to the game manager
+     */
+    public ServerAsyncHelper(IGameManager gameManager, Executor updates) {
         this.gameManager = gameManager;
+        this.updates = updates;
     }
 
     public <T, R> Future<T, R> runMethod(ThrowingFunction<T, R> runFunc, T arg) {
@@ -34,70 +88,141 @@ public class ServerAsyncHelper {
         return new ClientModelFuture<>(runFunc, arg);
     }
 
-    public abstract class BaseFuture<RunType, SuccessType> extends Thread {
+    /**
+     * A call to the server that hasn't been started yet.  Set what to do with the result, then
+     * {@link #start()} it.
+     *
+     * @param <R> the type of the result
+     */
+    public abstract class BaseFuture<RunType, SuccessType, R> {
         protected RunType runFunc;
         protected SuccessType successFunc;
         protected Consumer<Exception> failFunc;
+        // Completed once the callbacks have run
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+        private final Executor executor;
+        private boolean started;
 
         public BaseFuture(@NotNull RunType runFunc) {
+            this(runFunc, POOL);
+        }
+
+        BaseFuture(@NotNull RunType runFunc, Executor executor) {
             this.runFunc = runFunc;
+            this.executor = executor;
         }
 
         @NotNull
-        public BaseFuture<RunType, SuccessType> onSuccess(@Nullable SuccessType successFunc) {
+        public BaseFuture<RunType, SuccessType, R> onSuccess(@Nullable SuccessType successFunc) {
             this.successFunc = successFunc;
             return this;
         }
 
         @NotNull
-        public BaseFuture<RunType, SuccessType> onError(@Nullable Consumer<Exception> failFunc) {
+        public BaseFuture<RunType, SuccessType, R> onError(@Nullable Consumer<Exception> failFunc) {
             this.failFunc = failFunc;
             return this;
         }
-    }
 
-    public class NoArgFuture<R> extends BaseFuture<ThrowingSupplier<R>, Consumer<R>> {
-        boolean hasResult = false;
-        R result;
-        Exception exception;
+        /**
+         * Calls the server in the background.  If too many calls are already waiting, fails right away.
+         */
+        public void start() {
+            synchronized (this) {
+                if (started) {
+                    throw new IllegalThreadStateException("Already started");
+                }
+                started = true;
+            }
+            if (!PENDING.tryAcquire()) {
+                fail(new RejectedExecutionException("Too many calls to the server are waiting"));
+                return;
+            }
+            try {
+                executor.execute(this::run);
+            } catch (RejectedExecutionException e) {
+                PENDING.release();
+                fail(e);
+            }
+        }
 
-        public NoArgFuture(@NotNull ThrowingSupplier<R> runFunc) {
-            super(runFunc);
+        /**
+         * @return the result once it and its callbacks are done, for composing with other calls
+         */
+        public CompletableFuture<R> toCompletableFuture() {
+            return result;
         }
 
-        @Override
-        public void run() {
+        protected abstract R call() throws Exception;
+
+        protected abstract void succeed(R value) throws Exception;
+
+        private void run() {
             try {
-                result = runFunc.get();
-                hasResult = true;
+                R value = call();
                 if (successFunc != null) {
-                    successFunc.accept(result);
+                    succeed(value);
                 }
+                result.complete(value);
             } catch (Exception e) {
-                exception = e;
-                hasResult = true;
+                fail(e);
+            } finally {
+                PENDING.release();
+            }
+        }
+
+        private void fail(Exception e) {
+            try {
                 if (failFunc != null) {
                     failFunc.accept(e);
                 }
+            } finally {
+                result.completeExceptionally(e);
             }
         }
 
-        public R get() throws Exception {
-            if (isAlive()) {
-                join();
-            }
-            if (exception != null) {
-                throw exception;
+        /**
+         * Waits for the call and its callbacks to finish.
+         *
+         * @return the result of the call
+         * @throws Exception the exception the call threw
+         */
+        protected R await() throws Exception {
+            synchronized (this) {
+                if (!started) {
+                    throw new IllegalThreadStateException();
+                }
             }
-            if (hasResult) {
-                return result;
+            try {
+                return result.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
             }
-            throw new IllegalThreadStateException();
         }
     }
 
-    public class VoidFuture<T> extends BaseFuture<ThrowingConsumer<T>, IAction> {
-        Exception exception;
+    public class NoArgFuture<R> extends BaseFuture<ThrowingSupplier<R>, Consumer<R>, R> {
+
+        public NoArgFuture(@NotNull ThrowingSupplier<R> runFunc) {
+            super(runFunc);
+        }
+
+        @Override
+        protected R call() throws Exception {
+            return runFunc.get();
+        }
+
+        @Override
+        protected void succeed(R value) {
+            successFunc.accept(value);
+        }
+
+        public R get() throws Exception {
+            return await();
+        }
+    }
+
+    public class VoidFuture<T> extends BaseFuture<ThrowingConsumer<T>, IAction, Void> {
         private T arg;
 
         public VoidFuture(@NotNull ThrowingConsumer<T> runFunc, T arg) {
@@ -106,76 +231,63 @@ public class ServerAsyncHelper {
         }
 
         @Override
-        public void run() {
-            try {
-                runFunc.execute(arg);
-                if (successFunc != null) {
-                    successFunc.execute();
-                }
-            } catch (Exception e) {
-                if (failFunc != null) {
-                    failFunc.accept(e);
-                }
-            }
+        protected Void call() throws Exception {
+            runFunc.execute(arg);
+            return null;
+        }
+
+        @Override
+        protected void succeed(Void value) {
+            successFunc.execute();
         }
 
         public void get() throws Exception {
-            if (isAlive()) {
-                join();
-            }
-            if (exception != null) {
-                throw exception;
-            }
+            await();
         }
     }
 
-    public class Future<T, R> extends BaseFuture<ThrowingFunction<T, R>, Consumer<R>> {
+    public class Future<T, R> extends BaseFuture<ThrowingFunction<T, R>, Consumer<R>, R> {
         protected T arg;
-        boolean hasResult = false;
-        R result;
-        Exception exception;
 
         public Future(@NotNull ThrowingFunction<T, R> runFunc, T arg) {
             super(runFunc);
             this.arg = arg;
         }
 
+        Future(@NotNull ThrowingFunction<T, R> runFunc, T arg, Executor executor) {
+            super(runFunc, executor);
+            this.arg = arg;
+        }
+
         @Override
-        public void run() {
-            try {
-                result = runFunc.apply(arg);
-                hasResult = true;
-                if (successFunc != null) {
-                    successFunc.accept(result);
-                }
-            } catch (Exception e) {
-                exception = e;
-                hasResult = true;
-                if (failFunc != null) {
-                    failFunc.accept(e);
-                }
-            }
+        protected R call() throws Exception {
+            return runFunc.apply(arg);
+        }
+
+        @Override
+        protected void succeed(R value) {
+            successFunc.accept(value);
         }
 
         public R get() throws Exception {
-            if (isAlive()) {
-                join();
-            }
-            if (exception != null) {
-                throw exception;
-            }
-            if (hasResult) {
-                return result;
-            }
-            throw new IllegalThreadStateException();
+            return await();
         }
     }
 
+    /**
+     * A call that changes the game.  Runs after every earlier one, and gives the game manager the
+     * model it returns, like every other change to the UI.
+     * <p>
+     * If the argument is a move, the game manager shows it as soon as the call starts, and takes it
+     * back if the call fails.
+     */
     public class ClientModelFuture<T> extends Future<T, ClientModel> {
+        private GameAction predicted;
 
         public ClientModelFuture(@NotNull ThrowingFunction<T, ClientModel> runFunc, T arg) {
-            super(runFunc, arg);
-            onSuccess(model -> gameManager.updateGameManager(model));
+            super(runFunc, arg, gameLane);
+            onSuccess(this::update);
+            onError((Consumer<Exception>) null);
         }
 
         @NotNull
@@ -184,27 +296,85 @@ public class ServerAsyncHelper {
                 if (successFunc != null) {
                     successFunc.execute();
                 }
-                gameManager.updateGameManager(model);
+                update(model);
             });
             return this;
         }
 
         @NotNull
         public ClientModelFuture<T> onSuccessAfter(@Nullable IAction successFunc) {
-            onSuccess(model -> {
-                gameManager.updateGameManager(model);
+            // Run with the update, so it's made by the time this is called
+            onSuccess(model -> updates.execute(() -> {
+                apply(model);
                 if (successFunc != null) {
                     successFunc.execute();
                 }
-            });
+            }));
             return this;
         }
 
         // Prevent problems with ordering of .onSuccess, .onError
         @NotNull
         public ClientModelFuture<T> onError(@Nullable Consumer<Exception> failFunc) {
-            super.onError(failFunc);
+            super.onError(e -> {
+                if (predicted != null) {
+                    updates.execute(() -> gameManager.reject(predicted));
+                }
+                if (failFunc != null) {
+                    failFunc.accept(e);
+                }
+            });
             return this;
         }
+
+        @Override
+        public void start() {
+            if (arg instanceof GameAction && gameManager.predict((GameAction) arg)) {
+                predicted = (GameAction) arg;
+            }
+            super.start();
+        }
+
+        private void update(ClientModel model) {
+            updates.execute(() -> apply(model));
+        }
+
+        private void apply(ClientModel model) {
+            if (predicted != null) {
+                gameManager.confirm(predicted, model);
+            } else {
+                gameManager.updateGameManager(model);
+            }
+        }
+    }
+
+    /**
+     * Runs tasks on the pool one at a time, in the order they were given.
+     */
+    private static class SerialExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private Runnable active;
+
+        @Override
+        public synchronized void execute(@NotNull Runnable task) {
+            tasks.add(() -> {
+                try {
+                    task.run();
+                } finally {
+                    scheduleNext();
+                }
+            });
+            if (active == null) {
+                scheduleNext();
+            }
+        }
+
+        private synchronized void scheduleNext() {
+            active = tasks.poll();
+            if (active != null) {
+                // Never rejected, since the pool's queue has no limit of its own
+                POOL.execute(active);
+            }
+        }
     }
 }
@@ -0,0 +1,200 @@
+package server.ai;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import server.client.GameServer;
+import server.games.IServerManager;
+import server.models.GameModel;
+import shared.definitions.AIType;
+import shared.definitions.PlayerIndex;
+import shared.facades.FacadeManager;
+import shared.models.GameAction;
+import shared.models.game.ClientModel;
+import shared.models.game.Player;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static shared.utils.ClassUtils.getStackTrace;
+
+/**
+ * Plays the AI seats of every game.
+ * <p>
+ * Whenever a game changes it should be passed to {@link #schedule(int)}.  If an AI seat has to act,
+ * its moves are searched for and made on a dedicated pool of threads, so searching never holds up
+ * requests from human players.  Only one AI task runs per game at a time; it keeps making moves until
+ * no AI seat has anything to do.
+ */
+public class AIManager {
+    private static final Logger LOGGER = Logger.getLogger("AIManager");
+    public static final long DEFAULT_MOVE_BUDGET_MILLIS = 500;
+    /**
+     * How many moves in a row the AI may have rejected before it waits for the game to change
+     */
+    private static final int MAX_REJECTED = 3;
+
+    private final IServerManager serverManager;
+    private final ExecutorService executor;
+    private final long moveBudgetNanos;
+    private final Set<Integer> activeGames = ConcurrentHashMap.newKeySet();
+    // The version of each game at which the AI gave up, so it isn't tried again until the game changes
+    private final Map<Integer, Integer> stuckGames = new ConcurrentHashMap<>();
+    private final ThreadLocal<MonteCarloSearch> searches =
+            ThreadLocal.withInitial(() -> new MonteCarloSearch(AIType.LARGEST_ARMY, new Random()));
+
+    /**
+     * @param serverManager    the server the games are on
+     * @param threads          the number of threads to search with
+     * @param moveBudgetMillis the longest an AI may think about a single move
+     */
+    public AIManager(@NotNull IServerManager serverManager, int threads, long moveBudgetMillis) {
+        this.serverManager = serverManager;
+        this.moveBudgetNanos = TimeUnit.MILLISECONDS.toNanos(moveBudgetMillis);
+        AtomicInteger count = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "ai-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    public AIManager(@NotNull IServerManager serverManager) {
+        this(serverManager, Math.max(1, Runtime.getRuntime().availableProcessors() / 2), DEFAULT_MOVE_BUDGET_MILLIS);
+    }
+
+    /**
+     * Let the AI seats of a game act if any of them need to.  Returns immediately.
+     *
+     * @param gameId the game that changed
+     */
+    public void schedule(int gameId) {
+        if (gameId == -1 || executor.isShutdown() || isStuck(gameId) || !activeGames.add(gameId)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                int rejected = 0;
+                // Keep going until no AI seat has anything to do
+                for (Outcome outcome = playMove(gameId); outcome != Outcome.DONE; outcome = playMove(gameId)) {
+                    rejected = outcome == Outcome.REJECTED ? rejected + 1 : 0;
+                    if (rejected >= MAX_REJECTED) {
+                        LOGGER.warning("Giving up on the AI in game " + gameId + " until the game changes");
+                        stuckGames.put(gameId, serverManager.getServerModel().getGameModel(gameId).getSnapshot().getVersion());
+                        break;
+                    }
+                }
+            } catch (Exception e) {
+                LOGGER.warning(getStackTrace(e));
+            } finally {
+                activeGames.remove(gameId);
+            }
+            // A human may have moved after the last check but before the game was released
+            if (!isStuck(gameId) && findSeat(gameId) != null) {
+                schedule(gameId);
+            }
+        });
+    }
+
+    /**
+     * @return whether the AI gave up on the game and it hasn't changed since
+     */
+    private boolean isStuck(int gameId) {
+        Integer version = stuckGames.get(gameId);
+        if (version == null) {
+            return false;
+        }
+        GameModel game = serverManager.getServerModel().getGameModel(gameId);
+        if (game != null && game.getSnapshot().getVersion() == version) {
+            return true;
+        }
+        stuckGames.remove(gameId, version);
+        return false;
+    }
+
+    /**
+     * Stop playing.  Moves already being searched for are abandoned.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Make one move for an AI seat of a game.
+     */
+    @NotNull
+    private Outcome playMove(int gameId) {
+        PlayerIndex seat = findSeat(gameId);
+        if (seat == null) {
+            return Outcome.DONE;
+        }
+        GameModel game = serverManager.getServerModel().getGameModel(gameId);
+        ClientModel snapshot = game.getSnapshot();
+        GameAction move = searches.get().chooseMove(snapshot.copy(), seat, moveBudgetNanos);
+        if (move == null) {
+            return Outcome.DONE;
+        }
+        long simulations = searches.get().getSimulations();
+        LOGGER.fine(() -> String.format("%s in game %d: %s after %d simulations",
+                snapshot.getPlayer(seat).getName(), gameId, move, simulations));
+        move.setGameId(gameId);
+        try {
+            ((GameServer) serverManager.getGameServer(gameId)).executeGameAction(move);
+        } catch (IllegalArgumentException e) {
+            // If someone else moved while this one was being searched for, it's worth looking again
+            return game.getSnapshot().getVersion() != snapshot.getVersion() ? Outcome.MOVED : Outcome.REJECTED;
+        }
+        return Outcome.MOVED;
+    }
+
+    /**
+     * Find an AI seat in a game that has to act.
+     *
+     * @return the seat, or null if no AI needs to do anything
+     */
+    @Nullable
+    private PlayerIndex findSeat(int gameId) {
+        GameModel game = serverManager.getServerModel().getGameModel(gameId);
+        if (game == null) {
+            return null;
+        }
+        ClientModel snapshot = game.getSnapshot();
+        if (snapshot.getPlayers().size() < PlayerIndex.MAX_PLAYERS) {
+            return null;
+        }
+        FacadeManager facades = new FacadeManager(snapshot);
+        for (Player player : snapshot.getPlayers()) {
+            if (isAI(player) && !facades.getMoves().getLegalMoves(player).isEmpty()) {
+                return player.getPlayerIndex();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAI(@NotNull Player player) {
+        // AI seats are given negative IDs when they are added
+        return player.getPlayerID() < 0;
+    }
+
+    private enum Outcome {
+        /**
+         * A move was made, or the game changed meanwhile
+         */
+        MOVED,
+        /**
+         * The move was rejected, though the game didn't change
+         */
+        REJECTED,
+        /**
+         * No AI seat has anything to do
+         */
+        DONE
+    }
+}
@@ -0,0 +1,84 @@
+package server.ai;
+
+import org.jetbrains.annotations.NotNull;
+import shared.definitions.AIType;
+import shared.definitions.PlayerIndex;
+import shared.locations.HexLocation;
+import shared.locations.VertexLocation;
+import shared.models.game.ClientModel;
+import shared.models.game.GameMap;
+import shared.models.game.Hex;
+import shared.models.game.Player;
+
+/**
+ * Scores a game position from one player's point of view.
+ * <p>
+ * Victory points dominate; production, cards in hand and played soldiers break ties.
+ * The strongest opponent's victory points count against the score.
+ */
+public class Heuristic {
+    private static final double VICTORY_POINT = 10;
+    private static final double PRODUCTION = 1;
+    private static final double RESOURCE = 0.5;
+    private static final double DEV_CARD = 1.5;
+    private static final double OPPONENT = 0.5;
+    private static final double WIN = 1000;
+
+    private final double soldierWeight;
+
+    public Heuristic(@NotNull AIType type) {
+        soldierWeight = type == AIType.LARGEST_ARMY ? 2 : 0.5;
+    }
+
+    /**
+     * @param model  the position to score, not null
+     * @param player the player to score it for, not null
+     * @return the score; higher is better for {@code player}
+     */
+    public double evaluate(@NotNull ClientModel model, @NotNull PlayerIndex player) {
+        Player me = model.getPlayer(player);
+        if (me.haveWon()) {
+            return WIN;
+        }
+        double score = me.getVictoryPoints() * VICTORY_POINT +
+                getProduction(model.getMap(), player) * PRODUCTION +
+                me.getResources().getTotal() * RESOURCE +
+                (me.getOldDevCards().getTotal() + me.getNewDevCards().getTotal()) * DEV_CARD +
+                me.getSoldiers() * soldierWeight;
+        int bestOpponent = 0;
+        for (Player p : model.getPlayers()) {
+            if (p.getPlayerIndex() != player) {
+                if (p.haveWon()) {
+                    return -WIN;
+                }
+                bestOpponent = Math.max(bestOpponent, p.getVictoryPoints());
+            }
+        }
+        return score - bestOpponent * VICTORY_POINT * OPPONENT;
+    }
+
+    /**
+     * Get how many cards a player expects to collect per 36 rolls, counting cities twice.
+     */
+    static int getProduction(@NotNull GameMap map, @NotNull PlayerIndex player) {
+        int production = 0;
+        for (VertexLocation v : map.getPlayerSettlements(player)) {
+            production += getProduction(map, v);
+        }
+        for (VertexLocation v : map.getPlayerCities(player)) {
+            production += 2 * getProduction(map, v);
+        }
+        return production;
+    }
+
+    private static int getProduction(@NotNull GameMap map, @NotNull VertexLocation vertex) {
+        int production = 0;
+        for (HexLocation location : map.getVertexHexes(vertex)) {
+            Hex hex = map.getHex(location);
+            if (hex != null && hex.getNumber() > 0) {
+                production += 6 - Math.abs(7 - hex.getNumber());
+            }
+        }
+        return production;
+    }
+}
@@ -0,0 +1,165 @@
+package server.ai;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import shared.definitions.AIType;
+import shared.definitions.PlayerIndex;
+import shared.definitions.TurnStatus;
+import shared.facades.FacadeManager;
+import shared.models.GameAction;
+import shared.models.game.ClientModel;
+import shared.models.game.Player;
+import shared.models.moves.RollNumberAction;
+
+import java.util.*;
+
+/**
+ * Picks a move for a player with flat Monte Carlo search.
+ * <p>
+ * Every legal move is first scored by the {@link Heuristic} after applying it.  The best few are
+ * then compared by repeatedly playing the game forward at random from each of them for a few moves
+ * and scoring the result, until the time budget runs out.  Dice rolls are never searched; the
+ * player rolls like anyone else.
+ * <p>
+ * Instances are not thread-safe; use one per thread.
+ */
+public class MonteCarloSearch {
+    private static final int MAX_CANDIDATES = 8;
+    private static final int PLAYOUT_DEPTH = 16;
+
+    private final Heuristic heuristic;
+    private final Random random;
+    private long simulations;
+
+    public MonteCarloSearch(@NotNull AIType type, @NotNull Random random) {
+        this.heuristic = new Heuristic(type);
+        this.random = random;
+    }
+
+    /**
+     * Choose a move for a player.
+     *
+     * @param model       the position to search from, not modified
+     * @param player      the player to move for
+     * @param budgetNanos how long the search may take; it returns as soon as this runs out
+     * @return the chosen move, or null if the player has no legal moves
+     */
+    @Nullable
+    public GameAction chooseMove(@NotNull ClientModel model, @NotNull PlayerIndex player, long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        simulations = 0;
+        FacadeManager facades = new FacadeManager(model);
+        List<GameAction> moves = facades.getMoves().getLegalMoves(model.getPlayer(player));
+        if (moves.isEmpty()) {
+            return null;
+        }
+        if (moves.stream().allMatch(m -> m instanceof RollNumberAction)) {
+            return rollDice(player);
+        }
+        if (moves.size() == 1) {
+            return moves.get(0);
+        }
+
+        // Keep only the moves that look best one move ahead
+        List<GameAction> candidates = new ArrayList<>();
+        Map<GameAction, Double> scores = new IdentityHashMap<>();
+        for (GameAction move : moves) {
+            if (System.nanoTime() >= deadline && !candidates.isEmpty()) {
+                break;
+            }
+            ClientModel copy = model.copy();
+            facades.update(copy);
+            if (apply(move, facades)) {
+                scores.put(move, heuristic.evaluate(copy, player));
+                candidates.add(move);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        candidates.sort(Comparator.comparing(scores::get).reversed());
+        if (candidates.size() > MAX_CANDIDATES) {
+            candidates = candidates.subList(0, MAX_CANDIDATES);
+        }
+
+        double[] totals = new double[candidates.size()];
+        int[] visits = new int[candidates.size()];
+        while (System.nanoTime() < deadline) {
+            int i = (int) (simulations % candidates.size());
+            totals[i] += simulate(model, candidates.get(i), player, facades, deadline);
+            visits[i]++;
+            simulations++;
+        }
+
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < candidates.size(); i++) {
+            double score = visits[i] == 0 ? scores.get(candidates.get(i)) : totals[i] / visits[i];
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return candidates.get(best);
+    }
+
+    /**
+     * @return the number of playouts run by the last call to {@link #chooseMove}
+     */
+    public long getSimulations() {
+        return simulations;
+    }
+
+    private double simulate(@NotNull ClientModel model, @NotNull GameAction move, @NotNull PlayerIndex player,
+                            @NotNull FacadeManager facades, long deadline) {
+        ClientModel copy = model.copy();
+        facades.update(copy);
+        apply(move, facades);
+        for (int depth = 0; depth < PLAYOUT_DEPTH && System.nanoTime() < deadline; depth++) {
+            TurnStatus status = copy.getTurnTracker().getStatus();
+            if (status == TurnStatus.GAME_OVER) {
+                break;
+            }
+            List<GameAction> moves = Collections.emptyList();
+            if (status == TurnStatus.DISCARDING) {
+                // Whoever still has to discard goes next
+                for (Player p : copy.getPlayers()) {
+                    moves = facades.getMoves().getLegalMoves(p);
+                    if (!moves.isEmpty()) {
+                        break;
+                    }
+                }
+            } else {
+                moves = facades.getMoves().getLegalMoves(copy.getPlayer(copy.getTurnTracker().getCurrentTurn()));
+            }
+            if (moves.isEmpty()) {
+                break;
+            }
+            GameAction next = status == TurnStatus.ROLLING ?
+                    rollDice(copy.getTurnTracker().getCurrentTurn()) :
+                    moves.get(random.nextInt(moves.size()));
+            if (!apply(next, facades)) {
+                break;
+            }
+        }
+        return heuristic.evaluate(copy, player);
+    }
+
+    /**
+     * Moves never modify their own arguments, so the same move can be applied to many copies of the model.
+     */
+    private static boolean apply(@NotNull GameAction move, @NotNull FacadeManager facades) {
+        move.setFacades(facades);
+        try {
+            move.execute();
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    @NotNull
+    private RollNumberAction rollDice(@NotNull PlayerIndex player) {
+        return new RollNumberAction(random.nextInt(6) + random.nextInt(6) + 2, player);
+    }
+}
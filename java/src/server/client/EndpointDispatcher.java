@@ -5,10 +5,17 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import org.jetbrains.annotations.NotNull;
 import server.games.IServerManager;
+import server.metrics.EndpointMetrics;
+import server.metrics.ServerMetrics;
+import server.metrics.SlowRequestLog;
 import server.models.UserSession;
 import shared.IServer;
 import shared.annotations.ServerEndpoint;
+import shared.serialization.BinarySerializer;
 import shared.serialization.ModelSerializer;
+import shared.tracing.Span;
+import shared.tracing.Trace;
+import shared.tracing.Tracer;
 import shared.utils.CookieUtils;
 
 import java.io.*;
@@ -16,15 +23,17 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
+import static server.client.ServerCommunicator.sendNotModified;
 import static server.client.ServerCommunicator.sendResponse;
-import static shared.utils.ClassUtils.getStackTrace;
 
 class EndpointDispatcher implements HttpHandler {
     private static final Logger LOGGER = Logger.getLogger("EndpointDispatcher");
@@ -34,6 +43,10 @@ class EndpointDispatcher implements HttpHandler {
     private Class<?> returnType, paramType;
     private boolean needLogin, needGame;
     private IServerManager serverManager;
+    private final EndpointMetrics metrics;
+    private final String endpointName;
+    private final String invokeSpanName;
+    private final EntityTag entityTag;
 
     EndpointDispatcher(ServerEndpoint endpoint, Method method) {
         returnType = method.getReturnType().equals(Void.TYPE) ? null : method.getReturnType();
@@ -43,6 +56,10 @@ class EndpointDispatcher implements HttpHandler {
         needLogin = endpoint.requiresAuth();
         needGame = endpoint.gameSpecific();
         this.method = method;
+        metrics = ServerMetrics.getInstance().getEndpoint(endpoint.isPost() ? "POST" : "GET", endpoint.value());
+        endpointName = metrics.getMethod() + " " + metrics.getPath();
+        invokeSpanName = "IServer." + method.getName();
+        entityTag = endpoint.isPost() ? null : EntityTag.forEndpoint(method);
     }
 
     // See http://stackoverflow.com/a/13592567/1530134
@@ -81,6 +98,27 @@ class EndpointDispatcher implements HttpHandler {
 
     @Override
     public void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        exchange.getResponseHeaders().set(EntityTag.EPOCH_HEADER, EntityTag.getEpoch());
+        Trace trace = null;
+        if (SlowRequestLog.getInstance().sample()) {
+            trace = Tracer.startTrace(endpointName);
+            exchange.getResponseHeaders().add("X-Trace-Id", trace.getId());
+        }
+        try {
+            dispatch(exchange);
+        } finally {
+            int responseCode = exchange.getResponseCode();
+            metrics.recordRequest(System.nanoTime() - start, responseCode < 0 || responseCode >= 400,
+                    getResponseLength(exchange));
+            if (trace != null) {
+                trace.close();
+                SlowRequestLog.getInstance().finish(trace);
+            }
+        }
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
         Object result;
 
         int gameId = -1;
@@ -89,10 +127,7 @@ class EndpointDispatcher implements HttpHandler {
             try {
                 gameId = Integer.parseInt(cookies.get("catan.game"));
             } catch (NumberFormatException n) {
-                LOGGER.warning(String.format("%s %s: %s",
-                        exchange.getRequestMethod(),
-                        exchange.getRequestURI().getPath(),
-                        "Client did not have a valid game set"));
+                LOGGER.log(Level.WARNING, "{0}: Client did not have a valid game set", endpointName);
                 sendResponse(exchange, 400,
                         "The catan.game HTTP cookie is missing.  " +
                                 "You must join a game before calling this method."
@@ -116,19 +151,31 @@ class EndpointDispatcher implements HttpHandler {
                 session = null;
             }
             if (session == null || !serverManager.getServerModel().validateSession(session)) {
-                LOGGER.warning(String.format("%s %s: %s",
-                        exchange.getRequestMethod(),
-                        exchange.getRequestURI().getPath(),
-                        "Client did not have a valid session"));
+                LOGGER.log(Level.WARNING, "{0}: Client did not have a valid session", endpointName);
                 sendResponse(exchange, 400, "You must be logged in to perform this action");
                 return;
             }
             server.setUserId(session.getUserId());
         }
 
+        boolean binary = BinarySerializer.getInstance().accepts(exchange.getRequestHeaders().getFirst("Accept"));
+        if (entityTag != null) {
+            String tag = entityTag.get(serverManager, gameId, binary);
+            exchange.getResponseHeaders().set("ETag", tag);
+            if (EntityTag.matches(exchange.getRequestHeaders().getFirst("If-None-Match"), tag)) {
+                sendNotModified(exchange);
+                return;
+            }
+        }
+
         try {
             if (paramType == null) {
-                result = method.invoke(server);
+                Span span = Tracer.span(invokeSpanName);
+                try {
+                    result = method.invoke(server);
+                } finally {
+                    span.end();
+                }
             } else {
                 InputStream dataStream;
                 if (exchange.getRequestMethod().equalsIgnoreCase("GET")) {
@@ -144,31 +191,87 @@ class EndpointDispatcher implements HttpHandler {
                 } else {
                     dataStream = exchange.getRequestBody();
                 }
-                Object arg = ModelSerializer.getInstance().fromJson(
-                        new InputStreamReader(dataStream),
-                        paramType
-                );
-                result = method.invoke(server, arg);
+                Object arg;
+                Span decodeSpan = Tracer.span("decode");
+                try {
+                    long decodeStart = System.nanoTime();
+                    String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+                    if (BinarySerializer.getInstance().accepts(contentType)) {
+                        arg = BinarySerializer.getInstance().fromBinary(readAll(dataStream), paramType);
+                    } else if (contentType != null && contentType.startsWith(BinarySerializer.MEDIA_TYPE)) {
+                        sendResponse(exchange, 415, "Binary schema does not match the server's ("
+                                + BinarySerializer.getInstance().getSchema() + ")");
+                        return;
+                    } else {
+                        arg = ModelSerializer.getInstance().fromJson(dataStream, paramType);
+                    }
+                    metrics.recordDecoding(System.nanoTime() - decodeStart);
+                } finally {
+                    decodeSpan.end();
+                }
+                Span span = Tracer.span(invokeSpanName);
+                try {
+                    result = method.invoke(server, arg);
+                } finally {
+                    span.end();
+                }
             }
         } catch (InvocationTargetException e) {
-            LOGGER.warning(getStackTrace(e.getTargetException()));
+            LOGGER.log(Level.WARNING, e.getTargetException(), () -> endpointName + " rejected");
             sendResponse(exchange, 400, e.getTargetException().getMessage());
             return;
         } catch (Exception e) {
-            LOGGER.warning(getStackTrace(e));
+            LOGGER.log(Level.WARNING, e, () -> endpointName + " failed");
             sendResponse(exchange, 500, e.getMessage());
             return;
         }
 
-        String responseBody = "";
-        if (returnType != null) {
-            responseBody = ModelSerializer.getInstance().toJson(result, returnType);
-        }
         if (!destCookie.isEmpty()) {
-            setCookie(exchange, destCookie, responseBody);
-            responseBody = "";
+            // Cookies are headers, so this is the one place the body is needed as a String
+            setCookie(exchange, destCookie, returnType == null ? "" : ModelSerializer.getInstance().toJson(result, returnType));
+            sendResponse(exchange, 200, "");
+        } else if (returnType == null) {
+            sendResponse(exchange, 200, "");
+        } else {
+            Span encodeSpan = Tracer.span("encode");
+            ByteBuffer body;
+            try {
+                long encodeStart = System.nanoTime();
+                body = binary ? BinarySerializer.getInstance().toBinaryBytes(result, returnType)
+                        : ModelSerializer.getInstance().toJsonBytes(result, returnType);
+                metrics.recordEncoding(System.nanoTime() - encodeStart);
+            } finally {
+                encodeSpan.end();
+            }
+            Span sendSpan = Tracer.span("send");
+            try {
+                sendResponse(exchange, 200, body, binary ? BinarySerializer.getInstance().getContentType() : null);
+            } finally {
+                sendSpan.end();
+            }
+        }
+    }
+
+    /**
+     * @return the length of the response body sent, from the header HttpServer sets for it
+     */
+    private static long getResponseLength(HttpExchange exchange) {
+        String length = exchange.getResponseHeaders().getFirst("Content-Length");
+        try {
+            return length == null ? 0 : Long.parseLong(length);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
         }
-        sendResponse(exchange, 200, responseBody);
+        return out.toByteArray();
     }
 
     void setServerManager(IServerManager serverManager) {
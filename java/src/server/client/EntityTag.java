@@ -0,0 +1,90 @@
+package server.client;
+
+import server.games.IServerManager;
+import server.models.GameModel;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Strong entity tags for the endpoints that are polled, so a client can ask whether what it has is
+ * still current and get a {@code 304 Not Modified} without the server calling the endpoint or
+ * encoding anything.
+ * <p>
+ * A tag is worked out from a revision number that goes up whenever the response would change: the
+ * game list's revision for {@code /games/list}, and the model's version for {@code /game/model}.
+ * Tags also name the server process, since revisions start over when it restarts, and the format,
+ * since JSON and binary responses differ.  The process's name is also sent with every response, as
+ * {@value #EPOCH_HEADER}, so a client knows whether something it kept came from the same process.
+ */
+class EntityTag {
+    static final String EPOCH_HEADER = "X-Server-Epoch";
+    private static final String EPOCH = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private static final Map<String, Revision> REVISIONS = new HashMap<>();
+
+    static {
+        REVISIONS.put("listOfGames", (serverManager, gameId) -> serverManager.getServerModel().getGameListRevision());
+        REVISIONS.put("gameState", (serverManager, gameId) -> {
+            GameModel game = serverManager.getServerModel().getGameModel(gameId);
+            return game == null ? -1 : game.getSnapshot().getVersion();
+        });
+    }
+
+    private final Revision revision;
+
+    private EntityTag(Revision revision) {
+        this.revision = revision;
+    }
+
+    /**
+     * @return the tags for the endpoint, or null if it doesn't have any
+     */
+    static EntityTag forEndpoint(Method method) {
+        Revision revision = REVISIONS.get(method.getName());
+        return revision == null ? null : new EntityTag(revision);
+    }
+
+    /**
+     * @return a random name for this server process
+     */
+    static String getEpoch() {
+        return EPOCH;
+    }
+
+    /**
+     * Must be called before the endpoint is, so the tag is never newer than the response.
+     *
+     * @return the current tag, quoted for the ETag header
+     */
+    String get(IServerManager serverManager, int gameId, boolean binary) {
+        return "\"" + EPOCH + "-" + gameId + "-" + revision.get(serverManager, gameId) + (binary ? "-b" : "-j") + "\"";
+    }
+
+    /**
+     * @param ifNoneMatch the If-None-Match header, may be null
+     * @return whether the header names the tag
+     */
+    static boolean matches(String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            // If-None-Match compares weakly
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @FunctionalInterface
+    private interface Revision {
+        long get(IServerManager serverManager, int gameId);
+    }
+}
@@ -1,21 +1,31 @@
 package server.client;
 
 import org.jetbrains.annotations.NotNull;
+import server.db.IMessageDAO;
 import server.games.IServerManager;
+import server.logging.ServerLogging;
 import server.models.*;
 import shared.IServer;
 import shared.definitions.AIType;
+import shared.definitions.MessageChannel;
 import shared.facades.FacadeManager;
 import shared.models.GameAction;
 import shared.models.game.AddAIRequest;
 import shared.models.game.ClientModel;
+import shared.models.game.MessageEntry;
+import shared.models.game.MessageList;
+import shared.models.game.MessagePage;
+import shared.models.game.MessagesRequest;
 import shared.models.games.*;
 import shared.models.moves.*;
 import shared.models.user.Credentials;
 import shared.models.util.ChangeLogLevelRequest;
+import shared.tracing.Span;
+import shared.tracing.Tracer;
 
 import javax.naming.CommunicationException;
 import javax.security.auth.login.CredentialNotFoundException;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -80,9 +90,8 @@ public class GameServer implements IServer {
             throw new IllegalArgumentException("No user with ID " + getUserId() + " exists");
         }
         JoinGameAction action = new JoinGameAction(request, user);
-        action.setServerModel(getServerModel());
-        action.execute();
-        getServerManager().storeCommand(action, -1);
+        executeServerAction(action, request.getId(), -1);
+        getServerManager().getAIManager().schedule(action.getJoinedGameId());
         return action.getJoinedGameId();
     }
 
@@ -98,12 +107,42 @@ public class GameServer implements IServer {
 
     @Override
     public ClientModel gameState(int version) throws IllegalArgumentException, CommunicationException {
-        if (version != getModel().getVersion()) {
-            return getModel();
+        ClientModel snapshot = getGameModel().getSnapshot();
+        if (version != snapshot.getVersion()) {
+            return snapshot;
         }
         return null;
     }
 
+    @Override
+    public MessagePage getMessages(@NotNull MessagesRequest request) throws IllegalArgumentException, CommunicationException {
+        if (request.getChannel() == null) {
+            throw new IllegalArgumentException("A message channel must be given");
+        }
+        if (request.getFirst() < 0 || request.getCount() < 0) {
+            throw new IllegalArgumentException("first and count cannot be negative");
+        }
+        MessageList messages = getMessageList(getGameModel().getSnapshot(), request.getChannel());
+        int first = request.getFirst();
+        // Clamped before adding, so a huge count can't overflow
+        int end = first + Math.min(request.getCount(), Math.max(0, messages.getTotal() - first));
+        List<MessageEntry> lines;
+        if (first >= messages.getFirstIndex()) {
+            // Entirely within the window kept in the model
+            lines = new ArrayList<>();
+            for (int i = first; i < end; i++) {
+                lines.add(messages.getLine(i));
+            }
+        } else {
+            lines = getServerManager().getPersistenceProvider().getMessageDAO()
+                    .findMessages(getGameId(), request.getChannel(), first, end - first);
+            if (lines == null) {
+                throw new CommunicationException("Unable to read messages");
+            }
+        }
+        return new MessagePage(first, messages.getTotal(), lines);
+    }
+
     @Override
     public ClientModel resetGame() throws IllegalArgumentException, CommunicationException {
         return null;
@@ -127,22 +166,105 @@ public class GameServer implements IServer {
     @Override
     public void addAI(@NotNull AddAIRequest request) throws IllegalArgumentException, CommunicationException {
         AddAIAction action = new AddAIAction(request, getGameId());
+        executeServerAction(action, getGameId(), getGameId());
+        getServerManager().getAIManager().schedule(getGameId());
+    }
+
+    /**
+     * Runs and stores a command that adds a player to a game.  Like a move, it holds the game's lock
+     * until the command is stored, so games are never saved in between.
+     *
+     * @param gameId       the game the command changes
+     * @param storedGameId the game id to store the command under
+     */
+    private void executeServerAction(@NotNull ServerAction action, int gameId, int storedGameId) {
         action.setServerModel(getServerModel());
-        action.execute();
-        getServerManager().storeCommand(action, getGameId());
+        GameModel game = getServerModel().getGameModel(gameId);
+        if (game == null) {
+            // Fails with the command's own message
+            action.execute();
+            return;
+        }
+        synchronized (game) {
+            action.execute();
+            getServerManager().storeCommand(action, storedGameId);
+        }
+        getServerManager().saveGamesIfDue();
     }
 
     @Override
     public void changeLogLevel(@NotNull ChangeLogLevelRequest request) throws IllegalArgumentException, CommunicationException {
+        ServerLogging.setLevel(ServerLogging.parseLevel(request.getLogLevel()));
+    }
+
+    /**
+     * Executes a move against the game's live model and publishes the result.
+     * <p>
+     * Moves on the same game are serialized on its {@link GameModel}; readers never take that lock
+     * and only ever see published snapshots.  AI seats are given a chance to respond afterwards.
+     *
+     * @param action the move to execute, not null
+     * @return the snapshot published after the move
+     * @throws IllegalArgumentException if the move is not legal
+     */
+    @NotNull
+    public ClientModel executeGameAction(@NotNull GameAction action) {
+        GameModel game = getGameModel();
+        Span executeSpan = Tracer.span("GameServer.executeGameAction");
+        try {
+            synchronized (game) {
+                action.setFacades(getFacades());
+                int chatTotal = getModel().getChat().getTotal();
+                int logTotal = getModel().getLog().getTotal();
+                try {
+                    Span span = Tracer.span(action.getClass(), "execute");
+                    try {
+                        action.execute();
+                    } finally {
+                        span.end();
+                    }
+                    // Stored before publishing, so a saved snapshot never includes a move that wasn't stored
+                    getServerManager().storeCommand(action, getGameId());
+                } finally {
+                    // A failed move may still have partially modified the model
+                    Tracer.trace("GameModel.publishSnapshot", game::publishSnapshot);
+                    archiveMessages(MessageChannel.CHAT, chatTotal);
+                    archiveMessages(MessageChannel.LOG, logTotal);
+                }
+            }
+        } finally {
+            executeSpan.end();
+        }
+        getServerManager().saveGamesIfDue();
+        getServerManager().getAIManager().schedule(getGameId());
+        return game.getSnapshot();
+    }
 
+    /**
+     * Stores the lines added to one of the game's message lists since {@code from}.
+     *
+     * @param channel the message list to archive
+     * @param from    the total number of lines in the list before the move
+     */
+    private void archiveMessages(@NotNull MessageChannel channel, int from) {
+        MessageList messages = getMessageList(getModel(), channel);
+        // Lines that already fell out of the window can't be stored
+        int first = Math.max(from, messages.getFirstIndex());
+        List<MessageEntry> lines = new ArrayList<>();
+        for (int i = first; i < messages.getTotal(); i++) {
+            lines.add(messages.getLine(i));
+        }
+        if (lines.isEmpty()) {
+            return;
+        }
+        // One write for all of the move's lines, since the game is locked while it's made
+        IMessageDAO messageDAO = getServerManager().getPersistenceProvider().getMessageDAO();
+        Tracer.trace("IMessageDAO.insertMessages", () -> messageDAO.insertMessages(getGameId(), channel, first, lines));
     }
 
     @NotNull
-    private ClientModel executeGameAction(@NotNull GameAction action) {
-        action.setFacades(getFacades());
-        action.execute();
-        getServerManager().storeCommand(action, getGameId());
-        return getModel();
+    private static MessageList getMessageList(@NotNull ClientModel model, @NotNull MessageChannel channel) {
+        return channel == MessageChannel.CHAT ? model.getChat() : model.getLog();
     }
 
     @Override
@@ -246,10 +368,20 @@ public class GameServer implements IServer {
      */
     @NotNull
     private ClientModel getModel() {
+        return getGameModel().getClientModel();
+    }
+
+    /**
+     * Get the server-side model for the current game
+     *
+     * @return the game this instance is used for
+     */
+    @NotNull
+    private GameModel getGameModel() {
         if (getGameId() == -1) {
             throw new IllegalArgumentException("User must have joined a game");
         }
-        return getServerModel().getGameModel(gameId).getClientModel();
+        return getServerModel().getGameModel(gameId);
     }
 
     public FacadeManager getFacades() {
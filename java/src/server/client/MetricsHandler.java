@@ -0,0 +1,35 @@
+package server.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import server.metrics.ServerMetrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static server.client.ServerCommunicator.sendResponse;
+
+/**
+ * Serves the server's metrics to Prometheus.
+ * <p>
+ * This has its own context, so a scrape doesn't wait for the request being handled.
+ */
+class MetricsHandler implements HttpHandler {
+    static final String PATH = "/admin/metrics";
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equalsIgnoreCase("GET")) {
+            sendResponse(exchange, 405, null);
+            return;
+        }
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        Writer writer = new OutputStreamWriter(body, StandardCharsets.UTF_8);
+        ServerMetrics.getInstance().write(writer);
+        sendResponse(exchange, 200, ByteBuffer.wrap(body.toByteArray()), ServerMetrics.CONTENT_TYPE);
+    }
+}
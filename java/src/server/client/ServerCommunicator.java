@@ -12,12 +12,12 @@ import shared.annotations.ServerEndpoint;
 import java.io.IOException;
 import java.lang.reflect.Method;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import static shared.utils.ClassUtils.getStackTrace;
-
 // TODO: Add logging
 
 /**
@@ -32,8 +32,15 @@ ServerCommunicator implements HttpHandler, IServerCommunicator {
 
     public ServerCommunicator(IServerManager serverManager) throws IOException {
         initCommands();
+        // Responses are written as headers and then a body, and with Nagle's algorithm on the body
+        // waits for the client's delayed ACK, adding 40 ms to every request.  Read when the first
+        // HttpServer is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
         http = HttpServer.create();
         http.createContext("/docs/", new DocsHandler());
+        http.createContext(MetricsHandler.PATH, new MetricsHandler());
         http.createContext("/", this);
         setServerManager(serverManager);
     }
@@ -62,9 +69,39 @@ ServerCommunicator implements HttpHandler, IServerCommunicator {
         exchange.close();
     }
 
+    /**
+     * Send back a successful response whose body has already been encoded, without copying it.
+     *
+     * @param exchange     the HttpExchange to send through
+     * @param responseCode the response code, 200 for OK
+     * @param body         the body to send, between its position and limit
+     * @param contentType  the media type of the body, or null to leave it unset
+     * @pre the exchange has not sent any data back
+     * @post the exchange will have sent back the requested data and is now closed
+     */
+    static void sendResponse(@NotNull HttpExchange exchange, int responseCode, @NotNull ByteBuffer body,
+                             @Nullable String contentType) throws IOException {
+        if (contentType != null) {
+            exchange.getResponseHeaders().add("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(responseCode, body.remaining());
+        exchange.getResponseBody().write(body.array(), body.arrayOffset() + body.position(), body.remaining());
+        exchange.close();
+    }
+
+    /**
+     * Tell the client that what it has is still current, with no body.
+     *
+     * @post the exchange has sent back a 304 and is now closed
+     */
+    static void sendNotModified(@NotNull HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(304, -1);
+        exchange.close();
+    }
+
     @Override
     public void bind(String hostname, int port) throws IOException {
-        LOGGER.info(String.format("Binding server to %s:%d", hostname, port));
+        LOGGER.log(Level.INFO, "Binding server to {0}:{1}", new Object[]{hostname, Integer.toString(port)});
         http.bind(new InetSocketAddress(hostname, port), 0);
     }
 
@@ -84,7 +121,9 @@ ServerCommunicator implements HttpHandler, IServerCommunicator {
     @Override
     public synchronized void handle(HttpExchange exchange) throws IOException {
         try {
-            LOGGER.info(String.format("%s %s", exchange.getRequestMethod(), exchange.getRequestURI().getPath()));
+            if (LOGGER.isLoggable(Level.INFO)) {
+                LOGGER.log(Level.INFO, "{0} {1}", new Object[]{exchange.getRequestMethod(), exchange.getRequestURI().getPath()});
+            }
             String path = exchange.getRequestURI().getPath();
             if (!contexts.containsKey(path)) {
                 sendResponse(exchange, 404, null);
@@ -92,10 +131,9 @@ ServerCommunicator implements HttpHandler, IServerCommunicator {
             }
             contexts.get(path).handle(exchange);
         } catch (Exception e) {
-            LOGGER.severe(String.format("Error handling %s %s: %s",
+            LOGGER.log(Level.SEVERE, e, () -> String.format("Error handling %s %s",
                     exchange.getRequestMethod(),
-                    exchange.getRequestURI().getPath(),
-                    getStackTrace(e)));
+                    exchange.getRequestURI().getPath()));
         }
     }
 
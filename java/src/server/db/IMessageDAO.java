@@ -0,0 +1,56 @@
+package server.db;
+
+import shared.definitions.MessageChannel;
+import shared.models.game.MessageEntry;
+
+import java.util.List;
+
+/**
+ * Append-only storage for the chat and log messages of every game.
+ * <p>
+ * Messages are kept apart from the game model so the model only needs to carry the most recent ones.
+ */
+public interface IMessageDAO {
+
+    /**
+     * Append a message to a game's message list.
+     *
+     * @param gameId  the game the message belongs to
+     * @param channel the list the message belongs to
+     * @param index   the absolute index of the message in its list
+     * @param entry   the message
+     * @return true if the message was stored
+     */
+    boolean insertMessage(int gameId, MessageChannel channel, int index, MessageEntry entry);
+
+    /**
+     * Append consecutive messages to a game's message list in one write.
+     *
+     * @param gameId  the game the messages belong to
+     * @param channel the list the messages belong to
+     * @param first   the absolute index of the first message in its list
+     * @param entries the messages, oldest first
+     * @return true if every message was stored
+     */
+    boolean insertMessages(int gameId, MessageChannel channel, int first, List<MessageEntry> entries);
+
+    /**
+     * Find a range of messages in a game's message list, oldest first.
+     *
+     * @param gameId  the game the messages belong to
+     * @param channel the list to read
+     * @param first   the absolute index of the first message to return
+     * @param count   the maximum number of messages to return
+     * @return the messages found, or null on error
+     */
+    List<MessageEntry> findMessages(int gameId, MessageChannel channel, int first, int count);
+
+    /**
+     * Count the messages stored for a game's message list.
+     *
+     * @param gameId  the game the messages belong to
+     * @param channel the list to count
+     * @return the number of messages stored, or -1 on error
+     */
+    int countMessages(int gameId, MessageChannel channel);
+}
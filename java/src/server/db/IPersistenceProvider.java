@@ -19,4 +19,6 @@ public interface IPersistenceProvider extends IPlugin {
 
     IGameDAO getGameDAO();
 
+    IMessageDAO getMessageDAO();
+
 }
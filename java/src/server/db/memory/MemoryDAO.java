@@ -0,0 +1,87 @@
+package server.db.memory;
+
+import server.db.IDAO;
+import server.db.IDAOObject;
+import shared.serialization.ModelSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Stores each object as its JSON, by id.
+ */
+abstract class MemoryDAO<T extends IDAOObject> implements IDAO<T> {
+    private final ConcurrentNavigableMap<Integer, byte[]> rows = new ConcurrentSkipListMap<>();
+    protected final MemoryProvider provider;
+
+    protected MemoryDAO(MemoryProvider provider) {
+        this.provider = provider;
+    }
+
+    protected abstract Class<T> getTypeClass();
+
+    @Override
+    public T findById(int id) {
+        byte[] row = rows.get(id);
+        return row == null ? null : fromJson(row, getTypeClass());
+    }
+
+    /**
+     * @return every object stored, by id
+     */
+    @Override
+    public List<T> findAll() {
+        List<T> result = new ArrayList<>();
+        for (byte[] row : rows.values()) {
+            result.add(fromJson(row, getTypeClass()));
+        }
+        return result;
+    }
+
+    /**
+     * @return false if there is already an object with its id
+     */
+    @Override
+    public boolean insert(T obj) {
+        byte[] row = toJson(obj, getTypeClass());
+        provider.simulateWrite();
+        return rows.putIfAbsent(obj.getId(), row) == null;
+    }
+
+    /**
+     * @return false if there is no object with its id to replace
+     */
+    @Override
+    public boolean update(T obj) {
+        byte[] row = toJson(obj, getTypeClass());
+        provider.simulateWrite();
+        return rows.replace(obj.getId(), row) != null;
+    }
+
+    @Override
+    public boolean delete(T obj) {
+        provider.simulateWrite();
+        return rows.remove(obj.getId()) != null;
+    }
+
+    void clear() {
+        rows.clear();
+    }
+
+    static byte[] toJson(Object obj, Type type) {
+        // The buffer is reused by the next call on this thread, so keep a copy
+        ByteBuffer json = ModelSerializer.getInstance().toJsonBytes(obj, type);
+        int start = json.arrayOffset() + json.position();
+        return Arrays.copyOfRange(json.array(), start, start + json.remaining());
+    }
+
+    static <U> U fromJson(byte[] json, Class<U> type) {
+        return ModelSerializer.getInstance().fromJson(new ByteArrayInputStream(json), type);
+    }
+}
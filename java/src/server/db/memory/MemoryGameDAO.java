@@ -0,0 +1,75 @@
+package server.db.memory;
+
+import server.db.IGameDAO;
+import server.models.GameModel;
+import server.serialization.ActionDeserializer;
+import shared.models.GameAction;
+import shared.models.ICommandAction;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Stores games by id, and the commands run since they were last saved in the order they were added.
+ */
+public class MemoryGameDAO extends MemoryDAO<GameModel> implements IGameDAO {
+    private final Queue<StoredCommand> commands = new ConcurrentLinkedQueue<>();
+
+    MemoryGameDAO(MemoryProvider provider) {
+        super(provider);
+    }
+
+    @Override
+    public List<ICommandAction> findAllCommands() {
+        List<ICommandAction> result = new ArrayList<>();
+        for (StoredCommand stored : commands) {
+            ICommandAction action = ActionDeserializer.getInstance().deserializeAction(
+                    new InputStreamReader(new ByteArrayInputStream(stored.json), StandardCharsets.UTF_8));
+            if (action instanceof GameAction) {
+                ((GameAction) action).setGameId(stored.gameId);
+            }
+            result.add(action);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean insertCommand(ICommandAction command, int gameId) {
+        StoredCommand stored = new StoredCommand(gameId, toJson(command, command.getClass()));
+        provider.simulateWrite();
+        return commands.add(stored);
+    }
+
+    @Override
+    public boolean clearCommands() {
+        provider.simulateWrite();
+        commands.clear();
+        return true;
+    }
+
+    @Override
+    void clear() {
+        super.clear();
+        commands.clear();
+    }
+
+    @Override
+    protected Class<GameModel> getTypeClass() {
+        return GameModel.class;
+    }
+
+    private static class StoredCommand {
+        final int gameId;
+        final byte[] json;
+
+        StoredCommand(int gameId, byte[] json) {
+            this.gameId = gameId;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package server.db.memory;
+
+import server.db.IMessageDAO;
+import shared.definitions.MessageChannel;
+import shared.models.game.MessageEntry;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Stores each game's chat and log messages by their absolute index.
+ */
+public class MemoryMessageDAO implements IMessageDAO {
+    private final MemoryProvider provider;
+    private final Map<MessageChannel, ConcurrentMap<Integer, NavigableMap<Integer, MessageEntry>>> channels =
+            new EnumMap<>(MessageChannel.class);
+
+    MemoryMessageDAO(MemoryProvider provider) {
+        this.provider = provider;
+        for (MessageChannel channel : MessageChannel.values()) {
+            channels.put(channel, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * @return false if there is already a message at its index
+     */
+    @Override
+    public boolean insertMessage(int gameId, MessageChannel channel, int index, MessageEntry entry) {
+        MessageEntry copy = new MessageEntry(entry.getSource(), entry.getMessage());
+        provider.simulateWrite();
+        return channels.get(channel).computeIfAbsent(gameId, id -> new ConcurrentSkipListMap<>())
+                .putIfAbsent(index, copy) == null;
+    }
+
+    /**
+     * @return false if there was already a message at any of their indices
+     */
+    @Override
+    public boolean insertMessages(int gameId, MessageChannel channel, int first, List<MessageEntry> entries) {
+        NavigableMap<Integer, MessageEntry> messages =
+                channels.get(channel).computeIfAbsent(gameId, id -> new ConcurrentSkipListMap<>());
+        provider.simulateWrite();
+        boolean inserted = true;
+        for (int i = 0; i < entries.size(); i++) {
+            MessageEntry entry = entries.get(i);
+            inserted &= messages.putIfAbsent(first + i, new MessageEntry(entry.getSource(), entry.getMessage())) == null;
+        }
+        return inserted;
+    }
+
+    @Override
+    public List<MessageEntry> findMessages(int gameId, MessageChannel channel, int first, int count) {
+        List<MessageEntry> result = new ArrayList<>();
+        NavigableMap<Integer, MessageEntry> messages = channels.get(channel).get(gameId);
+        if (messages != null) {
+            for (MessageEntry entry : messages.tailMap(first, true).values()) {
+                if (result.size() >= count) {
+                    break;
+                }
+                result.add(new MessageEntry(entry.getSource(), entry.getMessage()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public int countMessages(int gameId, MessageChannel channel) {
+        NavigableMap<Integer, MessageEntry> messages = channels.get(channel).get(gameId);
+        return messages == null ? 0 : messages.size();
+    }
+
+    void clear() {
+        channels.values().forEach(Map::clear);
+    }
+}
@@ -0,0 +1,119 @@
+package server.db.memory;
+
+import server.db.IGameDAO;
+import server.db.IMessageDAO;
+import server.db.IUserDAO;
+import server.plugin.IPlugin;
+import server.plugin.PersistencePlugin;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps everything in this process, for tests and benchmarks that shouldn't depend on a database.
+ * <p>
+ * Models are stored as JSON and read back as new objects, as a database would, so changes to a model
+ * after it is saved don't change what is stored.  Nothing survives the server stopping.
+ * <p>
+ * The {@value #WRITE_LATENCY} parameter, in milliseconds, makes every write take at least that long,
+ * to see how the server behaves with a slow database.
+ */
+public class MemoryProvider extends PersistencePlugin {
+    public static final String NAME = "memory";
+    public static final String WRITE_LATENCY = "writeLatencyMillis";
+
+    private final long writeLatencyNanos;
+    private final MemoryUserDAO userDAO = new MemoryUserDAO(this);
+    private final MemoryGameDAO gameDAO = new MemoryGameDAO(this);
+    private final MemoryMessageDAO messageDAO = new MemoryMessageDAO(this);
+
+    public MemoryProvider(Map<String, String> params) {
+        super(params);
+        String latency = params == null ? null : params.get(WRITE_LATENCY);
+        writeLatencyNanos = latency == null ? 0 : toNanos(Double.parseDouble(latency));
+    }
+
+    /**
+     * @param writeLatencyMillis how long every write takes, in milliseconds
+     */
+    public MemoryProvider(double writeLatencyMillis) {
+        super(Collections.emptyMap());
+        writeLatencyNanos = toNanos(writeLatencyMillis);
+    }
+
+    private static long toNanos(double millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException(WRITE_LATENCY + " must not be negative");
+        }
+        return (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * Waits as long as a write to the simulated database takes.
+     */
+    void simulateWrite() {
+        if (writeLatencyNanos == 0) {
+            return;
+        }
+        long end = System.nanoTime() + writeLatencyNanos;
+        for (long left = writeLatencyNanos; left > 0; left = end - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    @Override
+    public IPlugin start() {
+        return this;
+    }
+
+    @Override
+    public IPlugin stop() {
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean createDB() {
+        return true;
+    }
+
+    @Override
+    public boolean startTransaction() {
+        // Every write is applied at once
+        return true;
+    }
+
+    @Override
+    public boolean finishTransaction() {
+        return true;
+    }
+
+    @Override
+    public boolean clearDB() {
+        userDAO.clear();
+        gameDAO.clear();
+        messageDAO.clear();
+        return true;
+    }
+
+    @Override
+    public IUserDAO getUserDAO() {
+        return userDAO;
+    }
+
+    @Override
+    public IGameDAO getGameDAO() {
+        return gameDAO;
+    }
+
+    @Override
+    public IMessageDAO getMessageDAO() {
+        return messageDAO;
+    }
+}
@@ -0,0 +1,16 @@
+package server.db.memory;
+
+import server.db.IUserDAO;
+import server.models.User;
+
+public class MemoryUserDAO extends MemoryDAO<User> implements IUserDAO {
+
+    MemoryUserDAO(MemoryProvider provider) {
+        super(provider);
+    }
+
+    @Override
+    protected Class<User> getTypeClass() {
+        return User.class;
+    }
+}
@@ -0,0 +1,394 @@
+package server.db.mongodb;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.bson.Document;
+import shared.serialization.ModelSerializer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts models to and from Mongo documents directly, instead of printing them to JSON text and
+ * parsing that again.
+ */
+final class Documents {
+    private Documents() {
+    }
+
+    /**
+     * @return the model as a document, with the same fields as its JSON
+     */
+    static Document toDocument(Object src, Type typeOfSrc) {
+        DocumentWriter out = new DocumentWriter();
+        ModelSerializer.getInstance().toJson(src, typeOfSrc, out);
+        return out.getDocument();
+    }
+
+    /**
+     * @return a JSON stream of the document that {@link ModelSerializer} can read, leaving out Mongo's
+     * {@code _id}
+     */
+    static JsonReader toJsonReader(Document doc) {
+        return new DocumentReader(doc);
+    }
+
+    /**
+     * A JsonReader that walks a Document, as Gson's own reader walks a tree of JsonElements.
+     * <p>
+     * Gson reads maps keyed by name in a way only its own readers support, but no stored model has
+     * such a map; the game map has an adapter of its own.
+     */
+    private static class DocumentReader extends JsonReader {
+        private static final Reader UNREADABLE = new Reader() {
+            @Override
+            public int read(char[] buffer, int offset, int count) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        // What's left to read: documents, lists and values, each document or list being read under an
+        // iterator of its contents.  Innermost last; may hold nulls.
+        private final List<Object> stack = new ArrayList<>();
+
+        DocumentReader(Document doc) {
+            super(UNREADABLE);
+            stack.add(doc);
+        }
+
+        @Override
+        public JsonToken peek() throws IOException {
+            if (stack.isEmpty()) {
+                return JsonToken.END_DOCUMENT;
+            }
+            Object top = peekStack();
+            if (top instanceof Iterator) {
+                boolean isObject = stack.get(stack.size() - 2) instanceof Document;
+                Iterator<?> iterator = (Iterator<?>) top;
+                if (!iterator.hasNext()) {
+                    return isObject ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+                }
+                if (isObject) {
+                    return JsonToken.NAME;
+                }
+                stack.add(iterator.next());
+                return peek();
+            } else if (top == null) {
+                return JsonToken.NULL;
+            } else if (top instanceof Document) {
+                return JsonToken.BEGIN_OBJECT;
+            } else if (top instanceof List) {
+                return JsonToken.BEGIN_ARRAY;
+            } else if (top instanceof Number) {
+                return JsonToken.NUMBER;
+            } else if (top instanceof Boolean) {
+                return JsonToken.BOOLEAN;
+            } else {
+                // Strings, and any BSON types that models never contain
+                return JsonToken.STRING;
+            }
+        }
+
+        private Object peekStack() {
+            return stack.get(stack.size() - 1);
+        }
+
+        private Object popStack() {
+            return stack.remove(stack.size() - 1);
+        }
+
+        private void expect(JsonToken expected) throws IOException {
+            if (peek() != expected) {
+                throw new IllegalStateException("Expected " + expected + " but was " + peek());
+            }
+        }
+
+        @Override
+        public void beginArray() throws IOException {
+            expect(JsonToken.BEGIN_ARRAY);
+            stack.add(((List<?>) peekStack()).iterator());
+        }
+
+        @Override
+        public void endArray() throws IOException {
+            expect(JsonToken.END_ARRAY);
+            popStack();
+            popStack();
+        }
+
+        @Override
+        public void beginObject() throws IOException {
+            expect(JsonToken.BEGIN_OBJECT);
+            stack.add(((Document) peekStack()).entrySet().stream()
+                    .filter(field -> !field.getKey().equals("_id"))
+                    .iterator());
+        }
+
+        @Override
+        public void endObject() throws IOException {
+            expect(JsonToken.END_OBJECT);
+            popStack();
+            popStack();
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            JsonToken token = peek();
+            return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public String nextName() throws IOException {
+            expect(JsonToken.NAME);
+            Map.Entry<String, Object> field = ((Iterator<Map.Entry<String, Object>>) peekStack()).next();
+            stack.add(field.getValue());
+            return field.getKey();
+        }
+
+        @Override
+        public String nextString() throws IOException {
+            JsonToken token = peek();
+            if (token != JsonToken.STRING && token != JsonToken.NUMBER) {
+                throw new IllegalStateException("Expected " + JsonToken.STRING + " but was " + token);
+            }
+            return popStack().toString();
+        }
+
+        @Override
+        public boolean nextBoolean() throws IOException {
+            expect(JsonToken.BOOLEAN);
+            return (Boolean) popStack();
+        }
+
+        @Override
+        public void nextNull() throws IOException {
+            expect(JsonToken.NULL);
+            popStack();
+        }
+
+        @Override
+        public double nextDouble() throws IOException {
+            Object value = nextNumber();
+            return value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+        }
+
+        @Override
+        public long nextLong() throws IOException {
+            Object value = nextNumber();
+            return value instanceof Number ? ((Number) value).longValue() : Long.parseLong(value.toString());
+        }
+
+        @Override
+        public int nextInt() throws IOException {
+            Object value = nextNumber();
+            return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString());
+        }
+
+        /**
+         * @return a number, or a string to parse as one
+         */
+        private Object nextNumber() throws IOException {
+            JsonToken token = peek();
+            if (token != JsonToken.NUMBER && token != JsonToken.STRING) {
+                throw new IllegalStateException("Expected " + JsonToken.NUMBER + " but was " + token);
+            }
+            return popStack();
+        }
+
+        @Override
+        public void skipValue() throws IOException {
+            if (peek() == JsonToken.NAME) {
+                nextName();
+            }
+            popStack();
+        }
+
+        @Override
+        public void close() {
+            stack.clear();
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName();
+        }
+    }
+
+    /**
+     * A JsonWriter that builds a Document out of what Gson writes to it.
+     */
+    private static class DocumentWriter extends JsonWriter {
+        private static final Writer UNWRITABLE = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int counter) {
+                throw new AssertionError();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        // Documents and lists still being written, innermost first
+        private final Deque<Object> stack = new ArrayDeque<>();
+        private String pendingName;
+        private Document document;
+
+        DocumentWriter() {
+            super(UNWRITABLE);
+        }
+
+        Document getDocument() {
+            if (document == null || !stack.isEmpty()) {
+                throw new IllegalStateException("Model was not written as a complete object");
+            }
+            return document;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void put(Object value) {
+            Object container = stack.peek();
+            if (container == null) {
+                if (!(value instanceof Document) || document != null) {
+                    throw new IllegalStateException("A document must be a single object");
+                }
+                document = (Document) value;
+            } else if (container instanceof Document) {
+                if (pendingName == null) {
+                    throw new IllegalStateException("Value written without a name");
+                }
+                ((Document) container).put(pendingName, value);
+                pendingName = null;
+            } else {
+                ((List<Object>) container).add(value);
+            }
+        }
+
+        @Override
+        public JsonWriter beginArray() throws IOException {
+            List<Object> list = new ArrayList<>();
+            put(list);
+            stack.push(list);
+            return this;
+        }
+
+        @Override
+        public JsonWriter endArray() throws IOException {
+            if (!(stack.pop() instanceof List)) {
+                throw new IllegalStateException("Nesting problem");
+            }
+            return this;
+        }
+
+        @Override
+        public JsonWriter beginObject() throws IOException {
+            Document doc = new Document();
+            put(doc);
+            stack.push(doc);
+            return this;
+        }
+
+        @Override
+        public JsonWriter endObject() throws IOException {
+            if (pendingName != null || !(stack.pop() instanceof Document)) {
+                throw new IllegalStateException("Nesting problem");
+            }
+            return this;
+        }
+
+        @Override
+        public JsonWriter name(String name) throws IOException {
+            if (name == null) {
+                throw new NullPointerException("name == null");
+            }
+            if (pendingName != null || !(stack.peek() instanceof Document)) {
+                throw new IllegalStateException("Name written outside of an object");
+            }
+            pendingName = name;
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(String value) throws IOException {
+            if (value == null) {
+                return nullValue();
+            }
+            put(value);
+            return this;
+        }
+
+        @Override
+        public JsonWriter nullValue() throws IOException {
+            if (pendingName != null && !getSerializeNulls()) {
+                // Left out, as in the JSON
+                pendingName = null;
+            } else {
+                put(null);
+            }
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(boolean value) throws IOException {
+            put(value);
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(double value) throws IOException {
+            put(value);
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(long value) throws IOException {
+            // Stored as Document.parse would store the same JSON
+            if (value == (int) value) {
+                put((int) value);
+            } else {
+                put(value);
+            }
+            return this;
+        }
+
+        @Override
+        public JsonWriter value(Number value) throws IOException {
+            if (value == null) {
+                return nullValue();
+            }
+            if (value instanceof Integer || value instanceof Double) {
+                put(value);
+            } else if (value instanceof Long || value instanceof Short || value instanceof Byte) {
+                value(value.longValue());
+            } else {
+                put(value.doubleValue());
+            }
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
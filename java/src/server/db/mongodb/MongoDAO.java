@@ -35,7 +35,7 @@ public abstract class MongoDAO<T extends IDAOObject> implements IDAO<T> {
             Document obj = collection.find(eq("id", id)).first();
             if (obj == null)
                 return null;
-            return ModelSerializer.getInstance().fromJson(obj.toJson(), getTypeClass());
+            return ModelSerializer.getInstance().fromJson(Documents.toJsonReader(obj), getTypeClass());
         } catch (MongoException e) {
             LOGGER.warning(getStackTrace(e));
             return null;
@@ -48,7 +48,7 @@ public abstract class MongoDAO<T extends IDAOObject> implements IDAO<T> {
             MongoCursor<Document> cursor = collection.find().iterator();
             List<T> result = new ArrayList<>();
             while (cursor.hasNext()) {
-                result.add(ModelSerializer.getInstance().fromJson(cursor.next().toJson(), getTypeClass()));
+                result.add(ModelSerializer.getInstance().fromJson(Documents.toJsonReader(cursor.next()), getTypeClass()));
             }
             return result;
         } catch (MongoException e) {
@@ -60,8 +60,7 @@ public abstract class MongoDAO<T extends IDAOObject> implements IDAO<T> {
     @Override
     public boolean insert(T obj) {
         try {
-            String model = ModelSerializer.getInstance().toJson(obj, getTypeClass());
-            Document doc = Document.parse(model);
+            Document doc = Documents.toDocument(obj, getTypeClass());
             doc.put("id", obj.getId());
             collection.insertOne(doc);
             return true;
@@ -74,8 +73,7 @@ public abstract class MongoDAO<T extends IDAOObject> implements IDAO<T> {
     @Override
     public boolean update(T obj) {
         try {
-            String model = ModelSerializer.getInstance().toJson(obj, getTypeClass());
-            Document doc = Document.parse(model);
+            Document doc = Documents.toDocument(obj, getTypeClass());
             doc.put("id", obj.getId());
             collection.updateOne(eq("id", obj.getId()), new BasicDBObject("$set", doc));
             return true;
@@ -88,9 +86,6 @@ public abstract class MongoDAO<T extends IDAOObject> implements IDAO<T> {
     @Override
     public boolean delete(T obj) {
         try {
-            String model = ModelSerializer.getInstance().toJson(obj, getTypeClass());
-            Document doc = Document.parse(model);
-            doc.put("id", obj.getId());
             collection.deleteOne(eq("id", obj.getId()));
             return true;
         } catch (MongoException e) {
@@ -10,7 +10,6 @@ import server.models.GameModel;
 import server.serialization.ActionDeserializer;
 import shared.models.GameAction;
 import shared.models.ICommandAction;
-import shared.serialization.ModelSerializer;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -38,7 +37,7 @@ public class MongoGameDAO extends MongoDAO<GameModel> implements IGameDAO {
         try {
             List<ICommandAction> listOfCommands = new ArrayList<>();
             commands.find().sort(ascending("_id")).forEach((Consumer<? super Document>) i -> {
-                ICommandAction action = ActionDeserializer.getInstance().deserializeAction(i.toJson());
+                ICommandAction action = ActionDeserializer.getInstance().deserializeAction(Documents.toJsonReader(i));
                 if (action instanceof GameAction) {
                     ((GameAction) action).setGameId(i.getInteger("gameId"));
                 }
@@ -54,8 +53,7 @@ public class MongoGameDAO extends MongoDAO<GameModel> implements IGameDAO {
     @Override
     public boolean insertCommand(ICommandAction command, int gameId) {
         try {
-            String data = ModelSerializer.getInstance().toJson(command, command.getClass());
-            Document doc = Document.parse(data);
+            Document doc = Documents.toDocument(command, command.getClass());
             doc.put("gameId", gameId);
             commands.insertOne(doc);
             return true;
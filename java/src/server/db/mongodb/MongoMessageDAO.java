@@ -0,0 +1,96 @@
+package server.db.mongodb;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import server.db.IMessageDAO;
+import shared.definitions.MessageChannel;
+import shared.models.game.MessageEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Sorts.ascending;
+import static shared.utils.ClassUtils.getStackTrace;
+
+/**
+ * Stores chat and log messages in the append-only messages collection.
+ */
+public class MongoMessageDAO implements IMessageDAO {
+
+    private static final Logger LOGGER = Logger.getLogger("MongoMessageDAO");
+    private MongoCollection<Document> messages;
+
+    public MongoMessageDAO(MongoDatabase db) {
+        messages = db.getCollection("messages");
+    }
+
+    @Override
+    public boolean insertMessage(int gameId, MessageChannel channel, int index, MessageEntry entry) {
+        try {
+            messages.insertOne(new Document("gameId", gameId)
+                    .append("channel", channel.name())
+                    .append("index", index)
+                    .append("source", entry.getSource())
+                    .append("message", entry.getMessage()));
+            return true;
+        } catch (MongoException e) {
+            LOGGER.warning(getStackTrace(e));
+            return false;
+        }
+    }
+
+    @Override
+    public boolean insertMessages(int gameId, MessageChannel channel, int first, List<MessageEntry> entries) {
+        if (entries.isEmpty()) {
+            return true;
+        }
+        try {
+            List<Document> documents = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i++) {
+                documents.add(new Document("gameId", gameId)
+                        .append("channel", channel.name())
+                        .append("index", first + i)
+                        .append("source", entries.get(i).getSource())
+                        .append("message", entries.get(i).getMessage()));
+            }
+            messages.insertMany(documents);
+            return true;
+        } catch (MongoException e) {
+            LOGGER.warning(getStackTrace(e));
+            return false;
+        }
+    }
+
+    @Override
+    public List<MessageEntry> findMessages(int gameId, MessageChannel channel, int first, int count) {
+        try {
+            List<MessageEntry> result = new ArrayList<>();
+            messages.find(and(eq("gameId", gameId), eq("channel", channel.name()), gte("index", first)))
+                    .sort(ascending("index"))
+                    .limit(count)
+                    .forEach((Consumer<? super Document>) d ->
+                            result.add(new MessageEntry(d.getString("source"), d.getString("message"))));
+            return result;
+        } catch (MongoException e) {
+            LOGGER.warning(getStackTrace(e));
+            return null;
+        }
+    }
+
+    @Override
+    public int countMessages(int gameId, MessageChannel channel) {
+        try {
+            return (int) messages.count(and(eq("gameId", gameId), eq("channel", channel.name())));
+        } catch (MongoException e) {
+            LOGGER.warning(getStackTrace(e));
+            return -1;
+        }
+    }
+}
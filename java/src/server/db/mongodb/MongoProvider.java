@@ -4,6 +4,7 @@ import com.mongodb.MongoClient;
 import com.mongodb.ServerAddress;
 import com.mongodb.client.MongoDatabase;
 import server.db.IGameDAO;
+import server.db.IMessageDAO;
 import server.db.IUserDAO;
 import server.plugin.IPlugin;
 import server.plugin.PersistencePlugin;
@@ -17,6 +18,7 @@ public class MongoProvider extends PersistencePlugin {
 
     private MongoUserDAO userDAO;
     private MongoGameDAO gameDAO;
+    private MongoMessageDAO messageDAO;
     private MongoClient client;
     private MongoDatabase database;
 
@@ -41,6 +43,7 @@ public class MongoProvider extends PersistencePlugin {
         database.createCollection("users");
         database.createCollection("games");
         database.createCollection("commands");
+        database.createCollection("messages");
         return true;
     }
 
@@ -76,4 +79,12 @@ public class MongoProvider extends PersistencePlugin {
         }
         return gameDAO;
     }
+
+    @Override
+    public IMessageDAO getMessageDAO() {
+        if (messageDAO == null) {
+            messageDAO = new MongoMessageDAO(database);
+        }
+        return messageDAO;
+    }
 }
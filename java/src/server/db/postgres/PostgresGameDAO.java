@@ -36,7 +36,7 @@ public class PostgresGameDAO extends PostgresDAO<GameModel> implements IGameDAO
 
     @Override
     protected GameModel getValue(ResultSet rs) throws SQLException {
-        return ModelSerializer.getInstance().fromJson(rs.getString(2), GameModel.class);
+        return ModelSerializer.getInstance().fromJson(rs.getCharacterStream(2), GameModel.class);
     }
 
     @Override
@@ -54,7 +54,7 @@ public class PostgresGameDAO extends PostgresDAO<GameModel> implements IGameDAO
             Statement stmt = db.createStatement();
             ResultSet rs = stmt.executeQuery("SELECT * FROM COMMANDS");
             while (rs.next()) {
-                ICommandAction action = ActionDeserializer.getInstance().deserializeAction(rs.getString(3));
+                ICommandAction action = ActionDeserializer.getInstance().deserializeAction(rs.getCharacterStream(3));
                 if (action instanceof GameAction) {
                     ((GameAction) action).setGameId(rs.getInt(1));
                 }
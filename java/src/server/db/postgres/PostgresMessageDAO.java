@@ -0,0 +1,106 @@
+package server.db.postgres;
+
+import server.db.IMessageDAO;
+import shared.definitions.MessageChannel;
+import shared.models.game.MessageEntry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores chat and log messages in the append-only MESSAGES table.
+ */
+public class PostgresMessageDAO implements IMessageDAO {
+    private Connection db = null;
+
+    public PostgresMessageDAO(Connection db) {
+        this.db = db;
+    }
+
+    @Override
+    public boolean insertMessage(int gameId, MessageChannel channel, int index, MessageEntry entry) {
+        try {
+            PreparedStatement stmt = db.prepareStatement(
+                    "INSERT INTO MESSAGES (GAME_ID, CHANNEL, IDX, SOURCE, MESSAGE) VALUES (?, ?, ?, ?, ?);");
+            stmt.setInt(1, gameId);
+            stmt.setString(2, channel.name());
+            stmt.setInt(3, index);
+            stmt.setString(4, entry.getSource());
+            stmt.setString(5, entry.getMessage());
+            stmt.execute();
+            stmt.close();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean insertMessages(int gameId, MessageChannel channel, int first, List<MessageEntry> entries) {
+        try {
+            PreparedStatement stmt = db.prepareStatement(
+                    "INSERT INTO MESSAGES (GAME_ID, CHANNEL, IDX, SOURCE, MESSAGE) VALUES (?, ?, ?, ?, ?);");
+            for (int i = 0; i < entries.size(); i++) {
+                stmt.setInt(1, gameId);
+                stmt.setString(2, channel.name());
+                stmt.setInt(3, first + i);
+                stmt.setString(4, entries.get(i).getSource());
+                stmt.setString(5, entries.get(i).getMessage());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+            stmt.close();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public List<MessageEntry> findMessages(int gameId, MessageChannel channel, int first, int count) {
+        List<MessageEntry> result = new ArrayList<>();
+        try {
+            PreparedStatement stmt = db.prepareStatement(
+                    "SELECT SOURCE, MESSAGE FROM MESSAGES WHERE GAME_ID = ? AND CHANNEL = ? AND IDX >= ? " +
+                            "ORDER BY IDX LIMIT ?;");
+            stmt.setInt(1, gameId);
+            stmt.setString(2, channel.name());
+            stmt.setInt(3, first);
+            stmt.setInt(4, count);
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                result.add(new MessageEntry(rs.getString(1), rs.getString(2)));
+            }
+            rs.close();
+            stmt.close();
+            return result;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public int countMessages(int gameId, MessageChannel channel) {
+        try {
+            PreparedStatement stmt = db.prepareStatement(
+                    "SELECT COUNT(*) FROM MESSAGES WHERE GAME_ID = ? AND CHANNEL = ?;");
+            stmt.setInt(1, gameId);
+            stmt.setString(2, channel.name());
+            ResultSet rs = stmt.executeQuery();
+            int result = rs.next() ? rs.getInt(1) : 0;
+            rs.close();
+            stmt.close();
+            return result;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return -1;
+    }
+}
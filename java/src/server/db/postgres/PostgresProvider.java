@@ -1,6 +1,7 @@
 package server.db.postgres;
 
 import server.db.IGameDAO;
+import server.db.IMessageDAO;
 import server.db.IUserDAO;
 import server.plugin.IPlugin;
 import server.plugin.PersistencePlugin;
@@ -20,6 +21,7 @@ public class PostgresProvider extends PersistencePlugin {
 
     private PostgresUserDAO userDAO;
     private PostgresGameDAO gameDAO;
+    private PostgresMessageDAO messageDAO;
     private Connection db;
     private String username;
     private String password;
@@ -85,6 +87,16 @@ public class PostgresProvider extends PersistencePlugin {
                     "COMMAND TEXT NOT NULL); " +
                     "END; " +
                     "$do$");
+            stmt.execute("DO $do$ " +
+                    "BEGIN " +
+                    " CREATE TABLE IF NOT EXISTS MESSAGES(GAME_ID INT NOT NULL, " +
+                    "CHANNEL TEXT NOT NULL, " +
+                    "IDX INT NOT NULL, " +
+                    "SOURCE TEXT, " +
+                    "MESSAGE TEXT, " +
+                    "PRIMARY KEY (GAME_ID, CHANNEL, IDX)); " +
+                    "END; " +
+                    "$do$");
             stmt.close();
             return true;
         } catch (SQLException e) {
@@ -126,6 +138,7 @@ public class PostgresProvider extends PersistencePlugin {
             stmt.execute("DELETE FROM USERINFO");
             stmt.execute("DELETE FROM GAMES");
             stmt.execute("DELETE FROM COMMANDS");
+            stmt.execute("DELETE FROM MESSAGES");
             stmt.close();
             return true;
         } catch (SQLException e) {
@@ -150,6 +163,14 @@ public class PostgresProvider extends PersistencePlugin {
         return gameDAO;
     }
 
+    @Override
+    public IMessageDAO getMessageDAO() {
+        if (messageDAO == null) {
+            messageDAO = new PostgresMessageDAO(db);
+        }
+        return messageDAO;
+    }
+
     @Override
     public PluginConfig.PluginType getType() {
         return PluginConfig.PluginType.PERSISTENCE;
@@ -2,6 +2,7 @@ package server.games;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import server.ai.AIManager;
 import server.db.IPersistenceProvider;
 import server.models.ServerModel;
 import server.plugin.IPlugin;
@@ -27,4 +28,13 @@ public interface IServerManager {
     IPersistenceProvider getPersistenceProvider();
 
     void storeCommand(ICommandAction command, int GameId);
+
+    /**
+     * Saves every game and clears the stored commands if enough commands have been stored since they
+     * were last saved.  Must not be called while holding a game's lock.
+     */
+    void saveGamesIfDue();
+
+    @NotNull
+    AIManager getAIManager();
 }
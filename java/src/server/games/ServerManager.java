@@ -2,10 +2,14 @@ package server.games;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import server.ai.AIManager;
 import server.client.GameServer;
 import server.client.IServerCommunicator;
 import server.client.ServerCommunicator;
 import server.db.IPersistenceProvider;
+import server.metrics.LatencyHistogram;
+import server.metrics.ServerMetrics;
+import server.models.GameModel;
 import server.models.ServerAction;
 import server.models.ServerModel;
 import server.plugin.IPlugin;
@@ -15,28 +19,67 @@ import server.plugin.PluginLoader;
 import shared.IServer;
 import shared.models.GameAction;
 import shared.models.ICommandAction;
+import shared.tracing.Tracer;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static server.plugin.PluginConfig.PluginType.PERSISTENCE;
 
 public class ServerManager implements IServerManager {
-    private Map<Integer, IServer> runningServers = new HashMap<>();
+    // Used by request threads and the AI's threads at once
+    private Map<Integer, IServer> runningServers = new ConcurrentHashMap<>();
     private IServerCommunicator communicator;
     private ServerModel model;
-    private IPluginLoader pluginLoader;
     private List<IPlugin> plugins = new ArrayList<>();
     private IPersistenceProvider persistenceProvider;
     private int N;
     private int commandsAdded;
+    // Held while saving games, so only one thread takes every game's lock at a time
+    private final Object saveLock = new Object();
+    private int messageWindow;
+    private AIManager aiManager;
+    private final LatencyHistogram insertCommandTime = ServerMetrics.getInstance().getPersistence("insertCommand");
+    private final LatencyHistogram saveGamesTime = ServerMetrics.getInstance().getPersistence("saveGames");
 
     public ServerManager(String persistence, int N) throws IOException {
+        this(persistence, N, 0);
+    }
+
+    /**
+     * @param persistence   the name of the persistence plugin to use
+     * @param N             the number of commands to store before saving every game
+     * @param messageWindow the number of chat and log lines kept in each game's model, or 0 for all of them
+     */
+    public ServerManager(String persistence, int N, int messageWindow) throws IOException {
+        this(loadPersistenceProvider(persistence), N, messageWindow);
+    }
+
+    /**
+     * Run with a persistence provider that was not loaded as a plugin, such as a stand-in for testing.
+     *
+     * @param persistenceProvider the persistence provider to use, not yet started
+     * @param N                   the number of commands to store before saving every game
+     * @param messageWindow       the number of chat and log lines kept in each game's model, or 0 for all of them
+     */
+    public ServerManager(@NotNull IPersistenceProvider persistenceProvider, int N, int messageWindow) throws IOException {
+        this.messageWindow = messageWindow;
         communicator = new ServerCommunicator(this);
-        pluginLoader = new PluginLoader();
+        aiManager = new AIManager(this);
         this.N = N;
         commandsAdded = 0;
+        this.persistenceProvider = persistenceProvider;
+        plugins = Collections.singletonList(persistenceProvider);
+        if (persistenceProvider.start() == null) {
+            throw new IOException("Error starting persistence provider " + persistenceProvider.getName());
+        }
+    }
+
+    @NotNull
+    private static IPersistenceProvider loadPersistenceProvider(String persistence) throws IOException {
+        IPluginLoader pluginLoader = new PluginLoader();
         //TODO:: fix args for real
         String fs = File.separator;
         String pluginConfigFile = "java" + fs + "plugins" + fs + "config.yaml";
@@ -44,11 +87,11 @@ public class ServerManager implements IServerManager {
 
         List<PluginConfig> pc = pluginLoader.parseConfig(pluginConfigFile);
         List<IPlugin> lc = pluginLoader.loadConfig(pc, pluginDir);
-        persistenceProvider = getPersistenceProvider(lc, persistence);
-        plugins = Collections.singletonList(persistenceProvider);
-        if (persistenceProvider == null || persistenceProvider.start() == null) {
+        IPersistenceProvider provider = findPersistenceProvider(lc, persistence);
+        if (provider == null) {
             throw new IOException("Error starting persistence provider " + persistence);
         }
+        return provider;
     }
 
     @Nullable
@@ -67,6 +110,7 @@ public class ServerManager implements IServerManager {
     public ServerModel getServerModel() {
         if (model == null) {
             model = new ServerModel();
+            model.setMessageWindow(messageWindow);
             updateFromDatabase();
         }
         return model;
@@ -76,11 +120,20 @@ public class ServerManager implements IServerManager {
     public void startServer(@NotNull String hostname, int port) throws IOException {
         communicator.bind(hostname, port);
         communicator.start();
+        // Resume any games that were waiting on an AI when the server last stopped
+        getServerModel().getGameInfo().forEach(game -> aiManager.schedule(game.getId()));
     }
 
     @Override
     public void stopServer() {
         communicator.stop();
+        aiManager.shutdown();
+    }
+
+    @NotNull
+    @Override
+    public AIManager getAIManager() {
+        return aiManager;
     }
 
     /**
@@ -93,6 +146,10 @@ public class ServerManager implements IServerManager {
      */
     @Override
     public IPersistenceProvider getPersistenceProvider(List<IPlugin> plugins, String name) {
+        return findPersistenceProvider(plugins, name);
+    }
+
+    private static IPersistenceProvider findPersistenceProvider(List<IPlugin> plugins, String name) {
         return (IPersistenceProvider) plugins.stream()
                 .filter(x -> x.getType() == PERSISTENCE && name.equals(x.getName()))
                 .findFirst().orElse(null);
@@ -103,15 +160,61 @@ public class ServerManager implements IServerManager {
         return persistenceProvider;
     }
 
-    public void storeCommand(ICommandAction command, int GameID) {
+    /**
+     * Stores a command, to be replayed if the server stops before its game is next saved.  Commands on
+     * a game must be stored while holding its lock, and before its model is published.
+     */
+    public synchronized void storeCommand(ICommandAction command, int GameID) {
+        long start = System.nanoTime();
+        Tracer.trace("IGameDAO.insertCommand", () -> persistenceProvider.getGameDAO().insertCommand(command, GameID));
         commandsAdded++;
-        if (commandsAdded >= N) {
-            if (persistenceProvider.getGameDAO().clearCommands()) {
+        insertCommandTime.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public void saveGamesIfDue() {
+        synchronized (saveLock) {
+            long start = System.nanoTime();
+            boolean saved = false;
+            while (isSaveDue() && !saved) {
+                saved = saveGames(getServerModel().getGameModels(), 0);
+            }
+            if (saved) {
+                saveGamesTime.record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    private synchronized boolean isSaveDue() {
+        return commandsAdded >= N;
+    }
+
+    /**
+     * Takes the lock of every game, in order of id, then saves them and clears the stored commands.
+     * <p>
+     * A game's commands are stored and its model published under its lock, so with every lock held
+     * each saved game includes every stored command on it.  Locks are taken before this server's own,
+     * in the same order as by a move storing its command.
+     *
+     * @param games  every game, in order of id
+     * @param locked the number of games already locked
+     * @return false if a game was created meanwhile, so not every game is locked
+     */
+    private boolean saveGames(List<GameModel> games, int locked) {
+        if (locked < games.size()) {
+            synchronized (games.get(locked)) {
+                return saveGames(games, locked + 1);
+            }
+        }
+        synchronized (this) {
+            if (getServerModel().getGameModels().size() != games.size()) {
+                return false;
+            }
+            if (Tracer.trace("IGameDAO.clearCommands", persistenceProvider.getGameDAO()::clearCommands)) {
                 commandsAdded = 0;
-                getServerModel().updateGamesInDatabase(persistenceProvider);
+                getServerModel().updateGamesInDatabase(persistenceProvider, games);
             }
-        } else {
-            persistenceProvider.getGameDAO().insertCommand(command, GameID);
+            return true;
         }
     }
 
@@ -126,9 +229,11 @@ public class ServerManager implements IServerManager {
                 GameAction action = (GameAction) command;
                 action.setFacades(((GameServer) getGameServer(command.getGameId())).getFacades());
                 action.execute();
+                getServerModel().getGameModel(command.getGameId()).publishSnapshot();
             }
             persistenceProvider.getGameDAO().clearCommands();
             getServerModel().updateGamesInDatabase(persistenceProvider);
         }
+        getServerModel().updateMessagesFromDatabase(persistenceProvider);
     }
 }
@@ -0,0 +1,85 @@
+package server.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects how long each request to an endpoint took, from any number of threads.
+ */
+class LatencyRecorder {
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    /**
+     * @param endpoint the endpoint's path
+     * @param nanos    how long the request took, until the whole response was read
+     * @param failed   true if the server rejected the request or it could not be sent
+     */
+    void record(String endpoint, long nanos, boolean failed) {
+        endpoints.computeIfAbsent(endpoint, e -> new Samples()).add(nanos, failed);
+    }
+
+    /**
+     * @return the total number of requests recorded
+     */
+    long getRequests() {
+        return endpoints.values().stream().mapToLong(Samples::getCount).sum();
+    }
+
+    /**
+     * Print the count, failures and p50, p99 and maximum latency of each endpoint.
+     */
+    void print() {
+        System.out.printf("%-20s %10s %8s %10s %10s %10s%n", "endpoint", "requests", "errors", "p50 ms", "p99 ms", "max ms");
+        new TreeMap<>(endpoints).forEach((endpoint, samples) -> {
+            long[] sorted = samples.getSorted();
+            System.out.printf("%-20s %10d %8d %10.2f %10.2f %10.2f%n", endpoint, sorted.length, samples.getFailures(),
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 99)),
+                    millis(percentile(sorted, 100)));
+        });
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    private static class Samples {
+        private long[] nanos = new long[1024];
+        private int count;
+        private int failures;
+
+        synchronized void add(long sample, boolean failed) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = sample;
+            if (failed) {
+                failures++;
+            }
+        }
+
+        synchronized long getCount() {
+            return count;
+        }
+
+        synchronized int getFailures() {
+            return failures;
+        }
+
+        synchronized long[] getSorted() {
+            long[] sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
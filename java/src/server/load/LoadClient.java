@@ -0,0 +1,154 @@
+package server.load;
+
+import shared.IServer;
+import shared.annotations.ServerEndpoint;
+import shared.serialization.ModelSerializer;
+
+import javax.naming.CommunicationException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static shared.utils.ClassUtils.defaultWrapper;
+
+/**
+ * One simulated user's connection to the server.
+ * <p>
+ * Calls {@link IServer} endpoints over HTTP the same way ServerProxy does, but keeps its own cookies
+ * instead of the process-wide ones, so that many users can play from one process.  Every request
+ * is timed, up to reading the whole response, and recorded by its endpoint.
+ */
+class LoadClient implements InvocationHandler {
+    private final String urlPrefix;
+    private final LatencyRecorder recorder;
+    private final Map<String, String> cookies = new HashMap<>();
+
+    private LoadClient(String urlPrefix, LatencyRecorder recorder) {
+        this.urlPrefix = urlPrefix;
+        this.recorder = recorder;
+    }
+
+    /**
+     * @param urlPrefix the server's address, such as {@code http://localhost:8081}
+     * @param recorder  where to record the latency of each request
+     * @return a new user with no cookies
+     */
+    static IServer connect(String urlPrefix, LatencyRecorder recorder) {
+        return (IServer) Proxy.newProxyInstance(IServer.class.getClassLoader(), new Class<?>[]{IServer.class},
+                new LoadClient(urlPrefix, recorder));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(this, args);
+        }
+        ServerEndpoint endpoint = method.getAnnotation(ServerEndpoint.class);
+        if (endpoint == null) {
+            // setUserId is only used on the server
+            return null;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = send(endpoint, method, args == null ? null : args[0]);
+            failed = false;
+            return result;
+        } catch (IOException e) {
+            throw new CommunicationException(e.getMessage());
+        } finally {
+            recorder.record(endpoint.value(), System.nanoTime() - start, failed);
+        }
+    }
+
+    private Object send(ServerEndpoint endpoint, Method method, Object arg) throws IOException, CommunicationException {
+        String path = endpoint.value();
+        Class<?> paramType = method.getParameterCount() >= 1 ? method.getParameterTypes()[0] : null;
+        if (!endpoint.isPost() && paramType != null) {
+            path += "?" + method.getParameters()[0].getName() + "=" + URLEncoder.encode(
+                    ModelSerializer.getInstance().toJson(arg, paramType), "UTF-8");
+        }
+        // Not disconnected afterwards, so the connection is kept alive for this user's next request
+        HttpURLConnection connection = (HttpURLConnection) new URL(urlPrefix + path).openConnection();
+        connection.setRequestMethod(endpoint.isPost() ? "POST" : "GET");
+        if (!cookies.isEmpty()) {
+            connection.setRequestProperty("Cookie", cookies.entrySet().stream()
+                    .map(c -> c.getKey() + "=" + c.getValue())
+                    .collect(Collectors.joining("; ")));
+        }
+        if (endpoint.isPost()) {
+            connection.setDoOutput(true);
+            try (OutputStream output = connection.getOutputStream()) {
+                if (paramType != null) {
+                    ByteBuffer body = ModelSerializer.getInstance().toJsonBytes(arg, paramType);
+                    output.write(body.array(), body.arrayOffset() + body.position(), body.remaining());
+                }
+            }
+        }
+
+        int responseCode = connection.getResponseCode();
+        if (responseCode != HttpURLConnection.HTTP_OK) {
+            InputStream error = connection.getErrorStream();
+            String message = error == null ? "" : new String(readAll(error), StandardCharsets.UTF_8);
+            if (responseCode >= HttpURLConnection.HTTP_INTERNAL_ERROR) {
+                throw new CommunicationException(responseCode + " " + message);
+            }
+            throw new IllegalArgumentException(responseCode + " " + message);
+        }
+        byte[] body = readAll(connection.getInputStream());
+        if (!endpoint.returnsCookie().isEmpty()) {
+            saveCookies(connection);
+            return defaultWrapper(method.getReturnType());
+        }
+        if (method.getReturnType() == Void.TYPE) {
+            return null;
+        }
+        return ModelSerializer.getInstance().fromJson(new ByteArrayInputStream(body), method.getReturnType());
+    }
+
+    private void saveCookies(HttpURLConnection connection) {
+        for (Map.Entry<String, List<String>> field : connection.getHeaderFields().entrySet()) {
+            // The server sends it as Set-cookie
+            if (field.getKey() != null && field.getKey().equalsIgnoreCase("Set-Cookie")) {
+                field.getValue().forEach(this::saveCookie);
+            }
+        }
+    }
+
+    private void saveCookie(String header) {
+        // name=value; Path="/"
+        String cookie = header.split(";", 2)[0];
+        int equals = cookie.indexOf('=');
+        if (equals > 0) {
+            cookies.put(cookie.substring(0, equals).trim(), cookie.substring(equals + 1).trim());
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package server.load;
+
+import server.db.memory.MemoryProvider;
+import server.games.ServerManager;
+import server.logging.ServerLogging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the server end to end by playing many games against it at once over HTTP.
+ * <p>
+ * Starts a server on this machine that keeps its database in memory, then plays each
+ * game on its own thread as a {@link SimulatedGame}.  Reports the latency of every endpoint called
+ * and the number of moves made per second across all games.
+ * <p>
+ * Usage: {@code LoadGenerator [games] [moves per game] [port] [write latency in ms]}
+ */
+public class LoadGenerator {
+    private static final String HOST = "localhost";
+    private static final int COMMANDS_BETWEEN_SAVES = 20;
+    private static final int MESSAGE_WINDOW = 100;
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length >= 1 ? Integer.parseInt(args[0]) : 8;
+        int maxMoves = args.length >= 2 ? Integer.parseInt(args[1]) : 300;
+        int port = args.length >= 3 ? Integer.parseInt(args[2]) : 18081;
+        double writeLatencyMillis = args.length >= 4 ? Double.parseDouble(args[3]) : 0;
+        ServerLogging.install();
+
+        ServerManager server = new ServerManager(new MemoryProvider(writeLatencyMillis), COMMANDS_BETWEEN_SAVES,
+                MESSAGE_WINDOW);
+        server.startServer(HOST, port);
+        String urlPrefix = "http://" + HOST + ":" + port;
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        ExecutorService pool = Executors.newFixedThreadPool(games);
+        List<Future<Integer>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            results.add(pool.submit(new SimulatedGame(i, maxMoves, urlPrefix, recorder)));
+        }
+        long moves = 0;
+        int failedGames = 0;
+        for (Future<Integer> result : results) {
+            try {
+                moves += result.get();
+            } catch (ExecutionException e) {
+                failedGames++;
+                System.err.println("Game failed: " + e.getCause());
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        server.stopServer();
+
+        recorder.print();
+        System.out.printf("%n%d games (%d failed), %d moves, %d requests in %.2f s: %.0f moves/s, %.0f requests/s%n",
+                games, failedGames, moves, recorder.getRequests(), seconds, moves / seconds,
+                recorder.getRequests() / seconds);
+    }
+}
@@ -0,0 +1,105 @@
+package server.load;
+
+import shared.IServer;
+import shared.definitions.CatanColor;
+import shared.definitions.PlayerIndex;
+import shared.definitions.TurnStatus;
+import shared.facades.FacadeManager;
+import shared.models.GameAction;
+import shared.models.game.ClientModel;
+import shared.models.game.Player;
+import shared.models.games.CreateGameRequest;
+import shared.models.games.JoinGameRequest;
+import shared.models.user.Credentials;
+import shared.utils.ServerUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Four users playing one game over HTTP: they register, one of them creates the game, all of them
+ * join it, and then they take turns making random legal moves.  After each move, the players who
+ * didn't make it poll for the model as the client does.
+ */
+class SimulatedGame implements Callable<Integer> {
+    private static final CatanColor[] COLORS = {CatanColor.RED, CatanColor.BLUE, CatanColor.GREEN, CatanColor.YELLOW};
+    private static final String PASSWORD = "loadtest";
+
+    private final int number;
+    private final int maxMoves;
+    private final IServer[] users = new IServer[PlayerIndex.MAX_PLAYERS];
+    private final Random random;
+
+    /**
+     * @param number    which game this is, to give its users unique names
+     * @param maxMoves  the number of moves to stop after, if the game isn't won first
+     * @param urlPrefix the server's address
+     * @param recorder  where to record the latency of each request
+     */
+    SimulatedGame(int number, int maxMoves, String urlPrefix, LatencyRecorder recorder) {
+        this.number = number;
+        this.maxMoves = maxMoves;
+        random = new Random(number);
+        for (int i = 0; i < users.length; i++) {
+            users[i] = LoadClient.connect(urlPrefix, recorder);
+        }
+    }
+
+    /**
+     * @return the number of moves made
+     */
+    @Override
+    public Integer call() throws Exception {
+        String title = "load" + number;
+        for (int i = 0; i < users.length; i++) {
+            users[i].register(new Credentials(PASSWORD, getUsername(i)));
+        }
+        int gameId = ServerUtils.createGame(users[0], new CreateGameRequest(false, false, false, title));
+        for (int i = 0; i < users.length; i++) {
+            users[i].joinGame(new JoinGameRequest(COLORS[i], gameId));
+        }
+
+        ClientModel model = users[0].gameState(-1);
+        Map<PlayerIndex, IServer> seats = new HashMap<>();
+        for (Player player : model.getPlayers()) {
+            for (int i = 0; i < users.length; i++) {
+                if (getUsername(i).equals(player.getName())) {
+                    seats.put(player.getPlayerIndex(), users[i]);
+                }
+            }
+        }
+
+        int moves = 0;
+        while (moves < maxMoves && model.getTurnTracker().getStatus() != TurnStatus.GAME_OVER) {
+            FacadeManager facades = new FacadeManager(model);
+            GameAction move = null;
+            Player mover = null;
+            for (Player player : model.getPlayers()) {
+                List<GameAction> legal = facades.getMoves().getLegalMoves(player);
+                if (!legal.isEmpty()) {
+                    move = legal.get(random.nextInt(legal.size()));
+                    mover = player;
+                    break;
+                }
+            }
+            if (move == null) {
+                break;
+            }
+            model = ServerUtils.sendMove(seats.get(mover.getPlayerIndex()), move);
+            moves++;
+            for (IServer seat : seats.values()) {
+                if (seat != seats.get(mover.getPlayerIndex())) {
+                    seat.gameState(model.getVersion());
+                }
+            }
+        }
+        return moves;
+    }
+
+    private String getUsername(int seat) {
+        return "load" + number + "_" + seat;
+    }
+}
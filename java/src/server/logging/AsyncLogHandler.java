@@ -0,0 +1,192 @@
+package server.logging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Passes log records to another handler on a thread of its own, so the thread logging never waits
+ * for the console or a file.
+ * <p>
+ * Records wait in a fixed-size ring buffer; when it is full, new records are dropped and counted,
+ * and the count is logged once there is room.  Each kind of message, meaning its logger, level and
+ * unformatted message, may only be logged so often: a burst of them is let through, then they are
+ * let through at a steady rate, and the next one let through says how many were suppressed.
+ * <p>
+ * Messages are formatted by the other handler, on this handler's thread, so a record's parameters
+ * must not change after it is logged.
+ */
+public class AsyncLogHandler extends Handler {
+    // Kinds of messages remembered for rate limiting, before forgetting them all
+    private static final int MAX_MESSAGE_TYPES = 1024;
+
+    private final Handler delegate;
+    private final BlockingQueue<LogRecord> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final ConcurrentMap<String, RateLimit> limits = new ConcurrentHashMap<>();
+    private final int burst;
+    private final long nanosPerMessage;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    /**
+     * @param delegate          the handler to pass records to
+     * @param capacity          the number of records that may wait to be passed on
+     * @param burst             the number of messages of one kind let through at once
+     * @param messagesPerSecond the rate messages of one kind are let through after a burst
+     */
+    public AsyncLogHandler(Handler delegate, int capacity, int burst, double messagesPerSecond) {
+        this.delegate = delegate;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.burst = burst;
+        this.nanosPerMessage = (long) (TimeUnit.SECONDS.toNanos(1) / messagesPerSecond);
+        setLevel(delegate.getLevel());
+        writer = new Thread(this::writeRecords, "AsyncLogHandler");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public Handler getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public synchronized void setLevel(Level newLevel) throws SecurityException {
+        super.setLevel(newLevel);
+        delegate.setLevel(newLevel);
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        String type = record.getLoggerName() + '\0' + record.getLevel() + '\0' + record.getMessage();
+        RateLimit limit = limits.get(type);
+        if (limit == null) {
+            if (limits.size() >= MAX_MESSAGE_TYPES) {
+                limits.clear();
+            }
+            limit = limits.computeIfAbsent(type, t -> new RateLimit());
+        }
+        long suppressed = limit.acquire();
+        if (suppressed < 0) {
+            return;
+        }
+        String message = record.getMessage();
+        if (suppressed > 0) {
+            message += " (" + suppressed + " similar messages suppressed)";
+        }
+        // The caller's record may be passed to other handlers, so it is left as it is
+        if (!buffer.offer(copy(record, message))) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Copy a record to pass on, with a different message.
+     * <p>
+     * Finding the caller means walking this thread's stack, which is too slow here and wrong on the
+     * writer's thread.  The loggers are named after their classes, so that is shown instead.
+     */
+    private static LogRecord copy(LogRecord record, String message) {
+        LogRecord copy = new LogRecord(record.getLevel(), message);
+        copy.setLoggerName(record.getLoggerName());
+        copy.setResourceBundle(record.getResourceBundle());
+        copy.setResourceBundleName(record.getResourceBundleName());
+        copy.setParameters(record.getParameters());
+        copy.setThrown(record.getThrown());
+        copy.setMillis(record.getMillis());
+        copy.setSequenceNumber(record.getSequenceNumber());
+        copy.setThreadID(record.getThreadID());
+        copy.setSourceClassName(record.getLoggerName());
+        copy.setSourceMethodName(null);
+        return copy;
+    }
+
+    private void writeRecords() {
+        try {
+            while (!closed) {
+                write(buffer.take());
+                if (buffer.isEmpty()) {
+                    delegate.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            // Closed
+        }
+    }
+
+    private void write(LogRecord record) {
+        delegate.publish(record);
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            LogRecord warning = new LogRecord(Level.WARNING, lost + " log records dropped because the log buffer was full");
+            warning.setLoggerName(getClass().getSimpleName());
+            warning.setSourceClassName(getClass().getSimpleName());
+            delegate.publish(warning);
+        }
+    }
+
+    /**
+     * Flushes the other handler.  Records still in the buffer are flushed once they are passed on.
+     */
+    @Override
+    public void flush() {
+        delegate.flush();
+    }
+
+    /**
+     * Passes on every record logged so far, then closes the other handler.
+     */
+    @Override
+    public void close() throws SecurityException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LogRecord record;
+        while ((record = buffer.poll()) != null) {
+            write(record);
+        }
+        delegate.close();
+    }
+
+    /**
+     * A token bucket holding up to {@code burst} messages, refilled at one message per {@code nanosPerMessage}.
+     */
+    private class RateLimit {
+        private long tokensUpdated = System.nanoTime();
+        private double tokens = burst;
+        private long suppressed;
+
+        /**
+         * @return -1 if the message is suppressed, otherwise the number suppressed since the last one
+         */
+        synchronized long acquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (double) (now - tokensUpdated) / nanosPerMessage);
+            tokensUpdated = now;
+            if (tokens < 1) {
+                suppressed++;
+                return -1;
+            }
+            tokens--;
+            long result = suppressed;
+            suppressed = 0;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package server.logging;
+
+import java.util.Locale;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sets up how the server logs.
+ * <p>
+ * The handlers of the root logger are wrapped in {@link AsyncLogHandler}s.  The size of their
+ * buffers and their rate limits are set by the system properties {@code catan.log.buffer} (8192 records
+ * by default), {@code catan.log.burst} (100 messages of a kind by default) and {@code catan.log.rate}
+ * (50 messages of a kind per second by default).
+ */
+public final class ServerLogging {
+    private ServerLogging() {
+    }
+
+    /**
+     * Make the root logger's handlers asynchronous.  Doing it again has no effect.
+     */
+    public static synchronized void install() {
+        Logger root = Logger.getLogger("");
+        for (Handler handler : root.getHandlers()) {
+            if (!(handler instanceof AsyncLogHandler)) {
+                root.removeHandler(handler);
+                root.addHandler(new AsyncLogHandler(handler,
+                        Integer.getInteger("catan.log.buffer", 8192),
+                        Integer.getInteger("catan.log.burst", 100),
+                        Double.parseDouble(System.getProperty("catan.log.rate", "50"))));
+            }
+        }
+    }
+
+    /**
+     * Change the level of every logger that doesn't set its own, and of the root logger's handlers.
+     *
+     * @param level the lowest level to log
+     */
+    public static synchronized void setLevel(Level level) {
+        Logger root = Logger.getLogger("");
+        root.setLevel(level);
+        for (Handler handler : root.getHandlers()) {
+            handler.setLevel(level);
+        }
+    }
+
+    /**
+     * @param name the name of a level, such as {@code INFO} or {@code off}
+     * @return the level
+     * @throws IllegalArgumentException if there is no level with that name
+     */
+    public static Level parseLevel(String name) throws IllegalArgumentException {
+        if (name == null) {
+            throw new IllegalArgumentException("No log level given");
+        }
+        return Level.parse(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -2,6 +2,7 @@ package server.main;
 
 
 import server.games.ServerManager;
+import server.logging.ServerLogging;
 
 /**
  *
@@ -13,23 +14,29 @@ public class CatanServer {
     }
 
     public static void main(final String[] args) {
+        ServerLogging.install();
         try {
             String hostname = "localhost";
             int port = 8081;
             String persistence = "postgres";
             int N = 20;
+            int messageWindow = 100;
 
-            if (args.length == 2) {
+            if (args.length >= 2) {
                 hostname = args[0];
                 port = Integer.parseInt(args[1]);
             }
 
-            if (args.length == 4) {
+            if (args.length >= 4) {
                 persistence = args[2];
                 N = Integer.parseInt(args[3]);
             }
 
-            ServerManager serverManager = new ServerManager(persistence, N);
+            if (args.length >= 5) {
+                messageWindow = Integer.parseInt(args[4]);
+            }
+
+            ServerManager serverManager = new ServerManager(persistence, N, messageWindow);
             serverManager.startServer(hostname, port);
         } catch (Exception e) {
             e.printStackTrace();
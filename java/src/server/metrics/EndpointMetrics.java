@@ -0,0 +1,82 @@
+package server.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What one endpoint has done since the server started.
+ */
+public class EndpointMetrics {
+    private final String method;
+    private final String path;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram decoding = new LatencyHistogram();
+    private final LatencyHistogram encoding = new LatencyHistogram();
+
+    EndpointMetrics(String method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    /**
+     * @param nanos        how long the request took to handle, up to sending its response
+     * @param failed       whether the request was answered with an error
+     * @param bytesWritten the length of the response body
+     */
+    public void recordRequest(long nanos, boolean failed, long bytesWritten) {
+        requests.increment();
+        if (failed) {
+            errors.increment();
+        }
+        this.bytesWritten.add(bytesWritten);
+        latency.record(nanos);
+    }
+
+    /**
+     * @param nanos how long reading the request's parameter took
+     */
+    public void recordDecoding(long nanos) {
+        decoding.record(nanos);
+    }
+
+    /**
+     * @param nanos how long writing the response body took
+     */
+    public void recordEncoding(long nanos) {
+        encoding.record(nanos);
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public LatencyHistogram getDecoding() {
+        return decoding;
+    }
+
+    public LatencyHistogram getEncoding() {
+        return encoding;
+    }
+}
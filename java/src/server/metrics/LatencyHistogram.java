@@ -0,0 +1,97 @@
+package server.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations in buckets whose width grows with the duration, as HdrHistogram does, so it can
+ * tell apart both microseconds and seconds without storing each sample.
+ * <p>
+ * Every power of two is split into 8 buckets, so a duration is known to within 1/8 of its value.
+ * Recording is lock-free and never allocates, so it can be done on every request.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Longer durations are counted as this long, about 36 minutes
+    private static final int MAX_BIT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_BIT + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(bucketIndex(MAX_VALUE) + 1);
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * @param nanos the duration to count, in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_VALUE));
+        counts.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+    }
+
+    /**
+     * @return the sum of every duration counted, in nanoseconds
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     * @return the number of durations counted in each bucket, copied so they can be read together
+     */
+    long[] getCounts() {
+        long[] result = new long[counts.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = counts.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * @param percentile the percentage of durations that are no longer than the result, from 0 to 100
+     * @return the longest a duration in the same bucket as that percentile could be, in nanoseconds,
+     * or 0 if nothing has been counted
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = getCounts();
+        long total = 0;
+        for (long count : snapshot) {
+            total += count;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highestValueInBucket(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Durations below {@value #SUB_BUCKETS} ns each have their own bucket.  Above that, a duration's
+     * bucket is found from its highest {@value #SUB_BUCKET_BITS} bits, so each power of two
+     * has {@value #SUB_BUCKETS} / 2 buckets.
+     */
+    static int bucketIndex(long value) {
+        int highestBit = 63 - Long.numberOfLeadingZeros(value);
+        if (highestBit < SUB_BUCKET_BITS) {
+            return (int) value;
+        }
+        int shift = highestBit - SUB_BUCKET_BITS + 1;
+        return shift * (SUB_BUCKETS / 2) + (int) (value >>> shift);
+    }
+
+    /**
+     * @return the longest duration counted in the bucket, in nanoseconds
+     */
+    static long highestValueInBucket(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / (SUB_BUCKETS / 2) - 1;
+        long subBucket = index - shift * (SUB_BUCKETS / 2);
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
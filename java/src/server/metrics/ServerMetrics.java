@@ -0,0 +1,143 @@
+package server.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts what the server does, and writes it out in Prometheus's text format.
+ * <p>
+ * Each endpoint records its requests, errors, latency, serialization time and response size, and
+ * persistence records how long saving commands and games takes.  Everything is kept as it happens,
+ * so writing it out never waits for a request.
+ */
+public class ServerMetrics {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // The buckets a histogram is written out with, in seconds
+    private static final String[] BUCKETS = {
+            "0.000001", "0.0000025", "0.000005", "0.00001", "0.000025", "0.00005", "0.0001", "0.00025", "0.0005",
+            "0.001", "0.0025", "0.005", "0.01", "0.025", "0.05", "0.1", "0.25", "0.5", "1", "2.5", "5", "10"};
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> persistence = new ConcurrentHashMap<>();
+
+    private static class InstanceHolder {
+        private static final ServerMetrics INSTANCE = new ServerMetrics();
+    }
+
+    public static ServerMetrics getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    ServerMetrics() {
+    }
+
+    /**
+     * @param method the HTTP method of the endpoint
+     * @param path   the path of the endpoint
+     * @return the endpoint's metrics, to keep and record to on each request
+     */
+    public EndpointMetrics getEndpoint(String method, String path) {
+        return endpoints.computeIfAbsent(method + " " + path, k -> new EndpointMetrics(method, path));
+    }
+
+    /**
+     * @param operation what was saved, such as {@code insertCommand}
+     * @return the histogram to record how long saving it takes
+     */
+    public LatencyHistogram getPersistence(String operation) {
+        return persistence.computeIfAbsent(operation, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Write every metric in Prometheus's text exposition format.
+     *
+     * @param out where to write them
+     */
+    public void write(Writer out) throws IOException {
+        List<EndpointMetrics> sorted = new ArrayList<>(endpoints.values());
+        sorted.sort(Comparator.comparing(EndpointMetrics::getPath).thenComparing(EndpointMetrics::getMethod));
+
+        writeHeader(out, "catan_http_requests_total", "counter", "Requests handled, by endpoint");
+        for (EndpointMetrics endpoint : sorted) {
+            writeSample(out, "catan_http_requests_total", labels(endpoint), endpoint.getRequests());
+        }
+        writeHeader(out, "catan_http_request_errors_total", "counter", "Requests answered with an error, by endpoint");
+        for (EndpointMetrics endpoint : sorted) {
+            writeSample(out, "catan_http_request_errors_total", labels(endpoint), endpoint.getErrors());
+        }
+        writeHeader(out, "catan_http_response_bytes_total", "counter", "Bytes of response bodies written, by endpoint");
+        for (EndpointMetrics endpoint : sorted) {
+            writeSample(out, "catan_http_response_bytes_total", labels(endpoint), endpoint.getBytesWritten());
+        }
+        writeHeader(out, "catan_http_request_duration_seconds", "histogram",
+                "Time to handle a request, up to sending its response");
+        for (EndpointMetrics endpoint : sorted) {
+            writeHistogram(out, "catan_http_request_duration_seconds", labels(endpoint), endpoint.getLatency());
+        }
+        writeHeader(out, "catan_serialization_duration_seconds", "histogram",
+                "Time to read a request's parameter or write its response body");
+        for (EndpointMetrics endpoint : sorted) {
+            writeHistogram(out, "catan_serialization_duration_seconds",
+                    labels(endpoint) + ",direction=\"decode\"", endpoint.getDecoding());
+            writeHistogram(out, "catan_serialization_duration_seconds",
+                    labels(endpoint) + ",direction=\"encode\"", endpoint.getEncoding());
+        }
+        writeHeader(out, "catan_persistence_duration_seconds", "histogram", "Time to save to the database");
+        List<String> operations = new ArrayList<>(persistence.keySet());
+        operations.sort(null);
+        for (String operation : operations) {
+            writeHistogram(out, "catan_persistence_duration_seconds",
+                    "operation=\"" + escape(operation) + "\"", persistence.get(operation));
+        }
+        out.flush();
+    }
+
+    private static String labels(EndpointMetrics endpoint) {
+        return "method=\"" + escape(endpoint.getMethod()) + "\",endpoint=\"" + escape(endpoint.getPath()) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static void writeHeader(Writer out, String name, String type, String help) throws IOException {
+        out.write("# HELP " + name + " " + help + "\n");
+        out.write("# TYPE " + name + " " + type + "\n");
+    }
+
+    private static void writeSample(Writer out, String name, String labels, long value) throws IOException {
+        out.write(name + "{" + labels + "} " + value + "\n");
+    }
+
+    /**
+     * A duration is only counted under a bucket when all of its histogram bucket fits under it, so a
+     * duration within 1/{@value LatencyHistogram#SUB_BUCKETS} of a bucket's bound may be counted above it.
+     */
+    private static void writeHistogram(Writer out, String name, String labels, LatencyHistogram histogram)
+            throws IOException {
+        long[] counts = histogram.getCounts();
+        long cumulative = 0;
+        int index = 0;
+        for (String bucket : BUCKETS) {
+            long bound = Math.round(Double.parseDouble(bucket) * NANOS_PER_SECOND);
+            while (index < counts.length && LatencyHistogram.highestValueInBucket(index) <= bound) {
+                cumulative += counts[index++];
+            }
+            out.write(name + "_bucket{" + labels + ",le=\"" + bucket + "\"} " + cumulative + "\n");
+        }
+        while (index < counts.length) {
+            cumulative += counts[index++];
+        }
+        out.write(name + "_bucket{" + labels + ",le=\"+Inf\"} " + cumulative + "\n");
+        out.write(name + "_sum{" + labels + "} " + histogram.getSum() / NANOS_PER_SECOND + "\n");
+        out.write(name + "_count{" + labels + "} " + cumulative + "\n");
+    }
+}
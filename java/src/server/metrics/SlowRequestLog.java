@@ -0,0 +1,123 @@
+package server.metrics;
+
+import com.google.gson.stream.JsonWriter;
+import shared.tracing.Span;
+import shared.tracing.Trace;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the traces of slow requests to a file in the Trace Event Format, which chrome://tracing and
+ * Perfetto open, with each span as a complete event on the thread that handled it.
+ * <p>
+ * Requests are traced with the probability {@code catan.trace.sampleRate} (0.01 by default, 1 to
+ * trace every request, 0 to turn tracing off), and a traced request is written when it takes at
+ * least {@code catan.trace.slowMillis} (100 by default).  Traces are appended to
+ * {@code catan.trace.file} ({@code slow-requests.trace.json} by default) on a thread of its own, so
+ * requests never wait for the disk; if it falls behind, traces are dropped.  The file is left as an
+ * unterminated JSON array, which the format allows, so it can be appended to across restarts.
+ */
+public class SlowRequestLog {
+    private static final Logger LOGGER = Logger.getLogger("SlowRequestLog");
+    private static final int MAX_PENDING = 100;
+
+    private final double sampleRate;
+    private final long slowNanos;
+    private final File file;
+    private final ExecutorService writer;
+    // Only used on the writer's thread
+    private Writer out;
+
+    private static class InstanceHolder {
+        private static final SlowRequestLog INSTANCE = new SlowRequestLog(
+                Double.parseDouble(System.getProperty("catan.trace.sampleRate", "0.01")),
+                Long.getLong("catan.trace.slowMillis", 100),
+                new File(System.getProperty("catan.trace.file", "slow-requests.trace.json")));
+    }
+
+    public static SlowRequestLog getInstance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    SlowRequestLog(double sampleRate, long slowMillis, File file) {
+        this.sampleRate = sampleRate;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+        this.file = file;
+        writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(MAX_PENDING), r -> {
+            Thread thread = new Thread(r, "SlowRequestLog");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    /**
+     * @return whether to trace the next request
+     */
+    public boolean sample() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Write a closed trace to the file if its request was slow.
+     */
+    public void finish(Trace trace) {
+        if (trace.getDurationNanos() >= slowNanos) {
+            writer.execute(() -> write(trace));
+        }
+    }
+
+    /**
+     * Write every trace passed to {@link #finish} so far, and stop writing.
+     */
+    void close() throws InterruptedException, IOException {
+        writer.shutdown();
+        writer.awaitTermination(1, TimeUnit.MINUTES);
+        if (out != null) {
+            out.close();
+        }
+    }
+
+    private void write(Trace trace) {
+        try {
+            if (out == null) {
+                boolean empty = !file.exists() || file.length() == 0;
+                out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8));
+                if (empty) {
+                    out.write("[\n");
+                }
+            }
+            long rootStart = trace.getSpans().get(0).getStartNanos();
+            double startMicros = trace.getStartMillis() * 1000.0;
+            for (Span span : trace.getSpans()) {
+                JsonWriter event = new JsonWriter(out);
+                event.beginObject();
+                event.name("name").value(span.getName());
+                event.name("cat").value("request");
+                event.name("ph").value("X");
+                event.name("ts").value(startMicros + (span.getStartNanos() - rootStart) / 1000.0);
+                event.name("dur").value(span.getDurationNanos() / 1000.0);
+                event.name("pid").value(1);
+                event.name("tid").value(trace.getThreadId());
+                event.name("args").beginObject().name("traceId").value(trace.getId()).endObject();
+                event.endObject();
+                out.write(",\n");
+            }
+            out.flush();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write slow request trace to " + file, e);
+        }
+    }
+}
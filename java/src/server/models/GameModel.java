@@ -13,6 +13,7 @@ import shared.models.games.PlayerInfo;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GameModel implements IDAOObject {
 
@@ -25,6 +26,15 @@ public class GameModel implements IDAOObject {
     @Expose
     private ClientModel clientModel;
 
+    /**
+     * The last published copy of {@link #clientModel}, safe to read without holding a lock.
+     */
+    private transient volatile ClientModel snapshot;
+    /**
+     * Counts the changes to {@link #gameInfo}, such as players joining.
+     */
+    private final transient AtomicInteger infoRevision = new AtomicInteger();
+
     public GameModel() {
         gameInfo = new GameInfo();
         clientModel = new ClientModel();
@@ -79,6 +89,14 @@ public class GameModel implements IDAOObject {
 
     public void setGameInfo(GameInfo gameInfo) {
         this.gameInfo = gameInfo;
+        infoRevision.incrementAndGet();
+    }
+
+    /**
+     * @return a number that goes up every time the game's info changes
+     */
+    public int getInfoRevision() {
+        return infoRevision.get();
     }
 
     public ClientModel getClientModel() {
@@ -87,15 +105,54 @@ public class GameModel implements IDAOObject {
 
     public void setClientModel(ClientModel clientModel) {
         this.clientModel = clientModel;
+        this.snapshot = null;
+    }
+
+    /**
+     * Gets the last published snapshot of the client model.
+     * <p>
+     * Snapshots are never modified once published, so they can be serialized
+     * while the game's writer is applying the next move to {@link #getClientModel()}.
+     *
+     * @return the latest published snapshot of the client model
+     */
+    public ClientModel getSnapshot() {
+        ClientModel result = snapshot;
+        if (result == null) {
+            synchronized (this) {
+                result = snapshot;
+                if (result == null) {
+                    result = publishSnapshot();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Publishes a new snapshot of the client model, making it visible to readers.
+     * <p>
+     * Must be called by the game's writer after every change to {@link #getClientModel()}.
+     *
+     * @return the newly published snapshot
+     */
+    public synchronized ClientModel publishSnapshot() {
+        ClientModel result = clientModel.copy();
+        snapshot = result;
+        return result;
     }
 
-    public void addPlayer(User user, CatanColor color) {
+    public synchronized void addPlayer(User user, CatanColor color) {
         PlayerIndex index;
         for (PlayerInfo p : getGameInfo().getPlayers()) {
             if (p.getId() == user.getId()) {
                 p.setColor(color);
                 index = p.getPlayerIndex();
                 getClientModel().getPlayers().get(index.index()).setColor(color);
+                infoRevision.incrementAndGet();
+                // The model changed too, so clients holding the old version fetch it again
+                getClientModel().incrementVersion();
+                publishSnapshot();
                 return;
             }
         }
@@ -119,9 +176,12 @@ public class GameModel implements IDAOObject {
                 user.getId(),  // player ID
                 false  // have played dev card
         ));
+        infoRevision.incrementAndGet();
+        getClientModel().incrementVersion();
+        publishSnapshot();
     }
 
-    public void addAIPlayer() {
+    public synchronized void addAIPlayer() {
         final Map<Integer, String> names = new HashMap<>();
         names.put(-2, "Java");
         names.put(-3, "Python");
@@ -169,5 +229,8 @@ public class GameModel implements IDAOObject {
                 aiInfo.getId(),  // player ID
                 false  // have played dev card
         ));
+        infoRevision.incrementAndGet();
+        getClientModel().incrementVersion();
+        publishSnapshot();
     }
 }
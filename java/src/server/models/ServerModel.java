@@ -3,11 +3,15 @@ package server.models;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import server.db.IPersistenceProvider;
+import shared.definitions.MessageChannel;
 import shared.models.game.ClientModel;
+import shared.models.game.MessageList;
 import shared.models.games.GameInfo;
 import shared.models.games.PlayerInfo;
+import shared.tracing.Tracer;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ServerModel {
 
@@ -15,10 +19,11 @@ public class ServerModel {
     private Map<Integer, User> users;
     private Map<Integer, GameModel> gameModels;
     private transient Set<UserSession> sessions;
+    private transient int messageWindow;
 
     public ServerModel() {
         users = new HashMap<>();
-        gameModels = new HashMap<>();
+        gameModels = new ConcurrentHashMap<>();
         sessions = new HashSet<>();
     }
 
@@ -86,6 +91,7 @@ public class ServerModel {
         GameInfo gameInfo = new GameInfo(playerInfos, name, id);
 
         ClientModel clientModel = new ClientModel(randomTiles, randomPorts, randomNumbers);
+        applyMessageWindow(clientModel);
 
         GameModel gameModel = new GameModel(id, gameInfo, clientModel);
         gameModels.put(id, gameModel);
@@ -120,6 +126,27 @@ public class ServerModel {
         return gameModels.get(ID);
     }
 
+    /**
+     * @return every game, in order of id
+     */
+    public List<GameModel> getGameModels() {
+        List<GameModel> games = new ArrayList<>(gameModels.values());
+        games.sort(Comparator.comparingInt(GameModel::getId));
+        return games;
+    }
+
+    /**
+     * @return a number that goes up every time a game is added or any game's info changes, so
+     * {@link #getGameInfo()} is the same for as long as this is
+     */
+    public long getGameListRevision() {
+        long revision = gameModels.size();
+        for (GameModel g : gameModels.values()) {
+            revision += g.getInfoRevision();
+        }
+        return revision;
+    }
+
     @Nullable
     public List<GameInfo> getGameInfo() {
         List<GameInfo> gameInfoList = new ArrayList<>();
@@ -139,10 +166,54 @@ public class ServerModel {
             this.users.put(user.getId(), user);
         }
         for (GameModel game : p.getGameDAO().findAll()) {
+            applyMessageWindow(game.getClientModel());
             this.gameModels.put(game.getId(), game);
         }
     }
 
+    /**
+     * Realigns each game's chat and log with the messages stored for it, after every stored command
+     * has been replayed.  Lines evicted before the game was saved are not in the stored model,
+     * so the stored message count determines where its window starts.
+     *
+     * @param p the persistence provider the messages are stored in
+     */
+    public void updateMessagesFromDatabase(IPersistenceProvider p) {
+        for (GameModel game : gameModels.values()) {
+            ClientModel model = game.getClientModel();
+            alignMessages(model.getChat(), p.getMessageDAO().countMessages(game.getId(), MessageChannel.CHAT));
+            alignMessages(model.getLog(), p.getMessageDAO().countMessages(game.getId(), MessageChannel.LOG));
+            game.publishSnapshot();
+        }
+    }
+
+    private static void alignMessages(@NotNull MessageList messages, int stored) {
+        int firstIndex = stored - messages.getLines().size();
+        if (firstIndex > messages.getFirstIndex()) {
+            messages.setFirstIndex(firstIndex);
+        }
+    }
+
+    private void applyMessageWindow(@NotNull ClientModel model) {
+        model.getChat().setWindow(messageWindow);
+        model.getLog().setWindow(messageWindow);
+    }
+
+    /**
+     * @return the maximum number of chat and log lines kept in each game's model, or 0 if unbounded
+     */
+    public int getMessageWindow() {
+        return messageWindow;
+    }
+
+    /**
+     * @param messageWindow the maximum number of chat and log lines kept in each game's model,
+     *                      or 0 to keep every line
+     */
+    public void setMessageWindow(int messageWindow) {
+        this.messageWindow = messageWindow;
+    }
+
     /**
      * Called when server has processed n commands, this method updates all the game models in the database.
      *
@@ -153,4 +224,18 @@ public class ServerModel {
             p.getGameDAO().update(game);
         }
     }
+
+    /**
+     * Updates some of the game models in the database while the server is running.
+     * <p>
+     * The caller must hold the lock of every game, so none of them is in the middle of a move.
+     *
+     * @param p     the persistence provider to save to
+     * @param games the games to save
+     */
+    public void updateGamesInDatabase(IPersistenceProvider p, List<GameModel> games) {
+        for (GameModel game : games) {
+            Tracer.trace("IGameDAO.update", () -> p.getGameDAO().update(game));
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package server.plugin;
 
 import com.esotericsoftware.yamlbeans.YamlReader;
+import server.db.memory.MemoryProvider;
 import server.db.mongodb.MongoProvider;
 import server.db.postgres.PostgresProvider;
 
@@ -12,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static server.plugin.PluginConfig.PluginType.PERSISTENCE;
 
@@ -25,16 +27,24 @@ public class PluginLoader implements IPluginLoader {
         // neededPlugins
         List<String> neededPlugins = pluginConfigs.stream()
                 .map(PluginConfig::getJarName)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
         // zipNameConfigs
         Map<String, Map> zipNameConfigs = pluginConfigs.stream()
+                .filter(x -> x.getJarName() != null)
                 .collect(Collectors.toMap(PluginConfig::getJarName, PluginConfig::getOtherArgs));
 
+        // builtInPlugins have no jar to look for
+        Stream<IPlugin> builtInPlugins = pluginConfigs.stream()
+                .filter(x -> x.getJarName() == null)
+                .map(this::toBuiltInClass);
+
         // loadConfig
-        return Arrays.stream(folder.listFiles())
-                .filter(x -> neededPlugins.contains(x.getName()))
-                .map(x -> toClass(x, zipNameConfigs.get(x.getName())))
+        return Stream.concat(Arrays.stream(folder.listFiles())
+                        .filter(x -> neededPlugins.contains(x.getName()))
+                        .map(x -> toClass(x, zipNameConfigs.get(x.getName()))),
+                builtInPlugins)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
@@ -116,4 +126,20 @@ public class PluginLoader implements IPluginLoader {
 
         return null;
     }
+
+    /**
+     * Construct a plugin that is part of the server rather than a jar
+     *
+     * @param config the plugin's config
+     * @return IPlugin, or null if there is no such plugin
+     */
+    private IPlugin toBuiltInClass(PluginConfig config) {
+        // The YAML reader reads every scalar as a String
+        @SuppressWarnings("unchecked")
+        Map<String, String> params = config.getOtherArgs();
+        if (params != null && MemoryProvider.NAME.equals(params.get("name"))) {
+            return new MemoryProvider(params);
+        }
+        return null;
+    }
 }
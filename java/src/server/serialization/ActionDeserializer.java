@@ -1,6 +1,12 @@
 package server.serialization;
 
-import com.google.gson.*;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.jetbrains.annotations.NotNull;
 import server.models.AddAIAction;
 import server.models.CreateGameAction;
@@ -10,18 +16,34 @@ import shared.models.ICommandAction;
 import shared.models.moves.*;
 import shared.serialization.ModelSerializer;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
 import static shared.utils.ClassUtils.getStackTrace;
 
+/**
+ * Reads stored commands back into the {@link ICommandAction} their {@code type} field names.
+ * <p>
+ * Commands are read in a single pass: once {@code type} has been read, the rest of the fields are
+ * bound straight onto a new instance of its class.  Commands are always stored with {@code type}
+ * first; any fields that do come before it are buffered and bound once it is known.
+ */
 public class ActionDeserializer {
     private static final Logger LOGGER = Logger.getLogger("ActionDeserializer");
-    private static ActionDeserializer instance;
+    private static final TypeAdapter<JsonElement> TREE_ADAPTER =
+            ModelSerializer.getInstance().getAdapter(TypeToken.get(JsonElement.class));
     public Map<String, Class<? extends ICommandAction>> types = new HashMap<>();
+    private final Map<String, CommandBinding> bindings = new HashMap<>();
 
     private ActionDeserializer() {
         Stream.of(
@@ -69,33 +91,165 @@ public class ActionDeserializer {
                     typeStr = typeJson.getAsString();
                 }
                 types.put(typeStr, commandType);
-            } catch (NoSuchFieldException | IllegalAccessException | InstantiationException e) {
+                bindings.put(typeStr, new CommandBinding(commandType));
+            } catch (NoSuchFieldException | NoSuchMethodException | IllegalAccessException | InstantiationException e) {
                 LOGGER.warning(getStackTrace(e));
             }
         });
     }
 
     public static ActionDeserializer getInstance() {
-        if (instance == null)
-            instance = new ActionDeserializer();
-        return instance;
+        return Holder.INSTANCE;
     }
 
     public ICommandAction deserializeAction(@NotNull String s) {
-        JsonElement e = new JsonParser().parse(s);
-        JsonObject o = e.getAsJsonObject();
-        if (o == null) {
-            throw new JsonParseException("Action given is not an object!");
+        return deserializeAction(new StringReader(s));
+    }
+
+    /**
+     * Reads one command, such as a column streamed out of the database.
+     *
+     * @param r the JSON of the command
+     * @return the command, never null
+     * @throws JsonParseException if the JSON is not a command of a registered type
+     */
+    public ICommandAction deserializeAction(@NotNull Reader r) {
+        JsonReader in = new JsonReader(r);
+        in.setLenient(true);
+        return deserializeAction(in);
+    }
+
+    /**
+     * Reads one command from a JSON stream, such as one that reads a document from the database.
+     *
+     * @param in the JSON of the command
+     * @return the command, never null
+     * @throws JsonParseException if the JSON is not a command of a registered type
+     */
+    public ICommandAction deserializeAction(@NotNull JsonReader in) {
+        try {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new JsonParseException("Action given is not an object!");
+            }
+            return readAction(in);
+        } catch (IOException | IllegalStateException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    private ICommandAction readAction(JsonReader in) throws IOException {
+        CommandBinding binding = null;
+        ICommandAction action = null;
+        // Fields seen before the type, which can only be bound once it is known
+        List<String> names = null;
+        List<JsonElement> values = null;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (name.equals("type")) {
+                if (in.peek() != JsonToken.STRING) {
+                    throw new JsonParseException("Action given does not contain a string type field");
+                }
+                String typeStr = in.nextString();
+                binding = bindings.get(typeStr);
+                if (binding == null) {
+                    throw new JsonParseException("No action type with name '" + typeStr + "' is registered");
+                }
+                action = binding.newInstance();
+                if (names != null) {
+                    for (int i = 0; i < names.size(); i++) {
+                        binding.bindTree(action, names.get(i), values.get(i));
+                    }
+                }
+            } else if (binding != null) {
+                binding.bind(action, name, in);
+            } else {
+                if (names == null) {
+                    names = new ArrayList<>();
+                    values = new ArrayList<>();
+                }
+                names.add(name);
+                values.add(TREE_ADAPTER.read(in));
+            }
         }
-        JsonPrimitive p = o.getAsJsonPrimitive("type");
-        if (p == null || p.getAsString() == null) {
+        in.endObject();
+
+        if (action == null) {
             throw new JsonParseException("Action given does not contain a string type field");
         }
-        String typeStr = p.getAsString();
-        Class<? extends ICommandAction> c = types.get(typeStr);
-        if (c == null) {
-            throw new JsonParseException("No action type with name '" + typeStr + "' is registered");
+        return action;
+    }
+
+    /**
+     * Initialized on first use of getInstance, and safely published to every thread by the class loader.
+     */
+    private static class Holder {
+        private static final ActionDeserializer INSTANCE = new ActionDeserializer();
+    }
+
+    /**
+     * How to build one type of command: its constructor, and the adapter and field for each JSON name.
+     */
+    private static class CommandBinding {
+        private final Constructor<? extends ICommandAction> constructor;
+        private final Map<String, Field> fields = new HashMap<>();
+        private final Map<String, TypeAdapter<?>> adapters = new HashMap<>();
+
+        CommandBinding(Class<? extends ICommandAction> type) throws NoSuchMethodException {
+            constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                        continue;
+                    }
+                    SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                    String name = serializedName != null ? serializedName.value() : field.getName();
+                    if (name.equals("type") || fields.containsKey(name)) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.put(name, field);
+                    adapters.put(name, ModelSerializer.getInstance().getAdapter(TypeToken.get(field.getGenericType())));
+                }
+            }
+        }
+
+        ICommandAction newInstance() {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new JsonParseException(e);
+            }
+        }
+
+        void bind(ICommandAction action, String name, JsonReader in) throws IOException {
+            TypeAdapter<?> adapter = adapters.get(name);
+            if (adapter == null) {
+                in.skipValue();
+                return;
+            }
+            set(action, fields.get(name), adapter.read(in));
+        }
+
+        void bindTree(ICommandAction action, String name, JsonElement value) {
+            TypeAdapter<?> adapter = adapters.get(name);
+            if (adapter != null) {
+                set(action, fields.get(name), adapter.fromJsonTree(value));
+            }
+        }
+
+        private static void set(ICommandAction action, Field field, Object value) {
+            if (value == null && field.getType().isPrimitive()) {
+                return;
+            }
+            try {
+                field.set(action, value);
+            } catch (IllegalAccessException e) {
+                throw new JsonParseException(e);
+            }
         }
-        return ModelSerializer.getInstance().fromJson(e, c);
     }
 }
@@ -7,6 +7,8 @@ import shared.definitions.AIType;
 import shared.exceptions.JoinGameException;
 import shared.models.game.AddAIRequest;
 import shared.models.game.ClientModel;
+import shared.models.game.MessagePage;
+import shared.models.game.MessagesRequest;
 import shared.models.games.*;
 import shared.models.moves.*;
 import shared.models.user.Credentials;
@@ -136,6 +138,21 @@ public interface IServer {
     @ServerEndpoint(value = "/game/model", isPost = false)
     ClientModel gameState(int version) throws IllegalArgumentException, CommunicationException;
 
+    /**
+     * Returns a page of older chat or log messages.
+     * The game model only carries the most recent messages; older ones are fetched through this.
+     *
+     * @param messagesObject Which message list to read, and the range of messages to return
+     * @return The requested messages, which may be fewer than asked for if the range passes the end of the list
+     * @pre <ul>
+     * <li>User is logged in and in a game.</li>
+     * <li>first and count are not negative</li>
+     * </ul>
+     * @post None
+     */
+    @ServerEndpoint(value = "/game/messages", isPost = false)
+    MessagePage getMessages(@NotNull MessagesRequest messagesObject) throws IllegalArgumentException, CommunicationException;
+
     /**
      * Clears the command history of the current game (not the players)
      *
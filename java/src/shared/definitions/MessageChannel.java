@@ -0,0 +1,21 @@
+package shared.definitions;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * The message lists kept for every game.
+ * Used by the {@code /game/messages} endpoint to page through older messages.
+ */
+public enum MessageChannel {
+    /**
+     * The messages players send to each other
+     */
+    @SerializedName("chat")
+    CHAT,
+
+    /**
+     * The game's history log
+     */
+    @SerializedName("log")
+    LOG
+}
@@ -36,6 +36,7 @@ public enum PlayerIndex {
 
     public static final int MAX_PLAYERS = 4;
     public static final PlayerIndex LAST = fromInt(MAX_PLAYERS - 1);
+    private static final PlayerIndex[] VALUES = values();
     private int playerIndex;
 
     PlayerIndex(int index) {
@@ -68,7 +69,7 @@ public enum PlayerIndex {
 
     @NotNull
     public static Stream<PlayerIndex> valuesStream() {
-        return Arrays.stream(values());
+        return Arrays.stream(VALUES);
     }
 
     /**
@@ -9,6 +9,7 @@ import shared.models.game.ClientModel;
 import shared.models.game.GameMap;
 import shared.models.game.Player;
 import shared.models.game.ResourceSet;
+import shared.tracing.Tracer;
 
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -59,8 +60,8 @@ public class BuildingFacade extends AbstractFacade {
             resource.purchaseItem(player, PurchaseType.ROAD);
         }
         player.setRoads(player.getRoads() - 1);
-        map.findLongestRoad();
-        getFacades().getTurn().calcVictoryPoints();
+        Tracer.trace("MapFacade.findLongestRoad", map::findLongestRoad);
+        Tracer.trace("TurnFacade.calcVictoryPoints", getFacades().getTurn()::calcVictoryPoints);
     }
 
     /**
@@ -99,8 +100,8 @@ public class BuildingFacade extends AbstractFacade {
             resource.purchaseItem(player, PurchaseType.SETTLEMENT);
         }
         player.setSettlements(player.getSettlements() - 1);
-        map.findLongestRoad();
-        getFacades().getTurn().calcVictoryPoints();
+        Tracer.trace("MapFacade.findLongestRoad", map::findLongestRoad);
+        Tracer.trace("TurnFacade.calcVictoryPoints", getFacades().getTurn()::calcVictoryPoints);
     }
 
     /**
@@ -122,7 +123,7 @@ public class BuildingFacade extends AbstractFacade {
         resource.purchaseItem(player, PurchaseType.CITY);
         player.setCities(player.getCities() - 1);
         player.setSettlements(player.getSettlements() + 1);
-        getFacades().getTurn().calcVictoryPoints();
+        Tracer.trace("TurnFacade.calcVictoryPoints", getFacades().getTurn()::calcVictoryPoints);
     }
 
     /**
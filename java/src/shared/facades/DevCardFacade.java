@@ -8,6 +8,7 @@ import shared.models.game.ClientModel;
 import shared.models.game.DevCardSet;
 import shared.models.game.Player;
 import shared.models.game.ResourceSet;
+import shared.tracing.Tracer;
 
 import java.util.Objects;
 
@@ -182,7 +183,7 @@ public class DevCardFacade extends AbstractFacade {
         }
 
         getFacades().getTurn().startRobbing();
-        getFacades().getTurn().calcVictoryPoints();
+        Tracer.trace("TurnFacade.calcVictoryPoints", getFacades().getTurn()::calcVictoryPoints);
     }
 
     /**
@@ -231,7 +232,7 @@ public class DevCardFacade extends AbstractFacade {
 
         //Changes here
         //getModel().setWinner(currentPlayer.getPlayerID());
-        getFacades().getTurn().calcVictoryPoints();
+        Tracer.trace("TurnFacade.calcVictoryPoints", getFacades().getTurn()::calcVictoryPoints);
         if (getFacades().getTurn().canEndGame()) {
             getModel().setWinner(currentPlayer.getPlayerID());
         }
@@ -30,6 +30,10 @@ public class FacadeManager {
     private TradingFacade trading;
     private ResourcesFacade resources;
     private DevCardFacade devCards;
+    /**
+     * Lists the legal moves for a player
+     */
+    private MoveGenerator moves;
 
     /**
      * Init the Facade manager with the starting clientModel
@@ -48,6 +52,7 @@ public class FacadeManager {
         trading = new TradingFacade(this);
         resources = new ResourcesFacade(this);
         devCards = new DevCardFacade(this);
+        moves = new MoveGenerator(this);
     }
 
     /**
@@ -132,4 +137,12 @@ public class FacadeManager {
     public void setDevCards(DevCardFacade devCards) {
         this.devCards = devCards;
     }
+
+    public MoveGenerator getMoves() {
+        return moves;
+    }
+
+    public void setMoves(MoveGenerator moves) {
+        this.moves = moves;
+    }
 }
@@ -197,21 +197,21 @@ public class MapFacade extends AbstractFacade {
         List<HexLocation> locs = new ArrayList<>();
         for (int i = 0; i < radius + 1; ++i) {
             // Western border
-            locs.add(new HexLocation(-radius, i));
+            locs.add(HexLocation.of(-radius, i));
             // Eastern border
-            locs.add(new HexLocation(radius, -i));
+            locs.add(HexLocation.of(radius, -i));
         }
         for (int i = 0; i < radius; ++i) {
             // Southwestern border
-            locs.add(new HexLocation(-i, radius));
+            locs.add(HexLocation.of(-i, radius));
             // Northeastern border
-            locs.add(new HexLocation(i, -radius));
+            locs.add(HexLocation.of(i, -radius));
         }
         for (int i = 1; i < radius; ++i) {
             // Southeastern border
-            locs.add(new HexLocation(i, radius - i));
+            locs.add(HexLocation.of(i, radius - i));
             // Northwestern border
-            locs.add(new HexLocation(-i, i - radius));
+            locs.add(HexLocation.of(-i, i - radius));
         }
         return locs;
     }
@@ -0,0 +1,416 @@
+package shared.facades;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import shared.definitions.*;
+import shared.locations.EdgeLocation;
+import shared.locations.HexLocation;
+import shared.locations.VertexLocation;
+import shared.models.GameAction;
+import shared.models.game.*;
+import shared.models.moves.*;
+
+import java.util.*;
+
+/**
+ * Lists every legal {@link GameAction} a player can make.
+ * <p>
+ * The board topology (which edges and vertices exist and how they touch) is computed once per map,
+ * and each player's candidate road and settlement spots are updated incrementally as roads and
+ * buildings appear, so generating moves never scans the whole board.  The candidates are then
+ * checked with the same facade methods the moves themselves use, so anything returned here will
+ * execute successfully against the current model.
+ * <p>
+ * Domestic trade offers and chat are not generated, since their arguments are open-ended.
+ */
+public class MoveGenerator extends AbstractFacade {
+    private static final int MIN_ROLL = 2;
+    private static final int MAX_ROLL = 12;
+
+    // Topology, rebuilt only when the hexes change
+    private Map<HexLocation, Hex> topologyHexes;
+    private Set<VertexLocation> boardVertices;
+    private Map<EdgeLocation, Set<VertexLocation>> edgeVertices;
+    private Map<VertexLocation, Set<EdgeLocation>> vertexEdges;
+
+    // Incremental state for the map last looked at
+    private GameMap trackedMap;
+    private Set<EdgeLocation> knownRoads;
+    private Set<VertexLocation> knownBuildings;
+    private Map<PlayerIndex, Set<EdgeLocation>> roadFrontier;
+    private Map<PlayerIndex, Set<VertexLocation>> settlementFrontier;
+
+    public MoveGenerator(@NotNull FacadeManager manager) {
+        super(manager);
+    }
+
+    /**
+     * Get every legal move for a player in the current {@link TurnStatus}.
+     *
+     * @param player the player to generate moves for, not null
+     * @return the legal moves, without facades set; empty if the player cannot act
+     */
+    @NotNull
+    public List<GameAction> getLegalMoves(@NotNull Player player) {
+        update();
+        List<GameAction> moves = new ArrayList<>();
+        PlayerIndex index = player.getPlayerIndex();
+        TurnStatus status = getFacades().getTurn().getPhase();
+        if (status == null || status.isEndGame()) {
+            return moves;
+        }
+
+        // The only move that can be made on someone else's turn
+        if (getFacades().getTrading().canRespondToTradeOffer(player, true)) {
+            moves.add(new AcceptTradeAction(true, index));
+        }
+        if (getFacades().getTrading().canRespondToTradeOffer(player, false)) {
+            moves.add(new AcceptTradeAction(false, index));
+        }
+
+        if (status == TurnStatus.DISCARDING) {
+            addDiscards(player, moves);
+            return moves;
+        }
+        if (!getFacades().getTurn().isPlayersTurn(player)) {
+            return moves;
+        }
+
+        switch (status) {
+            case FIRST_ROUND:
+            case SECOND_ROUND:
+                addSetupMoves(player, status == TurnStatus.FIRST_ROUND ? 1 : 2, moves);
+                break;
+            case ROLLING:
+                for (int roll = MIN_ROLL; roll <= MAX_ROLL; roll++) {
+                    moves.add(new RollNumberAction(roll, index));
+                }
+                break;
+            case ROBBING:
+                for (HexLocation hex : getRobberHexes()) {
+                    for (PlayerIndex victim : getVictims(hex, index)) {
+                        moves.add(new RobPlayerAction(hex, index, victim));
+                    }
+                }
+                break;
+            case PLAYING:
+                addPlayingMoves(player, moves);
+                break;
+            default:
+                break;
+        }
+        if (getFacades().getTurn().canEndTurn(player)) {
+            moves.add(new FinishMoveAction(index));
+        }
+        return moves;
+    }
+
+    /**
+     * Get the edges a player could build a road on right now.
+     *
+     * @param player the player building, not null
+     * @param isFree whether the road would be free
+     * @return the normalized locations of every legal road
+     */
+    @NotNull
+    public Set<EdgeLocation> getLegalRoads(@NotNull Player player, boolean isFree) {
+        update();
+        boolean isSetup = getFacades().getTurn().isSetup();
+        Set<EdgeLocation> result = new HashSet<>();
+        for (EdgeLocation edge : roadFrontier.get(player.getPlayerIndex())) {
+            if (getFacades().getBuilding().canBuildRoad(player, edge, isFree, isSetup)) {
+                result.add(edge);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the vertices a player could build a settlement on right now.
+     *
+     * @param player the player building, not null
+     * @param isFree whether the settlement would be free
+     * @return the normalized locations of every legal settlement
+     */
+    @NotNull
+    public Set<VertexLocation> getLegalSettlements(@NotNull Player player, boolean isFree) {
+        update();
+        // During setup settlements don't need to connect to a road
+        Collection<VertexLocation> candidates = getFacades().getTurn().isSetup() ?
+                boardVertices : settlementFrontier.get(player.getPlayerIndex());
+        Set<VertexLocation> result = new HashSet<>();
+        for (VertexLocation vertex : candidates) {
+            if (getFacades().getBuilding().canBuildSettlement(player, vertex, isFree)) {
+                result.add(vertex);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get the settlements a player could upgrade to a city right now.
+     *
+     * @param player the player building, not null
+     * @return the normalized locations of every legal city
+     */
+    @NotNull
+    public Set<VertexLocation> getLegalCities(@NotNull Player player) {
+        Set<VertexLocation> result = new HashSet<>();
+        for (VertexLocation vertex : getModel().getMap().getPlayerSettlements(player.getPlayerIndex())) {
+            if (getFacades().getBuilding().canBuildCity(player, vertex)) {
+                result.add(vertex);
+            }
+        }
+        return result;
+    }
+
+    private void addSetupMoves(@NotNull Player player, int round, @NotNull List<GameAction> moves) {
+        PlayerIndex index = player.getPlayerIndex();
+        int settlementsPlaced = Constants.START_SETTLEMENTS - player.getSettlements();
+        int roadsPlaced = Constants.START_ROADS - player.getRoads();
+        if (settlementsPlaced < round) {
+            for (VertexLocation vertex : getLegalSettlements(player, true)) {
+                moves.add(new BuildSettlementAction(true, vertex, index));
+            }
+        } else if (roadsPlaced < round) {
+            for (EdgeLocation edge : getLegalRoads(player, true)) {
+                moves.add(new BuildRoadAction(true, edge, index));
+            }
+        }
+    }
+
+    private void addPlayingMoves(@NotNull Player player, @NotNull List<GameAction> moves) {
+        PlayerIndex index = player.getPlayerIndex();
+        Set<EdgeLocation> freeRoads = getLegalRoads(player, true);
+        if (getFacades().getResources().canPurchaseItem(player, PurchaseType.ROAD)) {
+            for (EdgeLocation edge : freeRoads) {
+                moves.add(new BuildRoadAction(false, edge, index));
+            }
+        }
+        for (VertexLocation vertex : getLegalSettlements(player, false)) {
+            moves.add(new BuildSettlementAction(false, vertex, index));
+        }
+        for (VertexLocation vertex : getLegalCities(player)) {
+            moves.add(new BuildCityAction(vertex, index));
+        }
+        if (getFacades().getDevCards().canBuyDevCard(player)) {
+            moves.add(new BuyDevCardAction(index));
+        }
+        addMaritimeTrades(player, moves);
+        addDevCardMoves(player, freeRoads, moves);
+    }
+
+    private void addMaritimeTrades(@NotNull Player player, @NotNull List<GameAction> moves) {
+        TradingFacade trading = getFacades().getTrading();
+        for (ResourceType give : ResourceType.values()) {
+            for (ResourceType get : ResourceType.values()) {
+                if (trading.canMaritimeTrade(player, give, get)) {
+                    moves.add(new MaritimeTradeAction(get, trading.maritimeTradeRatio(player, give),
+                            player.getPlayerIndex(), give));
+                }
+            }
+        }
+    }
+
+    private void addDevCardMoves(@NotNull Player player, @NotNull Set<EdgeLocation> freeRoads,
+                                 @NotNull List<GameAction> moves) {
+        DevCardFacade devCards = getFacades().getDevCards();
+        PlayerIndex index = player.getPlayerIndex();
+        if (devCards.canUseSoldierCard(player)) {
+            // Playing the card starts robbing, so any hex but the robber's is allowed
+            for (HexLocation hex : topologyHexes.keySet()) {
+                if (hex.equals(getModel().getMap().getRobber())) {
+                    continue;
+                }
+                for (PlayerIndex victim : getVictims(hex, index)) {
+                    moves.add(new SoldierAction(hex, index, PlayerIndex.index(victim)));
+                }
+            }
+        }
+        for (ResourceType first : ResourceType.values()) {
+            if (devCards.canUseMonopolyCard(player, first)) {
+                moves.add(new MonopolyAction(index, first));
+            }
+            for (ResourceType second : ResourceType.values()) {
+                // Year of plenty is unordered
+                if (second.ordinal() >= first.ordinal() && devCards.canUseYearOfPlentyCard(player, first, second)) {
+                    moves.add(new YearofPlentyAction(first, index, second));
+                }
+            }
+        }
+        if (devCards.canUseVictoryPointCards(player)) {
+            moves.add(new MonumentAction(index));
+        }
+        // The card is checked after both roads are placed, so a road must remain afterwards
+        if (devCards.canUseRoadBuildingCard(player) && player.getRoads() > 2) {
+            addRoadBuildingMoves(index, freeRoads, moves);
+        }
+    }
+
+    private void addRoadBuildingMoves(@NotNull PlayerIndex index, @NotNull Set<EdgeLocation> freeRoads,
+                                      @NotNull List<GameAction> moves) {
+        Map<EdgeLocation, PlayerIndex> roads = getModel().getMap().getRoads();
+        Set<Set<EdgeLocation>> independentPairs = new HashSet<>();
+        for (EdgeLocation first : freeRoads) {
+            // The second road may also extend from the first one
+            Set<EdgeLocation> seconds = new LinkedHashSet<>(freeRoads);
+            for (VertexLocation vertex : edgeVertices.get(first)) {
+                for (EdgeLocation edge : vertexEdges.get(vertex)) {
+                    if (!roads.containsKey(edge)) {
+                        seconds.add(edge);
+                    }
+                }
+            }
+            seconds.remove(first);
+            for (EdgeLocation second : seconds) {
+                // Two roads that are each legal on their own can be built in either order
+                if (freeRoads.contains(second) &&
+                        !independentPairs.add(new HashSet<>(Arrays.asList(first, second)))) {
+                    continue;
+                }
+                moves.add(new RoadBuildingAction(second, first, index));
+            }
+        }
+    }
+
+    private void addDiscards(@NotNull Player player, @NotNull List<GameAction> moves) {
+        if (player.hasDiscarded() || !getFacades().getRobber().shouldDiscardHalf(player)) {
+            return;
+        }
+        ResourceSet hand = player.getResources();
+        int count = hand.getTotal() / 2;
+        addDiscards(player, hand, ResourceType.values(), 0, new ResourceSet(), count, moves);
+    }
+
+    private void addDiscards(@NotNull Player player, @NotNull ResourceSet hand, @NotNull ResourceType[] types,
+                             int typeIndex, @NotNull ResourceSet discard, int remaining,
+                             @NotNull List<GameAction> moves) {
+        if (remaining == 0) {
+            moves.add(new DiscardCardsAction(new ResourceSet(discard), player.getPlayerIndex()));
+            return;
+        }
+        if (typeIndex == types.length) {
+            return;
+        }
+        ResourceType type = types[typeIndex];
+        int most = Math.min(remaining, hand.getOfType(type));
+        for (int n = most; n >= 0; n--) {
+            discard.setOfType(type, n);
+            addDiscards(player, hand, types, typeIndex + 1, discard, remaining - n, moves);
+        }
+        discard.setOfType(type, 0);
+    }
+
+    @NotNull
+    private List<HexLocation> getRobberHexes() {
+        List<HexLocation> result = new ArrayList<>();
+        for (HexLocation hex : topologyHexes.keySet()) {
+            if (getFacades().getRobber().canMoveRobber(hex)) {
+                result.add(hex);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get everyone who could be robbed if the robber were moved to a hex.
+     *
+     * @return the players that could be robbed, or a single null if there is no one
+     */
+    @NotNull
+    private List<PlayerIndex> getVictims(@NotNull HexLocation hex, @NotNull PlayerIndex robber) {
+        GameMap map = getModel().getMap();
+        List<PlayerIndex> result = new ArrayList<>();
+        for (VertexLocation vertex : hex.getVertices()) {
+            PlayerIndex owner = map.getBuildingOwner(vertex);
+            if (owner != null && owner != robber && !result.contains(owner) &&
+                    getModel().getPlayer(owner).getResources().getTotal() > 0) {
+                result.add(owner);
+            }
+        }
+        if (result.isEmpty()) {
+            result.add(null);
+        }
+        return result;
+    }
+
+    /**
+     * Brings the topology and candidate sets up to date with the current map.
+     */
+    private void update() {
+        GameMap map = getModel().getMap();
+        if (map.getHexes() != topologyHexes) {
+            buildTopology(map.getHexes());
+            trackedMap = null;
+        }
+        if (map != trackedMap || !map.getRoads().keySet().containsAll(knownRoads)) {
+            resetCandidates(map);
+        }
+        if (map.getRoads().size() != knownRoads.size()) {
+            map.getRoads().forEach((edge, owner) -> {
+                if (!knownRoads.contains(edge)) {
+                    addRoad(map, edge, owner);
+                }
+            });
+        }
+        if (map.getSettlements().size() + map.getCities().size() != knownBuildings.size()) {
+            map.getSettlements().forEach((vertex, owner) -> addBuilding(map, vertex, owner));
+            map.getCities().forEach((vertex, owner) -> addBuilding(map, vertex, owner));
+        }
+    }
+
+    private void buildTopology(@NotNull Map<HexLocation, Hex> hexes) {
+        topologyHexes = hexes;
+        boardVertices = new HashSet<>();
+        edgeVertices = new HashMap<>();
+        vertexEdges = new HashMap<>();
+        for (HexLocation hex : hexes.keySet()) {
+            hex.getEdgesStream().forEach(edge -> edgeVertices.computeIfAbsent(edge, EdgeLocation::getConnectedVertices));
+            hex.getVerticesStream().forEach(boardVertices::add);
+        }
+        edgeVertices.forEach((edge, vertices) -> {
+            for (VertexLocation vertex : vertices) {
+                vertexEdges.computeIfAbsent(vertex, v -> new HashSet<>()).add(edge);
+            }
+        });
+    }
+
+    private void resetCandidates(@NotNull GameMap map) {
+        trackedMap = map;
+        knownRoads = new HashSet<>();
+        knownBuildings = new HashSet<>();
+        roadFrontier = new EnumMap<>(PlayerIndex.class);
+        settlementFrontier = new EnumMap<>(PlayerIndex.class);
+        PlayerIndex.valuesStream().forEach(p -> {
+            roadFrontier.put(p, new HashSet<>());
+            settlementFrontier.put(p, new HashSet<>());
+        });
+    }
+
+    private void addRoad(@NotNull GameMap map, @NotNull EdgeLocation edge, @Nullable PlayerIndex owner) {
+        knownRoads.add(edge);
+        roadFrontier.values().forEach(frontier -> frontier.remove(edge));
+        if (owner == null || !edgeVertices.containsKey(edge)) {
+            return;
+        }
+        for (VertexLocation vertex : edgeVertices.get(edge)) {
+            settlementFrontier.get(owner).add(vertex);
+            addFreeEdges(map, vertex, owner);
+        }
+    }
+
+    private void addBuilding(@NotNull GameMap map, @NotNull VertexLocation vertex, @Nullable PlayerIndex owner) {
+        if (!knownBuildings.add(vertex) || owner == null) {
+            return;
+        }
+        addFreeEdges(map, vertex, owner);
+    }
+
+    private void addFreeEdges(@NotNull GameMap map, @NotNull VertexLocation vertex, @NotNull PlayerIndex owner) {
+        for (EdgeLocation edge : vertexEdges.getOrDefault(vertex, Collections.emptySet())) {
+            if (!map.getRoads().containsKey(edge)) {
+                roadFrontier.get(owner).add(edge);
+            }
+        }
+    }
+}
@@ -9,12 +9,39 @@ import java.util.Set;
 public class EdgeLocation {
     private HexLocation hexLoc;
     private EdgeDirection dir;
+    private transient int hash;
+    private transient EdgeLocation normalized;
 
     public EdgeLocation(HexLocation hexLoc, EdgeDirection dir) {
         setHexLoc(hexLoc);
         setDir(dir);
     }
 
+    /**
+     * Get the canonical location of an edge.
+     * <p>
+     * Within {@link HexLocation#CACHE_RADIUS} the same instance is always returned for the same hex
+     * and direction, so it can be compared by identity.
+     *
+     * @param hexLoc the hex the edge is on, not null
+     * @param dir    the direction of the edge from the center of the hex
+     * @return the canonical edge location
+     */
+    public static EdgeLocation of(HexLocation hexLoc, EdgeDirection dir) {
+        if (hexLoc == null) {
+            throw new IllegalArgumentException("hexLoc cannot be null");
+        }
+        return hexLoc.getEdge(dir);
+    }
+
+    /**
+     * @return the canonical instance equal to this location
+     * @see #of(HexLocation, EdgeDirection)
+     */
+    public EdgeLocation intern() {
+        return of(hexLoc, dir);
+    }
+
     public HexLocation getHexLoc() {
         return hexLoc;
     }
@@ -41,10 +68,14 @@ public class EdgeLocation {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((dir == null) ? 0 : dir.hashCode());
-        result = prime * result + ((hexLoc == null) ? 0 : hexLoc.hashCode());
+        int result = hash;
+        if (result == 0) {
+            final int prime = 31;
+            result = 1;
+            result = prime * result + ((dir == null) ? 0 : dir.hashCode());
+            result = prime * result + ((hexLoc == null) ? 0 : hexLoc.hashCode());
+            hash = result;
+        }
         return result;
     }
 
@@ -73,9 +104,16 @@ public class EdgeLocation {
      * hex location to a single canonical form. This is useful for using hex
      * locations as map keys.
      *
-     * @return Normalized hex location
+     * @return Normalized hex location, interned
      */
     public EdgeLocation getNormalizedLocation() {
+        if (normalized == null) {
+            normalized = normalize();
+        }
+        return normalized;
+    }
+
+    private EdgeLocation normalize() {
 
         // Return an EdgeLocation that has direction NW, N, or NE
 
@@ -83,11 +121,11 @@ public class EdgeLocation {
             case NorthWest:
             case North:
             case NorthEast:
-                return this;
+                return intern();
             case SouthWest:
             case South:
             case SouthEast:
-                return new EdgeLocation(hexLoc.getNeighborLoc(dir),
+                return of(hexLoc.getNeighborLoc(dir),
                         dir.getOppositeDirection());
             default:
                 assert false;
@@ -112,20 +150,20 @@ public class EdgeLocation {
 
         switch (edgeDirection) {
             case North:
-                vertexOne = new VertexLocation(hex, VertexDirection.NorthWest);
-                vertexTwo = new VertexLocation(hex, VertexDirection.NorthEast);
+                vertexOne = VertexLocation.of(hex, VertexDirection.NorthWest);
+                vertexTwo = VertexLocation.of(hex, VertexDirection.NorthEast);
                 vertices.add(vertexOne);
                 vertices.add(vertexTwo);
                 break;
             case NorthWest:
-                vertexOne = new VertexLocation(hex, VertexDirection.West).getNormalizedLocation();
-                vertexTwo = new VertexLocation(hex, VertexDirection.NorthWest);
+                vertexOne = VertexLocation.of(hex, VertexDirection.West).getNormalizedLocation();
+                vertexTwo = VertexLocation.of(hex, VertexDirection.NorthWest);
                 vertices.add(vertexOne);
                 vertices.add(vertexTwo);
                 break;
             case NorthEast:
-                vertexOne = new VertexLocation(hex, VertexDirection.NorthEast);
-                vertexTwo = new VertexLocation(hex, VertexDirection.East).getNormalizedLocation();
+                vertexOne = VertexLocation.of(hex, VertexDirection.NorthEast);
+                vertexTwo = VertexLocation.of(hex, VertexDirection.East).getNormalizedLocation();
                 vertices.add(vertexOne);
                 vertices.add(vertexTwo);
                 break;
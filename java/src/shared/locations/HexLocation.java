@@ -10,8 +10,28 @@ import java.util.stream.Stream;
 
 /**
  * Represents the location of a hex on a hex map
+ * <p>
+ * Locations within {@link #CACHE_RADIUS} of the center are interned: {@link #of(int, int)} always returns
+ * the same instance for them, and that instance hands out interned {@link EdgeLocation}s and
+ * {@link VertexLocation}s.  Prefer the factory methods over the constructors so that map lookups
+ * on these locations are identity comparisons.
  */
 public class HexLocation {
+    /**
+     * Every hex with both coordinates within this distance of the center is interned.
+     * This covers the largest board along with the ring of water hexes around it.
+     */
+    public static final int CACHE_RADIUS = 8;
+    private static final HexLocation[][] CACHE = new HexLocation[CACHE_RADIUS * 2 + 1][CACHE_RADIUS * 2 + 1];
+
+    static {
+        for (int x = -CACHE_RADIUS; x <= CACHE_RADIUS; x++) {
+            for (int y = -CACHE_RADIUS; y <= CACHE_RADIUS; y++) {
+                CACHE[x + CACHE_RADIUS][y + CACHE_RADIUS] = new HexLocation(x, y, true);
+            }
+        }
+    }
+
     @SerializedName("x")
     @Expose
     private int x;
@@ -20,6 +40,10 @@ public class HexLocation {
     @Expose
     private int y;
 
+    private transient int hash;
+    private transient EdgeLocation[] edges;
+    private transient VertexLocation[] vertices;
+
     public HexLocation() {
     }
 
@@ -28,6 +52,62 @@ public class HexLocation {
         setY(y);
     }
 
+    private HexLocation(int x, int y, boolean interned) {
+        this(x, y);
+        edges = new EdgeLocation[EdgeDirection.values().length];
+        for (EdgeDirection dir : EdgeDirection.values()) {
+            edges[dir.ordinal()] = new EdgeLocation(this, dir);
+        }
+        vertices = new VertexLocation[VertexDirection.values().length];
+        for (VertexDirection dir : VertexDirection.values()) {
+            vertices[dir.ordinal()] = new VertexLocation(this, dir);
+        }
+    }
+
+    /**
+     * Get the canonical location of a hex.
+     *
+     * @param x the x coordinate of the hex
+     * @param y the y coordinate of the hex
+     * @return the interned instance if the hex is within {@link #CACHE_RADIUS}, otherwise a new instance
+     */
+    public static HexLocation of(int x, int y) {
+        if (Math.abs(x) <= CACHE_RADIUS && Math.abs(y) <= CACHE_RADIUS) {
+            return CACHE[x + CACHE_RADIUS][y + CACHE_RADIUS];
+        }
+        return new HexLocation(x, y);
+    }
+
+    /**
+     * @return the canonical instance equal to this location
+     * @see #of(int, int)
+     */
+    public HexLocation intern() {
+        return edges != null ? this : of(x, y);
+    }
+
+    /**
+     * @return the canonical edge on the given side of this hex
+     */
+    EdgeLocation getEdge(EdgeDirection dir) {
+        HexLocation hex = intern();
+        if (hex.edges == null) {
+            return new EdgeLocation(hex, dir);
+        }
+        return hex.edges[dir.ordinal()];
+    }
+
+    /**
+     * @return the canonical vertex on the given corner of this hex
+     */
+    VertexLocation getVertex(VertexDirection dir) {
+        HexLocation hex = intern();
+        if (hex.vertices == null) {
+            return new VertexLocation(hex, dir);
+        }
+        return hex.vertices[dir.ordinal()];
+    }
+
     public int getX() {
         return x;
     }
@@ -51,10 +131,14 @@ public class HexLocation {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + x;
-        result = prime * result + y;
+        int result = hash;
+        if (result == 0) {
+            final int prime = 31;
+            result = 1;
+            result = prime * result + x;
+            result = prime * result + y;
+            hash = result;
+        }
         return result;
     }
 
@@ -75,17 +159,17 @@ public class HexLocation {
     public HexLocation getNeighborLoc(EdgeDirection dir) {
         switch (dir) {
             case NorthWest:
-                return new HexLocation(x - 1, y);
+                return of(x - 1, y);
             case North:
-                return new HexLocation(x, y - 1);
+                return of(x, y - 1);
             case NorthEast:
-                return new HexLocation(x + 1, y - 1);
+                return of(x + 1, y - 1);
             case SouthWest:
-                return new HexLocation(x - 1, y + 1);
+                return of(x - 1, y + 1);
             case South:
-                return new HexLocation(x, y + 1);
+                return of(x, y + 1);
             case SouthEast:
-                return new HexLocation(x + 1, y);
+                return of(x + 1, y);
             default:
                 assert false;
                 return null;
@@ -102,13 +186,13 @@ public class HexLocation {
 
     public Stream<VertexLocation> getVerticesStream() {
         return Arrays.stream(VertexDirection.values())
-                .map(d -> new VertexLocation(this, d))
+                .map(this::getVertex)
                 .map(VertexLocation::getNormalizedLocation);
     }
 
     public Stream<EdgeLocation> getEdgesStream() {
         return Arrays.stream(EdgeDirection.values())
-                .map(d -> new EdgeLocation(this, d))
+                .map(this::getEdge)
                 .map(EdgeLocation::getNormalizedLocation);
     }
 }
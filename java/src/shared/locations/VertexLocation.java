@@ -9,12 +9,39 @@ import java.util.Set;
 public class VertexLocation {
     private HexLocation hexLoc;
     private VertexDirection dir;
+    private transient int hash;
+    private transient VertexLocation normalized;
 
     public VertexLocation(HexLocation hexLoc, VertexDirection dir) {
         setHexLoc(hexLoc);
         setDir(dir);
     }
 
+    /**
+     * Get the canonical location of a vertex.
+     * <p>
+     * Within {@link HexLocation#CACHE_RADIUS} the same instance is always returned for the same hex
+     * and direction, so it can be compared by identity.
+     *
+     * @param hexLoc the hex the vertex is on, not null
+     * @param dir    the direction of the vertex from the center of the hex
+     * @return the canonical vertex location
+     */
+    public static VertexLocation of(HexLocation hexLoc, VertexDirection dir) {
+        if (hexLoc == null) {
+            throw new IllegalArgumentException("hexLoc cannot be null");
+        }
+        return hexLoc.getVertex(dir);
+    }
+
+    /**
+     * @return the canonical instance equal to this location
+     * @see #of(HexLocation, VertexDirection)
+     */
+    public VertexLocation intern() {
+        return of(hexLoc, dir);
+    }
+
     public HexLocation getHexLoc() {
         return hexLoc;
     }
@@ -41,10 +68,14 @@ public class VertexLocation {
 
     @Override
     public int hashCode() {
-        final int prime = 31;
-        int result = 1;
-        result = prime * result + ((dir == null) ? 0 : dir.hashCode());
-        result = prime * result + ((hexLoc == null) ? 0 : hexLoc.hashCode());
+        int result = hash;
+        if (result == 0) {
+            final int prime = 31;
+            result = 1;
+            result = prime * result + ((dir == null) ? 0 : dir.hashCode());
+            result = prime * result + ((hexLoc == null) ? 0 : hexLoc.hashCode());
+            hash = result;
+        }
         return result;
     }
 
@@ -73,30 +104,37 @@ public class VertexLocation {
      * a vertex location to a single canonical form. This is useful for using
      * vertex locations as map keys.
      *
-     * @return Normalized vertex location
+     * @return Normalized vertex location, interned
      */
     public VertexLocation getNormalizedLocation() {
+        if (normalized == null) {
+            normalized = normalize();
+        }
+        return normalized;
+    }
+
+    private VertexLocation normalize() {
 
         // Return location that has direction NW or NE
 
         switch (dir) {
             case NorthWest:
             case NorthEast:
-                return this;
+                return intern();
             case West:
-                return new VertexLocation(
+                return of(
                         hexLoc.getNeighborLoc(EdgeDirection.SouthWest),
                         VertexDirection.NorthEast);
             case SouthWest:
-                return new VertexLocation(
+                return of(
                         hexLoc.getNeighborLoc(EdgeDirection.South),
                         VertexDirection.NorthWest);
             case SouthEast:
-                return new VertexLocation(
+                return of(
                         hexLoc.getNeighborLoc(EdgeDirection.South),
                         VertexDirection.NorthEast);
             case East:
-                return new VertexLocation(
+                return of(
                         hexLoc.getNeighborLoc(EdgeDirection.SouthEast),
                         VertexDirection.NorthWest);
             default:
@@ -132,40 +170,40 @@ public class VertexLocation {
         HexLocation neighbor;
         switch (getDir()) {
             case NorthEast:
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.North).getNormalizedLocation());
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.NorthEast).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.North).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.NorthEast).getNormalizedLocation());
                 neighbor = getHexLoc().getNeighborLoc(EdgeDirection.North);
-                edges.add(new EdgeLocation(neighbor, EdgeDirection.SouthEast).getNormalizedLocation());
+                edges.add(EdgeLocation.of(neighbor, EdgeDirection.SouthEast).getNormalizedLocation());
                 break;
             case East:
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.NorthEast).getNormalizedLocation());
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.SouthEast).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.NorthEast).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.SouthEast).getNormalizedLocation());
                 neighbor = getHexLoc().getNeighborLoc(EdgeDirection.NorthEast);
-                edges.add(new EdgeLocation(neighbor, EdgeDirection.South).getNormalizedLocation());
+                edges.add(EdgeLocation.of(neighbor, EdgeDirection.South).getNormalizedLocation());
                 break;
             case SouthEast:
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.SouthEast).getNormalizedLocation());
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.South).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.SouthEast).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.South).getNormalizedLocation());
                 neighbor = getHexLoc().getNeighborLoc(EdgeDirection.SouthEast);
-                edges.add(new EdgeLocation(neighbor, EdgeDirection.SouthWest).getNormalizedLocation());
+                edges.add(EdgeLocation.of(neighbor, EdgeDirection.SouthWest).getNormalizedLocation());
                 break;
             case SouthWest:
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.South).getNormalizedLocation());
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.SouthWest).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.South).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.SouthWest).getNormalizedLocation());
                 neighbor = getHexLoc().getNeighborLoc(EdgeDirection.South);
-                edges.add(new EdgeLocation(neighbor, EdgeDirection.NorthWest).getNormalizedLocation());
+                edges.add(EdgeLocation.of(neighbor, EdgeDirection.NorthWest).getNormalizedLocation());
                 break;
             case West:
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.SouthWest).getNormalizedLocation());
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.NorthWest).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.SouthWest).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.NorthWest).getNormalizedLocation());
                 neighbor = getHexLoc().getNeighborLoc(EdgeDirection.SouthWest);
-                edges.add(new EdgeLocation(neighbor, EdgeDirection.North).getNormalizedLocation());
+                edges.add(EdgeLocation.of(neighbor, EdgeDirection.North).getNormalizedLocation());
                 break;
             case NorthWest:
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.NorthWest).getNormalizedLocation());
-                edges.add(new EdgeLocation(getHexLoc(), EdgeDirection.North).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.NorthWest).getNormalizedLocation());
+                edges.add(EdgeLocation.of(getHexLoc(), EdgeDirection.North).getNormalizedLocation());
                 neighbor = getHexLoc().getNeighborLoc(EdgeDirection.NorthWest);
-                edges.add(new EdgeLocation(neighbor, EdgeDirection.NorthEast).getNormalizedLocation());
+                edges.add(EdgeLocation.of(neighbor, EdgeDirection.NorthEast).getNormalizedLocation());
                 break;
         }
         return edges;
@@ -23,6 +23,14 @@ public abstract class GameAction implements ICommandAction {
         return getFacades().getClientModel();
     }
 
+    /**
+     * @return whether the client can work out what this does before the server answers; false for
+     * moves with a random outcome
+     */
+    public boolean isPredictable() {
+        return true;
+    }
+
     @Override
     public int getGameId() {
         return gameId;
@@ -125,6 +125,32 @@ public class ClientModel {
     }
 
 
+    /**
+     * Returns a snapshot of this model.
+     * <p>
+     * Everything that game actions modify is copied, so the snapshot is unaffected by later moves.
+     * The hexes and ports never change once a game is created and are shared with the snapshot.
+     *
+     * @return a copy of this model that may be read while this model is being modified
+     */
+    @NotNull
+    public ClientModel copy() {
+        List<Player> playersCopy = new ArrayList<>(getPlayers().size());
+        for (Player p : getPlayers()) {
+            playersCopy.add(p.copy());
+        }
+        return new ClientModel(
+                getChat().copy(),
+                winner,
+                turnTracker == null ? null : turnTracker.copy(),
+                map == null ? null : map.copy(),
+                bank == null ? null : bank.copy(),
+                tradeOffer == null ? null : tradeOffer.copy(),
+                playersCopy,
+                version,
+                log == null ? null : log.copy());
+    }
+
     // END CUSTOM CODE
 
     public boolean canPlayerJoin(@NotNull Player player) {
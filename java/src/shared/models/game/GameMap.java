@@ -93,6 +93,20 @@ public class GameMap {
         setNewGamePorts(randomPorts);
     }
 
+    /**
+     * Returns a copy of this map.
+     * <p>
+     * Roads, settlements and cities are copied. Hexes and ports never change once a game
+     * is created, so the copy shares them with this map.
+     *
+     * @return a copy of this map
+     */
+    @NotNull
+    public GameMap copy() {
+        return new GameMap(new HashMap<>(roads), radius, robber, hexes, ports,
+                new HashMap<>(settlements), new HashMap<>(cities));
+    }
+
     private static <V> Map<VertexLocation, V> normalizeVertexMap(Map<VertexLocation, V> vMap) {
         return vMap.entrySet().stream()
                 .collect(Collectors.toMap(e -> e.getKey().getNormalizedLocation(), e -> e.getValue()));
@@ -155,7 +169,7 @@ public class GameMap {
 
         for (int column = -radius + 1; column < radius; column++) {
             for (int diagonalRow = (column < 0) ? -radius - column + 1 : -radius + 1; diagonalRow < ((column > 0) ? radius - column : radius); diagonalRow++) {
-                hexLocations.add(new HexLocation(column, diagonalRow));
+                hexLocations.add(HexLocation.of(column, diagonalRow));
             }
         }
         return hexLocations;
@@ -203,15 +217,15 @@ public class GameMap {
      */
     private void setNewGamePorts(boolean randomPorts) {
         final List<EdgeLocation> portLocations = Arrays.asList(
-                new EdgeLocation(new HexLocation(-3, 0), EdgeDirection.SouthEast),
-                new EdgeLocation(new HexLocation(-1, -2), EdgeDirection.South),
-                new EdgeLocation(new HexLocation(1, -3), EdgeDirection.South),
-                new EdgeLocation(new HexLocation(3, -3), EdgeDirection.SouthWest),
-                new EdgeLocation(new HexLocation(3, -1), EdgeDirection.NorthWest),
-                new EdgeLocation(new HexLocation(2, 1), EdgeDirection.NorthWest),
-                new EdgeLocation(new HexLocation(0, 3), EdgeDirection.North),
-                new EdgeLocation(new HexLocation(-2, 3), EdgeDirection.NorthEast),
-                new EdgeLocation(new HexLocation(-3, 2), EdgeDirection.NorthEast)
+                EdgeLocation.of(HexLocation.of(-3, 0), EdgeDirection.SouthEast),
+                EdgeLocation.of(HexLocation.of(-1, -2), EdgeDirection.South),
+                EdgeLocation.of(HexLocation.of(1, -3), EdgeDirection.South),
+                EdgeLocation.of(HexLocation.of(3, -3), EdgeDirection.SouthWest),
+                EdgeLocation.of(HexLocation.of(3, -1), EdgeDirection.NorthWest),
+                EdgeLocation.of(HexLocation.of(2, 1), EdgeDirection.NorthWest),
+                EdgeLocation.of(HexLocation.of(0, 3), EdgeDirection.North),
+                EdgeLocation.of(HexLocation.of(-2, 3), EdgeDirection.NorthEast),
+                EdgeLocation.of(HexLocation.of(-3, 2), EdgeDirection.NorthEast)
         );
 
         List<PortType> portTypes = Arrays.asList(
@@ -3,6 +3,7 @@ package shared.models.game;
 import com.google.gson.annotations.Expose;
 import com.google.gson.annotations.SerializedName;
 import org.jetbrains.annotations.NotNull;
+import shared.utils.RingBuffer;
 
 import javax.annotation.Generated;
 import java.util.ArrayList;
@@ -18,6 +19,83 @@ public class MessageList {
 
 
     // CUSTOM CODE
+
+    /**
+     * The maximum number of lines kept in {@link #lines}, or 0 if unbounded
+     */
+    private transient int window;
+
+    /**
+     * The absolute index of the first entry in {@link #lines}; every line before it has been evicted
+     */
+    private transient int firstIndex;
+
+    /**
+     * Returns a copy of this list.
+     * <p>
+     * {@link MessageEntry} instances are never modified once they are logged, so they are shared.
+     *
+     * @return a copy of this list
+     */
+    @NotNull
+    public MessageList copy() {
+        MessageList result = new MessageList(new ArrayList<>(getLines()));
+        result.firstIndex = firstIndex;
+        return result;
+    }
+
+    /**
+     * Bounds the number of lines kept in this list. Older lines are evicted once it is full.
+     *
+     * @param window the maximum number of lines to keep, or 0 to keep every line
+     */
+    public void setWindow(int window) {
+        if (window < 0) {
+            throw new IllegalArgumentException("Message window cannot be negative");
+        }
+        this.window = window;
+        setLines(getLines());
+    }
+
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * @return the absolute index of the oldest line still held in this list
+     */
+    public int getFirstIndex() {
+        return firstIndex;
+    }
+
+    /**
+     * @param firstIndex the absolute index of the oldest line still held in this list
+     */
+    public void setFirstIndex(int firstIndex) {
+        this.firstIndex = firstIndex;
+    }
+
+    /**
+     * @return the number of lines ever added to this list, including evicted ones
+     */
+    public int getTotal() {
+        return firstIndex + getLines().size();
+    }
+
+    /**
+     * Get a line by its absolute index.
+     *
+     * @param index the absolute index of the line
+     * @return the line, or null if it has been evicted or does not exist yet
+     */
+    public MessageEntry getLine(int index) {
+        int relative = index - firstIndex;
+        if (relative < 0 || relative >= getLines().size()) {
+            return null;
+        }
+        return getLines().get(relative);
+    }
+
     // END CUSTOM CODE
 
     /**
@@ -46,6 +124,10 @@ public class MessageList {
      * @param lines The lines
      */
     public void setLines(@NotNull List<MessageEntry> lines) {
+        if (window > 0) {
+            firstIndex += Math.max(0, lines.size() - window);
+            lines = new RingBuffer<>(window, lines);
+        }
         this.lines = lines;
     }
 
@@ -55,7 +137,11 @@ public class MessageList {
      * @param line
      */
     public void addMessage(@NotNull MessageEntry line) {
-        getLines().add(line);
+        List<MessageEntry> current = getLines();
+        if (current instanceof RingBuffer && ((RingBuffer) current).isFull()) {
+            firstIndex++;
+        }
+        current.add(line);
     }
 
     public void addMessage(@NotNull Player player, @NotNull String message) {
@@ -76,6 +76,23 @@ public class Player {
 
 
     // CUSTOM CODE
+
+    /**
+     * Returns a deep copy of this player.
+     *
+     * @return a copy of this player that shares no mutable state with it
+     */
+    @NotNull
+    public Player copy() {
+        return new Player(cities, discarded,
+                resources == null ? null : resources.copy(),
+                roads, victoryPoints,
+                oldDevCards == null ? null : (DevCardSet) oldDevCards.copy(),
+                soldiers, color,
+                newDevCards == null ? null : (DevCardSet) newDevCards.copy(),
+                playerIndex, monuments, name, settlements, playerID, playedDevCard);
+    }
+
     // END CUSTOM CODE
 
     /**
@@ -25,6 +25,17 @@ public class TradeOffer {
 
 
     // CUSTOM CODE
+
+    /**
+     * Returns a copy of this trade offer.
+     *
+     * @return a copy of this trade offer
+     */
+    @NotNull
+    public TradeOffer copy() {
+        return new TradeOffer(receiver, offer == null ? null : offer.copy(), sender);
+    }
+
     // END CUSTOM CODE
 
     /**
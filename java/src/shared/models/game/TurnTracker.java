@@ -31,6 +31,17 @@ public class TurnTracker {
 
 
     // CUSTOM CODE
+
+    /**
+     * Returns a copy of this turn tracker.
+     *
+     * @return a copy of this turn tracker
+     */
+    @NotNull
+    public TurnTracker copy() {
+        return new TurnTracker(longestRoad, currentTurn, status, largestArmy);
+    }
+
     // END CUSTOM CODE
 
     /**
@@ -87,6 +87,14 @@ public class BuyDevCardAction extends GameAction {
         );
     }
 
+    /**
+     * The card bought is random, so the client waits for the server.
+     */
+    @Override
+    public boolean isPredictable() {
+        return false;
+    }
+
     /**
      * Run on the server.  Buys a dev card for the specified {@link PlayerIndex}, which is added to their hand.
      * Removes the same card from the bank.
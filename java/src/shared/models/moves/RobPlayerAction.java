@@ -144,6 +144,14 @@ public class RobPlayerAction extends GameAction {
         );
     }
 
+    /**
+     * The card stolen is random, so the client waits for the server.
+     */
+    @Override
+    public boolean isPredictable() {
+        return false;
+    }
+
     /**
      * Run on the server.  Lets a player move the robber to a new {@link HexLocation} and rob a player on that hex.
      */
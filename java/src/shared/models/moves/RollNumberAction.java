@@ -6,6 +6,7 @@ import org.jetbrains.annotations.NotNull;
 import shared.definitions.Constants;
 import shared.definitions.PlayerIndex;
 import shared.models.GameAction;
+import shared.tracing.Tracer;
 
 import javax.annotation.Generated;
 import java.util.Objects;
@@ -119,7 +120,8 @@ public class RollNumberAction extends GameAction {
     @Override
     public void execute() {
         if (number != Constants.ROBBER_ROLL) {
-            getFacades().getResources().giveAwards(getFacades().getResources().getAwardsFromHexes(number));
+            getFacades().getResources().giveAwards(Tracer.trace("ResourcesFacade.getAwardsFromHexes",
+                    () -> getFacades().getResources().getAwardsFromHexes(number)));
             getFacades().getTurn().finishRolling(getModel(), false);
         } else {
             getFacades().getTurn().finishRolling(getModel(), true);
@@ -142,6 +142,14 @@ public class SoldierAction extends GameAction {
         );
     }
 
+    /**
+     * The card stolen is random, so the client waits for the server.
+     */
+    @Override
+    public boolean isPredictable() {
+        return false;
+    }
+
     /**
      * Run on the server.  Executes a soldier card on the server.  Allows {@link PlayerIndex} to move the robber to specified
      * {@link HexLocation} and rob a player at the location.
@@ -151,10 +159,12 @@ public class SoldierAction extends GameAction {
         getFacades().getDevCards().useSoldierCard(getModel().getPlayer(playerIndex));
         getFacades().getClientModel().getLog().prefixMessage(getModel().getPlayer(playerIndex), " played a Soldier card");
         getFacades().getRobber().moveRobber(location);
-        if (getFacades().getRobber().canStealFrom(PlayerIndex.fromInt(victimIndex), playerIndex)) {
-            if (getFacades().getRobber().steal(PlayerIndex.fromInt(victimIndex), playerIndex)) {
+        // -1 when there is no one to rob
+        PlayerIndex victim = victimIndex == -1 ? null : PlayerIndex.fromInt(victimIndex);
+        if (getFacades().getRobber().canStealFrom(victim, playerIndex)) {
+            if (getFacades().getRobber().steal(victim, playerIndex)) {
                 getFacades().getClientModel().getLog().prefixMessage(getModel().getPlayer(playerIndex),
-                        " robbed " + getModel().getPlayer(PlayerIndex.fromInt(victimIndex)).getName());
+                        " robbed " + getModel().getPlayer(victim).getName());
             } else {
                 getFacades().getClientModel().getLog().prefixMessage(getModel().getPlayer(playerIndex),
                         " could not rob");
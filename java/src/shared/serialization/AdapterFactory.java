@@ -0,0 +1,35 @@
+package shared.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+import java.util.function.Function;
+
+/**
+ * Creates a type adapter for exactly one class, given the {@link Gson} instance it is registered with.
+ * <p>
+ * Lets streaming adapters look up the adapters for the types they contain once, instead of going
+ * through a serialization context for every value.
+ *
+ * @param <T> the type adapted
+ */
+class AdapterFactory<T> implements TypeAdapterFactory {
+    private final Class<T> type;
+    private final Function<Gson, TypeAdapter<T>> constructor;
+
+    AdapterFactory(Class<T> type, Function<Gson, TypeAdapter<T>> constructor) {
+        this.type = type;
+        this.constructor = constructor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> TypeAdapter<R> create(Gson gson, TypeToken<R> typeToken) {
+        if (typeToken.getRawType() != type) {
+            return null;
+        }
+        return (TypeAdapter<R>) constructor.apply(gson);
+    }
+}
@@ -0,0 +1,111 @@
+package shared.serialization;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the primitives written by a {@link BinaryWriter}.
+ * <p>
+ * Every method throws {@link IllegalArgumentException} if the message is truncated or malformed.
+ */
+public class BinaryReader {
+    private final byte[] buffer;
+    private final int end;
+    private int position;
+
+    public BinaryReader(byte[] buffer) {
+        this(buffer, 0, buffer.length);
+    }
+
+    public BinaryReader(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.end = offset + length;
+    }
+
+    public int readVarInt() {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public int readSignedVarInt() {
+        int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public long readSignedVarLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+
+    public byte readByte() {
+        if (position >= end) {
+            throw new IllegalArgumentException("Binary message ended unexpectedly");
+        }
+        return buffer[position++];
+    }
+
+    public double readDouble() {
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (readByte() & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public String readString() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > end - position) {
+            throw new IllegalArgumentException("Binary message ended unexpectedly");
+        }
+        String result = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return result;
+    }
+
+    /**
+     * Reads the number of elements in a collection, written as the count plus one.
+     *
+     * @return the number of elements, or -1 for null
+     */
+    public int readCount() {
+        int count = readVarInt() - 1;
+        // Every element takes at least a byte, so a larger count can only come from a corrupt message
+        if (count > end - position) {
+            throw new IllegalArgumentException("Malformed collection size");
+        }
+        return count;
+    }
+
+    /**
+     * @return true if every byte of the message has been read
+     */
+    public boolean isAtEnd() {
+        return position == end;
+    }
+}
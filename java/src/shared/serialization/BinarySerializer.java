@@ -0,0 +1,749 @@
+package shared.serialization;
+
+import shared.IServer;
+import shared.annotations.ServerEndpoint;
+import shared.definitions.PlayerIndex;
+import shared.locations.EdgeDirection;
+import shared.locations.EdgeLocation;
+import shared.locations.HexLocation;
+import shared.locations.VertexDirection;
+import shared.locations.VertexLocation;
+import shared.models.games.GameInfo;
+import shared.models.games.PlayerInfo;
+
+import java.lang.reflect.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * A compact binary alternative to {@link ModelSerializer} for the types used by the {@link IServer} API.
+ * <p>
+ * Objects are written as their fields in a fixed order, with no names; collections and strings are
+ * prefixed with varint lengths; enums are written by ordinal; and hex, edge and vertex locations are
+ * written as a single dense id.  Fields are chosen as Gson would choose them, except that final
+ * fields are constants set by the constructor and are left out.
+ * <p>
+ * Since nothing in a message says what it contains, both ends must agree on the layout of every
+ * class.  {@link #getSchema()} is a fingerprint of the layout of every type reachable from the API,
+ * and is sent along with the media type so that a mismatched client falls back to JSON.
+ */
+public class BinarySerializer {
+    public static final String MEDIA_TYPE = "application/x-catan-binary";
+
+    /**
+     * Hexes within {@link HexLocation#CACHE_RADIUS} of the center are numbered densely, so a location on
+     * the board takes at most two bytes.  Ids 0 and 1 are reserved for null and for a location outside
+     * that radius, which is written out in full.
+     */
+    private static final int NULL_ID = 0;
+    private static final int EXPLICIT_ID = 1;
+    private static final int FIRST_DENSE_ID = 2;
+    private static final int DENSE_WIDTH = HexLocation.CACHE_RADIUS * 2 + 1;
+
+    // Codecs being built, and every codec built so far; guarded by this
+    private final Map<Type, Codec<?>> codecs = new HashMap<>();
+    private int building;
+    // Every complete codec, looked up without locking
+    private final Map<Type, Codec<?>> published = new ConcurrentHashMap<>();
+    // Layout of every class with a codec, to compute the schema from
+    private final SortedMap<String, String> layouts = new TreeMap<>();
+    private final String schema;
+    private final ThreadLocal<BinaryWriter> writers = ThreadLocal.withInitial(BinaryWriter::new);
+
+    private BinarySerializer() {
+        for (Method method : IServer.class.getMethods()) {
+            if (method.getAnnotation(ServerEndpoint.class) == null) {
+                continue;
+            }
+            if (method.getParameterCount() >= 1) {
+                getCodec(method.getGenericParameterTypes()[0]);
+            }
+            if (method.getReturnType() != Void.TYPE) {
+                getCodec(method.getGenericReturnType());
+            }
+        }
+        CRC32 crc = new CRC32();
+        layouts.forEach((name, layout) -> crc.update((name + "=" + layout + "\n").getBytes(StandardCharsets.UTF_8)));
+        schema = String.format("%08x", crc.getValue());
+    }
+
+    public static BinarySerializer getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return a fingerprint of the layout of every type in the API
+     */
+    public String getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return the media type, with the schema, for the Content-Type and Accept headers
+     */
+    public String getContentType() {
+        return MEDIA_TYPE + "; schema=" + schema;
+    }
+
+    /**
+     * Check whether a Content-Type or Accept header names this binary format with a matching schema.
+     *
+     * @param header the header's value, may be null
+     * @return true if messages in this format can be exchanged with the sender
+     */
+    public boolean accepts(String header) {
+        if (header == null) {
+            return false;
+        }
+        for (String mediaRange : header.split(",")) {
+            String[] parts = mediaRange.split(";");
+            if (!parts[0].trim().equalsIgnoreCase(MEDIA_TYPE)) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("schema=") && param.substring("schema=".length()).equals(schema)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public byte[] toBinary(Object src, Type typeOfSrc) {
+        BinaryWriter out = new BinaryWriter();
+        toBinary(src, typeOfSrc, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Write an object into this thread's reusable buffer.
+     *
+     * @return the message, between the buffer's position and limit
+     * @post the returned buffer is only valid until the next call to this method on the same thread
+     */
+    public ByteBuffer toBinaryBytes(Object src, Type typeOfSrc) {
+        BinaryWriter out = writers.get();
+        out.reset();
+        toBinary(src, typeOfSrc, out);
+        return out.toByteBuffer();
+    }
+
+    public void toBinary(Object src, Type typeOfSrc, BinaryWriter out) {
+        codec(typeOfSrc).write(out, src);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the data is not a complete message of the given type
+     */
+    public <T> T fromBinary(byte[] data, Class<T> classOfT) {
+        return classOfT.cast(fromBinary(data, (Type) classOfT));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the data is not a complete message of the given type
+     */
+    public Object fromBinary(byte[] data, Type typeOfT) {
+        BinaryReader in = new BinaryReader(data);
+        Object result = codec(typeOfT).read(in);
+        if (!in.isAtEnd()) {
+            throw new IllegalArgumentException("Binary message has trailing data");
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Codec<Object> codec(Type type) {
+        return (Codec<Object>) getCodec(type);
+    }
+
+    private Codec<?> getCodec(Type type) {
+        Codec<?> codec = published.get(type);
+        return codec != null ? codec : buildCodec(type);
+    }
+
+    /**
+     * Builds the codec for a type, and any codecs it's made of.  Object codecs are registered before
+     * their fields are bound, so that types can refer to themselves; codecs are only published once
+     * every one being built is complete.
+     */
+    private synchronized Codec<?> buildCodec(Type type) {
+        building++;
+        boolean built = false;
+        try {
+            Codec<?> codec = codecs.get(type);
+            if (codec == null) {
+                codec = createCodec(type);
+                codecs.put(type, codec);
+            }
+            built = true;
+            return codec;
+        } finally {
+            if (--building == 0) {
+                if (built) {
+                    published.putAll(codecs);
+                } else {
+                    // Drop any codecs left half built
+                    codecs.keySet().retainAll(published.keySet());
+                }
+            }
+        }
+    }
+
+    private Codec<?> createCodec(Type type) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] args = parameterized.getActualTypeArguments();
+            if (Map.class.isAssignableFrom(raw)) {
+                return new MapCodec(getCodec(args[0]), getCodec(args[1]));
+            }
+            if (Collection.class.isAssignableFrom(raw)) {
+                return new CollectionCodec(getCodec(args[0]),
+                        Set.class.isAssignableFrom(raw) ? HashSet::new : ArrayList::new);
+            }
+            throw new IllegalArgumentException("Cannot encode generic type " + type.getTypeName());
+        }
+        if (!(type instanceof Class)) {
+            throw new IllegalArgumentException("Cannot encode type " + type.getTypeName());
+        }
+        Class<?> c = (Class<?>) type;
+        if (c.isPrimitive()) {
+            return primitiveCodec(c);
+        }
+        if (Number.class.isAssignableFrom(c) || c == Boolean.class || c == Character.class) {
+            Class<?> primitive = Arrays.stream(new Class<?>[]{int.class, long.class, short.class, byte.class,
+                    double.class, float.class, boolean.class, char.class})
+                    .filter(p -> boxed(p) == c)
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Cannot encode " + c.getName()));
+            return new NullableCodec<>(primitiveCodec(primitive));
+        }
+        if (c == String.class) {
+            return new Codec<String>() {
+                @Override
+                public void write(BinaryWriter out, String value) {
+                    out.writeString(value);
+                }
+
+                @Override
+                public String read(BinaryReader in) {
+                    return in.readString();
+                }
+            };
+        }
+        if (c.isEnum()) {
+            layouts.put(c.getName(), Arrays.stream(c.getEnumConstants())
+                    .map(e -> ((Enum<?>) e).name())
+                    .collect(Collectors.joining(",")));
+            return new EnumCodec(c.getEnumConstants());
+        }
+        if (c == HexLocation.class) {
+            layouts.put(c.getName(), "dense:" + HexLocation.CACHE_RADIUS);
+            return new HexLocationCodec();
+        }
+        if (c == EdgeLocation.class) {
+            layouts.put(c.getName(), "dense:" + HexLocation.CACHE_RADIUS);
+            return new DirectionalLocationCodec<>(EdgeDirection.values(), EdgeLocation::of,
+                    EdgeLocation::getHexLoc, EdgeLocation::getDir);
+        }
+        if (c == VertexLocation.class) {
+            layouts.put(c.getName(), "dense:" + HexLocation.CACHE_RADIUS);
+            return new DirectionalLocationCodec<>(VertexDirection.values(), VertexLocation::of,
+                    VertexLocation::getHexLoc, VertexLocation::getDir);
+        }
+        if (c.isArray()) {
+            Class<?> component = c.getComponentType();
+            return new ArrayCodec(getCodec(component), length -> (Object[]) Array.newInstance(component, length));
+        }
+        if (c.isInterface() || Modifier.isAbstract(c.getModifiers())) {
+            throw new IllegalArgumentException("Cannot encode abstract type " + c.getName());
+        }
+        ObjectCodec objectCodec = new ObjectCodec(c);
+        // Registered before its fields, in case a class contains itself
+        codecs.put(c, objectCodec);
+        objectCodec.bindFields();
+        if (c == GameInfo.class) {
+            return new GameInfoCodec(objectCodec);
+        }
+        return objectCodec;
+    }
+
+    private static Class<?> boxed(Class<?> primitive) {
+        return Array.get(Array.newInstance(primitive, 1), 0).getClass();
+    }
+
+    private static Codec<?> primitiveCodec(Class<?> c) {
+        if (c == int.class || c == short.class || c == byte.class || c == char.class) {
+            return new Codec<Object>() {
+                @Override
+                public void write(BinaryWriter out, Object value) {
+                    out.writeSignedVarInt(value instanceof Character ? (Character) value : ((Number) value).intValue());
+                }
+
+                @Override
+                public Object read(BinaryReader in) {
+                    int value = in.readSignedVarInt();
+                    if (c == short.class) {
+                        return (short) value;
+                    } else if (c == byte.class) {
+                        return (byte) value;
+                    } else if (c == char.class) {
+                        return (char) value;
+                    }
+                    return value;
+                }
+            };
+        }
+        if (c == long.class) {
+            return new Codec<Long>() {
+                @Override
+                public void write(BinaryWriter out, Long value) {
+                    out.writeSignedVarLong(value);
+                }
+
+                @Override
+                public Long read(BinaryReader in) {
+                    return in.readSignedVarLong();
+                }
+            };
+        }
+        if (c == double.class || c == float.class) {
+            return new Codec<Object>() {
+                @Override
+                public void write(BinaryWriter out, Object value) {
+                    out.writeDouble(((Number) value).doubleValue());
+                }
+
+                @Override
+                public Object read(BinaryReader in) {
+                    double value = in.readDouble();
+                    return c == float.class ? (Object) (float) value : (Object) value;
+                }
+            };
+        }
+        if (c == boolean.class) {
+            return new Codec<Boolean>() {
+                @Override
+                public void write(BinaryWriter out, Boolean value) {
+                    out.writeBoolean(value);
+                }
+
+                @Override
+                public Boolean read(BinaryReader in) {
+                    return in.readBoolean();
+                }
+            };
+        }
+        throw new IllegalArgumentException("Cannot encode " + c.getName());
+    }
+
+    /**
+     * Initialized on first use of getInstance, and safely published to every thread by the class loader.
+     */
+    private static class Holder {
+        private static final BinarySerializer INSTANCE = new BinarySerializer();
+    }
+
+    private interface Codec<T> {
+        void write(BinaryWriter out, T value);
+
+        T read(BinaryReader in);
+    }
+
+    /**
+     * Writes a 0 for null, or a 1 and then the value.
+     */
+    private static class NullableCodec<T> implements Codec<T> {
+        private final Codec<T> codec;
+
+        @SuppressWarnings("unchecked")
+        NullableCodec(Codec<?> codec) {
+            this.codec = (Codec<T>) codec;
+        }
+
+        @Override
+        public void write(BinaryWriter out, T value) {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                codec.write(out, value);
+            }
+        }
+
+        @Override
+        public T read(BinaryReader in) {
+            return in.readBoolean() ? codec.read(in) : null;
+        }
+    }
+
+    /**
+     * Writes the ordinal plus one, or 0 for null.
+     */
+    private static class EnumCodec implements Codec<Object> {
+        private final Object[] constants;
+
+        EnumCodec(Object[] constants) {
+            this.constants = constants;
+        }
+
+        @Override
+        public void write(BinaryWriter out, Object value) {
+            out.writeVarInt(value == null ? 0 : ((Enum<?>) value).ordinal() + 1);
+        }
+
+        @Override
+        public Object read(BinaryReader in) {
+            int id = in.readVarInt();
+            if (id == 0) {
+                return null;
+            }
+            if (id > constants.length) {
+                throw new IllegalArgumentException("Unknown enum constant " + (id - 1));
+            }
+            return constants[id - 1];
+        }
+    }
+
+    private static int denseHexId(HexLocation hex) {
+        int x = hex.getX() + HexLocation.CACHE_RADIUS;
+        int y = hex.getY() + HexLocation.CACHE_RADIUS;
+        if (x < 0 || y < 0 || x >= DENSE_WIDTH || y >= DENSE_WIDTH) {
+            return -1;
+        }
+        return x * DENSE_WIDTH + y;
+    }
+
+    private static HexLocation fromDenseHexId(int id) {
+        if (id >= DENSE_WIDTH * DENSE_WIDTH) {
+            throw new IllegalArgumentException("Unknown location id " + id);
+        }
+        return HexLocation.of(id / DENSE_WIDTH - HexLocation.CACHE_RADIUS, id % DENSE_WIDTH - HexLocation.CACHE_RADIUS);
+    }
+
+    private static class HexLocationCodec implements Codec<HexLocation> {
+        @Override
+        public void write(BinaryWriter out, HexLocation value) {
+            if (value == null) {
+                out.writeVarInt(NULL_ID);
+                return;
+            }
+            int id = denseHexId(value);
+            if (id >= 0) {
+                out.writeVarInt(FIRST_DENSE_ID + id);
+            } else {
+                out.writeVarInt(EXPLICIT_ID);
+                out.writeSignedVarInt(value.getX());
+                out.writeSignedVarInt(value.getY());
+            }
+        }
+
+        @Override
+        public HexLocation read(BinaryReader in) {
+            int id = in.readVarInt();
+            if (id == NULL_ID) {
+                return null;
+            } else if (id == EXPLICIT_ID) {
+                return HexLocation.of(in.readSignedVarInt(), in.readSignedVarInt());
+            }
+            return fromDenseHexId(id - FIRST_DENSE_ID);
+        }
+    }
+
+    /**
+     * Edges and vertices are numbered as their hex's dense id times six plus their direction.
+     */
+    private static class DirectionalLocationCodec<L, D extends Enum<D>> implements Codec<L> {
+        private final D[] directions;
+        private final BiFunction<HexLocation, D, L> constructor;
+        private final Function<L, HexLocation> hex;
+        private final Function<L, D> direction;
+
+        DirectionalLocationCodec(D[] directions,
+                                 BiFunction<HexLocation, D, L> constructor,
+                                 Function<L, HexLocation> hex,
+                                 Function<L, D> direction) {
+            this.directions = directions;
+            this.constructor = constructor;
+            this.hex = hex;
+            this.direction = direction;
+        }
+
+        @Override
+        public void write(BinaryWriter out, L value) {
+            if (value == null) {
+                out.writeVarInt(NULL_ID);
+                return;
+            }
+            HexLocation hexLoc = hex.apply(value);
+            int dir = direction.apply(value).ordinal();
+            int id = denseHexId(hexLoc);
+            if (id >= 0) {
+                out.writeVarInt(FIRST_DENSE_ID + id * directions.length + dir);
+            } else {
+                out.writeVarInt(EXPLICIT_ID);
+                out.writeSignedVarInt(hexLoc.getX());
+                out.writeSignedVarInt(hexLoc.getY());
+                out.writeVarInt(dir);
+            }
+        }
+
+        @Override
+        public L read(BinaryReader in) {
+            int id = in.readVarInt();
+            if (id == NULL_ID) {
+                return null;
+            } else if (id == EXPLICIT_ID) {
+                HexLocation hexLoc = HexLocation.of(in.readSignedVarInt(), in.readSignedVarInt());
+                return constructor.apply(hexLoc, direction(in.readVarInt()));
+            }
+            id -= FIRST_DENSE_ID;
+            return constructor.apply(fromDenseHexId(id / directions.length), direction(id % directions.length));
+        }
+
+        private D direction(int ordinal) {
+            if (ordinal >= directions.length) {
+                throw new IllegalArgumentException("Unknown direction " + ordinal);
+            }
+            return directions[ordinal];
+        }
+    }
+
+    private static class CollectionCodec implements Codec<Collection<Object>> {
+        private final Codec<Object> element;
+        private final IntFunction<Collection<Object>> factory;
+
+        @SuppressWarnings("unchecked")
+        CollectionCodec(Codec<?> element, IntFunction<Collection<Object>> factory) {
+            this.element = (Codec<Object>) element;
+            this.factory = factory;
+        }
+
+        @Override
+        public void write(BinaryWriter out, Collection<Object> value) {
+            if (value == null) {
+                out.writeVarInt(0);
+                return;
+            }
+            out.writeCount(value.size());
+            for (Object e : value) {
+                element.write(out, e);
+            }
+        }
+
+        @Override
+        public Collection<Object> read(BinaryReader in) {
+            int count = in.readCount();
+            if (count < 0) {
+                return null;
+            }
+            Collection<Object> result = factory.apply(count);
+            for (int i = 0; i < count; i++) {
+                result.add(element.read(in));
+            }
+            return result;
+        }
+    }
+
+    private static class ArrayCodec implements Codec<Object[]> {
+        private final Codec<Object> element;
+        private final IntFunction<Object[]> factory;
+
+        @SuppressWarnings("unchecked")
+        ArrayCodec(Codec<?> element, IntFunction<Object[]> factory) {
+            this.element = (Codec<Object>) element;
+            this.factory = factory;
+        }
+
+        @Override
+        public void write(BinaryWriter out, Object[] value) {
+            if (value == null) {
+                out.writeVarInt(0);
+                return;
+            }
+            out.writeCount(value.length);
+            for (Object e : value) {
+                element.write(out, e);
+            }
+        }
+
+        @Override
+        public Object[] read(BinaryReader in) {
+            int count = in.readCount();
+            if (count < 0) {
+                return null;
+            }
+            Object[] result = factory.apply(count);
+            for (int i = 0; i < count; i++) {
+                result[i] = element.read(in);
+            }
+            return result;
+        }
+    }
+
+    private static class MapCodec implements Codec<Map<Object, Object>> {
+        private final Codec<Object> key;
+        private final Codec<Object> value;
+
+        @SuppressWarnings("unchecked")
+        MapCodec(Codec<?> key, Codec<?> value) {
+            this.key = (Codec<Object>) key;
+            this.value = (Codec<Object>) value;
+        }
+
+        @Override
+        public void write(BinaryWriter out, Map<Object, Object> map) {
+            if (map == null) {
+                out.writeVarInt(0);
+                return;
+            }
+            out.writeCount(map.size());
+            for (Map.Entry<Object, Object> entry : map.entrySet()) {
+                key.write(out, entry.getKey());
+                value.write(out, entry.getValue());
+            }
+        }
+
+        @Override
+        public Map<Object, Object> read(BinaryReader in) {
+            int count = in.readCount();
+            if (count < 0) {
+                return null;
+            }
+            Map<Object, Object> result = new HashMap<>(count * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                Object k = key.read(in);
+                result.put(k, value.read(in));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Writes a 0 for null, or a 1 and then each field in name order.
+     */
+    private class ObjectCodec implements Codec<Object> {
+        private final Class<?> type;
+        private final Constructor<?> constructor;
+        private final List<Field> fields = new ArrayList<>();
+        private final List<Codec<Object>> fieldCodecs = new ArrayList<>();
+
+        ObjectCodec(Class<?> type) {
+            this.type = type;
+            try {
+                constructor = type.getDeclaredConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException("Cannot encode " + type.getName() + " without a no-args constructor");
+            }
+            constructor.setAccessible(true);
+        }
+
+        void bindFields() {
+            List<Class<?>> hierarchy = new ArrayList<>();
+            for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+                hierarchy.add(0, c);
+            }
+            StringBuilder layout = new StringBuilder();
+            for (Class<?> c : hierarchy) {
+                Field[] declared = c.getDeclaredFields();
+                Arrays.sort(declared, Comparator.comparing(Field::getName));
+                for (Field field : declared) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)
+                            || Modifier.isFinal(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.add(field);
+                    fieldCodecs.add(codec(field.getGenericType()));
+                    layout.append(field.getName()).append(':').append(field.getGenericType().getTypeName()).append(',');
+                }
+            }
+            layouts.put(type.getName(), layout.toString());
+        }
+
+        @Override
+        public void write(BinaryWriter out, Object value) {
+            out.writeBoolean(value != null);
+            if (value == null) {
+                return;
+            }
+            try {
+                for (int i = 0; i < fields.size(); i++) {
+                    Field field = fields.get(i);
+                    Class<?> fieldType = field.getType();
+                    if (fieldType == int.class) {
+                        out.writeSignedVarInt(field.getInt(value));
+                    } else if (fieldType == boolean.class) {
+                        out.writeBoolean(field.getBoolean(value));
+                    } else {
+                        fieldCodecs.get(i).write(out, field.get(value));
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public Object read(BinaryReader in) {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            try {
+                Object result = constructor.newInstance();
+                for (int i = 0; i < fields.size(); i++) {
+                    Field field = fields.get(i);
+                    Class<?> fieldType = field.getType();
+                    if (fieldType == int.class) {
+                        field.setInt(result, in.readSignedVarInt());
+                    } else if (fieldType == boolean.class) {
+                        field.setBoolean(result, in.readBoolean());
+                    } else {
+                        field.set(result, fieldCodecs.get(i).read(in));
+                    }
+                }
+                return result;
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Players in a {@link GameInfo} are indexed by seat when read, as {@link GameInfoTypeAdapter} does.
+     */
+    private static class GameInfoCodec implements Codec<Object> {
+        private final ObjectCodec codec;
+
+        GameInfoCodec(ObjectCodec codec) {
+            this.codec = codec;
+        }
+
+        @Override
+        public void write(BinaryWriter out, Object value) {
+            codec.write(out, value);
+        }
+
+        @Override
+        public Object read(BinaryReader in) {
+            GameInfo info = (GameInfo) codec.read(in);
+            if (info != null) {
+                List<PlayerInfo> players = info.getPlayers();
+                if (players.size() > PlayerIndex.MAX_PLAYERS) {
+                    throw new IllegalArgumentException("Too many players defined in a GameInfo");
+                }
+                for (int i = 0; i < players.size(); i++) {
+                    players.get(i).setPlayerIndex(PlayerIndex.fromInt(i));
+                }
+            }
+            return info;
+        }
+    }
+}
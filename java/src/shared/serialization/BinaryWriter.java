@@ -0,0 +1,131 @@
+package shared.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Writes the primitives of the binary wire format into a growable buffer.
+ * <p>
+ * Integers are written as base-128 varints, signed ones zigzag-encoded first so small negative
+ * numbers stay small.
+ *
+ * @see BinaryReader
+ */
+public class BinaryWriter {
+    private byte[] buffer;
+    private int size;
+
+    public BinaryWriter() {
+        this(256);
+    }
+
+    public BinaryWriter(int capacity) {
+        buffer = new byte[Math.max(16, capacity)];
+    }
+
+    /**
+     * Writes a non-negative number as a varint.
+     */
+    public void writeVarInt(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Writes a number that may be negative as a zigzag-encoded varint.
+     */
+    public void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes the number of elements in a collection as the count plus one, or 0 for null.
+     */
+    public void writeCount(int count) {
+        writeVarInt(count + 1);
+    }
+
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[size++] = (byte) (bits >>> shift);
+        }
+    }
+
+    /**
+     * Writes a string as its UTF-8 length plus one, then its bytes.  Null is written as a length of 0.
+     */
+    public void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Empty the buffer to write a new message, keeping its capacity.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * @return the bytes written, backed by this writer's buffer until the next write or reset
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buffer, 0, size);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
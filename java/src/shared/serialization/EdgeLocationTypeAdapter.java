@@ -0,0 +1,77 @@
+package shared.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import shared.locations.EdgeDirection;
+import shared.locations.EdgeLocation;
+import shared.locations.HexLocation;
+
+import java.io.IOException;
+
+/**
+ * Reads edge locations as their interned instances, flattened to {@code {"x", "y", "direction"}}.
+ */
+public class EdgeLocationTypeAdapter extends TypeAdapter<EdgeLocation> {
+    public static final TypeAdapterFactory FACTORY =
+            new AdapterFactory<>(EdgeLocation.class, EdgeLocationTypeAdapter::new);
+
+    private final TypeAdapter<EdgeDirection> directionAdapter;
+
+    public EdgeLocationTypeAdapter(Gson gson) {
+        directionAdapter = gson.getAdapter(EdgeDirection.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, EdgeLocation loc) throws IOException {
+        if (loc == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("x").value(loc.getHexLoc().getX());
+        out.name("y").value(loc.getHexLoc().getY());
+        out.name("direction");
+        directionAdapter.write(out, loc.getDir());
+        out.endObject();
+    }
+
+    @Override
+    public EdgeLocation read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Integer x = null;
+        Integer y = null;
+        EdgeDirection dir = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "x":
+                    x = in.nextInt();
+                    break;
+                case "y":
+                    y = in.nextInt();
+                    break;
+                case "direction":
+                    dir = directionAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        if (dir == null) {
+            throw new JsonParseException("Invalid EdgeDirection");
+        }
+        if (x == null || y == null) {
+            throw new JsonParseException("Invalid EdgeLocation");
+        }
+        return EdgeLocation.of(HexLocation.of(x, y), dir);
+    }
+}
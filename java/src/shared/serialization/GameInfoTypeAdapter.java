@@ -0,0 +1,120 @@
+package shared.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import shared.definitions.PlayerIndex;
+import shared.models.games.GameInfo;
+import shared.models.games.PlayerInfo;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a {@link GameInfo}, padding its players out to {@link PlayerIndex#MAX_PLAYERS} with empty
+ * objects as the server API expects.
+ */
+public class GameInfoTypeAdapter extends TypeAdapter<GameInfo> {
+    public static final TypeAdapterFactory FACTORY = new AdapterFactory<>(GameInfo.class, GameInfoTypeAdapter::new);
+
+    private final TypeAdapter<PlayerInfo> playerAdapter;
+
+    public GameInfoTypeAdapter(Gson gson) {
+        playerAdapter = gson.getAdapter(PlayerInfo.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, GameInfo gameInfo) throws IOException {
+        if (gameInfo == null) {
+            out.nullValue();
+            return;
+        }
+        List<PlayerInfo> players = gameInfo.getPlayers();
+        if (players.size() > PlayerIndex.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Too many players defined in a GameInfo");
+        }
+        out.beginObject();
+        out.name("id").value(gameInfo.getId());
+        out.name("title").value(gameInfo.getTitle());
+        out.name("players");
+        out.beginArray();
+        for (PlayerInfo player : players) {
+            playerAdapter.write(out, player);
+        }
+        for (int i = players.size(); i < PlayerIndex.MAX_PLAYERS; i++) {
+            out.beginObject();
+            out.endObject();
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    @Override
+    public GameInfo read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String title = "";
+        Integer id = null;
+        List<PlayerInfo> players = new ArrayList<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "title":
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                    } else {
+                        title = in.nextString();
+                    }
+                    break;
+                case "id":
+                    id = in.nextInt();
+                    break;
+                case "players":
+                    readPlayers(in, players);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        if (id == null) {
+            throw new JsonParseException("GameInfo without an id");
+        }
+        return new GameInfo(players, title, id);
+    }
+
+    /**
+     * Reads players up to the first empty seat, indexing them in order.
+     */
+    private void readPlayers(JsonReader in, List<PlayerInfo> players) throws IOException {
+        int seats = 0;
+        boolean emptySeat = false;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (++seats > PlayerIndex.MAX_PLAYERS) {
+                throw new IllegalArgumentException("Too many players defined in a GameInfo");
+            }
+            if (emptySeat || in.peek() != JsonToken.BEGIN_OBJECT) {
+                emptySeat = true;
+                in.skipValue();
+                continue;
+            }
+            PlayerInfo player = playerAdapter.read(in);
+            if (player == null || player.getName() == null) {
+                emptySeat = true;
+                continue;
+            }
+            player.setPlayerIndex(PlayerIndex.fromInt(players.size()));
+            players.add(player);
+        }
+        in.endArray();
+    }
+}
@@ -0,0 +1,205 @@
+package shared.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import shared.definitions.PlayerIndex;
+import shared.locations.EdgeLocation;
+import shared.locations.HexLocation;
+import shared.locations.VertexLocation;
+import shared.models.game.GameMap;
+import shared.models.game.Hex;
+import shared.models.game.Port;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streams a {@link GameMap} straight to and from its maps.
+ * <p>
+ * Pieces are written as arrays of {@code {"location", "owner"}} objects and hexes and ports as arrays
+ * of their values, without building a JSON tree or wrapper objects in between.
+ */
+public class GameMapTypeAdapter extends TypeAdapter<GameMap> {
+    public static final TypeAdapterFactory FACTORY = new AdapterFactory<>(GameMap.class, GameMapTypeAdapter::new);
+    private static final int DEFAULT_RADIUS = new GameMap().getRadius();
+
+    private final TypeAdapter<PlayerIndex> ownerAdapter;
+    private final TypeAdapter<HexLocation> hexLocationAdapter;
+    private final TypeAdapter<EdgeLocation> edgeLocationAdapter;
+    private final TypeAdapter<VertexLocation> vertexLocationAdapter;
+    private final TypeAdapter<Hex> hexAdapter;
+    private final TypeAdapter<Port> portAdapter;
+
+    public GameMapTypeAdapter(Gson gson) {
+        ownerAdapter = gson.getAdapter(PlayerIndex.class);
+        hexLocationAdapter = gson.getAdapter(HexLocation.class);
+        edgeLocationAdapter = gson.getAdapter(EdgeLocation.class);
+        vertexLocationAdapter = gson.getAdapter(VertexLocation.class);
+        hexAdapter = gson.getAdapter(Hex.class);
+        portAdapter = gson.getAdapter(Port.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, GameMap map) throws IOException {
+        if (map == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("radius").value(map.getRadius());
+        if (map.getRobber() != null) {
+            out.name("robber");
+            hexLocationAdapter.write(out, map.getRobber());
+        }
+        out.name("cities");
+        writePieces(out, map.getCities(), vertexLocationAdapter);
+        out.name("settlements");
+        writePieces(out, map.getSettlements(), vertexLocationAdapter);
+        out.name("roads");
+        writePieces(out, map.getRoads(), edgeLocationAdapter);
+        out.name("hexes");
+        out.beginArray();
+        for (Hex hex : map.getHexes().values()) {
+            hexAdapter.write(out, hex);
+        }
+        out.endArray();
+        out.name("ports");
+        out.beginArray();
+        for (Port port : map.getPorts().values()) {
+            portAdapter.write(out, port);
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    @Override
+    public GameMap read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        int radius = DEFAULT_RADIUS;
+        HexLocation robber = null;
+        Map<VertexLocation, PlayerIndex> cities = new HashMap<>();
+        Map<VertexLocation, PlayerIndex> settlements = new HashMap<>();
+        Map<EdgeLocation, PlayerIndex> roads = new HashMap<>();
+        Map<HexLocation, Hex> hexes = new HashMap<>();
+        Map<HexLocation, Port> ports = new HashMap<>();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "radius":
+                    radius = in.nextInt();
+                    break;
+                case "robber":
+                    robber = hexLocationAdapter.read(in);
+                    break;
+                case "cities":
+                    readVertexPieces(in, cities);
+                    break;
+                case "settlements":
+                    readVertexPieces(in, settlements);
+                    break;
+                case "roads":
+                    readRoads(in, roads);
+                    break;
+                case "hexes":
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        Hex hex = hexAdapter.read(in);
+                        hexes.put(hex.getLocation(), hex);
+                    }
+                    in.endArray();
+                    break;
+                case "ports":
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        Port port = portAdapter.read(in);
+                        ports.put(port.getLocation(), port);
+                    }
+                    in.endArray();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+
+        return new GameMap(roads, radius, robber, hexes, ports, settlements, cities);
+    }
+
+    private <L> void writePieces(JsonWriter out, Map<L, PlayerIndex> pieces, TypeAdapter<L> locationAdapter)
+            throws IOException {
+        out.beginArray();
+        for (Map.Entry<L, PlayerIndex> piece : pieces.entrySet()) {
+            out.beginObject();
+            out.name("location");
+            locationAdapter.write(out, piece.getKey());
+            out.name("owner");
+            ownerAdapter.write(out, piece.getValue());
+            out.endObject();
+        }
+        out.endArray();
+    }
+
+    private void readVertexPieces(JsonReader in, Map<VertexLocation, PlayerIndex> pieces) throws IOException {
+        in.beginArray();
+        while (in.hasNext()) {
+            VertexLocation location = null;
+            PlayerIndex owner = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "location":
+                        location = vertexLocationAdapter.read(in);
+                        break;
+                    case "owner":
+                        owner = ownerAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            if (location == null) {
+                throw new JsonParseException("Piece without a location");
+            }
+            pieces.put(location.getNormalizedLocation(), owner);
+        }
+        in.endArray();
+    }
+
+    private void readRoads(JsonReader in, Map<EdgeLocation, PlayerIndex> roads) throws IOException {
+        in.beginArray();
+        while (in.hasNext()) {
+            EdgeLocation location = null;
+            PlayerIndex owner = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "location":
+                        location = edgeLocationAdapter.read(in);
+                        break;
+                    case "owner":
+                        owner = ownerAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            if (location == null) {
+                throw new JsonParseException("Piece without a location");
+            }
+            roads.put(location.getNormalizedLocation(), owner);
+        }
+        in.endArray();
+    }
+}
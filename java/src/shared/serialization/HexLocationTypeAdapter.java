@@ -0,0 +1,55 @@
+package shared.serialization;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import shared.locations.HexLocation;
+
+import java.io.IOException;
+
+/**
+ * Reads hex locations as their interned instances.
+ */
+public class HexLocationTypeAdapter extends TypeAdapter<HexLocation> {
+    @Override
+    public void write(JsonWriter out, HexLocation loc) throws IOException {
+        if (loc == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("x").value(loc.getX());
+        out.name("y").value(loc.getY());
+        out.endObject();
+    }
+
+    @Override
+    public HexLocation read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Integer x = null;
+        Integer y = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "x":
+                    x = in.nextInt();
+                    break;
+                case "y":
+                    y = in.nextInt();
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        if (x == null || y == null) {
+            throw new JsonParseException("Invalid HexLocation");
+        }
+        return HexLocation.of(x, y);
+    }
+}
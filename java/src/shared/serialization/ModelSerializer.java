@@ -3,52 +3,107 @@ package shared.serialization;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import shared.definitions.PlayerIndex;
-import shared.locations.EdgeLocation;
-import shared.locations.VertexLocation;
-import shared.models.game.GameMap;
-import shared.models.games.GameInfo;
+import shared.locations.HexLocation;
 
-import java.io.Reader;
+import java.io.*;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
+/**
+ * Converts models to and from JSON.
+ * <p>
+ * Besides Strings, models can be written straight to an {@link OutputStream} or {@link JsonWriter},
+ * or into a {@link ByteBuffer} backed by a buffer that each thread reuses, so that request and
+ * database code doesn't need to build a String just to turn it into bytes.
+ */
 public class ModelSerializer {
-    private static ModelSerializer instance;
-    private Gson gson;
+    private final Gson gson;
+    private final ThreadLocal<ReusableBuffer> buffers = ThreadLocal.withInitial(ReusableBuffer::new);
 
     private ModelSerializer() {
         GsonBuilder builder = new GsonBuilder();
 
         // Register custom type adapters
         builder.registerTypeAdapter(PlayerIndex.class, new PlayerIndexTypeAdapter());
-        builder.registerTypeAdapter(EdgeLocation.class, new EdgeLocationSerializer());
-        builder.registerTypeAdapter(VertexLocation.class, new VertexLocationSerializer());
-        builder.registerTypeAdapter(GameMap.class, new GameMapSerializer());
-        builder.registerTypeAdapter(GameInfo.class, new GameInfoSerializer());
+        builder.registerTypeAdapter(HexLocation.class, new HexLocationTypeAdapter());
+        builder.registerTypeAdapterFactory(EdgeLocationTypeAdapter.FACTORY);
+        builder.registerTypeAdapterFactory(VertexLocationTypeAdapter.FACTORY);
+        builder.registerTypeAdapterFactory(GameMapTypeAdapter.FACTORY);
+        builder.registerTypeAdapterFactory(GameInfoTypeAdapter.FACTORY);
 
         gson = builder.create();
     }
 
     public static ModelSerializer getInstance() {
-        if (instance == null) {
-            instance = new ModelSerializer();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
 
     public String toJson(Object src, Type typeOfSrc) {
         return gson.toJson(src, typeOfSrc);
     }
 
+    /**
+     * Write an object as UTF-8 JSON to a stream.  The stream is flushed but not closed.
+     */
+    public void toJson(Object src, Type typeOfSrc, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        toJson(src, typeOfSrc, new JsonWriter(writer));
+        writer.flush();
+    }
+
+    /**
+     * Write an object to a JSON stream, such as one that builds a database document.
+     */
+    public void toJson(Object src, Type typeOfSrc, JsonWriter out) {
+        gson.toJson(src, typeOfSrc, out);
+    }
+
+    /**
+     * Write an object as UTF-8 JSON into this thread's reusable buffer.
+     *
+     * @return the JSON, between the buffer's position and limit
+     * @post the returned buffer is only valid until the next call to this method on the same thread
+     */
+    public ByteBuffer toJsonBytes(Object src, Type typeOfSrc) {
+        ReusableBuffer buffer = buffers.get();
+        buffer.reset();
+        toJson(src, typeOfSrc, new JsonWriter(buffer));
+        return buffer.encode();
+    }
+
     public JsonElement toJsonTree(Object src, Type typeOfSrc) {
         return gson.toJsonTree(src, typeOfSrc);
     }
 
 
+    /**
+     * Get the adapter used for a type, to read or write it directly from a stream.
+     */
+    public <T> TypeAdapter<T> getAdapter(TypeToken<T> type) {
+        return gson.getAdapter(type);
+    }
+
     public <T> T fromJson(Reader r, Class<T> classOfT) {
         return gson.fromJson(r, classOfT);
     }
 
+    /**
+     * Read an object from a stream of UTF-8 JSON, such as a request body.
+     */
+    public <T> T fromJson(InputStream in, Class<T> classOfT) {
+        return fromJson(new InputStreamReader(in, StandardCharsets.UTF_8), classOfT);
+    }
+
     public <T> T fromJson(String s, Class<T> classOfT) {
         return gson.fromJson(s, classOfT);
     }
@@ -56,4 +111,89 @@ public class ModelSerializer {
     public <T> T fromJson(JsonElement e, Class<T> classOfT) {
         return gson.fromJson(e, classOfT);
     }
+
+    /**
+     * Read an object from a JSON stream, such as one that reads a database document.
+     */
+    public <T> T fromJson(JsonReader in, Class<T> classOfT) {
+        return gson.fromJson(in, classOfT);
+    }
+
+    /**
+     * Initialized on first use of getInstance, and safely published to every thread by the class loader.
+     */
+    private static class Holder {
+        private static final ModelSerializer INSTANCE = new ModelSerializer();
+    }
+
+    /**
+     * A writer that collects characters in an array, and encodes them all to UTF-8 at once.
+     * <p>
+     * Gson writes JSON a few characters at a time, which an encoding writer such as
+     * {@link OutputStreamWriter} handles one call at a time, each taking a lock; collecting them first
+     * leaves one array to encode.  Both arrays are kept for the next use.
+     */
+    private static class ReusableBuffer extends Writer {
+        private static final int INITIAL_SIZE = 8192;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private char[] chars = new char[INITIAL_SIZE];
+        private int length;
+        private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_SIZE);
+
+        void reset() {
+            length = 0;
+        }
+
+        /**
+         * @return the characters written since the last reset, as UTF-8 between position and limit
+         */
+        ByteBuffer encode() {
+            int maxBytes = (int) (length * (double) encoder.maxBytesPerChar());
+            if (bytes.capacity() < maxBytes) {
+                bytes = ByteBuffer.allocate(maxBytes);
+            }
+            bytes.clear();
+            encoder.reset();
+            encoder.encode(CharBuffer.wrap(chars, 0, length), bytes, true);
+            encoder.flush(bytes);
+            bytes.flip();
+            return bytes;
+        }
+
+        private void ensureCapacity(int more) {
+            if (length + more > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + more));
+            }
+        }
+
+        @Override
+        public void write(int c) {
+            ensureCapacity(1);
+            chars[length++] = (char) c;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int count) {
+            ensureCapacity(count);
+            System.arraycopy(buffer, offset, chars, length, count);
+            length += count;
+        }
+
+        @Override
+        public void write(String s, int offset, int count) {
+            ensureCapacity(count);
+            s.getChars(offset, offset + count, chars, length);
+            length += count;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package shared.serialization;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import shared.locations.VertexDirection;
+import shared.locations.VertexLocation;
+import shared.locations.HexLocation;
+
+import java.io.IOException;
+
+/**
+ * Reads vertex locations as their interned instances, flattened to {@code {"x", "y", "direction"}}.
+ */
+public class VertexLocationTypeAdapter extends TypeAdapter<VertexLocation> {
+    public static final TypeAdapterFactory FACTORY =
+            new AdapterFactory<>(VertexLocation.class, VertexLocationTypeAdapter::new);
+
+    private final TypeAdapter<VertexDirection> directionAdapter;
+
+    public VertexLocationTypeAdapter(Gson gson) {
+        directionAdapter = gson.getAdapter(VertexDirection.class);
+    }
+
+    @Override
+    public void write(JsonWriter out, VertexLocation loc) throws IOException {
+        if (loc == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("x").value(loc.getHexLoc().getX());
+        out.name("y").value(loc.getHexLoc().getY());
+        out.name("direction");
+        directionAdapter.write(out, loc.getDir());
+        out.endObject();
+    }
+
+    @Override
+    public VertexLocation read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Integer x = null;
+        Integer y = null;
+        VertexDirection dir = null;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "x":
+                    x = in.nextInt();
+                    break;
+                case "y":
+                    y = in.nextInt();
+                    break;
+                case "direction":
+                    dir = directionAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        if (dir == null) {
+            throw new JsonParseException("Invalid VertexDirection");
+        }
+        if (x == null || y == null) {
+            throw new JsonParseException("Invalid VertexLocation");
+        }
+        return VertexLocation.of(HexLocation.of(x, y), dir);
+    }
+}
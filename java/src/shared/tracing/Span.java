@@ -0,0 +1,44 @@
+package shared.tracing;
+
+/**
+ * One timed step of a trace.
+ */
+public class Span {
+    static final Span NOOP = new Span("", 0);
+
+    private final String name;
+    private final long startNanos;
+    private long endNanos = -1;
+
+    Span(String name, long startNanos) {
+        this.name = name;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Finish the step.  Ending a span again has no effect.
+     */
+    public void end() {
+        if (this != NOOP && endNanos < 0) {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return when the span was opened, from {@link System#nanoTime()}
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * @return how long the step took, or 0 if it hasn't ended
+     */
+    public long getDurationNanos() {
+        return endNanos < 0 ? 0 : endNanos - startNanos;
+    }
+}
@@ -0,0 +1,73 @@
+package shared.tracing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The spans opened while handling one request, in the order they were opened.  The first span times
+ * the whole request.
+ * <p>
+ * A trace belongs to the thread that started it, and is not safe to use from other threads.
+ */
+public class Trace implements AutoCloseable {
+    private final String id;
+    private final long threadId;
+    private final long startMillis;
+    private final List<Span> spans = new ArrayList<>();
+
+    Trace(String name) {
+        id = String.format("%016x", ThreadLocalRandom.current().nextLong());
+        threadId = Thread.currentThread().getId();
+        startMillis = System.currentTimeMillis();
+        open(name);
+    }
+
+    Span open(String name) {
+        Span span = new Span(name, System.nanoTime());
+        spans.add(span);
+        return span;
+    }
+
+    /**
+     * Finish the request, and stop tracing on this thread.
+     */
+    @Override
+    public void close() {
+        spans.get(0).end();
+        Tracer.finish(this);
+    }
+
+    /**
+     * @return a random id for the request, as 16 hex digits
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the id of the thread that handled the request
+     */
+    public long getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * @return when the request started, in milliseconds since the epoch
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * @return how long the request took, or 0 if the trace hasn't been closed
+     */
+    public long getDurationNanos() {
+        return spans.get(0).getDurationNanos();
+    }
+
+    public List<Span> getSpans() {
+        return Collections.unmodifiableList(spans);
+    }
+}
@@ -0,0 +1,106 @@
+package shared.tracing;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * Times the steps of handling a request, so a slow request shows where its time went.
+ * <p>
+ * A trace is started on the thread handling the request, and the code it calls opens a span around
+ * each step worth timing with {@link #span}, or wraps a single call with {@link #trace}.  Spans
+ * opened on a thread with no trace do nothing, so code shared with the client can open them
+ * without a cost there.
+ */
+public final class Tracer {
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private Tracer() {
+    }
+
+    /**
+     * Start tracing on this thread.  Close the trace when the request is finished.
+     *
+     * @param name what the request is, such as its method and path
+     * @return the new trace
+     */
+    @NotNull
+    public static Trace startTrace(@NotNull String name) {
+        Trace trace = new Trace(name);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * Open a span, to end when the step it times is finished:
+     * <pre>{@code Span span = Tracer.span("decode");
+     * try { ... } finally { span.end(); }}</pre>
+     *
+     * @param name the step being timed
+     * @return the span, which does nothing if this thread has no trace
+     */
+    @NotNull
+    public static Span span(@NotNull String name) {
+        Trace trace = CURRENT.get();
+        return trace == null ? Span.NOOP : trace.open(name);
+    }
+
+    /**
+     * Open a span named after a method, without building its name unless this thread has a trace.
+     *
+     * @param type   the class the method is called on
+     * @param method the name of the method
+     * @return the span, which does nothing if this thread has no trace
+     */
+    @NotNull
+    public static Span span(@NotNull Class<?> type, @NotNull String method) {
+        Trace trace = CURRENT.get();
+        return trace == null ? Span.NOOP : trace.open(type.getSimpleName() + "." + method);
+    }
+
+    /**
+     * Time a single call in a span of its own.
+     *
+     * @param name the step being timed
+     * @param step the call to make
+     */
+    public static void trace(@NotNull String name, @NotNull Runnable step) {
+        Span span = span(name);
+        try {
+            step.run();
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Time a single call in a span of its own.
+     *
+     * @param name the step being timed
+     * @param step the call to make
+     * @return what the call returned
+     */
+    public static <T> T trace(@NotNull String name, @NotNull Supplier<T> step) {
+        Span span = span(name);
+        try {
+            return step.get();
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * @return the trace on this thread, or null if there is none
+     */
+    @Nullable
+    public static Trace current() {
+        return CURRENT.get();
+    }
+
+    static void finish(Trace trace) {
+        if (CURRENT.get() == trace) {
+            CURRENT.remove();
+        }
+    }
+}
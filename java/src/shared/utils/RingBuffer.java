@@ -0,0 +1,98 @@
+package shared.utils;
+
+import java.util.AbstractList;
+import java.util.Collection;
+
+/**
+ * A fixed-capacity list that discards its oldest element when a new one is added while full.
+ * <p>
+ * Appending and indexed reads are O(1). Only appending to the end is supported;
+ * removing or inserting elsewhere throws {@link UnsupportedOperationException}.
+ *
+ * @param <E> the type of element held
+ */
+public class RingBuffer<E> extends AbstractList<E> {
+    private final Object[] elements;
+    private int head;
+    private int size;
+
+    /**
+     * @param capacity the maximum number of elements to hold, greater than 0
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("RingBuffer capacity must be positive");
+        }
+        elements = new Object[capacity];
+    }
+
+    /**
+     * Creates a buffer holding the last {@code capacity} elements of {@code items}.
+     *
+     * @param capacity the maximum number of elements to hold, greater than 0
+     * @param items    the items to add, in order
+     */
+    public RingBuffer(int capacity, Collection<? extends E> items) {
+        this(capacity);
+        addAll(items);
+    }
+
+    public int getCapacity() {
+        return elements.length;
+    }
+
+    public boolean isFull() {
+        return size == elements.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (E) elements[(head + index) % elements.length];
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E old = get(index);
+        elements[(head + index) % elements.length] = element;
+        return old;
+    }
+
+    /**
+     * Appends an element, discarding the oldest one if the buffer is full.
+     *
+     * @param element the element to append
+     * @return true
+     */
+    @Override
+    public boolean add(E element) {
+        if (isFull()) {
+            elements[head] = element;
+            head = (head + 1) % elements.length;
+        } else {
+            elements[(head + size) % elements.length] = element;
+            size++;
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = null;
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,71 @@
+package shared.utils;
+
+import shared.IServer;
+import shared.models.GameAction;
+import shared.models.game.ClientModel;
+import shared.models.games.CreateGameRequest;
+import shared.models.games.GameInfo;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Calls on an {@link IServer} that clients with no UI, such as bots and load tests, make in the same
+ * way.
+ */
+public class ServerUtils {
+    private static final Map<Class<?>, Method> MOVE_ENDPOINTS = new HashMap<>();
+
+    static {
+        for (Method method : IServer.class.getMethods()) {
+            if (method.getParameterCount() == 1 && GameAction.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                MOVE_ENDPOINTS.put(method.getParameterTypes()[0], method);
+            }
+        }
+    }
+
+    /**
+     * Sends a move to the endpoint for its type.
+     *
+     * @param server where to send the move
+     * @param move   the move to make
+     * @return the model after the move
+     * @throws Exception whatever the endpoint throws
+     */
+    public static ClientModel sendMove(IServer server, GameAction move) throws Exception {
+        Method endpoint = MOVE_ENDPOINTS.get(move.getClass());
+        if (endpoint == null) {
+            throw new IllegalArgumentException("No endpoint takes a " + move.getClass().getSimpleName());
+        }
+        try {
+            return (ClientModel) endpoint.invoke(server, move);
+        } catch (InvocationTargetException e) {
+            if (e.getTargetException() instanceof Exception) {
+                throw (Exception) e.getTargetException();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a game, then finds it in the list of games, since creating it doesn't return its id.
+     *
+     * @param server  where to create the game
+     * @param request the game to create
+     * @return the new game's id
+     * @throws Exception whatever the server throws
+     */
+    public static int createGame(IServer server, CreateGameRequest request) throws Exception {
+        server.createGame(request);
+        GameInfo[] games = server.listOfGames();
+        // The newest game with the title is the one just created
+        for (int i = games.length - 1; i >= 0; i--) {
+            if (request.getName().equals(games[i].getTitle())) {
+                return games[i].getId();
+            }
+        }
+        throw new IllegalStateException("Created game " + request.getName() + " is not in the list of games");
+    }
+}
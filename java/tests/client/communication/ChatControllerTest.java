@@ -2,6 +2,8 @@ package client.communication;
 
 import client.game.IGameManager;
 import client.game.MockGM;
+import client.game.ModelChanges;
+import client.game.ModelPart;
 import client.server.MockCM;
 import client.server.MockProxy;
 import client.utils.MockServerAsyncHelper;
@@ -24,6 +26,7 @@ import shared.models.moves.SendChatAction;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -111,4 +114,25 @@ public class ChatControllerTest {
         verify(chatView).setEntries(entries);
     }
 
+    @Test
+    public void updateOnlyNewLines() throws Exception {
+        model.setChat(new MessageList(Arrays.asList(
+                new MessageEntry("alyssa", "hello")
+        )));
+        cc.updateFromModel(model);
+        ClientModel next = MockCM.fullJsonModel();
+        next.setChat(new MessageList(Arrays.asList(
+                new MessageEntry("alyssa", "hello"),
+                new MessageEntry("Quinn", "world")
+        )));
+        ModelChanges changes = ModelChanges.between(next, model);
+        assertEquals(1, changes.getFirstChangedChat());
+        assertFalse(changes.hasChanged(ModelPart.PLAYERS));
+
+        cc.update((MockGM) gm, changes);
+        verify(chatView).updateEntries(1, Arrays.asList(
+                new LogEntry(CatanColor.GREEN, "world")
+        ));
+    }
+
 }
@@ -0,0 +1,69 @@
+package client.communication;
+
+import org.junit.Before;
+import org.junit.Test;
+import shared.definitions.CatanColor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LogComponentTest {
+    private List<LogEntry> entries;
+
+    @Before
+    public void setUp() throws Exception {
+        entries = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            entries.add(new LogEntry(i % 2 == 0 ? CatanColor.RED : CatanColor.BLUE,
+                    "Message " + i + " is long enough that it wraps onto more than one line"));
+        }
+    }
+
+    private static LogComponent sized(int width) {
+        LogComponent log = new LogComponent();
+        log.setSize(width, 10);
+        return log;
+    }
+
+    @Test
+    public void updateMatchesSet() throws Exception {
+        LogComponent whole = sized(300);
+        whole.setEntries(entries);
+
+        LogComponent appended = sized(300);
+        appended.setEntries(entries.subList(0, 20));
+        appended.updateEntries(20, entries.subList(20, 50));
+        assertEquals(whole.getPreferredSize(), appended.getPreferredSize());
+
+        // Replacing from a line that didn't change
+        appended.updateEntries(10, entries.subList(10, 50));
+        assertEquals(whole.getPreferredSize(), appended.getPreferredSize());
+    }
+
+    @Test
+    public void updateShrinks() throws Exception {
+        LogComponent log = sized(300);
+        log.setEntries(entries.subList(0, 1));
+        int one = log.getPreferredSize().height;
+        log.updateEntries(1, entries.subList(1, 3));
+        assertTrue(log.getPreferredSize().height > one);
+        log.updateEntries(1, Collections.emptyList());
+        assertEquals(one, log.getPreferredSize().height);
+    }
+
+    @Test
+    public void placeholder() throws Exception {
+        LogComponent log = sized(300);
+        log.setEntries(null);
+        int empty = log.getPreferredSize().height;
+        assertTrue(empty > 0);
+        log.updateEntries(0, Arrays.asList(new LogEntry(CatanColor.RED, "hi")));
+        assertEquals(empty, log.getPreferredSize().height);
+        log.setEntries(Collections.emptyList());
+        assertEquals(empty, log.getPreferredSize().height);
+    }
+}
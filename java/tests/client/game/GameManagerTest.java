@@ -0,0 +1,84 @@
+package client.game;
+
+import client.server.MockCM;
+import org.junit.Test;
+import shared.definitions.PlayerIndex;
+import shared.models.game.ClientModel;
+import shared.models.moves.BuyDevCardAction;
+import shared.models.moves.SendChatAction;
+
+import static org.junit.Assert.*;
+
+public class GameManagerTest {
+
+    /**
+     * A move's response can arrive after the poller has already found a newer model
+     */
+    @Test
+    public void updateGameManagerIgnoresOlderModels() throws Exception {
+        GameManager gm = new GameManager();
+        ClientModel newer = new ClientModel();
+        newer.setVersion(5);
+        ClientModel older = new ClientModel();
+        older.setVersion(4);
+
+        gm.updateGameManager(newer);
+        gm.updateGameManager(older);
+        assertSame(newer, gm.getClientModel());
+
+        ClientModel next = new ClientModel();
+        next.setVersion(6);
+        gm.updateGameManager(next);
+        assertSame(next, gm.getClientModel());
+    }
+
+    @Test
+    public void predictShowsMoveUntilServerAnswers() throws Exception {
+        GameManager gm = new GameManager();
+        ClientModel model = MockCM.fullJsonModel();
+        gm.updateGameManager(model);
+        int lines = model.getChat().getLines().size();
+
+        SendChatAction chat = new SendChatAction("hello", PlayerIndex.FIRST);
+        assertTrue(gm.predict(chat));
+        assertEquals(lines + 1, gm.getClientModel().getChat().getLines().size());
+        assertEquals(model.getVersion(), gm.getClientModel().getVersion());
+        // The server's model isn't touched
+        assertEquals(lines, model.getChat().getLines().size());
+
+        ClientModel answer = model.copy();
+        answer.getChat().addMessage(answer.getPlayer(PlayerIndex.FIRST), "hello");
+        answer.setVersion(model.getVersion() + 1);
+        gm.confirm(chat, answer);
+        assertSame(answer, gm.getClientModel());
+    }
+
+    @Test
+    public void rejectShowsNewestServerModel() throws Exception {
+        GameManager gm = new GameManager();
+        ClientModel model = MockCM.fullJsonModel();
+        gm.updateGameManager(model);
+
+        SendChatAction chat = new SendChatAction("hello", PlayerIndex.FIRST);
+        assertTrue(gm.predict(chat));
+        ClientModel predicted = gm.getClientModel();
+
+        // The poller's model is held while the move is waiting, since it may not include the move
+        ClientModel polled = model.copy();
+        polled.setVersion(model.getVersion() + 1);
+        gm.updateGameManager(polled);
+        assertSame(predicted, gm.getClientModel());
+
+        gm.reject(chat);
+        assertSame(polled, gm.getClientModel());
+    }
+
+    @Test
+    public void randomMovesArentPredicted() throws Exception {
+        GameManager gm = new GameManager();
+        ClientModel model = MockCM.fullJsonModel();
+        gm.updateGameManager(model);
+        assertFalse(gm.predict(new BuyDevCardAction(PlayerIndex.FIRST)));
+        assertSame(model, gm.getClientModel());
+    }
+}
@@ -0,0 +1,71 @@
+package client.game;
+
+import client.server.MockCM;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import shared.models.game.ClientModel;
+
+import java.io.File;
+import java.io.FileOutputStream;
+
+import static org.junit.Assert.*;
+
+public class ModelCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void saveAndLoad() throws Exception {
+        ModelCache cache = new ModelCache(new File(folder.getRoot(), "models"));
+        assertNull(cache.load("localhost-8081-0", "a"));
+
+        ClientModel model = MockCM.fullJsonModel();
+        model.setVersion(12);
+        cache.save("localhost-8081-0", "a", model);
+        cache.flush();
+
+        assertEquals(model, cache.load("localhost-8081-0", "a"));
+        assertNull(cache.load("localhost-8081-1", "a"));
+        // A new cache finds the same file
+        assertEquals(model, new ModelCache(new File(folder.getRoot(), "models")).load("localhost-8081-0", "a"));
+        // But not once the server has restarted
+        assertNull(cache.load("localhost-8081-0", "b"));
+    }
+
+    @Test
+    public void saveKeepsNewest() throws Exception {
+        ModelCache cache = new ModelCache(folder.getRoot());
+        ClientModel model = MockCM.fullJsonModel();
+        for (int version = 1; version <= 20; version++) {
+            model.setVersion(version);
+            cache.save("game", "a", model);
+        }
+        cache.flush();
+        assertEquals(20, cache.load("game", "a").getVersion());
+    }
+
+    @Test
+    public void saveKeepsEveryGame() throws Exception {
+        ModelCache cache = new ModelCache(folder.getRoot());
+        ClientModel model = MockCM.fullJsonModel();
+        for (int game = 0; game < 5; game++) {
+            model.setVersion(game);
+            cache.save("game" + game, "a", model);
+        }
+        cache.flush();
+        for (int game = 0; game < 5; game++) {
+            assertEquals(game, cache.load("game" + game, "a").getVersion());
+        }
+    }
+
+    @Test
+    public void loadIgnoresBadFiles() throws Exception {
+        ModelCache cache = new ModelCache(folder.getRoot());
+        try (FileOutputStream out = new FileOutputStream(new File(folder.getRoot(), "game.model"))) {
+            out.write(new byte[]{0, 3, 'a', 'b', 'c', 1, 2});
+        }
+        assertNull(cache.load("game", "a"));
+    }
+}
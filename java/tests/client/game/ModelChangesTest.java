@@ -0,0 +1,61 @@
+package client.game;
+
+import client.server.MockCM;
+import org.junit.Before;
+import org.junit.Test;
+import shared.definitions.PlayerIndex;
+import shared.definitions.TurnStatus;
+import shared.models.game.ClientModel;
+import shared.models.game.MessageEntry;
+import shared.models.game.ResourceSet;
+
+import java.util.EnumSet;
+
+import static org.junit.Assert.*;
+
+public class ModelChangesTest {
+    private ClientModel previous;
+    private ClientModel model;
+
+    @Before
+    public void setUp() throws Exception {
+        previous = MockCM.fullJsonModel();
+        model = MockCM.fullJsonModel();
+    }
+
+    @Test
+    public void sameModelHasNoChanges() throws Exception {
+        ModelChanges changes = ModelChanges.between(model, previous);
+        assertTrue(changes.isEmpty());
+        assertEquals(-1, changes.getFirstChangedChat());
+        assertEquals(-1, changes.getFirstChangedLog());
+    }
+
+    @Test
+    public void noPreviousModelChangesEverything() throws Exception {
+        ModelChanges changes = ModelChanges.between(model, null);
+        for (ModelPart part : ModelPart.values()) {
+            assertTrue(changes.hasChanged(part));
+        }
+        assertTrue(changes.hasPlayerChanged(PlayerIndex.THIRD));
+        assertEquals(0, changes.getFirstChangedChat());
+    }
+
+    @Test
+    public void changedParts() throws Exception {
+        model.getPlayer(PlayerIndex.SECOND).setResources(new ResourceSet(9, 9, 9, 9, 9));
+        model.getTurnTracker().setStatus(TurnStatus.GAME_OVER);
+        int lines = model.getLog().getLines().size();
+        model.getLog().addMessage(new MessageEntry("Sam", "won"));
+
+        ModelChanges changes = ModelChanges.between(model, previous);
+        assertTrue(changes.hasChanged(ModelPart.PLAYERS));
+        assertTrue(changes.hasPlayerChanged(PlayerIndex.SECOND));
+        assertFalse(changes.hasPlayerChanged(PlayerIndex.FIRST));
+        assertTrue(changes.hasChanged(ModelPart.TURN_TRACKER));
+        assertEquals(lines, changes.getFirstChangedLog());
+        assertFalse(changes.hasChanged(ModelPart.MAP));
+        assertFalse(changes.hasChanged(ModelPart.CHAT));
+        assertFalse(changes.hasChangedAny(EnumSet.of(ModelPart.BANK, ModelPart.TRADE_OFFER)));
+    }
+}
@@ -0,0 +1,49 @@
+package client.map;
+
+import org.junit.Test;
+
+import java.awt.geom.Point2D;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class PointIndexTest {
+
+    @Test
+    public void emptyIndexHasNoNearest() throws Exception {
+        assertNull(new PointIndex<String>(10).nearest(new Point2D.Double(0, 0)));
+    }
+
+    @Test
+    public void movedPointIsFoundAtItsNewPlace() throws Exception {
+        PointIndex<String> index = new PointIndex<>(10);
+        index.put("a", new Point2D.Double(0, 0));
+        index.put("b", new Point2D.Double(100, 100));
+        index.put("a", new Point2D.Double(200, 200));
+        assertEquals(2, index.size());
+        assertEquals("b", index.nearest(new Point2D.Double(1, 1)));
+        assertEquals("a", index.nearest(new Point2D.Double(190, 210)));
+    }
+
+    /**
+     * Checks against looking at every point, including from far outside the points
+     */
+    @Test
+    public void nearestMatchesSearchingEverything() throws Exception {
+        Random random = new Random(340);
+        PointIndex<Integer> index = new PointIndex<>(50);
+        Map<Integer, Point2D> points = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            Point2D point = new Point2D.Double(random.nextInt(1000), random.nextInt(1000));
+            points.put(i, point);
+            index.put(i, point);
+        }
+        for (int i = 0; i < 1000; i++) {
+            Point2D query = new Point2D.Double(random.nextInt(3000) - 1000, random.nextInt(3000) - 1000);
+            double best = points.values().stream().mapToDouble(query::distance).min().getAsDouble();
+            assertEquals(best, query.distance(points.get(index.nearest(query))), 1e-9);
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package client.poller;
 
 import client.game.GameManager;
+import client.game.IGameManager;
 import client.game.MockGM;
 import client.server.MockCM;
 import org.junit.Before;
 import org.junit.Test;
+import shared.IServer;
+import shared.definitions.PlayerIndex;
+import shared.definitions.TurnStatus;
+import shared.models.game.ClientModel;
 
+import javax.naming.CommunicationException;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Checks the workings of the Poller - can it start, stop and set the clientModel with new data
@@ -66,4 +73,61 @@ public class PollerTest {
         assertEquals(mgm.getClientModel().getVersion(), 21);
     }
 
-}
\ No newline at end of file
+    /**
+     * Checks that polls slow down while nothing changes, back off when the server is down, and speed
+     * up again when the game changes or waits on this player
+     *
+     * @throws Exception
+     */
+    @Test
+    public void checkForUpdate() throws Exception {
+        ClientModel model = MockCM.fullJsonModel();
+        model.getTurnTracker().setCurrentTurn(PlayerIndex.SECOND);
+        model.getTurnTracker().setStatus(TurnStatus.ROLLING);
+        model.setTradeOffer(null);
+        IServer server = mock(IServer.class);
+        IGameManager gm = mock(IGameManager.class);
+        when(gm.getServer()).thenReturn(server);
+        when(gm.getClientModel()).thenReturn(model);
+        when(gm.getThisPlayerIndex()).thenReturn(PlayerIndex.FIRST);
+        p = new Poller(gm);
+
+        when(server.gameState(model.getVersion())).thenReturn(null);
+        assertEquals(Poller.SERVER_CONTACT_INTERVAL * 3 / 2, p.checkForUpdate());
+        long slower = p.checkForUpdate();
+        assertTrue(slower > Poller.SERVER_CONTACT_INTERVAL * 3 / 2);
+        for (int i = 0; i < 10; i++) {
+            slower = p.checkForUpdate();
+        }
+        assertEquals(Poller.MAX_INTERVAL, slower);
+
+        when(server.gameState(model.getVersion())).thenReturn(model);
+        assertEquals(Poller.SERVER_CONTACT_INTERVAL, p.checkForUpdate());
+        verify(gm, timeout(1000)).updateGameManager(model);
+
+        when(server.gameState(model.getVersion())).thenThrow(new CommunicationException());
+        assertEquals(Poller.SERVER_CONTACT_INTERVAL * 2, p.checkForUpdate());
+        doThrow(new IllegalArgumentException()).when(server).gameState(model.getVersion());
+        assertEquals(Poller.SERVER_CONTACT_INTERVAL * 4, p.checkForUpdate());
+
+        doReturn(null).when(server).gameState(model.getVersion());
+        model.getTurnTracker().setCurrentTurn(PlayerIndex.FIRST);
+        assertEquals(Poller.MY_TURN_INTERVAL, p.checkForUpdate());
+    }
+
+    @Test
+    public void retryDelay() throws Exception {
+        assertEquals(PollTask.MIN_RETRY_DELAY, PollTask.retryDelay(0));
+        assertEquals(6000, PollTask.retryDelay(3000));
+        assertEquals(PollTask.MAX_RETRY_DELAY, PollTask.retryDelay(PollTask.MAX_RETRY_DELAY));
+    }
+
+    @Test
+    public void withJitter() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            long delay = PollTask.withJitter(1000);
+            assertTrue(delay >= 1000 * (1 - PollTask.JITTER));
+            assertTrue(delay <= 1000 * (1 + PollTask.JITTER));
+        }
+    }
+}
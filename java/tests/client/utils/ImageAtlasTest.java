@@ -0,0 +1,53 @@
+package client.utils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+
+import static org.junit.Assert.*;
+
+public class ImageAtlasTest {
+    private ImageAtlas atlas;
+    private String file;
+
+    @Before
+    public void setUp() throws Exception {
+        atlas = new ImageAtlas();
+        File image = File.createTempFile("atlas", ".png");
+        image.deleteOnExit();
+        ImageIO.write(new BufferedImage(298, 258, BufferedImage.TYPE_INT_ARGB), "png", image);
+        file = image.getPath();
+    }
+
+    @Test
+    public void scaledCopiesAreMadeOnce() throws Exception {
+        BufferedImage scaled = atlas.getScaled(file, 0.3, 0);
+        assertEquals(89, scaled.getWidth());
+        assertEquals(77, scaled.getHeight());
+        assertSame(scaled, atlas.getScaled(file, 0.3, 0));
+        assertNotSame(scaled, atlas.getScaled(file, 0.3, Math.PI));
+        assertSame(atlas.get(file), atlas.get(file));
+    }
+
+    @Test
+    public void evictScaleKeepsOtherCopies() throws Exception {
+        BufferedImage sized = atlas.getSized(file, 50, 50);
+        atlas.getScaled(file, 0.3, 0);
+        atlas.getScaled(file, 0.3, Math.PI);
+        BufferedImage other = atlas.getScaled(file, 0.5, 0);
+        assertEquals(4, atlas.size());
+
+        atlas.evictScale(0.3);
+        assertEquals(2, atlas.size());
+        assertSame(sized, atlas.getSized(file, 50, 50));
+        assertSame(other, atlas.getScaled(file, 0.5, 0));
+    }
+
+    @Test
+    public void missingImageIsDefault() throws Exception {
+        assertSame(ImageUtils.DEFAULT_IMAGE, atlas.get(file + ".missing"));
+    }
+}
@@ -39,7 +39,7 @@ public class MockServerAsyncHelper extends ServerAsyncHelper {
         return new MockClientModelFuture<>(runFunc, arg);
     }
 
-    public abstract class MockBaseFuture<RunType, SuccessType> extends ServerAsyncHelper.BaseFuture<RunType, SuccessType> {
+    public abstract class MockBaseFuture<RunType, SuccessType, R> extends ServerAsyncHelper.BaseFuture<RunType, SuccessType, R> {
         public MockBaseFuture(@NotNull RunType runFunc) {
             super(runFunc);
         }
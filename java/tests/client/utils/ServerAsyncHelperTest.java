@@ -0,0 +1,138 @@
+package client.utils;
+
+import client.game.IGameManager;
+import org.junit.Before;
+import org.junit.Test;
+import shared.models.game.ClientModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class ServerAsyncHelperTest {
+    private IGameManager gm;
+    private ServerAsyncHelper async;
+
+    @Before
+    public void setUp() throws Exception {
+        gm = mock(IGameManager.class);
+        async = new ServerAsyncHelper(gm, Runnable::run);
+    }
+
+    @Test
+    public void getReturnsResultAfterCallbacks() throws Exception {
+        AtomicReference<String> seen = new AtomicReference<>();
+        ServerAsyncHelper.Future<Integer, String> future = async.runMethod((Integer i) -> {
+            return String.valueOf(i);
+        }, 12);
+        future.onSuccess(seen::set).start();
+        assertEquals("12", future.get());
+        assertEquals("12", seen.get());
+    }
+
+    @Test
+    public void errorsReachCallbackAndGet() throws Exception {
+        AtomicReference<Exception> seen = new AtomicReference<>();
+        IllegalArgumentException thrown = new IllegalArgumentException();
+        ServerAsyncHelper.NoArgFuture<String> future = async.runMethod(() -> {
+            throw thrown;
+        });
+        future.onError(seen::set).start();
+        try {
+            future.get();
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertSame(thrown, e);
+        }
+        assertSame(thrown, seen.get());
+    }
+
+    @Test
+    public void modelMethodsRunInOrder() throws Exception {
+        List<Integer> calls = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ServerAsyncHelper.ClientModelFuture<Integer> first = async.runModelMethod(i -> {
+            firstStarted.countDown();
+            release.await();
+            calls.add(i);
+            return model(i);
+        }, 1);
+        ServerAsyncHelper.ClientModelFuture<Integer> second = async.runModelMethod(i -> {
+            calls.add(i);
+            return model(i);
+        }, 2);
+        first.start();
+        second.start();
+        assertTrue(firstStarted.await(1, TimeUnit.SECONDS));
+        // The second waits for the first, even with threads free
+        Thread.sleep(50);
+        assertTrue(calls.isEmpty());
+        release.countDown();
+        assertEquals(2, second.get().getVersion());
+        assertEquals(1, first.get().getVersion());
+        assertEquals(Arrays.asList(1, 2), calls);
+        verify(gm).updateGameManager(first.get());
+        verify(gm).updateGameManager(second.get());
+    }
+
+    @Test
+    public void modelsAreHandedOver() throws Exception {
+        List<Runnable> updates = Collections.synchronizedList(new ArrayList<>());
+        async = new ServerAsyncHelper(gm, updates::add);
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        ServerAsyncHelper.ClientModelFuture<Integer> future = async.runModelMethod(ServerAsyncHelperTest::model, 3);
+        future.onSuccessAfter(() -> calls.add("after")).start();
+        assertEquals(3, future.get().getVersion());
+        // Nothing reaches the game manager until the update runs where it was handed
+        verify(gm, never()).updateGameManager(any());
+        assertTrue(calls.isEmpty());
+        assertEquals(1, updates.size());
+        updates.get(0).run();
+        verify(gm).updateGameManager(future.get());
+        assertEquals(Collections.singletonList("after"), calls);
+    }
+
+    @Test
+    public void tooManyWaitingAreRejected() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<ServerAsyncHelper.ClientModelFuture<Integer>> blocked = new ArrayList<>();
+        for (int i = 0; i < ServerAsyncHelper.MAX_PENDING; i++) {
+            ServerAsyncHelper.ClientModelFuture<Integer> future = async.runModelMethod(v -> {
+                release.await();
+                return model(v);
+            }, i);
+            future.start();
+            blocked.add(future);
+        }
+        AtomicReference<Exception> seen = new AtomicReference<>();
+        ServerAsyncHelper.NoArgFuture<String> extra = async.runMethod(() -> "too many");
+        extra.onError(seen::set).start();
+        assertTrue(seen.get() instanceof RejectedExecutionException);
+        try {
+            extra.toCompletableFuture().get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        release.countDown();
+        for (ServerAsyncHelper.ClientModelFuture<Integer> future : blocked) {
+            future.get();
+        }
+    }
+
+    private static ClientModel model(int version) {
+        ClientModel model = new ClientModel();
+        model.setVersion(version);
+        return model;
+    }
+}
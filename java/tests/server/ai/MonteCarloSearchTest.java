@@ -0,0 +1,67 @@
+package server.ai;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import server.models.GameModel;
+import shared.definitions.AIType;
+import shared.definitions.PlayerIndex;
+import shared.definitions.TurnStatus;
+import shared.facades.FacadeManager;
+import shared.models.GameAction;
+import shared.models.game.ClientModel;
+import shared.models.game.ResourceSet;
+import shared.models.games.GameInfo;
+import shared.serialization.ModelExample;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+public class MonteCarloSearchTest {
+    private static final long BUDGET = TimeUnit.MILLISECONDS.toNanos(100);
+    private MonteCarloSearch search;
+
+    @Before
+    public void setup() {
+        search = new MonteCarloSearch(AIType.LARGEST_ARMY, new Random(1));
+    }
+
+    @Test
+    public void choosesLegalMoveWithinBudget() throws Exception {
+        ClientModel model = ModelExample.fullJsonModel();
+        model.getTurnTracker().setCurrentTurn(PlayerIndex.FIRST);
+        model.getTurnTracker().setStatus(TurnStatus.PLAYING);
+        model.getPlayer(PlayerIndex.FIRST).setResources(new ResourceSet(3, 3, 3, 3, 3));
+
+        long start = System.nanoTime();
+        GameAction move = search.chooseMove(model, PlayerIndex.FIRST, BUDGET);
+        long elapsed = System.nanoTime() - start;
+
+        Assert.assertNotNull(move);
+        Assert.assertTrue(search.getSimulations() > 0);
+        // Allow for the last playout and for a slow test machine
+        Assert.assertTrue(elapsed < BUDGET * 5);
+
+        move.setFacades(new FacadeManager(model));
+        move.execute();
+    }
+
+    @Test
+    public void playsThroughSetup() throws Exception {
+        GameModel game = new GameModel(1, new GameInfo(), new ClientModel(false, false, false));
+        for (int i = 0; i < PlayerIndex.MAX_PLAYERS; i++) {
+            game.addAIPlayer();
+        }
+        ClientModel model = game.getClientModel();
+        FacadeManager facades = new FacadeManager(model);
+        // Each seat places a settlement and a road, then finishes, twice
+        for (int i = 0; i < PlayerIndex.MAX_PLAYERS * 6; i++) {
+            PlayerIndex current = model.getTurnTracker().getCurrentTurn();
+            GameAction move = search.chooseMove(model, current, TimeUnit.MILLISECONDS.toNanos(10));
+            Assert.assertNotNull(move);
+            move.setFacades(facades);
+            move.execute();
+        }
+        Assert.assertEquals(TurnStatus.ROLLING, model.getTurnTracker().getStatus());
+    }
+}
@@ -0,0 +1,80 @@
+package server.client;
+
+import org.junit.Test;
+import server.games.IServerManager;
+import server.models.ServerModel;
+import shared.IServer;
+import shared.definitions.CatanColor;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EntityTagTest {
+
+    @Test
+    public void matches() {
+        String tag = "\"abc-1-2-j\"";
+        assertFalse(EntityTag.matches(null, tag));
+        assertTrue(EntityTag.matches(tag, tag));
+        assertTrue(EntityTag.matches("W/" + tag, tag));
+        assertTrue(EntityTag.matches("\"other\", " + tag, tag));
+        assertTrue(EntityTag.matches("*", tag));
+        assertFalse(EntityTag.matches("\"abc-1-2-b\"", tag));
+    }
+
+    @Test
+    public void onlyPolledEndpointsAreTagged() throws Exception {
+        assertNotNull(EntityTag.forEndpoint(IServer.class.getMethod("listOfGames")));
+        assertNotNull(EntityTag.forEndpoint(IServer.class.getMethod("gameState", int.class)));
+        assertNull(EntityTag.forEndpoint(IServer.class.getMethod("listAI")));
+    }
+
+    @Test
+    public void gameListTagChangesWithTheList() throws Exception {
+        ServerModel model = new ServerModel();
+        IServerManager serverManager = mock(IServerManager.class);
+        when(serverManager.getServerModel()).thenReturn(model);
+        EntityTag tags = EntityTag.forEndpoint(IServer.class.getMethod("listOfGames"));
+
+        String empty = tags.get(serverManager, -1, false);
+        assertEquals(empty, tags.get(serverManager, -1, false));
+        assertNotEquals(empty, tags.get(serverManager, -1, true));
+
+        int gameId = model.startNewGame(false, false, false, "game");
+        String created = tags.get(serverManager, -1, false);
+        assertNotEquals(empty, created);
+
+        int userId = model.registerUser("sam", "sampassword");
+        model.getGameModel(gameId).addPlayer(model.getUser(userId), CatanColor.RED);
+        String joined = tags.get(serverManager, -1, false);
+        assertNotEquals(created, joined);
+
+        // Rejoining with another color
+        model.getGameModel(gameId).addPlayer(model.getUser(userId), CatanColor.BLUE);
+        assertNotEquals(joined, tags.get(serverManager, -1, false));
+    }
+
+    @Test
+    public void modelTagChangesWhenSeatsDo() throws Exception {
+        ServerModel model = new ServerModel();
+        IServerManager serverManager = mock(IServerManager.class);
+        when(serverManager.getServerModel()).thenReturn(model);
+        EntityTag tags = EntityTag.forEndpoint(IServer.class.getMethod("gameState", int.class));
+        int gameId = model.startNewGame(false, false, false, "game");
+        int userId = model.registerUser("sam", "sampassword");
+
+        String empty = tags.get(serverManager, gameId, false);
+        model.getGameModel(gameId).addPlayer(model.getUser(userId), CatanColor.RED);
+        String joined = tags.get(serverManager, gameId, false);
+        assertNotEquals(empty, joined);
+
+        // Rejoining with another color
+        model.getGameModel(gameId).addPlayer(model.getUser(userId), CatanColor.BLUE);
+        String recolored = tags.get(serverManager, gameId, false);
+        assertNotEquals(joined, recolored);
+
+        model.getGameModel(gameId).addAIPlayer();
+        assertNotEquals(recolored, tags.get(serverManager, gameId, false));
+    }
+}
@@ -0,0 +1,114 @@
+package server.db.memory;
+
+import org.junit.Before;
+import org.junit.Test;
+import server.models.GameModel;
+import server.models.RegisterAction;
+import server.models.User;
+import shared.definitions.MessageChannel;
+import shared.definitions.PlayerIndex;
+import shared.models.GameAction;
+import shared.models.ICommandAction;
+import shared.models.game.ClientModel;
+import shared.models.game.MessageEntry;
+import shared.models.games.GameInfo;
+import shared.models.moves.SendChatAction;
+import shared.models.user.Credentials;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MemoryProviderTest {
+    private MemoryProvider provider;
+
+    @Before
+    public void setup() {
+        provider = new MemoryProvider(0);
+        provider.start();
+        provider.createDB();
+    }
+
+    @Test
+    public void testUserDAO() {
+        assertTrue(provider.getUserDAO().insert(new User(1, "James", "password")));
+        assertFalse(provider.getUserDAO().insert(new User(1, "Bob", "password")));
+        assertTrue(provider.getUserDAO().update(new User(1, "Bob", "password")));
+        assertFalse(provider.getUserDAO().update(new User(2, "Kevin", "password")));
+        assertEquals("Bob", provider.getUserDAO().findById(1).getUsername());
+        assertTrue(provider.getUserDAO().delete(new User(1, "whatever", "whocares")));
+        assertNull(provider.getUserDAO().findById(1));
+
+        assertTrue(provider.getUserDAO().insert(new User(3, "Kevin", "password")));
+        assertTrue(provider.getUserDAO().insert(new User(2, "Bob", "password")));
+        List<String> names = new ArrayList<>();
+        provider.getUserDAO().findAll().forEach(u -> names.add(u.getUsername()));
+        assertEquals(Arrays.asList("Bob", "Kevin"), names);
+    }
+
+    @Test
+    public void testGameDAO() {
+        GameModel game = new GameModel(1, new GameInfo(new ArrayList<>(), "title", 1), new ClientModel());
+        assertTrue(provider.getGameDAO().insert(game));
+        // What is stored doesn't change along with the model
+        game.getGameInfo().setTitle("changed");
+        assertEquals("title", provider.getGameDAO().findById(1).getGameInfo().getTitle());
+        assertTrue(provider.getGameDAO().update(game));
+        assertEquals("changed", provider.getGameDAO().findById(1).getGameInfo().getTitle());
+    }
+
+    @Test
+    public void testCommands() {
+        SendChatAction chat = new SendChatAction("hello", PlayerIndex.SECOND);
+        RegisterAction register = new RegisterAction(new Credentials("foo", "bar"));
+        assertTrue(provider.getGameDAO().insertCommand(register, -1));
+        assertTrue(provider.getGameDAO().insertCommand(chat, 4));
+
+        List<ICommandAction> commands = provider.getGameDAO().findAllCommands();
+        assertEquals(Arrays.asList(register, chat), commands);
+        assertEquals(4, ((GameAction) commands.get(1)).getGameId());
+
+        assertTrue(provider.getGameDAO().clearCommands());
+        assertTrue(provider.getGameDAO().findAllCommands().isEmpty());
+    }
+
+    @Test
+    public void testMessageDAO() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(provider.getMessageDAO().insertMessage(1, MessageChannel.CHAT, i, new MessageEntry("Sam", "chat" + i)));
+        }
+        assertFalse(provider.getMessageDAO().insertMessage(1, MessageChannel.CHAT, 4, new MessageEntry("Sam", "again")));
+        assertTrue(provider.getMessageDAO().insertMessage(1, MessageChannel.LOG, 0, new MessageEntry("Sam", "log0")));
+
+        assertEquals(5, provider.getMessageDAO().countMessages(1, MessageChannel.CHAT));
+        assertEquals(1, provider.getMessageDAO().countMessages(1, MessageChannel.LOG));
+        assertEquals(0, provider.getMessageDAO().countMessages(2, MessageChannel.CHAT));
+        assertEquals(Arrays.asList(new MessageEntry("Sam", "chat2"), new MessageEntry("Sam", "chat3")),
+                provider.getMessageDAO().findMessages(1, MessageChannel.CHAT, 2, 2));
+        assertEquals(1, provider.getMessageDAO().findMessages(1, MessageChannel.CHAT, 4, 10).size());
+
+        assertTrue(provider.getMessageDAO().insertMessages(1, MessageChannel.LOG, 1,
+                Arrays.asList(new MessageEntry("Sam", "log1"), new MessageEntry("Sam", "log2"))));
+        assertFalse(provider.getMessageDAO().insertMessages(1, MessageChannel.LOG, 2,
+                Arrays.asList(new MessageEntry("Sam", "again"), new MessageEntry("Sam", "log3"))));
+        assertEquals(Arrays.asList(new MessageEntry("Sam", "log1"), new MessageEntry("Sam", "log2"), new MessageEntry("Sam", "log3")),
+                provider.getMessageDAO().findMessages(1, MessageChannel.LOG, 1, 10));
+
+        assertTrue(provider.clearDB());
+        assertEquals(0, provider.getMessageDAO().countMessages(1, MessageChannel.CHAT));
+    }
+
+    @Test
+    public void testWriteLatency() {
+        MemoryProvider slow = new MemoryProvider(20);
+        long start = System.nanoTime();
+        slow.getUserDAO().insert(new User(1, "James", "password"));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(20));
+    }
+}
@@ -0,0 +1,51 @@
+package server.db.mongodb;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+import server.models.GameModel;
+import server.serialization.ActionDeserializer;
+import shared.definitions.PlayerIndex;
+import shared.locations.EdgeDirection;
+import shared.locations.EdgeLocation;
+import shared.locations.HexLocation;
+import shared.models.game.ClientModel;
+import shared.models.games.GameInfo;
+import shared.models.moves.BuildRoadAction;
+import shared.serialization.ModelSerializer;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+public class DocumentsTest {
+
+    @Test
+    public void gameRoundTrip() throws Exception {
+        GameModel game = new GameModel(3, new GameInfo(new ArrayList<>(), "game", 3), new ClientModel(true, true, true));
+        for (int i = 0; i < PlayerIndex.MAX_PLAYERS; i++) {
+            game.addAIPlayer();
+        }
+        Document doc = Documents.toDocument(game, GameModel.class);
+        // As read back from the database
+        doc.put("_id", new ObjectId());
+
+        GameModel read = ModelSerializer.getInstance().fromJson(Documents.toJsonReader(doc), GameModel.class);
+        assertEquals(ModelSerializer.getInstance().toJson(game, GameModel.class),
+                ModelSerializer.getInstance().toJson(read, GameModel.class));
+    }
+
+    @Test
+    public void commandRoundTrip() throws Exception {
+        BuildRoadAction road = new BuildRoadAction(
+                false,
+                new EdgeLocation(new HexLocation(2, 3), EdgeDirection.NorthEast),
+                PlayerIndex.THIRD
+        );
+        Document doc = Documents.toDocument(road, BuildRoadAction.class);
+        doc.put("gameId", 4);
+        doc.put("_id", new ObjectId());
+
+        assertEquals(road, ActionDeserializer.getInstance().deserializeAction(Documents.toJsonReader(doc)));
+    }
+}
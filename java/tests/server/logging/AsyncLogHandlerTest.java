@@ -0,0 +1,110 @@
+package server.logging;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AsyncLogHandlerTest {
+    private static class RecordingHandler extends Handler {
+        final List<LogRecord> records = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean closed;
+
+        @Override
+        public void publish(LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static LogRecord record(Level level, String message) {
+        LogRecord record = new LogRecord(level, message);
+        record.setLoggerName("Test");
+        return record;
+    }
+
+    @Test
+    public void passesRecordsOnAndDrainsOnClose() {
+        RecordingHandler delegate = new RecordingHandler();
+        AsyncLogHandler handler = new AsyncLogHandler(delegate, 100, 100, 1);
+        for (int i = 0; i < 50; i++) {
+            handler.publish(record(Level.INFO, "message " + i));
+        }
+        handler.close();
+        assertTrue(delegate.closed);
+        assertEquals(50, delegate.records.size());
+        assertEquals("message 49", delegate.records.get(49).getMessage());
+        assertEquals("Test", delegate.records.get(0).getSourceClassName());
+    }
+
+    @Test
+    public void leavesCallersRecordAlone() throws Exception {
+        RecordingHandler delegate = new RecordingHandler();
+        AsyncLogHandler handler = new AsyncLogHandler(delegate, 100, 1, 10);
+        handler.publish(record(Level.INFO, "same"));
+        handler.publish(record(Level.INFO, "same"));
+        Thread.sleep(150);
+        LogRecord record = record(Level.INFO, "same");
+        record.setSourceClassName("Caller");
+        record.setMillis(1234);
+        handler.publish(record);
+        handler.close();
+
+        assertEquals("same", record.getMessage());
+        assertEquals("Caller", record.getSourceClassName());
+        LogRecord passed = delegate.records.get(1);
+        assertEquals("same (1 similar messages suppressed)", passed.getMessage());
+        assertEquals("Test", passed.getSourceClassName());
+        assertEquals(1234, passed.getMillis());
+    }
+
+    @Test
+    public void rateLimitsEachKindOfMessage() throws Exception {
+        RecordingHandler delegate = new RecordingHandler();
+        // One message a kind every 100 ms after a burst of 3
+        AsyncLogHandler handler = new AsyncLogHandler(delegate, 100, 3, 10);
+        for (int i = 0; i < 20; i++) {
+            handler.publish(record(Level.INFO, "same"));
+        }
+        handler.publish(record(Level.INFO, "other"));
+        Thread.sleep(150);
+        handler.publish(record(Level.INFO, "same"));
+        handler.close();
+
+        List<String> messages = new ArrayList<>();
+        delegate.records.forEach(r -> messages.add(r.getMessage()));
+        assertEquals(5, messages.size());
+        assertEquals(Collections.nCopies(3, "same"), messages.subList(0, 3));
+        assertEquals("other", messages.get(3));
+        assertEquals("same (17 similar messages suppressed)", messages.get(4));
+    }
+
+    @Test
+    public void changesLevel() {
+        RecordingHandler delegate = new RecordingHandler();
+        AsyncLogHandler handler = new AsyncLogHandler(delegate, 100, 100, 100);
+        handler.setLevel(Level.WARNING);
+        assertEquals(Level.WARNING, delegate.getLevel());
+        handler.publish(record(Level.INFO, "hidden"));
+        handler.publish(record(Level.SEVERE, "shown"));
+        handler.close();
+        assertEquals(1, delegate.records.size());
+        assertEquals("shown", delegate.records.get(0).getMessage());
+        assertEquals(Level.OFF, ServerLogging.parseLevel("off"));
+    }
+}
@@ -0,0 +1,70 @@
+package server.metrics;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ServerMetricsTest {
+    @Test
+    public void bucketsCoverEveryValue() {
+        long previousHighest = -1;
+        for (int i = 0; i <= LatencyHistogram.bucketIndex(TimeUnit.SECONDS.toNanos(10)); i++) {
+            long highest = LatencyHistogram.highestValueInBucket(i);
+            assertEquals(i, LatencyHistogram.bucketIndex(previousHighest + 1));
+            assertEquals(i, LatencyHistogram.bucketIndex(highest));
+            assertTrue(highest - previousHighest <= Math.max(1, highest / (LatencyHistogram.SUB_BUCKETS / 2)));
+            previousHighest = highest;
+        }
+    }
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        for (long micros = 1; micros <= 1000; micros++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        }
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(500), histogram.getValueAtPercentile(50));
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(990), histogram.getValueAtPercentile(99));
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(1000), histogram.getValueAtPercentile(100));
+        assertEquals(TimeUnit.MICROSECONDS.toNanos(500500), histogram.getSum());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual + " is not within 1/8 above " + expected,
+                actual >= expected && actual <= expected + expected / 8);
+    }
+
+    @Test
+    public void writePrometheus() throws Exception {
+        ServerMetrics metrics = new ServerMetrics();
+        EndpointMetrics model = metrics.getEndpoint("GET", "/game/model");
+        model.recordRequest(TimeUnit.MILLISECONDS.toNanos(3), false, 100);
+        model.recordRequest(TimeUnit.MILLISECONDS.toNanos(30), true, 20);
+        model.recordEncoding(TimeUnit.MICROSECONDS.toNanos(40));
+        metrics.getPersistence("insertCommand").record(TimeUnit.MILLISECONDS.toNanos(2));
+
+        StringWriter out = new StringWriter();
+        metrics.write(out);
+        String text = out.toString();
+        String labels = "method=\"GET\",endpoint=\"/game/model\"";
+        assertTrue(text.contains("# TYPE catan_http_requests_total counter\n"));
+        assertTrue(text.contains("catan_http_requests_total{" + labels + "} 2\n"));
+        assertTrue(text.contains("catan_http_request_errors_total{" + labels + "} 1\n"));
+        assertTrue(text.contains("catan_http_response_bytes_total{" + labels + "} 120\n"));
+        assertTrue(text.contains("catan_http_request_duration_seconds_bucket{" + labels + ",le=\"0.001\"} 0\n"));
+        assertTrue(text.contains("catan_http_request_duration_seconds_bucket{" + labels + ",le=\"0.005\"} 1\n"));
+        assertTrue(text.contains("catan_http_request_duration_seconds_bucket{" + labels + ",le=\"+Inf\"} 2\n"));
+        assertTrue(text.contains("catan_http_request_duration_seconds_sum{" + labels + "} 0.033\n"));
+        assertTrue(text.contains("catan_http_request_duration_seconds_count{" + labels + "} 2\n"));
+        assertTrue(text.contains("catan_serialization_duration_seconds_bucket{" + labels
+                + ",direction=\"encode\",le=\"0.00005\"} 1\n"));
+        assertTrue(text.contains("catan_serialization_duration_seconds_count{" + labels
+                + ",direction=\"decode\"} 0\n"));
+        assertTrue(text.contains("catan_persistence_duration_seconds_count{operation=\"insertCommand\"} 1\n"));
+    }
+}
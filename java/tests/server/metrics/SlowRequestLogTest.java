@@ -0,0 +1,62 @@
+package server.metrics;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.Test;
+import shared.tracing.Span;
+import shared.tracing.Trace;
+import shared.tracing.Tracer;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SlowRequestLogTest {
+    @Test
+    public void spansWithoutTraceDoNothing() {
+        assertNull(Tracer.current());
+        Span span = Tracer.span("nothing");
+        span.end();
+        assertEquals(0, span.getDurationNanos());
+    }
+
+    @Test
+    public void writeSlowTraces() throws Exception {
+        File file = File.createTempFile("slow-requests", ".trace.json");
+        file.deleteOnExit();
+        SlowRequestLog log = new SlowRequestLog(1, 0, file);
+
+        Trace trace = Tracer.startTrace("POST /moves/buildRoad");
+        Span outer = Tracer.span("GameServer.executeGameAction");
+        Span step = Tracer.span(SlowRequestLogTest.class, "execute");
+        Thread.sleep(1);
+        step.end();
+        outer.end();
+        trace.close();
+        assertNull(Tracer.current());
+        log.finish(trace);
+        log.close();
+
+        // The file is an unterminated array with a comma after every event
+        String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+        assertTrue(text.startsWith("[") && text.endsWith(","));
+        JsonArray events = new JsonParser().parse(text.substring(0, text.length() - 1) + "]").getAsJsonArray();
+        assertEquals(3, events.size());
+        JsonObject root = events.get(0).getAsJsonObject();
+        JsonObject inner = events.get(2).getAsJsonObject();
+        assertEquals("POST /moves/buildRoad", root.get("name").getAsString());
+        assertEquals("SlowRequestLogTest.execute", inner.get("name").getAsString());
+        assertEquals("X", inner.get("ph").getAsString());
+        assertEquals(trace.getId(), inner.getAsJsonObject("args").get("traceId").getAsString());
+        assertTrue(inner.get("dur").getAsDouble() >= 1000);
+        // Spans nest within the request
+        assertTrue(inner.get("ts").getAsDouble() >= root.get("ts").getAsDouble());
+        assertTrue(inner.get("ts").getAsDouble() + inner.get("dur").getAsDouble()
+                <= root.get("ts").getAsDouble() + root.get("dur").getAsDouble());
+    }
+}
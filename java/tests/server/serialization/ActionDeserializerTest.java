@@ -1,5 +1,6 @@
 package server.serialization;
 
+import com.google.gson.JsonParseException;
 import org.junit.Test;
 import server.models.RegisterAction;
 import shared.definitions.PlayerIndex;
@@ -8,6 +9,7 @@ import shared.locations.EdgeLocation;
 import shared.locations.HexLocation;
 import shared.models.ICommandAction;
 import shared.models.moves.BuildRoadAction;
+import shared.models.moves.RollNumberAction;
 import shared.models.user.Credentials;
 import shared.serialization.ModelSerializer;
 
@@ -42,4 +44,21 @@ public class ActionDeserializerTest {
         }
         assertEquals(register, a);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void deserializeTypeAfterFields() throws Exception {
+        ICommandAction a = ActionDeserializer.getInstance().deserializeAction(
+                "{\"_id\": {\"$oid\": \"5846\"}, \"playerIndex\": 2, \"number\": 8, \"type\": \"rollNumber\"}");
+        assertEquals(new RollNumberAction(8, PlayerIndex.THIRD), a);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void deserializeUnknownType() throws Exception {
+        ActionDeserializer.getInstance().deserializeAction("{\"type\": \"flipTable\", \"playerIndex\": 0}");
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void deserializeWithoutType() throws Exception {
+        ActionDeserializer.getInstance().deserializeAction("{\"number\": 8, \"playerIndex\": 0}");
+    }
+}
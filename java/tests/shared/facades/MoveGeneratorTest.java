@@ -0,0 +1,121 @@
+package shared.facades;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import shared.definitions.PlayerIndex;
+import shared.definitions.TurnStatus;
+import shared.locations.EdgeLocation;
+import shared.locations.HexLocation;
+import shared.locations.VertexLocation;
+import shared.models.GameAction;
+import shared.models.game.ClientModel;
+import shared.models.game.Player;
+import shared.models.game.ResourceSet;
+import shared.models.moves.BuildRoadAction;
+import shared.models.moves.BuildSettlementAction;
+import shared.serialization.ModelExample;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class MoveGeneratorTest {
+    private ClientModel model;
+    private FacadeManager facades;
+    private Player player;
+
+    @Before
+    public void setup() {
+        model = ModelExample.fullJsonModel();
+        facades = new FacadeManager(model);
+        player = model.getPlayer(PlayerIndex.FIRST);
+        model.getTurnTracker().setCurrentTurn(PlayerIndex.FIRST);
+    }
+
+    /**
+     * Every generated move should execute against a fresh copy of the model
+     */
+    private void assertAllExecute(List<GameAction> moves) {
+        for (GameAction move : moves) {
+            ClientModel copy = model.copy();
+            move.setFacades(new FacadeManager(copy));
+            try {
+                move.execute();
+            } catch (IllegalArgumentException e) {
+                Assert.fail("Generated an illegal move: " + move);
+            }
+        }
+    }
+
+    private Set<EdgeLocation> allEdges() {
+        return model.getMap().getHexes().keySet().stream()
+                .flatMap(HexLocation::getEdgesStream)
+                .collect(Collectors.toSet());
+    }
+
+    @Test
+    public void playingMovesAreLegal() throws Exception {
+        model.getTurnTracker().setStatus(TurnStatus.PLAYING);
+        player.setResources(new ResourceSet(5, 5, 5, 5, 5));
+        List<GameAction> moves = facades.getMoves().getLegalMoves(player);
+        Assert.assertFalse(moves.isEmpty());
+        assertAllExecute(moves);
+
+        Set<EdgeLocation> expected = allEdges().stream()
+                .filter(e -> facades.getBuilding().canBuildRoad(player, e, false, false))
+                .collect(Collectors.toSet());
+        Set<EdgeLocation> generated = moves.stream()
+                .filter(m -> m instanceof BuildRoadAction)
+                .map(m -> ((BuildRoadAction) m).getRoadLocation())
+                .collect(Collectors.toSet());
+        Assert.assertEquals(expected, generated);
+    }
+
+    @Test
+    public void tracksNewRoads() throws Exception {
+        model.getTurnTracker().setStatus(TurnStatus.PLAYING);
+        player.setResources(new ResourceSet(5, 5, 5, 5, 5));
+        Set<EdgeLocation> before = facades.getMoves().getLegalRoads(player, false);
+        EdgeLocation built = before.iterator().next();
+        facades.getBuilding().buildRoad(player, built, false, false);
+
+        Set<EdgeLocation> after = facades.getMoves().getLegalRoads(player, false);
+        Set<EdgeLocation> expected = allEdges().stream()
+                .filter(e -> facades.getBuilding().canBuildRoad(player, e, false, false))
+                .collect(Collectors.toSet());
+        Assert.assertFalse(after.contains(built));
+        Assert.assertEquals(expected, after);
+    }
+
+    @Test
+    public void setupOffersEveryOpenVertex() throws Exception {
+        model.getMap().setRoads(new HashMap<>());
+        model.getMap().setSettlements(new HashMap<>());
+        model.getMap().setCities(new HashMap<>());
+        model.getTurnTracker().setStatus(TurnStatus.FIRST_ROUND);
+        model.getPlayers().forEach(p -> {
+            p.setSettlements(5);
+            p.setRoads(15);
+        });
+
+        List<GameAction> moves = facades.getMoves().getLegalMoves(player);
+        Set<VertexLocation> vertices = new HashSet<>();
+        for (GameAction move : moves) {
+            Assert.assertTrue(move instanceof BuildSettlementAction);
+            vertices.add(((BuildSettlementAction) move).getVertexLocation());
+        }
+        // A radius 3 board has 54 vertices
+        Assert.assertEquals(54, vertices.size());
+        assertAllExecute(moves);
+    }
+
+    @Test
+    public void noMovesOutOfTurn() throws Exception {
+        model.getTurnTracker().setStatus(TurnStatus.PLAYING);
+        model.setTradeOffer(null);
+        Assert.assertTrue(facades.getMoves().getLegalMoves(model.getPlayer(PlayerIndex.SECOND)).isEmpty());
+    }
+}
@@ -0,0 +1,40 @@
+package shared.locations;
+
+import org.junit.Assert;
+import org.junit.Test;
+import shared.serialization.ModelSerializer;
+
+public class HexLocationTest {
+
+    @Test
+    public void factoriesIntern() throws Exception {
+        HexLocation hex = HexLocation.of(1, -2);
+        Assert.assertSame(hex, HexLocation.of(1, -2));
+        Assert.assertSame(hex, new HexLocation(1, -2).intern());
+        Assert.assertSame(hex, HexLocation.of(1, -1).getNeighborLoc(EdgeDirection.North));
+
+        Assert.assertSame(EdgeLocation.of(hex, EdgeDirection.North),
+                EdgeLocation.of(new HexLocation(1, -2), EdgeDirection.North));
+        Assert.assertSame(VertexLocation.of(hex, VertexDirection.West).getNormalizedLocation(),
+                VertexLocation.of(HexLocation.of(0, -1), VertexDirection.NorthEast));
+        Assert.assertSame(EdgeLocation.of(hex, EdgeDirection.South).getNormalizedLocation(),
+                EdgeLocation.of(HexLocation.of(1, -1), EdgeDirection.North));
+    }
+
+    @Test
+    public void outsideCacheStillEqual() throws Exception {
+        int far = HexLocation.CACHE_RADIUS + 1;
+        HexLocation hex = HexLocation.of(far, 0);
+        Assert.assertEquals(hex, HexLocation.of(far, 0));
+        Assert.assertEquals(EdgeLocation.of(hex, EdgeDirection.SouthWest).getNormalizedLocation(),
+                new EdgeLocation(new HexLocation(far - 1, 1), EdgeDirection.NorthEast));
+    }
+
+    @Test
+    public void deserializedLocationsAreInterned() throws Exception {
+        ModelSerializer serializer = ModelSerializer.getInstance();
+        Assert.assertSame(HexLocation.of(-2, 1), serializer.fromJson("{\"x\":-2,\"y\":1}", HexLocation.class));
+        Assert.assertSame(EdgeLocation.of(HexLocation.of(0, 0), EdgeDirection.NorthEast),
+                serializer.fromJson("{\"x\":0,\"y\":0,\"direction\":\"NE\"}", EdgeLocation.class));
+    }
+}
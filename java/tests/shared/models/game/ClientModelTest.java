@@ -2,6 +2,7 @@ package shared.models.game;
 
 import org.junit.Assert;
 import org.junit.Test;
+import shared.definitions.PlayerIndex;
 import shared.serialization.ModelExample;
 
 public class ClientModelTest {
@@ -12,4 +13,26 @@ public class ClientModelTest {
 //        Assert.assertTrue(m1.getPlayers().get(0).equals(m2.getPlayers().get(0)));
         Assert.assertEquals(m1, m2);
     }
+
+    @Test
+    public void copyIsIndependent() throws Exception {
+        ClientModel model = ModelExample.fullJsonModel();
+        ClientModel snapshot = model.copy();
+        Assert.assertEquals(model, snapshot);
+        // Hexes and ports never change, so they should be shared
+        Assert.assertSame(model.getMap().getHexes(), snapshot.getMap().getHexes());
+        Assert.assertSame(model.getMap().getPorts(), snapshot.getMap().getPorts());
+
+        model.getPlayers().get(0).getResources().setBrick(100);
+        model.getMap().getRoads().clear();
+        model.getLog().addMessage(new MessageEntry("Sam", "did something"));
+        model.getTurnTracker().setCurrentTurn(PlayerIndex.FOURTH);
+        model.incrementVersion();
+
+        Assert.assertNotEquals(model, snapshot);
+        Assert.assertNotEquals(100, snapshot.getPlayers().get(0).getResources().getBrick());
+        Assert.assertFalse(snapshot.getMap().getRoads().isEmpty());
+        Assert.assertNotEquals(model.getLog().getLines().size(), snapshot.getLog().getLines().size());
+        Assert.assertNotEquals(PlayerIndex.FOURTH, snapshot.getTurnTracker().getCurrentTurn());
+    }
 }
@@ -0,0 +1,45 @@
+package shared.models.game;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MessageListTest {
+
+    private static MessageEntry line(int i) {
+        return new MessageEntry("Sam", "message " + i);
+    }
+
+    @Test
+    public void windowEvictsOldest() throws Exception {
+        MessageList list = new MessageList();
+        list.setWindow(3);
+        for (int i = 0; i < 5; i++) {
+            list.addMessage(line(i));
+        }
+        Assert.assertEquals(3, list.getLines().size());
+        Assert.assertEquals(2, list.getFirstIndex());
+        Assert.assertEquals(5, list.getTotal());
+        Assert.assertNull(list.getLine(1));
+        Assert.assertEquals(line(2), list.getLine(2));
+        Assert.assertEquals(line(4), list.getLines().get(2));
+        Assert.assertNull(list.getLine(5));
+    }
+
+    @Test
+    public void setWindowTrimsExistingLines() throws Exception {
+        MessageList list = new MessageList();
+        for (int i = 0; i < 5; i++) {
+            list.addMessage(line(i));
+        }
+        list.setWindow(2);
+        Assert.assertEquals(2, list.getLines().size());
+        Assert.assertEquals(3, list.getFirstIndex());
+        Assert.assertEquals(line(3), list.getLine(3));
+
+        MessageList copy = list.copy();
+        list.addMessage(line(5));
+        Assert.assertEquals(3, copy.getFirstIndex());
+        Assert.assertEquals(5, copy.getTotal());
+        Assert.assertEquals(6, list.getTotal());
+    }
+}
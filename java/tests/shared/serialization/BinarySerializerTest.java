@@ -0,0 +1,66 @@
+package shared.serialization;
+
+import org.junit.Test;
+import shared.definitions.CatanColor;
+import shared.definitions.PlayerIndex;
+import shared.locations.EdgeDirection;
+import shared.locations.EdgeLocation;
+import shared.locations.HexLocation;
+import shared.models.game.ClientModel;
+import shared.models.games.GameInfo;
+import shared.models.games.PlayerInfo;
+import shared.models.moves.BuildRoadAction;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class BinarySerializerTest {
+    private final BinarySerializer serializer = BinarySerializer.getInstance();
+
+    @Test
+    public void roundTripModel() throws Exception {
+        ClientModel model = ModelExample.fullJsonModel();
+        byte[] data = serializer.toBinary(model, ClientModel.class);
+        assertEquals(model, serializer.fromBinary(data, ClientModel.class));
+        assertTrue(data.length < ModelSerializer.getInstance().toJson(model, ClientModel.class).length() / 4);
+    }
+
+    @Test
+    public void roundTripMove() throws Exception {
+        BuildRoadAction onBoard = new BuildRoadAction(false,
+                EdgeLocation.of(HexLocation.of(1, -2), EdgeDirection.NorthEast), PlayerIndex.THIRD);
+        assertEquals(onBoard, serializer.fromBinary(serializer.toBinary(onBoard, BuildRoadAction.class), BuildRoadAction.class));
+        // Outside the densely numbered hexes
+        BuildRoadAction offBoard = new BuildRoadAction(true,
+                EdgeLocation.of(HexLocation.of(42, -40), EdgeDirection.South), PlayerIndex.FIRST);
+        assertEquals(offBoard, serializer.fromBinary(serializer.toBinary(offBoard, BuildRoadAction.class), BuildRoadAction.class));
+    }
+
+    @Test
+    public void gameInfoPlayersAreIndexed() throws Exception {
+        GameInfo info = new GameInfo(Arrays.asList(
+                new PlayerInfo(CatanColor.ORANGE, "Sam", 0),
+                new PlayerInfo(CatanColor.BLUE, "Brooke", 1)), "Game", 2);
+        GameInfo[] read = serializer.fromBinary(
+                serializer.toBinary(new GameInfo[]{info}, GameInfo[].class), GameInfo[].class);
+        assertEquals(1, read.length);
+        assertEquals("Game", read[0].getTitle());
+        assertEquals(PlayerIndex.SECOND, read[0].getPlayers().get(1).getPlayerIndex());
+    }
+
+    @Test
+    public void acceptsOnlyMatchingSchema() throws Exception {
+        assertTrue(serializer.accepts(serializer.getContentType()));
+        assertTrue(serializer.accepts("application/json, " + serializer.getContentType()));
+        assertFalse(serializer.accepts(BinarySerializer.MEDIA_TYPE + "; schema=0"));
+        assertFalse(serializer.accepts("application/json"));
+        assertFalse(serializer.accepts(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void truncatedMessageFails() throws Exception {
+        byte[] data = serializer.toBinary(ModelExample.fullJsonModel(), ClientModel.class);
+        serializer.fromBinary(Arrays.copyOf(data, data.length / 2), ClientModel.class);
+    }
+}
@@ -6,6 +6,11 @@ import org.junit.Assert;
 import org.junit.Test;
 import shared.models.game.ClientModel;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 public class ClientModelSerializationTest {
 
     @Test
@@ -34,6 +39,24 @@ public class ClientModelSerializationTest {
         );
     }
 
+    @Test
+    public void serializeToBytes() throws Exception {
+        ClientModel model = ModelSerializer.getInstance().fromJson(
+                ModelExample.fullJson, ClientModel.class);
+        String json = ModelSerializer.getInstance().toJson(model, ClientModel.class);
+
+        ByteBuffer bytes = ModelSerializer.getInstance().toJsonBytes(model, ClientModel.class);
+        Assert.assertEquals(json, StandardCharsets.UTF_8.decode(bytes).toString());
+        // The buffer is reused, so a smaller model must not leave the old contents behind
+        bytes = ModelSerializer.getInstance().toJsonBytes(new ClientModel(), ClientModel.class);
+        Assert.assertEquals(ModelSerializer.getInstance().toJson(new ClientModel(), ClientModel.class),
+                StandardCharsets.UTF_8.decode(bytes).toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ModelSerializer.getInstance().toJson(model, ClientModel.class, out);
+        Assert.assertEquals(model, ModelSerializer.getInstance().fromJson(
+                new ByteArrayInputStream(out.toByteArray()), ClientModel.class));
+    }
 
     // TODO: Add extra de/serialization tests
 }